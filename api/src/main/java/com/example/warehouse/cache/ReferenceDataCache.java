@@ -0,0 +1,164 @@
+package com.example.warehouse.cache;
+
+import com.example.warehouse.config.WarehouseContext;
+import com.example.warehouse.entity.Block;
+import com.example.warehouse.entity.Product;
+import com.example.warehouse.entity.Room;
+import com.example.warehouse.entity.Shipper;
+import com.example.warehouse.entity.WareHouse;
+import com.example.warehouse.jfr.CacheLookupEvent;
+import com.example.warehouse.repository.BlockRepository;
+import com.example.warehouse.repository.ProductRepository;
+import com.example.warehouse.repository.RoomRepository;
+import com.example.warehouse.repository.ShipperRepository;
+import com.example.warehouse.repository.WareHouseRepository;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.interceptor.SimpleKey;
+import org.springframework.cache.transaction.TransactionAwareCacheDecorator;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+
+/**
+ * Read-through cache for reference data that hot write paths only need as a
+ * foreign-key target (product, block, room, shipper, warehouse).
+ * <p>
+ * Entries are detached entities: callers may read their columns and attach
+ * them to new rows, but must not walk their lazy collections. Blocks and rooms
+ * are tenant-scoped, so their keys include the current warehouse id and a
+ * lookup from another warehouse can never hit them. Evictions are deferred
+ * until the surrounding transaction commits so a concurrent reader cannot
+ * re-populate the cache with the pre-update row.
+ */
+@Component
+@SuppressWarnings("null")
+public class ReferenceDataCache {
+
+    public static final String PRODUCTS = "products";
+    public static final String BLOCKS = "blocks";
+    public static final String ROOMS = "rooms";
+    public static final String WAREHOUSES = "warehouses";
+    public static final String SHIPPERS = "shippers";
+    public static final String ACTIVE_SHIPPERS = "activeShippers";
+
+    private final ProductRepository productRepository;
+    private final BlockRepository blockRepository;
+    private final RoomRepository roomRepository;
+    private final WareHouseRepository wareHouseRepository;
+    private final ShipperRepository shipperRepository;
+
+    private final Cache products;
+    private final Cache blocks;
+    private final Cache rooms;
+    private final Cache warehouses;
+    private final Cache shippers;
+    private final Cache activeShippers;
+
+    public ReferenceDataCache(CacheManager cacheManager,
+            ProductRepository productRepository,
+            BlockRepository blockRepository,
+            RoomRepository roomRepository,
+            WareHouseRepository wareHouseRepository,
+            ShipperRepository shipperRepository) {
+        this.productRepository = productRepository;
+        this.blockRepository = blockRepository;
+        this.roomRepository = roomRepository;
+        this.wareHouseRepository = wareHouseRepository;
+        this.shipperRepository = shipperRepository;
+        this.products = cache(cacheManager, PRODUCTS);
+        this.blocks = cache(cacheManager, BLOCKS);
+        this.rooms = cache(cacheManager, ROOMS);
+        this.warehouses = cache(cacheManager, WAREHOUSES);
+        this.shippers = cache(cacheManager, SHIPPERS);
+        this.activeShippers = cache(cacheManager, ACTIVE_SHIPPERS);
+    }
+
+    public Optional<Product> findProduct(String productId) {
+        return Optional.ofNullable(lookup(products, PRODUCTS, productId, productId,
+                () -> productRepository.findById(productId).orElse(null)));
+    }
+
+    public Optional<Block> findBlock(String blockId) {
+        return Optional.ofNullable(lookup(blocks, BLOCKS, warehouseScoped(blockId), blockId,
+                // Callers read block.getRoom().getName() after the session is gone, and may call this outside a
+                // transaction, so the room comes with the block in one query
+                () -> blockRepository.findWithRoomById(blockId).orElse(null)));
+    }
+
+    public Optional<Room> findRoom(String roomId) {
+        return Optional.ofNullable(lookup(rooms, ROOMS, warehouseScoped(roomId), roomId,
+                () -> roomRepository.findById(roomId).orElse(null)));
+    }
+
+    public Optional<WareHouse> findWarehouse(String warehouseId) {
+        return Optional.ofNullable(lookup(warehouses, WAREHOUSES, warehouseId, warehouseId,
+                () -> wareHouseRepository.findById(warehouseId).orElse(null)));
+    }
+
+    public Optional<Shipper> findShipper(String shipperId) {
+        return Optional.ofNullable(lookup(shippers, SHIPPERS, shipperId, shipperId,
+                () -> shipperRepository.findById(shipperId).orElse(null)));
+    }
+
+    public List<Shipper> findActiveShippers() {
+        return lookup(activeShippers, ACTIVE_SHIPPERS, SimpleKey.EMPTY, null,
+                () -> List.copyOf(shipperRepository.findByActiveTrue()));
+    }
+
+    public void evictProduct(String productId) {
+        products.evict(productId);
+    }
+
+    public void evictBlock(String blockId) {
+        blocks.evict(warehouseScoped(blockId));
+    }
+
+    public void evictRoom(String roomId) {
+        rooms.evict(warehouseScoped(roomId));
+        // Cached blocks carry their room
+        blocks.clear();
+    }
+
+    public void evictWarehouse(String warehouseId) {
+        warehouses.evict(warehouseId);
+        // Cached rooms (and the blocks holding them) carry their warehouse
+        rooms.clear();
+        blocks.clear();
+    }
+
+    public void evictShipper(String shipperId) {
+        shippers.evict(shipperId);
+        activeShippers.clear();
+    }
+
+    public void evictActiveShippers() {
+        activeShippers.clear();
+    }
+
+    // Cache.get with a CacheLookup flight recorder event; the loader only runs on a miss
+    private static <T> T lookup(Cache cache, String name, Object key, String id, Callable<T> loader) {
+        CacheLookupEvent event = new CacheLookupEvent();
+        event.begin();
+        T value = cache.get(key, () -> {
+            event.missed();
+            return loader.call();
+        });
+        event.finish(WarehouseContext.getWarehouseId(), name, id);
+        return value;
+    }
+
+    private static SimpleKey warehouseScoped(String id) {
+        return new SimpleKey(WarehouseContext.getWarehouseId(), id);
+    }
+
+    private static Cache cache(CacheManager cacheManager, String name) {
+        Cache cache = cacheManager.getCache(name);
+        if (cache == null) {
+            throw new IllegalStateException("Cache '" + name + "' is not configured");
+        }
+        return new TransactionAwareCacheDecorator(cache);
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.warehouse.cache;
+
+import com.example.warehouse.entity.Admin;
+import com.example.warehouse.entity.Staff;
+import com.example.warehouse.entity.User;
+import com.example.warehouse.entity.WareHouse;
+import com.example.warehouse.enums.UserRole;
+import com.example.warehouse.repository.UserRepository;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheDecorator;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+
+/**
+ * Read-through cache of what authentication and warehouse scoping need to know
+ * about a user, keyed by the identifier they sign in with (email or username).
+ * Unknown identifiers are cached as absent too.
+ * <p>
+ * Size and TTL come from {@code spring.cache.caffeine.spec}; the TTL bounds how
+ * long another node can act on a user that was changed here. Anything that
+ * changes a user's credentials, role or warehouse must evict every identifier
+ * the user had before and has after the change.
+ */
+@Component
+@SuppressWarnings("null")
+public class UserAccountCache {
+
+    public static final String USER_ACCOUNTS = "userAccounts";
+
+    /** Immutable copy of a user; {@code warehouseId} is the assigned warehouse, if any. */
+    public record UserAccount(String userId, String username, String email, String password, UserRole role,
+            String warehouseId) {
+
+        static UserAccount of(User user) {
+            WareHouse warehouse = null;
+            if (user instanceof Admin admin) {
+                warehouse = admin.getWarehouse();
+            } else if (user instanceof Staff staff) {
+                warehouse = staff.getWarehouse();
+            }
+            return new UserAccount(user.getUserId(), user.getUsername(), user.getEmail(), user.getPassword(),
+                    user.getUserRole(), warehouse != null ? warehouse.getWarehouseId() : null);
+        }
+
+        // Keep the password hash out of logs
+        @Override
+        public String toString() {
+            return "UserAccount[userId=" + userId + ", username=" + username + ", email=" + email
+                    + ", role=" + role + ", warehouseId=" + warehouseId + "]";
+        }
+    }
+
+    private final UserRepository userRepository;
+    private final Cache accounts;
+
+    public UserAccountCache(CacheManager cacheManager, UserRepository userRepository) {
+        this.userRepository = userRepository;
+        Cache cache = cacheManager.getCache(USER_ACCOUNTS);
+        if (cache == null) {
+            throw new IllegalStateException("Cache '" + USER_ACCOUNTS + "' is not configured");
+        }
+        // Evictions wait for the surrounding transaction to commit, as in ReferenceDataCache
+        this.accounts = new TransactionAwareCacheDecorator(cache);
+    }
+
+    public Optional<UserAccount> find(String identifier) {
+        return Optional.ofNullable(accounts.get(identifier,
+                () -> userRepository.searchUserByIdentifier(identifier).map(UserAccount::of).orElse(null)));
+    }
+
+    public void evictUser(User user) {
+        evict(user.getUsername(), user.getEmail());
+    }
+
+    public void evict(String... identifiers) {
+        for (String identifier : identifiers) {
+            if (identifier != null) {
+                accounts.evict(identifier);
+            }
+        }
+    }
+}
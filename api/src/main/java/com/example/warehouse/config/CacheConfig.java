@@ -0,0 +1,14 @@
+package com.example.warehouse.config;
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Turns on Spring's cache abstraction. The Caffeine cache manager, the cache
+ * names and their size/TTL spec come from {@code spring.cache.*} in
+ * application.yml; actuator registers hit/miss metrics for every cache.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+}
@@ -1,40 +1,70 @@
 package com.example.warehouse.config;
 
-import com.example.warehouse.service.impl.SystemStatusService;
+import com.example.warehouse.metrics.RequestLatencyMetrics;
+import jakarta.servlet.DispatcherType;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.stereotype.Component;
-import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
 
+/**
+ * Times each /api request from the first interceptor to completion and records
+ * it in {@link RequestLatencyMetrics} under its handler mapping pattern. The
+ * start time is kept in a per-thread slot rather than a request attribute so a
+ * synchronous request allocates nothing; only a request that goes async
+ * (e.g. login) carries its start time over to the thread that completes it.
+ */
 @Component
-public class LatencyInterceptor implements HandlerInterceptor {
+public class LatencyInterceptor implements AsyncHandlerInterceptor {
 
-    private final SystemStatusService systemStatusService;
+    private static final String ASYNC_START = LatencyInterceptor.class.getName() + ".asyncStart";
+    private static final String UNMATCHED = "UNMATCHED";
 
-    public LatencyInterceptor(SystemStatusService systemStatusService) {
-        this.systemStatusService = systemStatusService;
+    private static final ThreadLocal<long[]> START = ThreadLocal.withInitial(() -> new long[1]);
+
+    private final RequestLatencyMetrics requestLatencyMetrics;
+
+    public LatencyInterceptor(RequestLatencyMetrics requestLatencyMetrics) {
+        this.requestLatencyMetrics = requestLatencyMetrics;
     }
 
     @Override
     public boolean preHandle(@org.springframework.lang.NonNull HttpServletRequest request,
             @org.springframework.lang.NonNull HttpServletResponse response,
             @org.springframework.lang.NonNull Object handler) {
-        request.setAttribute("startTime", System.currentTimeMillis());
+        if (request.getDispatcherType() == DispatcherType.REQUEST) {
+            START.get()[0] = System.nanoTime();
+        }
         return true;
     }
 
+    @Override
+    public void afterConcurrentHandlingStarted(@org.springframework.lang.NonNull HttpServletRequest request,
+            @org.springframework.lang.NonNull HttpServletResponse response,
+            @org.springframework.lang.NonNull Object handler) {
+        request.setAttribute(ASYNC_START, START.get()[0]);
+    }
+
     @Override
     public void afterCompletion(@org.springframework.lang.NonNull HttpServletRequest request,
             @org.springframework.lang.NonNull HttpServletResponse response,
             @org.springframework.lang.NonNull Object handler,
             @org.springframework.lang.Nullable Exception ex) {
-        Long startTime = (Long) request.getAttribute("startTime");
-        if (startTime != null) {
-            long duration = System.currentTimeMillis() - startTime;
-            // Only tracking /api endpoints for meaningful latency
-            if (request.getRequestURI().startsWith("/api")) {
-                systemStatusService.updateLatency((double) duration);
+        long start;
+        if (request.getDispatcherType() == DispatcherType.ASYNC) {
+            Object asyncStart = request.getAttribute(ASYNC_START);
+            if (asyncStart == null) {
+                return;
             }
+            start = (Long) asyncStart;
+        } else {
+            start = START.get()[0];
         }
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        // An exception that reached this point was not handled and becomes a 500
+        int status = ex != null ? 500 : response.getStatus();
+        requestLatencyMetrics.record(pattern != null ? pattern.toString() : UNMATCHED, request.getMethod(), status,
+                System.nanoTime() - start);
     }
 }
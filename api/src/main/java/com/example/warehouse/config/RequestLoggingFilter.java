@@ -1,11 +1,13 @@
 package com.example.warehouse.config;
 
+import com.example.warehouse.logging.AccessLog;
+import io.opentelemetry.api.trace.Span;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 import org.slf4j.MDC;
 import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
@@ -18,10 +20,15 @@ import java.util.UUID;
 @Component
 public class RequestLoggingFilter extends OncePerRequestFilter {
 
-    private static final Logger log = LoggerFactory.getLogger(RequestLoggingFilter.class);
     private static final String CORRELATION_ID_HEADER = "X-Correlation-ID";
     private static final String CORRELATION_ID_KEY = "correlationId";
 
+    private final AccessLog accessLog;
+
+    public RequestLoggingFilter(AccessLog accessLog) {
+        this.accessLog = accessLog;
+    }
+
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
             throws ServletException, IOException {
@@ -30,19 +37,68 @@ public class RequestLoggingFilter extends OncePerRequestFilter {
                 .orElse(UUID.randomUUID().toString());
 
         MDC.put(CORRELATION_ID_KEY, correlationId);
+        // Links the id to the request's trace; a no-op when the request is not traced
+        Span.current().setAttribute(CORRELATION_ID_KEY, correlationId);
         response.setHeader(CORRELATION_ID_HEADER, correlationId);
 
         long startNs = System.nanoTime();
+        int status = 500;
         try {
             filterChain.doFilter(request, response);
+            status = response.getStatus();
         } finally {
-            long elapsedMs = (System.nanoTime() - startNs) / 1_000_000L;
-            log.info("HTTP {} {} -> {} ({} ms)",
-                    request.getMethod(),
-                    request.getRequestURI(),
-                    response.getStatus(),
-                    elapsedMs);
+            if (request.isAsyncStarted()) {
+                // The async dispatch skips this filter, so log once the response is complete (e.g. login)
+                request.getAsyncContext().addListener(new CompletionListener(request, response, startNs,
+                        correlationId));
+            } else {
+                log(request, status, startNs, correlationId);
+            }
             MDC.remove(CORRELATION_ID_KEY);
         }
     }
+
+    // Written asynchronously and sampled; see AccessLog
+    private void log(HttpServletRequest request, int status, long startNs, String correlationId) {
+        long elapsedNs = System.nanoTime() - startNs;
+        if (accessLog.isSampled(status, elapsedNs)) {
+            accessLog.append(new AccessLog.Entry(request.getMethod(), request.getRequestURI(), status,
+                    elapsedNs, correlationId));
+        }
+    }
+
+    private final class CompletionListener implements AsyncListener {
+
+        private final HttpServletRequest request;
+        private final HttpServletResponse response;
+        private final long startNs;
+        private final String correlationId;
+
+        CompletionListener(HttpServletRequest request, HttpServletResponse response, long startNs,
+                String correlationId) {
+            this.request = request;
+            this.response = response;
+            this.startNs = startNs;
+            this.correlationId = correlationId;
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            log(request, response.getStatus(), startNs, correlationId);
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+        }
+
+        // A new async cycle drops the listeners of the previous one
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            event.getAsyncContext().addListener(this);
+        }
+    }
 }
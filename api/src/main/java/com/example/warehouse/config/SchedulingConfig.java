@@ -0,0 +1,13 @@
+package com.example.warehouse.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables {@code @Scheduled} for the background jobs in
+ * {@code com.example.warehouse.job}.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -0,0 +1,84 @@
+package com.example.warehouse.config;
+
+import com.example.warehouse.metrics.SqlStats;
+import com.example.warehouse.metrics.SqlStatsMetrics;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Counts the SQL each /api request runs (see StatementCountingDataSource),
+ * records it per route in {@link SqlStatsMetrics}, and logs a warning when a
+ * request runs more than {@code warn-statements} statements or the same SQL
+ * more than {@code warn-repeated} times, the usual sign of a query in a loop.
+ * Runs ahead of the security filters so authentication queries count too.
+ * Work a request hands to another thread (e.g. the login pool) is not
+ * counted.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+@ConditionalOnProperty(name = "app.sql-stats.enabled", havingValue = "true", matchIfMissing = true)
+public class SqlStatsFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(SqlStatsFilter.class);
+    private static final String UNMATCHED = "UNMATCHED";
+
+    private final SqlStatsMetrics sqlStatsMetrics;
+    private final int warnStatements;
+    private final int warnRepeated;
+
+    public SqlStatsFilter(SqlStatsMetrics sqlStatsMetrics,
+            @Value("${app.sql-stats.warn-statements:50}") int warnStatements,
+            @Value("${app.sql-stats.warn-repeated:10}") int warnRepeated) {
+        this.sqlStatsMetrics = sqlStatsMetrics;
+        this.warnStatements = warnStatements;
+        this.warnRepeated = warnRepeated;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith("/api");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        SqlStats stats = SqlStats.start();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            SqlStats.stop();
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            String route = pattern != null ? pattern.toString() : UNMATCHED;
+            sqlStatsMetrics.record(route, stats);
+            report(request, route, stats);
+        }
+    }
+
+    private void report(HttpServletRequest request, String route, SqlStats stats) {
+        if (stats.statements() > warnStatements) {
+            log.warn("{} {} ({}) ran {} SQL statements in {} ms, fetching {} rows",
+                    request.getMethod(), request.getRequestURI(), route, stats.statements(),
+                    TimeUnit.NANOSECONDS.toMillis(stats.nanos()), stats.rows());
+        }
+        stats.mostRepeated()
+                .filter(repeated -> repeated.getValue() > warnRepeated)
+                .ifPresent(repeated -> log.warn(
+                        "{} {} ({}) ran the same SQL {} times, likely a query in a loop: {}",
+                        request.getMethod(), request.getRequestURI(), route, repeated.getValue(),
+                        repeated.getKey()));
+    }
+}
@@ -1,6 +1,23 @@
 package com.example.warehouse.config;
 
 public class WarehouseContext {
+
+    /**
+     * Postgres setting that carries the current warehouse on each pooled
+     * connection. {@link com.example.warehouse.datasource.WarehouseSessionDataSource}
+     * sets it when a connection is taken; it is never bound per query.
+     */
+    public static final String SESSION_SETTING = "app.warehouse_id";
+
+    /**
+     * Row restriction of every warehouse-owned entity. It is static SQL, so
+     * unlike a Hibernate filter (or {@code @TenantId}, which Hibernate applies
+     * as one) it leaves query plans cacheable, and it applies to every query,
+     * count and {@code EntityManager.find}. A connection with no warehouse
+     * holds {@code ''}, which matches no row.
+     */
+    public static final String SQL_RESTRICTION = "warehouse_id = current_setting('" + SESSION_SETTING + "', true)";
+
     private static final ThreadLocal<String> CURRENT_WAREHOUSE = new ThreadLocal<>();
 
     public static void setWarehouseId(String warehouseId) {
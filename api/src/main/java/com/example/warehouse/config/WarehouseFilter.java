@@ -1,12 +1,9 @@
 package com.example.warehouse.config;
 
-import com.example.warehouse.entity.Admin;
-import com.example.warehouse.entity.Staff;
-import com.example.warehouse.entity.User;
+import com.example.warehouse.cache.UserAccountCache;
+import com.example.warehouse.cache.UserAccountCache.UserAccount;
 import com.example.warehouse.enums.UserRole;
-import com.example.warehouse.repository.AdminRepository;
-import com.example.warehouse.repository.StaffRepository;
-import com.example.warehouse.repository.UserRepository;
+import com.example.warehouse.security.WarehouseUserDetails;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -24,9 +21,7 @@ import java.util.Optional;
 @RequiredArgsConstructor
 public class WarehouseFilter extends OncePerRequestFilter {
 
-    private final UserRepository userRepository;
-    private final AdminRepository adminRepository;
-    private final StaffRepository staffRepository;
+    private final UserAccountCache userAccountCache;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
@@ -36,35 +31,26 @@ public class WarehouseFilter extends OncePerRequestFilter {
             Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
 
             if (authentication != null && authentication.isAuthenticated()) {
-                String username = authentication.getName();
-                // JWT principal is the user's email — use the same lookup as authentication
-                Optional<User> userOpt = userRepository.searchUserByIdentifier(username);
+                // JwtAuthFilter already resolved the account; any other principal goes through the cache
+                Optional<UserAccount> accountOpt = authentication.getPrincipal() instanceof WarehouseUserDetails details
+                        ? Optional.of(details.getAccount())
+                        : userAccountCache.find(authentication.getName());
 
-                if (userOpt.isPresent()) {
-                    User user = userOpt.get();
+                if (accountOpt.isPresent()) {
+                    UserAccount account = accountOpt.get();
 
-                    if (user.getUserRole() == UserRole.ADMIN) {
+                    if (account.role() == UserRole.ADMIN) {
                         // Admins can override warehouse via header
                         String headerId = request.getHeader("X-Warehouse-Id");
                         if (headerId != null && !headerId.isEmpty()) {
                             WarehouseContext.setWarehouseId(headerId);
-                        } else {
+                        } else if (account.warehouseId() != null) {
                             // Default to admin's assigned warehouse if any
-                            adminRepository.findById(user.getUserId())
-                                    .ifPresent(admin -> {
-                                        if (admin.getWarehouse() != null) {
-                                            WarehouseContext.setWarehouseId(admin.getWarehouse().getWarehouseId());
-                                        }
-                                    });
+                            WarehouseContext.setWarehouseId(account.warehouseId());
                         }
-                    } else {
+                    } else if (account.warehouseId() != null) {
                         // Staff are locked to their assigned warehouse
-                        staffRepository.findById(user.getUserId())
-                                .ifPresent(staff -> {
-                                    if (staff.getWarehouse() != null) {
-                                        WarehouseContext.setWarehouseId(staff.getWarehouse().getWarehouseId());
-                                    }
-                                });
+                        WarehouseContext.setWarehouseId(account.warehouseId());
                     }
                 }
             }
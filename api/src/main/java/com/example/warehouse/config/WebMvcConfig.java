@@ -0,0 +1,28 @@
+package com.example.warehouse.config;
+
+import com.example.warehouse.ratelimit.RateLimitInterceptor;
+import com.example.warehouse.ratelimit.RateLimitProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+@EnableConfigurationProperties(RateLimitProperties.class)
+public class WebMvcConfig implements WebMvcConfigurer {
+
+    private final LatencyInterceptor latencyInterceptor;
+    private final RateLimitInterceptor rateLimitInterceptor;
+
+    public WebMvcConfig(LatencyInterceptor latencyInterceptor, RateLimitInterceptor rateLimitInterceptor) {
+        this.latencyInterceptor = latencyInterceptor;
+        this.rateLimitInterceptor = rateLimitInterceptor;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        // First, so rate-limited requests are timed too
+        registry.addInterceptor(latencyInterceptor).addPathPatterns("/api/**");
+        registry.addInterceptor(rateLimitInterceptor).addPathPatterns("/api/**");
+    }
+}
@@ -1,5 +1,6 @@
 package com.example.warehouse.config;
 
+import com.example.warehouse.tracing.StompTracingInterceptor;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
 import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
@@ -10,10 +11,17 @@ import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerCo
 @EnableWebSocketMessageBroker
 public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
 
+    private final StompTracingInterceptor stompTracingInterceptor;
+
+    public WebSocketConfig(StompTracingInterceptor stompTracingInterceptor) {
+        this.stompTracingInterceptor = stompTracingInterceptor;
+    }
+
     @Override
     public void configureMessageBroker(@org.springframework.lang.NonNull MessageBrokerRegistry config) {
         config.enableSimpleBroker("/topic");
         config.setApplicationDestinationPrefixes("/app");
+        config.configureBrokerChannel().interceptors(stompTracingInterceptor);
     }
 
     @Override
@@ -3,12 +3,10 @@ package com.example.warehouse.controller;
 import com.example.warehouse.dto.request.LoginRequest;
 import com.example.warehouse.dto.response.LoginResponse;
 import com.example.warehouse.security.JwtService;
+import com.example.warehouse.security.LoginExecutor;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.authentication.AuthenticationManager;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.Authentication;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
@@ -18,31 +16,37 @@ import org.springframework.web.bind.annotation.RestController;
 import com.example.warehouse.dto.wrapper.ResponseStructure;
 import org.springframework.http.HttpStatus;
 
+import java.util.concurrent.CompletableFuture;
+
 @RestController
 @RequestMapping("/api")
 public class AuthController {
 
-    private final AuthenticationManager authenticationManager;
+    private final LoginExecutor loginExecutor;
     private final JwtService jwtService;
 
     @Value("${app.jwt.expiration-ms:86400000}")
     private long expirationMs;
 
-    public AuthController(AuthenticationManager authenticationManager, JwtService jwtService) {
-        this.authenticationManager = authenticationManager;
+    public AuthController(LoginExecutor loginExecutor, JwtService jwtService) {
+        this.loginExecutor = loginExecutor;
         this.jwtService = jwtService;
     }
 
     /**
      * POST /login
      * Accepts email/username + password, returns a JWT Bearer token.
+     * The password check runs on the login pool (see LoginExecutor), which
+     * answers 503 when it is overloaded.
      */
     @PostMapping("/login")
-    public ResponseEntity<ResponseStructure<LoginResponse>> login(@Valid @RequestBody LoginRequest request) {
-        Authentication authentication = authenticationManager.authenticate(
-                new UsernamePasswordAuthenticationToken(request.identifier(), request.password()));
+    public CompletableFuture<ResponseEntity<ResponseStructure<LoginResponse>>> login(
+            @Valid @RequestBody LoginRequest request) {
+        return loginExecutor.authenticate(request.identifier(), request.password())
+                .thenApply(authentication -> loginResponse((UserDetails) authentication.getPrincipal()));
+    }
 
-        UserDetails userDetails = (UserDetails) authentication.getPrincipal();
+    private ResponseEntity<ResponseStructure<LoginResponse>> loginResponse(UserDetails userDetails) {
         String token = jwtService.generateToken(userDetails);
         String role = userDetails.getAuthorities().stream()
                 .findFirst()
@@ -1,9 +1,12 @@
 package com.example.warehouse.controller;
 
 import com.example.warehouse.dto.request.InventoryRequest;
+import com.example.warehouse.dto.response.InventoryLedgerResponse;
 import com.example.warehouse.dto.response.InventoryResponse;
+import com.example.warehouse.dto.response.StockLevelResponse;
 import com.example.warehouse.dto.wrapper.PageResponse;
 import com.example.warehouse.dto.wrapper.ResponseStructure;
+import com.example.warehouse.service.contract.InventoryLedgerService;
 import com.example.warehouse.service.contract.InventoryService;
 import com.example.warehouse.util.PageUtils;
 import io.swagger.v3.oas.annotations.Operation;
@@ -22,6 +25,7 @@ import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.Instant;
 import java.util.List;
 
 @RestController
@@ -31,9 +35,12 @@ import java.util.List;
 public class InventoryController {
 
         private final InventoryService inventoryService;
+        private final InventoryLedgerService inventoryLedgerService;
 
-        public InventoryController(InventoryService inventoryService) {
+        public InventoryController(InventoryService inventoryService,
+                        InventoryLedgerService inventoryLedgerService) {
                 this.inventoryService = inventoryService;
+                this.inventoryLedgerService = inventoryLedgerService;
         }
 
         @PostMapping
@@ -92,6 +99,32 @@ public class InventoryController {
                 return new ResponseEntity<>(structure, HttpStatus.OK);
         }
 
+        @GetMapping("/{inventoryId}/ledger")
+        @PreAuthorize("hasAnyAuthority('ADMIN','WAREHOUSE_MANAGER','SUPERVISOR')")
+        public ResponseEntity<ResponseStructure<List<InventoryLedgerResponse>>> getInventoryLedger(
+                        @PathVariable String inventoryId) {
+                List<InventoryLedgerResponse> response = inventoryLedgerService.getLedger(inventoryId);
+                ResponseStructure<List<InventoryLedgerResponse>> structure = new ResponseStructure<>(
+                                HttpStatus.OK.value(),
+                                "Inventory ledger retrieved successfully",
+                                response);
+                return new ResponseEntity<>(structure, HttpStatus.OK);
+        }
+
+        @GetMapping("/as-of")
+        @PreAuthorize("hasAnyAuthority('ADMIN','WAREHOUSE_MANAGER','SUPERVISOR')")
+        @Operation(summary = "Stock per block and product at a point in time")
+        public ResponseEntity<ResponseStructure<List<StockLevelResponse>>> getStockAsOf(
+                        @RequestParam("at") Instant at,
+                        @RequestParam(value = "blockId", required = false) String blockId) {
+                List<StockLevelResponse> response = inventoryLedgerService.getStockAsOf(blockId, at);
+                ResponseStructure<List<StockLevelResponse>> structure = new ResponseStructure<>(
+                                HttpStatus.OK.value(),
+                                "Stock levels retrieved successfully",
+                                response);
+                return new ResponseEntity<>(structure, HttpStatus.OK);
+        }
+
         @GetMapping("/block/{blockId}")
         @PreAuthorize("hasAnyAuthority('ADMIN','STAFF','WAREHOUSE_MANAGER','SUPERVISOR')")
         public ResponseEntity<ResponseStructure<List<InventoryResponse>>> getInventoriesByBlock(
@@ -3,6 +3,7 @@ package com.example.warehouse.controller.exception.handler;
 import java.time.Instant;
 import java.util.stream.Collectors;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.orm.ObjectOptimisticLockingFailureException;
@@ -11,14 +12,18 @@ import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 
+import com.example.warehouse.config.WarehouseContext;
 import com.example.warehouse.dto.wrapper.ApiErrorResponse;
 import com.example.warehouse.exception.ResourceNotFoundException;
 import com.example.warehouse.exception.IllegalOperationException;
+import com.example.warehouse.exception.LoginOverloadedException;
+import com.example.warehouse.exception.RateLimitExceededException;
 import com.example.warehouse.exception.RoomNotFoundByIdException;
 import com.example.warehouse.exception.UnSupportedBlockTypeException;
 import com.example.warehouse.exception.UserNotFoundByEmail;
 import com.example.warehouse.exception.UserNotFoundByIdException;
 import com.example.warehouse.exception.WareHouseNotFindByIdException;
+import com.example.warehouse.metrics.WarehouseMetrics;
 
 import jakarta.persistence.EntityNotFoundException;
 import jakarta.persistence.OptimisticLockException;
@@ -28,6 +33,12 @@ import jakarta.validation.ConstraintViolationException;
 @RestControllerAdvice
 public class GlobalExceptionHandler {
 
+    private final WarehouseMetrics warehouseMetrics;
+
+    public GlobalExceptionHandler(WarehouseMetrics warehouseMetrics) {
+        this.warehouseMetrics = warehouseMetrics;
+    }
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<ApiErrorResponse> handleValidationException(
             MethodArgumentNotValidException ex,
@@ -93,12 +104,35 @@ public class GlobalExceptionHandler {
     public ResponseEntity<ApiErrorResponse> handleOptimisticLock(
             RuntimeException ex,
             HttpServletRequest request) {
+        warehouseMetrics.conflict(WarehouseContext.getWarehouseId(), conflictingEntity(ex));
         return buildError(
                 HttpStatus.CONFLICT,
                 "Concurrent update detected. Please refresh and retry.",
                 request.getRequestURI());
     }
 
+    @ExceptionHandler(LoginOverloadedException.class)
+    public ResponseEntity<ApiErrorResponse> handleLoginOverloaded(
+            LoginOverloadedException ex,
+            HttpServletRequest request) {
+        ResponseEntity<ApiErrorResponse> error = buildError(
+                HttpStatus.SERVICE_UNAVAILABLE, ex.getMessage(), request.getRequestURI());
+        return ResponseEntity.status(error.getStatusCode())
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(error.getBody());
+    }
+
+    @ExceptionHandler(RateLimitExceededException.class)
+    public ResponseEntity<ApiErrorResponse> handleRateLimitExceeded(
+            RateLimitExceededException ex,
+            HttpServletRequest request) {
+        ResponseEntity<ApiErrorResponse> error = buildError(
+                HttpStatus.TOO_MANY_REQUESTS, ex.getMessage(), request.getRequestURI());
+        return ResponseEntity.status(error.getStatusCode())
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(error.getBody());
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ApiErrorResponse> handleGenericException(
             Exception ex,
@@ -106,6 +140,17 @@ public class GlobalExceptionHandler {
         return buildError(HttpStatus.INTERNAL_SERVER_ERROR, ex.getMessage(), request.getRequestURI());
     }
 
+    // Simple class name of the entity whose version check failed
+    private static String conflictingEntity(RuntimeException ex) {
+        String className = null;
+        if (ex instanceof ObjectOptimisticLockingFailureException failure) {
+            className = failure.getPersistentClassName();
+        } else if (ex instanceof OptimisticLockException failure && failure.getEntity() != null) {
+            className = failure.getEntity().getClass().getName();
+        }
+        return className != null ? className.substring(className.lastIndexOf('.') + 1) : "unknown";
+    }
+
     private ResponseEntity<ApiErrorResponse> buildError(HttpStatus status, String message, String path) {
         ApiErrorResponse body = new ApiErrorResponse(
                 Instant.now(),
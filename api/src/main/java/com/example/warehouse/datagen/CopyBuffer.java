@@ -0,0 +1,139 @@
+package com.example.warehouse.datagen;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Arrays;
+
+/**
+ * Rows of one table in PostgreSQL's COPY text format (tab-separated,
+ * {@code \N} for null, backslash escapes), handed to a {@link CopyTarget} in
+ * batches. Not thread-safe: each worker fills its own buffers.
+ */
+final class CopyBuffer {
+
+    private static final int FLUSH_BYTES = 4 << 20;
+
+    private final String table;
+    private final String columns;
+    private final CopyTarget target;
+    private byte[] data = new byte[64 << 10];
+    private int length;
+    private boolean rowStarted;
+    private long rows;
+
+    CopyBuffer(String table, String columns, CopyTarget target) {
+        this.table = table;
+        this.columns = columns;
+        this.target = target;
+    }
+
+    CopyBuffer text(String value) {
+        separate();
+        if (value == null) {
+            appendAscii("\\N");
+            return this;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '\\' -> appendAscii("\\\\");
+                case '\t' -> appendAscii("\\t");
+                case '\n' -> appendAscii("\\n");
+                case '\r' -> appendAscii("\\r");
+                default -> {
+                    if (c < 0x80) {
+                        append((byte) c);
+                    } else {
+                        int codePoint = value.codePointAt(i);
+                        for (byte b : Character.toString(codePoint).getBytes(StandardCharsets.UTF_8)) {
+                            append(b);
+                        }
+                        i += Character.charCount(codePoint) - 1;
+                    }
+                }
+            }
+        }
+        return this;
+    }
+
+    CopyBuffer number(long value) {
+        separate();
+        appendAscii(Long.toString(value));
+        return this;
+    }
+
+    CopyBuffer number(double value) {
+        separate();
+        appendAscii(Double.toString(value));
+        return this;
+    }
+
+    CopyBuffer bool(boolean value) {
+        separate();
+        append((byte) (value ? 't' : 'f'));
+        return this;
+    }
+
+    CopyBuffer time(Instant value) {
+        return value == null ? text(null) : text(value.toString());
+    }
+
+    CopyBuffer date(LocalDate value) {
+        return value == null ? text(null) : text(value.toString());
+    }
+
+    CopyBuffer endRow() {
+        append((byte) '\n');
+        rowStarted = false;
+        rows++;
+        return this;
+    }
+
+    String table() {
+        return table;
+    }
+
+    long rows() {
+        return rows;
+    }
+
+    /** Sends the buffered rows once they pass a few MB; call between rows only. */
+    void flushIfFull() {
+        if (length >= FLUSH_BYTES) {
+            flush();
+        }
+    }
+
+    void flush() {
+        if (length > 0) {
+            target.copy(table, columns, data, length);
+            length = 0;
+        }
+    }
+
+    private void separate() {
+        if (rowStarted) {
+            append((byte) '\t');
+        }
+        rowStarted = true;
+    }
+
+    private void appendAscii(String value) {
+        ensure(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            data[length++] = (byte) value.charAt(i);
+        }
+    }
+
+    private void append(byte b) {
+        ensure(1);
+        data[length++] = b;
+    }
+
+    private void ensure(int extra) {
+        if (length + extra > data.length) {
+            data = Arrays.copyOf(data, Math.max(data.length * 2, length + extra));
+        }
+    }
+}
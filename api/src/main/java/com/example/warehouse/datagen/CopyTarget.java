@@ -0,0 +1,12 @@
+package com.example.warehouse.datagen;
+
+/**
+ * Where {@link CopyBuffer} sends its rows: one call is one
+ * {@code COPY table (columns) FROM STDIN} in text format. Called from the
+ * generator's worker threads concurrently.
+ */
+@FunctionalInterface
+public interface CopyTarget {
+
+    void copy(String table, String columns, byte[] data, int length);
+}
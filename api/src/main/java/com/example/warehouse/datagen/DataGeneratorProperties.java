@@ -0,0 +1,69 @@
+package com.example.warehouse.datagen;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.LocalDate;
+
+/**
+ * {@code app.datagen}: size and shape of the synthetic warehouse written by
+ * {@link SyntheticWarehouseGenerator}. Two runs with the same properties
+ * (including {@code until}) produce the same rows.
+ */
+@Getter
+@Setter
+@ConfigurationProperties("app.datagen")
+public class DataGeneratorProperties {
+
+    private long seed = 42;
+
+    /** Last day of history (exclusive, UTC); defaults to today. */
+    private LocalDate until;
+
+    private int historyDays = 365;
+
+    /** Orders younger than this many hours are still open (PENDING up to PACKED). */
+    private int openHours = 48;
+
+    private int rooms = 20;
+
+    private int blocksPerRoom = 50;
+
+    private int products = 20_000;
+
+    /** Distinct (product, block) rows; every product gets one before popular ones get more. */
+    private int inventoryRows = 60_000;
+
+    private int orders = 200_000;
+
+    /** Mean order lines (one pick task each), geometric, capped at max-lines-per-order. */
+    private double linesPerOrder = 2.5;
+
+    private int maxLinesPerOrder = 12;
+
+    /** Share of closed orders that were cancelled instead of dispatched. */
+    private double cancelRate = 0.03;
+
+    private int shippers = 6;
+
+    /** Mean LOCATION_UPDATE events per dispatched shipment. */
+    private double locationUpdatesPerShipment = 3;
+
+    private int pickers = 40;
+
+    private long stockMovements = 2_000_000;
+
+    /** Zipf exponent of SKU popularity (orders, extra inventory rows, movements); 0 is uniform. */
+    private double skuSkew = 1.0;
+
+    /** Parallel COPY streams; each takes a pooled connection while it writes. */
+    private int threads = 4;
+
+    private int ordersPerChunk = 5_000;
+
+    private int movementsPerChunk = 250_000;
+
+    /** Closes the application once the data is written. */
+    private boolean exitOnCompletion = true;
+}
@@ -0,0 +1,114 @@
+package com.example.warehouse.datagen;
+
+import org.postgresql.PGConnection;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.Map;
+
+/**
+ * Loads a synthetic warehouse (see {@link SyntheticWarehouseGenerator}) when
+ * the {@code datagen} profile is active, then exits. Rows go in through
+ * {@code COPY ... FROM STDIN}, each batch on a pooled connection of its own,
+ * after Flyway has migrated the schema. Block occupancy counters are
+ * recounted and the touched tables analyzed once everything is in.
+ */
+@Component
+@Profile("datagen")
+@EnableConfigurationProperties(DataGeneratorProperties.class)
+public class DataGeneratorRunner implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(DataGeneratorRunner.class);
+
+    private final DataSource dataSource;
+    private final JdbcTemplate jdbcTemplate;
+    private final DataGeneratorProperties properties;
+    private final ConfigurableApplicationContext context;
+
+    public DataGeneratorRunner(DataSource dataSource, JdbcTemplate jdbcTemplate, DataGeneratorProperties properties,
+            ConfigurableApplicationContext context) {
+        this.dataSource = dataSource;
+        this.jdbcTemplate = jdbcTemplate;
+        this.properties = properties;
+        this.context = context;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        generate();
+        if (properties.isExitOnCompletion()) {
+            System.exit(SpringApplication.exit(context, () -> 0));
+        }
+    }
+
+    public Map<String, Long> generate() throws InterruptedException {
+        LocalDate until = properties.getUntil() != null ? properties.getUntil() : LocalDate.now(ZoneOffset.UTC);
+        SyntheticWarehouseGenerator generator = new SyntheticWarehouseGenerator(properties, until);
+        String warehouseId = generator.warehouseId();
+        Integer existing = jdbcTemplate.queryForObject("SELECT count(*) FROM warehouse WHERE warehouse_id = ?",
+                Integer.class, warehouseId);
+        if (existing != null && existing > 0) {
+            throw new IllegalStateException("Warehouse " + warehouseId + " of seed " + properties.getSeed()
+                    + " until " + until + " is already loaded; pick another seed or until");
+        }
+
+        // Movements outside any monthly partition would all land in the default one
+        LocalDate firstMonth = generator.firstMovementMonth();
+        jdbcTemplate.queryForObject("SELECT create_stock_movement_partitions(?, ?)", Integer.class, firstMonth,
+                (int) ChronoUnit.MONTHS.between(firstMonth, until.withDayOfMonth(1)) + 1);
+
+        log.info("Generating synthetic warehouse {} (seed {}, until {}, {} orders, {} stock movements, {} threads)",
+                warehouseId, properties.getSeed(), until, properties.getOrders(), properties.getStockMovements(),
+                properties.getThreads());
+        long started = System.nanoTime();
+        Map<String, Long> rows = generator.generate(this::copy);
+        long loadedNanos = System.nanoTime() - started;
+
+        jdbcTemplate.update("""
+                UPDATE block b
+                SET occupied_units = a.units, occupied_volume = a.volume
+                FROM (
+                    SELECT i.block_id, SUM(i.quantity) AS units, SUM(i.quantity * p.volume) AS volume
+                    FROM inventory i
+                    JOIN product p ON p.product_id = i.product_id
+                    WHERE i.warehouse_id = ? AND i.deleted = false
+                    GROUP BY i.block_id
+                ) a
+                WHERE b.block_id = a.block_id""", warehouseId);
+        for (String table : rows.keySet()) {
+            jdbcTemplate.execute("ANALYZE " + table);
+        }
+
+        long total = rows.values().stream().mapToLong(Long::longValue).sum();
+        double seconds = loadedNanos / 1e9;
+        log.info("Loaded {} rows in {} s ({} rows/s) into warehouse {}: {}", total, String.format("%.1f", seconds),
+                Math.round(total / Math.max(seconds, 1e-3)), warehouseId, rows);
+        return rows;
+    }
+
+    private void copy(String table, String columns, byte[] data, int length) {
+        try (Connection connection = dataSource.getConnection()) {
+            connection.unwrap(PGConnection.class).getCopyAPI().copyIn(
+                    "COPY " + table + " (" + columns + ") FROM STDIN",
+                    new ByteArrayInputStream(data, 0, length));
+        } catch (SQLException | IOException e) {
+            throw new IllegalStateException("COPY into " + table + " failed", e);
+        }
+    }
+}
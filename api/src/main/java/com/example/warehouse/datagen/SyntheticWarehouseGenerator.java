@@ -0,0 +1,714 @@
+package com.example.warehouse.datagen;
+
+import com.example.warehouse.entity.EventType;
+import com.example.warehouse.entity.InventoryLedgerReason;
+import com.example.warehouse.entity.MovementType;
+import com.example.warehouse.entity.OrderStatus;
+import com.example.warehouse.entity.PickTaskStatus;
+import com.example.warehouse.entity.ServiceLevel;
+import com.example.warehouse.entity.ShipmentStatus;
+import com.example.warehouse.entity.ShipperType;
+import com.example.warehouse.enums.BlockType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Writes one synthetic warehouse: rooms, blocks, products, inventory,
+ * a history of orders with their pick tasks, shipments, shipment items and
+ * events, and a stock movement history, as COPY batches to a
+ * {@link CopyTarget}.
+ * <p>
+ * Orders and movements are spread evenly over {@code history-days} up to
+ * {@code until}. Orders older than {@code open-hours} are dispatched or
+ * cancelled, younger ones walk back through the states of
+ * {@code OrderServiceImpl} the younger they are. SKU popularity is Zipfian, so
+ * a few products dominate order lines and movements and hold the most
+ * inventory rows. Movements are drawn from the same popularity but not
+ * derived from the generated orders, so their volume is set independently.
+ * <p>
+ * Orders and movements are produced in fixed-size chunks, each with its own
+ * random stream derived from the seed, so the rows do not depend on the
+ * number of threads; only the order in which chunks reach the target does.
+ * Inventory is written last, with reserved quantities matching the open pick
+ * tasks and on-hand quantities covering them, plus one CREATE ledger event
+ * per row so the ledger sums to the stock.
+ */
+public class SyntheticWarehouseGenerator {
+
+    private static final Logger log = LoggerFactory.getLogger(SyntheticWarehouseGenerator.class);
+
+    private static final long LAYOUT_STREAM = 1;
+    private static final long ORDER_STREAM = 2;
+    private static final long MOVEMENT_STREAM = 3;
+
+    private static final String[] CATEGORIES = { "Electronics", "Apparel", "Home", "Kitchen", "Grocery", "Beauty",
+            "Toys", "Sports", "Books", "Automotive", "Garden", "Office" };
+    private static final String[] FIRST_NAMES = { "Aarav", "Diya", "Ishaan", "Meera", "Kabir", "Ananya", "Rohan",
+            "Priya", "Vikram", "Sneha", "Arjun", "Kavya", "Nikhil", "Pooja", "Rahul", "Tara" };
+    private static final String[] LAST_NAMES = { "Sharma", "Iyer", "Patel", "Reddy", "Nair", "Gupta", "Rao",
+            "Singh", "Menon", "Das", "Kulkarni", "Joshi" };
+    private static final String[] STREETS = { "MG Road", "Residency Road", "Brigade Road", "Church Street",
+            "Indiranagar 100ft Road", "Koramangala 80ft Road", "Outer Ring Road", "Hosur Road" };
+    private static final String[] CARRIERS = { "Delhivery", "BlueDart", "Ecom Express", "XpressBees", "Shadowfax",
+            "DTDC", "Ekart", "Gati" };
+
+    // Youngest open orders are PENDING; the older, the further along
+    private static final OrderStatus[] OPEN_STAGES = { OrderStatus.DISPATCHED, OrderStatus.PACKED,
+            OrderStatus.PICKED, OrderStatus.PICK_ASSIGNED, OrderStatus.PENDING };
+
+    private static final MovementType[] MOVEMENT_TYPES = { MovementType.PICK, MovementType.OUTBOUND,
+            MovementType.INBOUND, MovementType.PUTAWAY, MovementType.TRANSFER, MovementType.ADJUSTMENT };
+    private static final double[] MOVEMENT_TYPE_SHARE = { 0.45, 0.25, 0.10, 0.10, 0.07, 0.03 };
+
+    private static final double WAREHOUSE_LATITUDE = 12.97;
+    private static final double WAREHOUSE_LONGITUDE = 77.59;
+
+    private final DataGeneratorProperties properties;
+    private final Instant until;
+    private final Instant historyStart;
+    private final Instant referenceTime;
+    private final String tag;
+    private final String warehouseId;
+
+    private String[] shipperIds;
+    private String[] blockIds;
+    private String[] productIds;
+    private ZipfSampler skus;
+    private ZipfSampler carriers;
+
+    private int[] inventoryProduct;
+    private int[] inventoryBlock;
+    private int[] inventoryBase;
+    private String[] inventoryIds;
+    private Instant[] inventoryCreatedAt;
+    private int[][] locationsByProduct;
+    private AtomicIntegerArray reserved;
+
+    private final Map<String, Long> rowCounts = new ConcurrentHashMap<>();
+
+    public SyntheticWarehouseGenerator(DataGeneratorProperties properties, LocalDate until) {
+        this.properties = properties;
+        this.until = until.atStartOfDay(ZoneOffset.UTC).toInstant();
+        this.historyStart = this.until.minus(Duration.ofDays(properties.getHistoryDays()));
+        this.referenceTime = historyStart.minus(Duration.ofDays(30));
+        this.tag = Long.toString(properties.getSeed(), 36).toUpperCase();
+        this.warehouseId = uuid(referenceTime.toEpochMilli(), random(LAYOUT_STREAM, -1));
+    }
+
+    public String warehouseId() {
+        return warehouseId;
+    }
+
+    /** First month with stock movements. */
+    public LocalDate firstMovementMonth() {
+        return LocalDate.ofInstant(historyStart, ZoneOffset.UTC).withDayOfMonth(1);
+    }
+
+    /** Last month with stock movements. */
+    public LocalDate lastMovementMonth() {
+        return LocalDate.ofInstant(until.minusMillis(1), ZoneOffset.UTC).withDayOfMonth(1);
+    }
+
+    /**
+     * The monthly stock_movement partition (see V5 migration) a movement of
+     * this month is written to; every one from the first to the last movement
+     * month has to exist, attached or not.
+     */
+    public static String movementPartition(LocalDate month) {
+        return String.format("stock_movement_p%04d%02d", month.getYear(), month.getMonthValue());
+    }
+
+    /**
+     * Generates and writes everything; returns the rows written per table in
+     * the order the tables were first written.
+     */
+    public Map<String, Long> generate(CopyTarget target) throws InterruptedException {
+        writeLayout(target);
+
+        int orderChunks = chunks(properties.getOrders(), properties.getOrdersPerChunk());
+        int movementChunks = chunks(properties.getStockMovements(), properties.getMovementsPerChunk());
+        int total = orderChunks + movementChunks;
+        AtomicInteger done = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, properties.getThreads()));
+        try {
+            List<Future<?>> futures = new ArrayList<>(total);
+            for (int chunk = 0; chunk < orderChunks; chunk++) {
+                int c = chunk;
+                futures.add(executor.submit(() -> {
+                    writeOrders(target, c);
+                    progress(done.incrementAndGet(), total);
+                }));
+            }
+            for (int chunk = 0; chunk < movementChunks; chunk++) {
+                int c = chunk;
+                futures.add(executor.submit(() -> {
+                    writeMovements(target, c);
+                    progress(done.incrementAndGet(), total);
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof RuntimeException runtime ? runtime
+                    : new IllegalStateException("Data generation failed", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+
+        writeInventory(target);
+
+        Map<String, Long> ordered = new LinkedHashMap<>();
+        for (String table : List.of("warehouse", "shipper", "room", "block", "recked", "un_recked", "product",
+                "orders", "pick_task", "shipment", "shipment_item", "shipment_event", "stock_movement",
+                "inventory", "inventory_ledger")) {
+            ordered.put(table, rowCounts.getOrDefault(table, 0L));
+        }
+        return ordered;
+    }
+
+    private void writeLayout(CopyTarget target) {
+        SplittableRandom random = random(LAYOUT_STREAM, 0);
+        long referenceMillis = referenceTime.toEpochMilli();
+
+        CopyBuffer warehouse = new CopyBuffer("warehouse",
+                "warehouse_id, name, city, address, landmark, created_at, last_modified_at", target);
+        warehouse.text(warehouseId).text("Synthetic Warehouse " + tag).text("Bengaluru")
+                .text("Plot " + (1 + random.nextInt(400)) + ", Electronic City Phase " + (1 + random.nextInt(2)))
+                .text("Near Hosur Road").time(referenceTime).time(referenceTime).endRow();
+        finish(warehouse);
+
+        CopyBuffer shippers = new CopyBuffer("shipper", "shipper_id, name, type, service_level, "
+                + "tracking_url_template, contact_details, active, created_at, last_modified_at", target);
+        ServiceLevel[] levels = ServiceLevel.values();
+        shipperIds = new String[properties.getShippers()];
+        for (int i = 0; i < shipperIds.length; i++) {
+            shipperIds[i] = uuid(referenceMillis + i, random);
+            boolean internal = i == 0;
+            String name = internal ? "Own Fleet " + tag : CARRIERS[i % CARRIERS.length] + " " + tag + "-" + i;
+            shippers.text(shipperIds[i]).text(name)
+                    .text((internal ? ShipperType.INTERNAL : ShipperType.THIRD_PARTY).name())
+                    .text(levels[i % levels.length].name())
+                    .text("https://track.example.com/" + i + "/{trackingNumber}")
+                    .text("ops+" + i + "@example.com").bool(true)
+                    .time(referenceTime).time(referenceTime).endRow();
+        }
+        finish(shippers);
+        carriers = new ZipfSampler(shipperIds.length, 1.2, random);
+
+        CopyBuffer rooms = new CopyBuffer("room", "room_id, name, warehouse_id, created_at, last_modified_at",
+                target);
+        CopyBuffer blocks = new CopyBuffer("block", "block_id, room_id, name, height, length, breath, type, "
+                + "warehouse_id, created_at, last_modified_at", target);
+        CopyBuffer recked = new CopyBuffer("recked", "block_id", target);
+        CopyBuffer unRecked = new CopyBuffer("un_recked", "block_id", target);
+        blockIds = new String[properties.getRooms() * properties.getBlocksPerRoom()];
+        for (int r = 0; r < properties.getRooms(); r++) {
+            String roomId = uuid(referenceMillis + r, random);
+            rooms.text(roomId).text(String.format("Room %02d", r + 1)).text(warehouseId)
+                    .time(referenceTime).time(referenceTime).endRow();
+            for (int b = 0; b < properties.getBlocksPerRoom(); b++) {
+                int index = r * properties.getBlocksPerRoom() + b;
+                blockIds[index] = uuid(referenceMillis + index, random);
+                boolean racked = random.nextDouble() < 0.7;
+                blocks.text(blockIds[index]).text(roomId).text(String.format("R%02d-B%03d", r + 1, b + 1))
+                        .number(racked ? 2.0 + random.nextInt(5) : 3.0)
+                        .number(1.0 + random.nextInt(4))
+                        .number(1.0 + random.nextInt(3))
+                        .number((racked ? BlockType.RECKED : BlockType.UNRECKED).ordinal())
+                        .text(warehouseId).time(referenceTime).time(referenceTime).endRow();
+                (racked ? recked : unRecked).text(blockIds[index]).endRow();
+            }
+        }
+        finish(rooms);
+        finish(blocks);
+        finish(recked);
+        finish(unRecked);
+
+        CopyBuffer products = new CopyBuffer("product", "product_id, name, description, sku, category, "
+                + "unit_price, weight, dimensions, length, width, height, volume, created_at, last_modified_at",
+                target);
+        productIds = new String[properties.getProducts()];
+        for (int p = 0; p < productIds.length; p++) {
+            Instant createdAt = referenceTime.plusSeconds(p);
+            productIds[p] = uuid(createdAt.toEpochMilli(), random);
+            String category = CATEGORIES[Math.min(CATEGORIES.length - 1, (int) (-Math.log(random.nextDouble()) * 3))];
+            int length = 5 + random.nextInt(115);
+            int width = 5 + random.nextInt(75);
+            int height = 2 + random.nextInt(60);
+            double volume = (length * (double) width * height) / 1_000_000.0;
+            double price = Math.round(Math.exp(5.5 + 1.2 * random.nextGaussian())) / 1.0;
+            double weight = Math.round(volume * (80 + random.nextInt(320)) * 100) / 100.0;
+            products.text(productIds[p]).text(category + " item " + (p + 1))
+                    .text("Synthetic " + category.toLowerCase() + " product")
+                    .text(String.format("SYN-%s-%07d", tag, p + 1)).text(category)
+                    .number(Math.max(1.0, price)).number(Math.max(0.05, weight))
+                    .text(length + "x" + width + "x" + height)
+                    .number((double) length).number((double) width).number((double) height).number(volume)
+                    .time(createdAt).time(createdAt).endRow();
+            products.flushIfFull();
+        }
+        finish(products);
+        skus = new ZipfSampler(productIds.length, properties.getSkuSkew(), random);
+
+        planInventory(random);
+    }
+
+    // Picks the (product, block) rows; written only after the orders so that
+    // reserved quantities are known
+    private void planInventory(SplittableRandom random) {
+        int rows = (int) Math.min(properties.getInventoryRows(), (long) productIds.length * blockIds.length);
+        inventoryProduct = new int[rows];
+        inventoryBlock = new int[rows];
+        inventoryBase = new int[rows];
+        inventoryIds = new String[rows];
+        inventoryCreatedAt = new Instant[rows];
+        Set<Long> taken = new HashSet<>(rows * 2);
+        int[] perProduct = new int[productIds.length];
+        int count = 0;
+        for (int i = 0; i < rows; i++) {
+            // Every product (most popular first) gets one row before any gets a second
+            int product = i < productIds.length ? skus.itemAt(i) : skus.next(random);
+            int block = -1;
+            for (int attempt = 0; attempt < 20 && block < 0; attempt++) {
+                int candidate = random.nextInt(blockIds.length);
+                if (taken.add((long) product * blockIds.length + candidate)) {
+                    block = candidate;
+                }
+            }
+            if (block < 0) {
+                continue;
+            }
+            inventoryProduct[count] = product;
+            inventoryBlock[count] = block;
+            inventoryBase[count] = 20 + random.nextInt(380);
+            inventoryCreatedAt[count] = referenceTime.plus(Duration.ofMinutes(random.nextInt(30 * 24 * 60)));
+            inventoryIds[count] = uuid(inventoryCreatedAt[count].toEpochMilli(), random);
+            perProduct[product]++;
+            count++;
+        }
+        inventoryProduct = Arrays.copyOf(inventoryProduct, count);
+        inventoryBlock = Arrays.copyOf(inventoryBlock, count);
+        inventoryBase = Arrays.copyOf(inventoryBase, count);
+        inventoryIds = Arrays.copyOf(inventoryIds, count);
+        inventoryCreatedAt = Arrays.copyOf(inventoryCreatedAt, count);
+
+        locationsByProduct = new int[productIds.length][];
+        for (int p = 0; p < productIds.length; p++) {
+            locationsByProduct[p] = new int[perProduct[p]];
+            perProduct[p] = 0;
+        }
+        for (int i = 0; i < count; i++) {
+            int product = inventoryProduct[i];
+            locationsByProduct[product][perProduct[product]++] = i;
+        }
+        reserved = new AtomicIntegerArray(count);
+    }
+
+    private void writeOrders(CopyTarget target, int chunk) {
+        SplittableRandom random = random(ORDER_STREAM, chunk);
+        CopyBuffer orders = new CopyBuffer("orders", "order_id, order_number, customer_name, customer_email, "
+                + "shipping_address, status, total_items, notes, created_at, last_modified_at, picked_at, "
+                + "packed_at, dispatched_at, warehouse_id", target);
+        CopyBuffer tasks = new CopyBuffer("pick_task", "task_id, order_id, product_id, block_id, quantity, "
+                + "assigned_to, status, notes, created_at, last_modified_at, completed_at, warehouse_id", target);
+        CopyBuffer shipments = new CopyBuffer("shipment", "shipment_id, shipment_code, order_id, shipper_id, "
+                + "warehouse_id, status, tracking_number, estimated_delivery_date, notes, created_at, "
+                + "last_modified_at, dispatched_at, delivered_at", target);
+        CopyBuffer items = new CopyBuffer("shipment_item", "shipment_item_id, shipment_id, product_id, block_id, "
+                + "quantity, created_at, last_modified_at", target);
+        CopyBuffer events = new CopyBuffer("shipment_event", "event_id, shipment_id, event_type, message, "
+                + "latitude, longitude, created_by, created_at, last_modified_at", target);
+
+        long spanMillis = until.toEpochMilli() - historyStart.toEpochMilli();
+        long openMillis = Duration.ofHours(properties.getOpenHours()).toMillis();
+        int from = chunk * properties.getOrdersPerChunk();
+        int to = (int) Math.min(properties.getOrders(), (long) from + properties.getOrdersPerChunk());
+        int[] lineInventory = new int[properties.getMaxLinesPerOrder()];
+        int[] lineQuantity = new int[properties.getMaxLinesPerOrder()];
+
+        for (int i = from; i < to; i++) {
+            Instant createdAt = historyStart.plusMillis(
+                    (long) ((i + random.nextDouble()) * spanMillis / properties.getOrders()));
+            long ageMillis = until.toEpochMilli() - createdAt.toEpochMilli();
+            OrderStatus status;
+            if (random.nextDouble() < properties.getCancelRate()) {
+                status = OrderStatus.CANCELLED;
+            } else if (ageMillis >= openMillis) {
+                status = OrderStatus.DISPATCHED;
+            } else {
+                double youth = 1.0 - (double) ageMillis / openMillis;
+                int stage = (int) Math.round(youth * (OPEN_STAGES.length - 1) + random.nextGaussian() * 0.5);
+                status = OPEN_STAGES[Math.max(0, Math.min(OPEN_STAGES.length - 1, stage))];
+            }
+
+            Instant pickedAt = null;
+            Instant packedAt = null;
+            Instant dispatchedAt = null;
+            if (status == OrderStatus.PICKED || status == OrderStatus.PACKED || status == OrderStatus.DISPATCHED) {
+                pickedAt = before(createdAt.plus(Duration.ofMinutes(10 + random.nextInt(230))), createdAt);
+            }
+            if (status == OrderStatus.PACKED || status == OrderStatus.DISPATCHED) {
+                packedAt = before(pickedAt.plus(Duration.ofMinutes(5 + random.nextInt(115))), pickedAt);
+            }
+            if (status == OrderStatus.DISPATCHED) {
+                dispatchedAt = before(packedAt.plus(Duration.ofMinutes(10 + random.nextInt(470))), packedAt);
+            }
+            Instant lastModifiedAt = latest(createdAt, pickedAt, packedAt, dispatchedAt);
+
+            int lines = 1;
+            while (lines < lineInventory.length && random.nextDouble() >= 1.0 / properties.getLinesPerOrder()) {
+                lines++;
+            }
+            int totalItems = 0;
+            int written = 0;
+            for (int line = 0; line < lines; line++) {
+                int inventory = pickLocation(random, lineInventory, written);
+                if (inventory < 0) {
+                    continue;
+                }
+                int quantity = 1;
+                while (quantity < 20 && random.nextDouble() < 0.5) {
+                    quantity++;
+                }
+                lineInventory[written] = inventory;
+                lineQuantity[written] = quantity;
+                totalItems += quantity;
+                written++;
+            }
+
+            String orderId = uuid(createdAt.toEpochMilli(), random);
+            String orderNumber = orderNumber(i);
+            String customer = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)] + " "
+                    + LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+            orders.text(orderId).text(orderNumber).text(customer)
+                    .text(customer.toLowerCase().replace(' ', '.') + random.nextInt(1000) + "@example.com")
+                    .text((1 + random.nextInt(300)) + ", " + STREETS[random.nextInt(STREETS.length)] + ", Bengaluru")
+                    .text(status.name()).number(totalItems).text(null)
+                    .time(createdAt).time(lastModifiedAt).time(pickedAt).time(packedAt).time(dispatchedAt)
+                    .text(warehouseId).endRow();
+
+            String picker = status == OrderStatus.PENDING ? null : picker(random);
+            boolean open = status == OrderStatus.PENDING || status == OrderStatus.PICK_ASSIGNED;
+            String[] taskIds = new String[written];
+            for (int line = 0; line < written; line++) {
+                int inventory = lineInventory[line];
+                PickTaskStatus taskStatus;
+                if (status == OrderStatus.CANCELLED) {
+                    taskStatus = PickTaskStatus.CANCELLED;
+                } else if (status == OrderStatus.PENDING) {
+                    taskStatus = PickTaskStatus.ASSIGNED;
+                } else if (status == OrderStatus.PICK_ASSIGNED) {
+                    PickTaskStatus[] progress = PickTaskStatus.values();
+                    taskStatus = progress[random.nextInt(3)];
+                } else {
+                    taskStatus = PickTaskStatus.COMPLETED;
+                }
+                Instant completedAt = null;
+                if (taskStatus == PickTaskStatus.COMPLETED) {
+                    Instant end = pickedAt != null ? pickedAt : until.minusMillis(1);
+                    completedAt = createdAt.plusMillis(
+                            (long) (random.nextDouble() * (end.toEpochMilli() - createdAt.toEpochMilli())));
+                }
+                if (open && taskStatus != PickTaskStatus.COMPLETED) {
+                    reserved.addAndGet(inventory, lineQuantity[line]);
+                }
+                taskIds[line] = uuid(createdAt.toEpochMilli(), random);
+                tasks.text(taskIds[line]).text(orderId).text(productIds[inventoryProduct[inventory]])
+                        .text(blockIds[inventoryBlock[inventory]]).number(lineQuantity[line]).text(picker)
+                        .text(taskStatus.name()).text(null).time(createdAt)
+                        .time(latest(createdAt, completedAt, status == OrderStatus.CANCELLED ? lastModifiedAt : null))
+                        .time(completedAt).text(warehouseId).endRow();
+            }
+
+            if (status == OrderStatus.DISPATCHED) {
+                writeShipment(random, shipments, items, events, orderId, orderNumber, lineInventory, lineQuantity,
+                        written, pickedAt, packedAt, dispatchedAt);
+            }
+        }
+
+        // Parents before children: each flush commits on its own
+        finish(orders);
+        finish(tasks);
+        finish(shipments);
+        finish(items);
+        finish(events);
+    }
+
+    private void writeShipment(SplittableRandom random, CopyBuffer shipments, CopyBuffer items, CopyBuffer events,
+            String orderId, String orderNumber, int[] lineInventory, int[] lineQuantity, int lines,
+            Instant pickedAt, Instant packedAt, Instant dispatchedAt) {
+        long sinceDispatch = until.toEpochMilli() - dispatchedAt.toEpochMilli();
+        ShipmentStatus status;
+        if (sinceDispatch > Duration.ofHours(72).toMillis()) {
+            double outcome = random.nextDouble();
+            status = outcome < 0.96 ? ShipmentStatus.DELIVERED
+                    : outcome < 0.98 ? ShipmentStatus.FAILED : ShipmentStatus.RETURNED;
+        } else {
+            status = sinceDispatch > Duration.ofHours(6).toMillis() ? ShipmentStatus.IN_TRANSIT
+                    : ShipmentStatus.DISPATCHED;
+        }
+        Instant closedAt = status == ShipmentStatus.DELIVERED || status == ShipmentStatus.FAILED
+                || status == ShipmentStatus.RETURNED
+                        ? before(dispatchedAt.plus(Duration.ofHours(12 + random.nextInt(60))), dispatchedAt)
+                        : null;
+        Instant trackedUntil = closedAt != null ? closedAt : until.minusMillis(1);
+
+        String shipmentId = uuid(dispatchedAt.toEpochMilli(), random);
+        String trackingNumber = "TRK-" + Long.toString(random.nextLong(36L * 36 * 36 * 36 * 36 * 36 * 36 * 36), 36)
+                .toUpperCase();
+        shipments.text(shipmentId).text("SHP-" + orderNumber.substring(3)).text(orderId)
+                .text(shipperIds[carriers.next(random)]).text(warehouseId).text(status.name()).text(trackingNumber)
+                .date(LocalDate.ofInstant(dispatchedAt, ZoneOffset.UTC).plusDays(1 + random.nextInt(4)))
+                .text(null).time(dispatchedAt).time(closedAt != null ? closedAt : dispatchedAt).time(dispatchedAt)
+                .time(status == ShipmentStatus.DELIVERED ? closedAt : null).endRow();
+
+        for (int line = 0; line < lines; line++) {
+            int inventory = lineInventory[line];
+            items.text(uuid(dispatchedAt.toEpochMilli(), random)).text(shipmentId)
+                    .text(productIds[inventoryProduct[inventory]]).text(blockIds[inventoryBlock[inventory]])
+                    .number(lineQuantity[line]).time(dispatchedAt).time(dispatchedAt).endRow();
+        }
+
+        event(events, random, shipmentId, EventType.PICKED, "Items picked", pickedAt, false);
+        event(events, random, shipmentId, EventType.PACKED, "Items packed", packedAt, false);
+        event(events, random, shipmentId, EventType.LOADED, "Loaded onto vehicle",
+                dispatchedAt.minus(Duration.ofMinutes(1 + random.nextInt(20))), false);
+        event(events, random, shipmentId, EventType.DISPATCHED, "Auto-dispatched with Order", dispatchedAt, false);
+        if (status != ShipmentStatus.DISPATCHED) {
+            long trackedMillis = trackedUntil.toEpochMilli() - dispatchedAt.toEpochMilli();
+            int updates = 0;
+            while (updates < 20 && random.nextDouble() >= 1.0 / (1.0 + properties.getLocationUpdatesPerShipment())) {
+                updates++;
+            }
+            for (int u = 1; u <= updates; u++) {
+                event(events, random, shipmentId, EventType.LOCATION_UPDATE, "In transit",
+                        dispatchedAt.plusMillis(trackedMillis * u / (updates + 1)), true);
+            }
+        }
+        if (closedAt != null) {
+            EventType type = EventType.valueOf(status.name());
+            event(events, random, shipmentId, type, "Shipment " + status.name().toLowerCase(), closedAt, true);
+        }
+    }
+
+    private void event(CopyBuffer events, SplittableRandom random, String shipmentId, EventType type,
+            String message, Instant at, boolean located) {
+        events.text(uuid(at.toEpochMilli(), random)).text(shipmentId).text(type.name()).text(message);
+        if (located) {
+            events.number(WAREHOUSE_LATITUDE + (random.nextDouble() - 0.5) * 0.6)
+                    .number(WAREHOUSE_LONGITUDE + (random.nextDouble() - 0.5) * 0.6);
+        } else {
+            events.text(null).text(null);
+        }
+        events.text(type == EventType.LOCATION_UPDATE ? "driver" : "Warehouse").time(at).time(at).endRow();
+    }
+
+    private void writeMovements(CopyTarget target, int chunk) {
+        SplittableRandom random = random(MOVEMENT_STREAM, chunk);
+        Map<LocalDate, CopyBuffer> byMonth = new LinkedHashMap<>();
+        long total = properties.getStockMovements();
+        long spanMillis = until.toEpochMilli() - historyStart.toEpochMilli();
+        long from = (long) chunk * properties.getMovementsPerChunk();
+        long to = Math.min(total, from + properties.getMovementsPerChunk());
+
+        for (long j = from; j < to; j++) {
+            Instant createdAt = historyStart.plusMillis((long) ((j + random.nextDouble()) * spanMillis / total));
+            MovementType type = movementType(random.nextDouble());
+            int inventory = pickLocation(random, null, 0);
+            if (inventory < 0) {
+                continue;
+            }
+            String product = productIds[inventoryProduct[inventory]];
+            String location = blockIds[inventoryBlock[inventory]];
+            String other = blockIds[random.nextInt(blockIds.length)];
+            String fromBlock = null;
+            String toBlock = null;
+            String referenceType = null;
+            String referenceId = null;
+            String createdBy = "SYSTEM";
+            int quantity = 1 + random.nextInt(5);
+            switch (type) {
+                case PICK -> {
+                    fromBlock = location;
+                    referenceType = "SO";
+                    referenceId = orderNumber((int) (j * properties.getOrders() / total));
+                    createdBy = picker(random);
+                }
+                case OUTBOUND -> {
+                    fromBlock = location;
+                    referenceType = "SO";
+                    referenceId = orderNumber((int) (j * properties.getOrders() / total));
+                }
+                case INBOUND -> {
+                    toBlock = location;
+                    referenceType = "PO";
+                    referenceId = "PO-" + tag + "-" + (j / 40 + 1);
+                    quantity = 20 + random.nextInt(200);
+                }
+                case PUTAWAY -> {
+                    fromBlock = other;
+                    toBlock = location;
+                    referenceType = "PO";
+                    referenceId = "PO-" + tag + "-" + (j / 40 + 1);
+                    quantity = 20 + random.nextInt(200);
+                    createdBy = picker(random);
+                }
+                case TRANSFER -> {
+                    fromBlock = location;
+                    toBlock = other;
+                    quantity = 5 + random.nextInt(50);
+                    createdBy = picker(random);
+                }
+                default -> toBlock = location;
+            }
+            CopyBuffer movements = byMonth.computeIfAbsent(
+                    LocalDate.ofInstant(createdAt, ZoneOffset.UTC).withDayOfMonth(1),
+                    month -> new CopyBuffer(movementPartition(month), "movement_id, product_id, from_block_id, "
+                            + "to_block_id, quantity, movement_type, reference_type, reference_id, notes, "
+                            + "created_by, created_at, warehouse_id, last_modified_at", target));
+            movements.text(uuid(createdAt.toEpochMilli(), random)).text(product).text(fromBlock).text(toBlock)
+                    .number(quantity).text(type.name()).text(referenceType).text(referenceId).text(null)
+                    .text(createdBy).time(createdAt).text(warehouseId).time(createdAt).endRow();
+            movements.flushIfFull();
+        }
+        for (CopyBuffer movements : byMonth.values()) {
+            finish(movements, "stock_movement");
+        }
+    }
+
+    private void writeInventory(CopyTarget target) {
+        CopyBuffer inventory = new CopyBuffer("inventory", "inventory_id, product_id, block_id, quantity, "
+                + "reserved_quantity, damaged_quantity, min_stock_level, max_stock_level, created_at, "
+                + "last_modified_at, warehouse_id", target);
+        CopyBuffer ledger = new CopyBuffer("inventory_ledger", "recorded_at, inventory_id, product_id, block_id, "
+                + "warehouse_id, quantity_delta, quantity_after, reason", target);
+        for (int i = 0; i < inventoryIds.length; i++) {
+            int reservedQuantity = reserved.get(i);
+            int quantity = inventoryBase[i] + reservedQuantity;
+            String product = productIds[inventoryProduct[i]];
+            String block = blockIds[inventoryBlock[i]];
+            inventory.text(inventoryIds[i]).text(product).text(block).number(quantity).number(reservedQuantity)
+                    .number(0).number(10).number(1000).time(inventoryCreatedAt[i]).time(inventoryCreatedAt[i])
+                    .text(warehouseId).endRow();
+            ledger.time(inventoryCreatedAt[i]).text(inventoryIds[i]).text(product).text(block).text(warehouseId)
+                    .number(quantity).number(quantity).text(InventoryLedgerReason.CREATE.name()).endRow();
+            inventory.flushIfFull();
+        }
+        finish(inventory);
+        finish(ledger);
+    }
+
+    // An inventory row of a popular product, not one of the first `taken` in
+    // `exclude`; -1 if none turned up
+    private int pickLocation(SplittableRandom random, int[] exclude, int taken) {
+        for (int attempt = 0; attempt < 10; attempt++) {
+            int[] locations = locationsByProduct[skus.next(random)];
+            if (locations.length == 0) {
+                continue;
+            }
+            int candidate = locations[random.nextInt(locations.length)];
+            boolean duplicate = false;
+            for (int k = 0; k < taken; k++) {
+                duplicate |= inventoryProduct[exclude[k]] == inventoryProduct[candidate];
+            }
+            if (!duplicate) {
+                return candidate;
+            }
+        }
+        return -1;
+    }
+
+    private MovementType movementType(double u) {
+        double cumulative = 0;
+        for (int i = 0; i < MOVEMENT_TYPES.length; i++) {
+            cumulative += MOVEMENT_TYPE_SHARE[i];
+            if (u < cumulative) {
+                return MOVEMENT_TYPES[i];
+            }
+        }
+        return MOVEMENT_TYPES[MOVEMENT_TYPES.length - 1];
+    }
+
+    private String orderNumber(int index) {
+        return String.format("SO-%s-%08d", tag, index + 1);
+    }
+
+    private String picker(SplittableRandom random) {
+        return String.format("picker%02d", 1 + random.nextInt(Math.max(1, properties.getPickers())));
+    }
+
+    private void finish(CopyBuffer buffer) {
+        finish(buffer, buffer.table());
+    }
+
+    private void finish(CopyBuffer buffer, String countedAs) {
+        buffer.flush();
+        rowCounts.merge(countedAs, buffer.rows(), Long::sum);
+    }
+
+    private void progress(int done, int total) {
+        if (done == total || done % Math.max(1, total / 10) == 0) {
+            log.info("Synthetic data: {}/{} chunks written", done, total);
+        }
+    }
+
+    // Clamped to stay before `until` (open orders are still in progress) but
+    // not before `notBefore`
+    private Instant before(Instant at, Instant notBefore) {
+        Instant latest = until.minusMillis(1);
+        if (at.isBefore(latest)) {
+            return at;
+        }
+        return notBefore.isBefore(latest) ? notBefore.plusMillis((latest.toEpochMilli() - notBefore.toEpochMilli()) / 2)
+                : notBefore;
+    }
+
+    private static Instant latest(Instant first, Instant... others) {
+        Instant latest = first;
+        for (Instant other : others) {
+            if (other != null && other.isAfter(latest)) {
+                latest = other;
+            }
+        }
+        return latest;
+    }
+
+    private static int chunks(long rows, int perChunk) {
+        return (int) ((rows + perChunk - 1) / perChunk);
+    }
+
+    private SplittableRandom random(long stream, long chunk) {
+        return new SplittableRandom(properties.getSeed() * 0x9E3779B97F4A7C15L + stream * 0xBF58476D1CE4E5B9L
+                + chunk * 0x94D049BB133111EBL);
+    }
+
+    // UUID version 7 laid out like UuidV7Generator's, but from a given time and
+    // random source so ids are reproducible
+    private static String uuid(long millis, SplittableRandom random) {
+        long mostSigBits = (millis << 16) | 0x7000L | (random.nextLong() & 0xFFFL);
+        long leastSigBits = (random.nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+        return new UUID(mostSigBits, leastSigBits).toString();
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.warehouse.datagen;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Draws indexes 0..n-1 with Zipfian popularity: the item of rank k is picked
+ * with probability proportional to 1 / k^exponent. Ranks are shuffled onto
+ * indexes once, so the most popular item is not simply the first one created.
+ * Immutable after construction and safe to share between threads; each
+ * caller brings its own random source.
+ */
+final class ZipfSampler {
+
+    private final double[] cumulative;
+    private final int[] itemByRank;
+
+    ZipfSampler(int n, double exponent, SplittableRandom random) {
+        if (n <= 0) {
+            throw new IllegalArgumentException("n must be positive: " + n);
+        }
+        cumulative = new double[n];
+        double total = 0;
+        for (int rank = 0; rank < n; rank++) {
+            total += 1.0 / Math.pow(rank + 1, exponent);
+            cumulative[rank] = total;
+        }
+        for (int rank = 0; rank < n; rank++) {
+            cumulative[rank] /= total;
+        }
+        cumulative[n - 1] = 1.0;
+
+        itemByRank = new int[n];
+        for (int i = 0; i < n; i++) {
+            itemByRank[i] = i;
+        }
+        for (int i = n - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int swap = itemByRank[i];
+            itemByRank[i] = itemByRank[j];
+            itemByRank[j] = swap;
+        }
+    }
+
+    int size() {
+        return itemByRank.length;
+    }
+
+    int next(SplittableRandom random) {
+        return itemByRank[rankOf(random.nextDouble())];
+    }
+
+    /** The item at a popularity rank (0 is the most popular). */
+    int itemAt(int rank) {
+        return itemByRank[rank];
+    }
+
+    private int rankOf(double u) {
+        int rank = Arrays.binarySearch(cumulative, u);
+        return rank >= 0 ? rank : -rank - 1;
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.warehouse.datasource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Polls the replica for its replay lag. While the lag is above
+ * {@code app.datasource.replica.max-lag}, or the replica cannot be reached,
+ * {@link ReplicaRoutingDataSource} keeps read-only transactions on the primary.
+ */
+public class ReplicaLagMonitor {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaLagMonitor.class);
+
+    // A standby that has replayed everything it received is caught up, however
+    // old its last replayed transaction is; a server not in recovery has no lag
+    private static final String LAG_SECONDS_SQL = "SELECT CASE"
+            + " WHEN NOT pg_is_in_recovery() THEN 0"
+            + " WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0"
+            + " ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()), 0) END";
+
+    private final JdbcTemplate replicaJdbcTemplate;
+    private final Duration maxLag;
+
+    private volatile boolean replicaUsable;
+    private volatile Duration lastLag;
+
+    public ReplicaLagMonitor(DataSource replica, Duration maxLag) {
+        this.replicaJdbcTemplate = new JdbcTemplate(replica);
+        this.replicaJdbcTemplate.setQueryTimeout(2);
+        this.maxLag = maxLag;
+    }
+
+    @Scheduled(fixedDelayString = "${app.datasource.replica.lag-check-interval:1s}")
+    public void checkLag() {
+        boolean usable;
+        try {
+            Double seconds = replicaJdbcTemplate.queryForObject(LAG_SECONDS_SQL, Double.class);
+            lastLag = Duration.ofMillis(Math.round((seconds != null ? seconds : 0) * 1000));
+            usable = lastLag.compareTo(maxLag) <= 0;
+        } catch (DataAccessException e) {
+            lastLag = null;
+            usable = false;
+            if (replicaUsable) {
+                log.warn("Replica lag check failed: {}", e.getMessage());
+            }
+        }
+        if (usable != replicaUsable) {
+            log.info("Replica {} (lag {}, max {})", usable ? "in use" : "bypassed, reads go to primary",
+                    lastLag, maxLag);
+        }
+        replicaUsable = usable;
+    }
+
+    public boolean isReplicaUsable() {
+        return replicaUsable;
+    }
+
+    /** Lag seen by the last check, or null if the replica could not be reached. */
+    public Duration getLastLag() {
+        return lastLag;
+    }
+}
@@ -0,0 +1,83 @@
+package com.example.warehouse.datasource;
+
+import com.example.warehouse.config.WarehouseContext;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Objects;
+
+/**
+ * Sets {@link WarehouseContext#SESSION_SETTING} on every connection taken from
+ * a pool to the calling thread's warehouse, which the
+ * {@link WarehouseContext#SQL_RESTRICTION} of the warehouse-owned entities
+ * reads. The setting is session-level, so it stays with the physical
+ * connection: the value last applied to each one is remembered and the
+ * statement only runs when it differs. A pool serving one warehouse runs it
+ * once per connection; interleaved warehouses pay one round trip on the
+ * checkouts that switch, which costs less than setting it per transaction on
+ * every checkout would.
+ * <p>
+ * The warehouse is read when the connection is taken, so, as with the
+ * Hibernate session itself, it has to be set before the transaction starts.
+ * This must wrap the pools, not a {@code LazyConnectionDataSourceProxy}, which
+ * would be forced to fetch a connection before it is routed.
+ */
+public class WarehouseSessionDataSource extends DelegatingDataSource implements Closeable {
+
+    private static final String APPLY = "SELECT set_config('" + WarehouseContext.SESSION_SETTING + "', ?, false)";
+
+    // Concurrent and weakly keyed by identity, so checkouts do not share a lock and evicted connections drop out
+    private final Cache<Connection, String> applied = Caffeine.newBuilder().weakKeys().build();
+
+    public WarehouseSessionDataSource(DataSource targetDataSource) {
+        super(targetDataSource);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return scoped(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return scoped(super.getConnection(username, password));
+    }
+
+    private Connection scoped(Connection connection) throws SQLException {
+        String warehouseId = Objects.requireNonNullElse(WarehouseContext.getWarehouseId(), "");
+        try {
+            // Pools hand out a new proxy per checkout; the physical connection is what keeps the setting
+            Connection physical = connection.unwrap(Connection.class);
+            if (warehouseId.equals(applied.getIfPresent(physical))) {
+                return connection;
+            }
+            try (PreparedStatement statement = connection.prepareStatement(APPLY)) {
+                statement.setString(1, warehouseId);
+                statement.execute();
+            }
+            // A rollback would undo the setting and leave the remembered value wrong
+            if (!connection.getAutoCommit()) {
+                connection.commit();
+            }
+            applied.put(physical, warehouseId);
+            return connection;
+        } catch (SQLException | RuntimeException e) {
+            connection.close();
+            throw e;
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (getTargetDataSource() instanceof Closeable closeable) {
+            closeable.close();
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.warehouse.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.core.Ordered;
+import org.springframework.stereotype.Component;
+
+/**
+ * Wraps each connection pool (the auto-configured DataSource, or the primary
+ * and replica pools behind the routing proxy) in a
+ * {@link WarehouseSessionDataSource}. It runs before the other DataSource
+ * post-processors, so its wrapper is the innermost one.
+ */
+@Component
+public class WarehouseSessionDataSourcePostProcessor implements BeanPostProcessor, Ordered {
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof HikariDataSource pool) {
+            return new WarehouseSessionDataSource(pool);
+        }
+        return bean;
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE;
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.warehouse.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class InventoryLedgerResponse {
+    private Long ledgerId;
+    private String inventoryId;
+    private String productId;
+    private String blockId;
+    private Integer quantityDelta;
+    private Integer quantityAfter;
+    private String reason;
+    private String reference;
+    private Long recordedAt;
+}
@@ -0,0 +1,14 @@
+package com.example.warehouse.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class StockLevelResponse {
+    private String blockId;
+    private String productId;
+    private Long quantity;
+}
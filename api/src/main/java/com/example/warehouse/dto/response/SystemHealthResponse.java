@@ -4,7 +4,11 @@ import lombok.Data;
 
 @Data
 public class SystemHealthResponse {
-    private double apiLatencyMs;
+    private double apiLatencyMs; // p95 over the request metrics window
+    private double apiLatencyP50Ms;
+    private double apiLatencyP99Ms;
+    private long requestsInWindow;
+    private double errorRate; // share of 5xx responses in the window
     private int webSocketSessions;
     private long lastInventorySyncTime;
     private int stuckOrdersCount;
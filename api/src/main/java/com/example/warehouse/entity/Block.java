@@ -1,9 +1,12 @@
 package com.example.warehouse.entity;
 
+import com.example.warehouse.config.WarehouseContext;
 import com.example.warehouse.enums.BlockType;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.SQLRestriction;
+import org.hibernate.annotations.UuidGenerator;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -12,6 +15,7 @@ import java.util.List;
 @Getter
 @Setter
 @Table(name = "block")
+@SQLRestriction(WarehouseContext.SQL_RESTRICTION)
 @Inheritance(strategy = InheritanceType.JOINED)
 public class Block extends BaseEntity {
 
@@ -30,7 +34,7 @@ public class Block extends BaseEntity {
     private List<Inventory> inventories = new ArrayList<>();
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @UuidGenerator(algorithm = UuidV7Generator.class)
     @Column(name = "block_id", nullable = false, updatable = false)
     private String blockId;
 
@@ -46,20 +50,23 @@ public class Block extends BaseEntity {
     @Column(name = "type", nullable = false)
     private BlockType type;
 
+    // Maintained by BlockRepository alongside every inventory change, never
+    // written from the entity so a stale copy cannot overwrite a newer count
+    @Column(name = "occupied_units", nullable = false, insertable = false, updatable = false)
+    private long occupiedUnits;
+
+    // Sum of quantity * product volume over the block's active inventory, in
+    // cubic meters
+    @Column(name = "occupied_volume", nullable = false, insertable = false, updatable = false)
+    private double occupiedVolume;
+
     // Calculate total capacity in cubic meters
     public double getTotalCapacity() {
         return height * length * breath;
     }
 
-    // Calculate occupied capacity (simplified - assumes each item takes 1 cubic
-    // meter)
     public double getOccupiedCapacity() {
-        if (inventories == null || inventories.isEmpty()) {
-            return 0.0;
-        }
-        return inventories.stream()
-                .mapToDouble(inv -> inv.getQuantity() != null ? inv.getQuantity() : 0)
-                .sum();
+        return occupiedVolume;
     }
 
     // Calculate available capacity
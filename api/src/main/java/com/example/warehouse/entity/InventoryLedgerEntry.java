@@ -0,0 +1,59 @@
+package com.example.warehouse.entity;
+
+import com.example.warehouse.config.WarehouseContext;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+import org.hibernate.annotations.Generated;
+import org.hibernate.annotations.Immutable;
+import org.hibernate.annotations.SQLRestriction;
+
+import java.time.Instant;
+
+/**
+ * One change to an inventory row's quantity (see V9 migration). Rows are
+ * append-only: the table rejects updates and deletes.
+ */
+@Entity
+@Getter
+@Setter
+@Immutable
+@Table(name = "inventory_ledger")
+@SQLRestriction(WarehouseContext.SQL_RESTRICTION)
+public class InventoryLedgerEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "ledger_id", nullable = false, updatable = false)
+    private Long ledgerId;
+
+    // Set by the database when the row is inserted
+    @Generated
+    @Column(name = "recorded_at", insertable = false, updatable = false)
+    private Instant recordedAt;
+
+    @Column(name = "inventory_id", nullable = false)
+    private String inventoryId;
+
+    @Column(name = "product_id", nullable = false)
+    private String productId;
+
+    @Column(name = "block_id", nullable = false)
+    private String blockId;
+
+    @Column(name = "warehouse_id")
+    private String warehouseId;
+
+    @Column(name = "quantity_delta", nullable = false)
+    private Integer quantityDelta;
+
+    @Column(name = "quantity_after", nullable = false)
+    private Integer quantityAfter;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "reason", nullable = false)
+    private InventoryLedgerReason reason;
+
+    @Column(name = "reference")
+    private String reference;
+}
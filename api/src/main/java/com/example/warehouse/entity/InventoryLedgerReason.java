@@ -0,0 +1,11 @@
+package com.example.warehouse.entity;
+
+public enum InventoryLedgerReason {
+    OPENING, // Balance of an inventory row when the ledger was introduced
+    CREATE, // Initial quantity of a new inventory row
+    UPDATE, // Quantity set through an inventory update
+    ADJUST, // Stock adjustment
+    PICK, // Completed pick task
+    DELETE, // Inventory row soft-deleted
+    RESTORE // Soft-deleted inventory row restored
+}
@@ -3,6 +3,7 @@ package com.example.warehouse.entity;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.UuidGenerator;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
@@ -17,7 +18,7 @@ import java.time.Instant;
 public class Product extends BaseEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @UuidGenerator(algorithm = UuidV7Generator.class)
     @Column(name = "product_id", nullable = false, updatable = false)
     private String productId;
 
@@ -42,23 +43,19 @@ public class Product extends BaseEntity {
     @Column(name = "dimensions")
     private String dimensions; // Format: "LxWxH" in cm
 
-    public double getVolume() {
-        if (dimensions == null || dimensions.isEmpty()) {
-            return 0.0;
-        }
-        try {
-            String[] parts = dimensions.split("x");
-            if (parts.length == 3) {
-                double l = Double.parseDouble(parts[0].trim());
-                double w = Double.parseDouble(parts[1].trim());
-                double h = Double.parseDouble(parts[2].trim());
-                // Return volume in cubic meters (assuming dims are in cm)
-                return (l * w * h) / 1000000.0;
-            }
-        } catch (NumberFormatException e) {
-            // ignore invalid formats
-        }
-        return 0.0;
-    }
+    // Parsed from dimensions on write (see ProductServiceImpl), in cm; null
+    // when dimensions do not parse
+    @Column(name = "length")
+    private Double length;
+
+    @Column(name = "width")
+    private Double width;
+
+    @Column(name = "height")
+    private Double height;
+
+    // Volume in cubic meters, 0 when dimensions do not parse
+    @Column(name = "volume", nullable = false)
+    private double volume;
 
 }
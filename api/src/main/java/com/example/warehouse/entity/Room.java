@@ -1,8 +1,11 @@
 package com.example.warehouse.entity;
 
+import com.example.warehouse.config.WarehouseContext;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.SQLRestriction;
+import org.hibernate.annotations.UuidGenerator;
 
 import java.util.List;
 
@@ -11,6 +14,7 @@ import java.util.List;
 @Getter
 @Setter
 @Table(name = "room")
+@SQLRestriction(WarehouseContext.SQL_RESTRICTION)
 public class Room extends BaseEntity {
 
     @OneToMany(mappedBy = "room")
@@ -22,7 +26,7 @@ public class Room extends BaseEntity {
     private WareHouse warehouse;
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @UuidGenerator(algorithm = UuidV7Generator.class)
     @Column(name = "room_id", nullable = false, updatable = false)
     private String roomId;
 
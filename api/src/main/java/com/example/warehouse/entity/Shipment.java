@@ -1,8 +1,11 @@
 package com.example.warehouse.entity;
 
+import com.example.warehouse.config.WarehouseContext;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.SQLRestriction;
+import org.hibernate.annotations.UuidGenerator;
 
 import java.time.Instant;
 import java.time.LocalDate;
@@ -12,10 +15,11 @@ import java.util.List;
 @Getter
 @Setter
 @Table(name = "shipment")
+@SQLRestriction(WarehouseContext.SQL_RESTRICTION)
 public class Shipment extends BaseEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @UuidGenerator(algorithm = UuidV7Generator.class)
     @Column(name = "shipment_id", nullable = false, updatable = false)
     private String shipmentId;
 
@@ -3,6 +3,7 @@ package com.example.warehouse.entity;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.UuidGenerator;
 
 @Entity
 @Getter
@@ -11,7 +12,7 @@ import lombok.Setter;
 public class ShipmentItem extends BaseEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @UuidGenerator(algorithm = UuidV7Generator.class)
     @Column(name = "shipment_item_id", nullable = false, updatable = false)
     private String shipmentItemId;
 
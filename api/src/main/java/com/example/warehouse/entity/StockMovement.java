@@ -1,8 +1,11 @@
 package com.example.warehouse.entity;
 
+import com.example.warehouse.config.WarehouseContext;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.SQLRestriction;
+import org.hibernate.annotations.UuidGenerator;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
@@ -13,10 +16,11 @@ import java.time.Instant;
 @Setter
 @EntityListeners(AuditingEntityListener.class)
 @Table(name = "stock_movement")
+@SQLRestriction(WarehouseContext.SQL_RESTRICTION)
 public class StockMovement extends BaseEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @UuidGenerator(algorithm = UuidV7Generator.class)
     @Column(name = "movement_id", nullable = false, updatable = false)
     private String movementId;
 
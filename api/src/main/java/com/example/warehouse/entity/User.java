@@ -4,6 +4,7 @@ import com.example.warehouse.enums.UserRole;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.UuidGenerator;
 
 @Inheritance(strategy = InheritanceType.JOINED)
 @Getter
@@ -12,7 +13,7 @@ import lombok.Setter;
 @Table(name = "users")
 public class User extends BaseEntity {
 
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @UuidGenerator(algorithm = UuidV7Generator.class)
     @Id
     @Column(name = "user_id", nullable = false, updatable = false)
     private String userId;
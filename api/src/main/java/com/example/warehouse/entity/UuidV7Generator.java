@@ -0,0 +1,46 @@
+package com.example.warehouse.entity;
+
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.uuid.UuidValueGenerator;
+
+import java.security.SecureRandom;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Time-ordered UUID (RFC 9562 version 7) used for all primary keys.
+ * The leading 48 bits are the Unix epoch millis and the next 12 bits are a
+ * per-millisecond counter, so ids generated on one node are strictly
+ * increasing and new rows land on the right-most B-tree page instead of
+ * being scattered across the whole index.
+ */
+public class UuidV7Generator implements UuidValueGenerator {
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    // (epoch millis << 12) | counter of the last id handed out
+    private static final AtomicLong LAST_STATE = new AtomicLong();
+
+    @Override
+    public UUID generateUuid(SharedSessionContractImplementor session) {
+        return next();
+    }
+
+    public static UUID next() {
+        long now = System.currentTimeMillis() << 12;
+        long state;
+        long previous;
+        do {
+            previous = LAST_STATE.get();
+            // Same millisecond (or clock stepped back): bump the counter; an
+            // overflow simply carries into the timestamp bits.
+            state = now > previous ? now : previous + 1;
+        } while (!LAST_STATE.compareAndSet(previous, state));
+
+        long millis = state >>> 12;
+        long counter = state & 0xFFFL;
+        long mostSigBits = (millis << 16) | 0x7000L | counter;
+        long leastSigBits = (RANDOM.nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+        return new UUID(mostSigBits, leastSigBits);
+    }
+}
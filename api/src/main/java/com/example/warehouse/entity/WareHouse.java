@@ -3,6 +3,7 @@ package com.example.warehouse.entity;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.UuidGenerator;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -23,7 +24,7 @@ public class WareHouse extends BaseEntity {
     @OneToMany(mappedBy = "warehouse")
     private List<Room> room = new ArrayList<>();
 
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @UuidGenerator(algorithm = UuidV7Generator.class)
     @Id
     @Column(name = "warehouse_id", nullable = false, updatable = false)
     private String warehouseId;
@@ -0,0 +1,75 @@
+package com.example.warehouse.jfr;
+
+import com.example.warehouse.config.WarehouseContext;
+import com.example.warehouse.metrics.SqlStats;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * Computing one analytics section, with the SQL it ran when the request is
+ * being counted by {@link SqlStats}.
+ */
+@Name("com.example.warehouse.AnalyticsSection")
+@Label("Analytics Section")
+@Category({ "Warehouse", "Analytics" })
+@Description("Computation of one analytics section")
+@StackTrace(false)
+public class AnalyticsSectionEvent extends Event {
+
+    @Label("Warehouse")
+    String warehouseId;
+
+    @Label("Section")
+    String section;
+
+    @Label("Result Rows")
+    @Description("Rows in the section's result; 1 for a summary")
+    int rows;
+
+    @Label("SQL Statements")
+    int sqlStatements;
+
+    @Label("SQL Rows Fetched")
+    long sqlRows;
+
+    @Label("SQL Time")
+    @Timespan
+    long sqlNanos;
+
+    private transient int startStatements;
+    private transient long startRows;
+    private transient long startNanos;
+
+    public static AnalyticsSectionEvent start(String section) {
+        AnalyticsSectionEvent event = new AnalyticsSectionEvent();
+        event.section = section;
+        SqlStats stats = SqlStats.current();
+        if (stats != null) {
+            event.startStatements = stats.statements();
+            event.startRows = stats.rows();
+            event.startNanos = stats.nanos();
+        }
+        event.begin();
+        return event;
+    }
+
+    public void finish(int rows) {
+        end();
+        if (shouldCommit()) {
+            this.warehouseId = WarehouseContext.getWarehouseId();
+            this.rows = rows;
+            SqlStats stats = SqlStats.current();
+            if (stats != null) {
+                this.sqlStatements = stats.statements() - startStatements;
+                this.sqlRows = stats.rows() - startRows;
+                this.sqlNanos = stats.nanos() - startNanos;
+            }
+            commit();
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.warehouse.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A reference data lookup; a miss includes loading the row.
+ */
+@Name("com.example.warehouse.CacheLookup")
+@Label("Cache Lookup")
+@Category({ "Warehouse", "Cache" })
+@Description("Reference data cache lookup")
+@StackTrace(false)
+public class CacheLookupEvent extends Event {
+
+    @Label("Warehouse")
+    String warehouseId;
+
+    @Label("Cache")
+    String cache;
+
+    @Label("Key")
+    String key;
+
+    @Label("Hit")
+    boolean hit = true;
+
+    public void missed() {
+        hit = false;
+    }
+
+    public void finish(String warehouseId, String cache, String key) {
+        end();
+        if (shouldCommit()) {
+            this.warehouseId = warehouseId;
+            this.cache = cache;
+            this.key = key;
+            commit();
+        }
+    }
+}
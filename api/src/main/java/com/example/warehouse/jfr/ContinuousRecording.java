@@ -0,0 +1,83 @@
+package com.example.warehouse.jfr;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Flight recording that runs for the life of the application: the JDK's
+ * "default" settings plus the warehouse events from {@code settings}
+ * (jfr/warehouse.jfc), kept on disk for {@code max-age} or up to
+ * {@code max-size}, whichever is reached first. {@link #dump()} writes what is
+ * retained to a file without stopping the recording.
+ */
+@Component
+@ConditionalOnProperty(name = "app.jfr.enabled", havingValue = "true")
+public class ContinuousRecording {
+
+    private static final Logger log = LoggerFactory.getLogger(ContinuousRecording.class);
+
+    private final Resource settings;
+    private final Duration maxAge;
+    private final DataSize maxSize;
+    private Recording recording;
+
+    public ContinuousRecording(@Value("${app.jfr.settings:classpath:jfr/warehouse.jfc}") Resource settings,
+            @Value("${app.jfr.max-age:1h}") Duration maxAge,
+            @Value("${app.jfr.max-size:250MB}") DataSize maxSize) {
+        this.settings = settings;
+        this.maxAge = maxAge;
+        this.maxSize = maxSize;
+    }
+
+    @PostConstruct
+    public void start() throws IOException, ParseException {
+        Map<String, String> merged = new HashMap<>(Configuration.getConfiguration("default").getSettings());
+        try (Reader reader = new InputStreamReader(settings.getInputStream(), StandardCharsets.UTF_8)) {
+            merged.putAll(Configuration.create(reader).getSettings());
+        }
+        recording = new Recording(merged);
+        recording.setName("warehouse");
+        recording.setToDisk(true);
+        recording.setMaxAge(maxAge);
+        recording.setMaxSize(maxSize.toBytes());
+        recording.start();
+        log.info("Continuous flight recording started (max-age {}, max-size {})", maxAge, maxSize);
+    }
+
+    @PreDestroy
+    public void stop() {
+        recording.close();
+    }
+
+    /** Writes the retained recording to a new temporary file; the caller deletes it. */
+    public Path dump() throws IOException {
+        Path file = Files.createTempFile("warehouse-", ".jfr");
+        try {
+            recording.dump(file);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(file);
+            throw e;
+        }
+        return file;
+    }
+}
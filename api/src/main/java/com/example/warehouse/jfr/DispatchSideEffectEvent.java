@@ -0,0 +1,59 @@
+package com.example.warehouse.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * One side effect of dispatching an order (its outbound movements, its
+ * shipment). The movements are written with the dispatch, but a failed
+ * shipment does not fail it, so this is where those failures and their cost
+ * show up.
+ */
+@Name("com.example.warehouse.DispatchSideEffect")
+@Label("Dispatch Side Effect")
+@Category({ "Warehouse", "Orders" })
+@Description("Movement or shipment created when an order is dispatched")
+@StackTrace(false)
+public class DispatchSideEffectEvent extends Event {
+
+    @Label("Warehouse")
+    String warehouseId;
+
+    @Label("Order Id")
+    String orderId;
+
+    @Label("Step")
+    String step;
+
+    @Label("Rows")
+    int rows;
+
+    @Label("Succeeded")
+    boolean succeeded;
+
+    @Label("Error")
+    String error;
+
+    public static DispatchSideEffectEvent start(String warehouseId, String orderId, String step) {
+        DispatchSideEffectEvent event = new DispatchSideEffectEvent();
+        event.warehouseId = warehouseId;
+        event.orderId = orderId;
+        event.step = step;
+        event.begin();
+        return event;
+    }
+
+    public void finish(int rows, Exception error) {
+        end();
+        if (shouldCommit()) {
+            this.rows = rows;
+            this.succeeded = error == null;
+            this.error = error != null ? error.toString() : null;
+            commit();
+        }
+    }
+}
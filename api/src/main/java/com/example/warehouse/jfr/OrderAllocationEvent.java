@@ -0,0 +1,64 @@
+package com.example.warehouse.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Creating an order: finding stock for every line, reserving it and creating
+ * the pick tasks. Emitted whether or not the order could be allocated.
+ */
+@Name("com.example.warehouse.OrderAllocation")
+@Label("Order Allocation")
+@Category({ "Warehouse", "Orders" })
+@Description("Allocation of an order's lines to stock and pick tasks")
+@StackTrace(false)
+public class OrderAllocationEvent extends Event {
+
+    @Label("Warehouse")
+    String warehouseId;
+
+    @Label("Order Number")
+    String orderNumber;
+
+    @Label("Order Id")
+    String orderId;
+
+    @Label("Lines")
+    int lines;
+
+    @Label("Inventory Rows Read")
+    int inventoryRows;
+
+    @Label("Pick Tasks")
+    int pickTasks;
+
+    @Label("Allocated")
+    boolean allocated;
+
+    public static OrderAllocationEvent start(String warehouseId, String orderNumber, int lines) {
+        OrderAllocationEvent event = new OrderAllocationEvent();
+        event.warehouseId = warehouseId;
+        event.orderNumber = orderNumber;
+        event.lines = lines;
+        event.begin();
+        return event;
+    }
+
+    public void inventoryRead(int rows) {
+        inventoryRows += rows;
+    }
+
+    public void finish(String orderId, int pickTasks, boolean allocated) {
+        end();
+        if (shouldCommit()) {
+            this.orderId = orderId;
+            this.pickTasks = pickTasks;
+            this.allocated = allocated;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.warehouse.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A pick task moving between statuses, timed from loading the task to the end
+ * of everything the transition does (stock, ledger and order updates).
+ * Emitted whether or not the transition went through.
+ */
+@Name("com.example.warehouse.PickTaskTransition")
+@Label("Pick Task Transition")
+@Category({ "Warehouse", "Orders" })
+@Description("Status change of a pick task")
+@StackTrace(false)
+public class PickTaskTransitionEvent extends Event {
+
+    @Label("Warehouse")
+    String warehouseId;
+
+    @Label("Task Id")
+    String taskId;
+
+    @Label("Order Id")
+    String orderId;
+
+    @Label("Picker")
+    String picker;
+
+    @Label("From")
+    String fromStatus;
+
+    @Label("To")
+    String toStatus;
+
+    @Label("Quantity")
+    int quantity;
+
+    @Label("Succeeded")
+    boolean succeeded;
+
+    public static PickTaskTransitionEvent start(String taskId, String fromStatus, String toStatus) {
+        PickTaskTransitionEvent event = new PickTaskTransitionEvent();
+        event.taskId = taskId;
+        event.fromStatus = fromStatus;
+        event.toStatus = toStatus;
+        event.begin();
+        return event;
+    }
+
+    // Details of the task, once it is loaded
+    public void task(String warehouseId, String orderId, String picker, int quantity) {
+        this.warehouseId = warehouseId;
+        this.orderId = orderId;
+        this.picker = picker;
+        this.quantity = quantity;
+    }
+
+    public void finish(boolean succeeded) {
+        end();
+        if (shouldCommit()) {
+            this.succeeded = succeeded;
+            commit();
+        }
+    }
+}
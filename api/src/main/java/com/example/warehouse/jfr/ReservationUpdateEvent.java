@@ -0,0 +1,53 @@
+package com.example.warehouse.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A change to an inventory row's reserved quantity: reserving stock for a new
+ * order, or releasing it when a pick completes. The duration covers the
+ * read-modify-write; a version conflict only shows at commit.
+ */
+@Name("com.example.warehouse.ReservationUpdate")
+@Label("Reservation Update")
+@Category({ "Warehouse", "Inventory" })
+@Description("Change to the reserved quantity of an inventory row")
+@StackTrace(false)
+public class ReservationUpdateEvent extends Event {
+
+    @Label("Warehouse")
+    String warehouseId;
+
+    @Label("Inventory Id")
+    String inventoryId;
+
+    @Label("Reason")
+    String reason;
+
+    @Label("Reserved Change")
+    int reservedDelta;
+
+    @Label("Reserved After")
+    int reservedAfter;
+
+    @Label("Quantity After")
+    int quantityAfter;
+
+    public void finish(String warehouseId, String inventoryId, String reason, int reservedDelta,
+            int reservedAfter, int quantityAfter) {
+        end();
+        if (shouldCommit()) {
+            this.warehouseId = warehouseId;
+            this.inventoryId = inventoryId;
+            this.reason = reason;
+            this.reservedDelta = reservedDelta;
+            this.reservedAfter = reservedAfter;
+            this.quantityAfter = quantityAfter;
+            commit();
+        }
+    }
+}
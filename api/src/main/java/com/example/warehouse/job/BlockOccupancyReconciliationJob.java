@@ -0,0 +1,70 @@
+package com.example.warehouse.job;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Recomputes the {@code occupied_units} and {@code occupied_volume} counters on
+ * {@code block} (see V7 migration) from the active inventory rows and repairs
+ * any that drifted, e.g. after a product's dimensions changed or a write that
+ * bypassed the services. Each block is reconciled in its own short statement so
+ * inventory writes on other blocks are never held up.
+ */
+@Component
+@ConditionalOnProperty(name = "app.block-occupancy.reconciliation.enabled", havingValue = "true", matchIfMissing = true)
+public class BlockOccupancyReconciliationJob {
+
+    private static final Logger log = LoggerFactory.getLogger(BlockOccupancyReconciliationJob.class);
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public BlockOccupancyReconciliationJob(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Scheduled(cron = "${app.block-occupancy.reconciliation.cron:0 45 2 * * *}", zone = "UTC")
+    public void scheduledReconcile() {
+        reconcile();
+    }
+
+    /**
+     * Reconciles every block, soft-deleted ones included, and returns the ids of
+     * those whose counters were corrected.
+     */
+    public List<String> reconcile() {
+        List<String> blockIds;
+        try {
+            blockIds = jdbcTemplate.queryForList("SELECT block_id FROM block", String.class);
+        } catch (DataAccessException e) {
+            log.error("Failed to list blocks for occupancy reconciliation", e);
+            return List.of();
+        }
+
+        List<String> corrected = new ArrayList<>();
+        for (String blockId : blockIds) {
+            try {
+                jdbcTemplate.query("SELECT * FROM reconcile_block_occupancy(?)", rs -> {
+                    log.warn("Corrected occupancy drift on block {}: units {} -> {}, volume {} -> {}",
+                            rs.getString("block_id"),
+                            rs.getLong("recorded_units"), rs.getLong("actual_units"),
+                            rs.getDouble("recorded_volume"), rs.getDouble("actual_volume"));
+                    corrected.add(rs.getString("block_id"));
+                }, blockId);
+            } catch (DataAccessException e) {
+                log.error("Failed to reconcile occupancy of block {}", blockId, e);
+            }
+        }
+        if (!corrected.isEmpty()) {
+            log.info("Reconciled occupancy of {} block(s), {} corrected", blockIds.size(), corrected.size());
+        }
+        return corrected;
+    }
+}
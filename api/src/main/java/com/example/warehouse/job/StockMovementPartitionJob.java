@@ -0,0 +1,119 @@
+package com.example.warehouse.job;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.List;
+
+/**
+ * Keeps the monthly {@code stock_movement} partitions (see V5 migration) ahead
+ * of the clock and moves months older than the retention window into the
+ * {@code archive} schema. The partition DDL itself lives in the database
+ * functions so it can also be run by hand or from pg_cron.
+ */
+@Component
+@ConditionalOnProperty(name = "app.stock-movement.partitions.enabled", havingValue = "true", matchIfMissing = true)
+public class StockMovementPartitionJob {
+
+    private static final Logger log = LoggerFactory.getLogger(StockMovementPartitionJob.class);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int monthsAhead;
+    private final int retentionMonths;
+
+    public StockMovementPartitionJob(JdbcTemplate jdbcTemplate,
+            @Value("${app.stock-movement.partitions.months-ahead:3}") int monthsAhead,
+            @Value("${app.stock-movement.partitions.retention-months:24}") int retentionMonths) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.monthsAhead = monthsAhead;
+        this.retentionMonths = retentionMonths;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        createUpcomingPartitions();
+        defaultPartitionRows();
+    }
+
+    @Scheduled(cron = "${app.stock-movement.partitions.cron:0 15 2 * * *}", zone = "UTC")
+    public void maintainPartitions() {
+        createUpcomingPartitions();
+        archiveExpiredPartitions();
+        defaultPartitionRows();
+    }
+
+    /**
+     * Creates any missing partition from the current month up to
+     * {@code months-ahead} months out. Returns the number created.
+     */
+    public int createUpcomingPartitions() {
+        try {
+            Integer created = jdbcTemplate.queryForObject("SELECT create_stock_movement_partitions(?, ?)",
+                    Integer.class, currentMonth(), monthsAhead + 1);
+            if (created != null && created > 0) {
+                log.info("Created {} stock_movement partition(s)", created);
+            }
+            return created != null ? created : 0;
+        } catch (DataAccessException e) {
+            log.error("Failed to create stock_movement partitions", e);
+            return 0;
+        }
+    }
+
+    /**
+     * Detaches partitions that ended more than {@code retention-months} ago and
+     * moves them to the archive schema. A retention of 0 disables archiving.
+     */
+    public List<String> archiveExpiredPartitions() {
+        if (retentionMonths <= 0) {
+            return List.of();
+        }
+        try {
+            List<String> archived = jdbcTemplate.queryForList("SELECT archive_stock_movement_partitions(?)",
+                    String.class, currentMonth().minusMonths(retentionMonths));
+            if (!archived.isEmpty()) {
+                log.info("Archived stock_movement partition(s) {}", archived);
+            }
+            return archived;
+        } catch (DataAccessException e) {
+            log.error("Failed to archive stock_movement partitions", e);
+            return List.of();
+        }
+    }
+
+    /**
+     * Counts the rows left in the default partition and warns when there are
+     * any. Creating a month's partition moves that month's rows out of it, so
+     * what remains belongs to months outside the maintained window and is
+     * never archived; create their months with
+     * {@code create_stock_movement_partitions}.
+     */
+    public long defaultPartitionRows() {
+        try {
+            Long rows = jdbcTemplate.queryForObject("SELECT count(*) FROM stock_movement_default", Long.class);
+            if (rows != null && rows > 0) {
+                log.warn("{} stock_movement row(s) are in the default partition, months {}", rows,
+                        jdbcTemplate.queryForList("SELECT DISTINCT to_char(created_at AT TIME ZONE 'UTC', 'YYYY-MM') "
+                                + "FROM stock_movement_default ORDER BY 1", String.class));
+            }
+            return rows != null ? rows : 0;
+        } catch (DataAccessException e) {
+            log.error("Failed to check the stock_movement default partition", e);
+            return 0;
+        }
+    }
+
+    private static LocalDate currentMonth() {
+        return LocalDate.now(ZoneOffset.UTC).withDayOfMonth(1);
+    }
+}
@@ -0,0 +1,341 @@
+package com.example.warehouse.journal;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.postgresql.PGConnection;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Append-only write-behind journal for {@code stock_movement}. Callers append
+ * to a bounded in-memory queue; a single writer thread drains it and inserts
+ * up to {@code batch-size} rows per batch with COPY, committing each batch as
+ * one transaction (group commit). Entries that arrive while a batch is being
+ * written form the next one, so batches grow with load without a fixed wait;
+ * a non-zero {@code max-delay} also holds a batch open for that long after its
+ * first entry unless it fills up first.
+ * <p>
+ * {@link #append} returns a future that completes once the entry's batch has
+ * committed; callers that need durability use {@link #appendAndAwait}, which
+ * waits up to {@code write-timeout} for it. An entry still in the queue is lost
+ * if the process dies, so only fire-and-forget callers take that risk. When the
+ * queue is full, {@code append} blocks for up to {@code offer-timeout} and then
+ * fails, which pushes back on callers instead of growing the heap.
+ * <p>
+ * The queue serves movements recorded on their own, through the stock movement
+ * endpoint. Movements that record a stock change (adjustments, picks,
+ * dispatches) use {@link #insert}, which bypasses the queue and writes in the
+ * caller's own transaction, so they commit or roll back together with it.
+ */
+@Component
+public class StockMovementJournal {
+
+    private static final Logger log = LoggerFactory.getLogger(StockMovementJournal.class);
+
+    private static final String INSERT_SQL = "INSERT INTO stock_movement (movement_id, product_id, from_block_id, "
+            + "to_block_id, quantity, movement_type, reference_type, reference_id, notes, created_by, created_at, "
+            + "last_modified_at, warehouse_id, deleted) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, false)";
+
+    private static final String COPY_SQL = "COPY stock_movement (movement_id, product_id, from_block_id, to_block_id, "
+            + "quantity, movement_type, reference_type, reference_id, notes, created_by, created_at, last_modified_at, "
+            + "warehouse_id, deleted) FROM STDIN WITH (FORMAT csv)";
+
+    /** One {@code stock_movement} row; the id and timestamp are assigned by the caller. */
+    public record Entry(String movementId, String productId, String fromBlockId, String toBlockId, int quantity,
+            String movementType, String referenceType, String referenceId, String notes, String createdBy,
+            Instant createdAt, String warehouseId) {
+    }
+
+    private record Pending(Entry entry, CompletableFuture<Void> written) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final BlockingQueue<Pending> queue;
+    private final int batchSize;
+    private final Duration maxDelay;
+    private final Duration offerTimeout;
+    private final Duration writeTimeout;
+
+    private final Timer flushTimer;
+    private final DistributionSummary batchSizes;
+    private final Counter failedEntries;
+
+    // Entries accepted and entries written or failed, for awaitWritten
+    private final AtomicLong appended = new AtomicLong();
+    private final AtomicLong processed = new AtomicLong();
+
+    private volatile boolean running;
+    private Thread writer;
+
+    public StockMovementJournal(JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${app.stock-movement.journal.capacity:100000}") int capacity,
+            @Value("${app.stock-movement.journal.batch-size:1000}") int batchSize,
+            @Value("${app.stock-movement.journal.max-delay:0ms}") Duration maxDelay,
+            @Value("${app.stock-movement.journal.offer-timeout:5s}") Duration offerTimeout,
+            @Value("${app.stock-movement.journal.write-timeout:10s}") Duration writeTimeout) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.batchSize = batchSize;
+        this.maxDelay = maxDelay;
+        this.offerTimeout = offerTimeout;
+        this.writeTimeout = writeTimeout;
+
+        Gauge.builder("stock_movement.journal.queue.depth", queue, BlockingQueue::size)
+                .description("Movements appended but not yet written")
+                .register(meterRegistry);
+        this.flushTimer = Timer.builder("stock_movement.journal.flush")
+                .description("Time to insert and commit one batch")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        this.batchSizes = DistributionSummary.builder("stock_movement.journal.batch.size")
+                .description("Movements per committed batch")
+                .register(meterRegistry);
+        this.failedEntries = Counter.builder("stock_movement.journal.failed")
+                .description("Movements that could not be written")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        writer = new Thread(this::writeLoop, "stock-movement-journal");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    // Stops accepting appends and waits for the writer to drain the queue. The
+    // writer is not interrupted, so a batch in flight is never cut off mid-write.
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        writer.join(TimeUnit.SECONDS.toMillis(30));
+    }
+
+    /**
+     * Queues a movement. The returned future completes when the movement is
+     * committed, or exceptionally if it could not be written.
+     */
+    public CompletableFuture<Void> append(Entry entry) {
+        if (!running) {
+            throw new IllegalStateException("Stock movement journal is not running");
+        }
+        Pending pending = new Pending(entry, new CompletableFuture<>());
+        try {
+            if (!queue.offer(pending, offerTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                throw new RuntimeException("Stock movement journal is full");
+            }
+            appended.incrementAndGet();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while appending to the stock movement journal", e);
+        }
+        return pending.written();
+    }
+
+    /**
+     * Queues a movement and waits up to {@code write-timeout} for it to be
+     * committed. Fails if it could not be queued or written in time; a
+     * movement that timed out may still be written later.
+     */
+    public void appendAndAwait(Entry entry) {
+        try {
+            append(entry).get(writeTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            throw new RuntimeException("Failed to record stock movement", e.getCause());
+        } catch (TimeoutException e) {
+            throw new RuntimeException("Timed out waiting for stock movement " + entry.movementId()
+                    + " to be written");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting for a stock movement to be written", e);
+        }
+    }
+
+    /**
+     * Inserts a movement right away on the current transaction's connection,
+     * so it commits or rolls back with the caller's other writes.
+     */
+    public void insert(Entry entry) {
+        jdbcTemplate.update(INSERT_SQL, ps -> bind(ps, entry));
+    }
+
+    public int queueDepth() {
+        return queue.size();
+    }
+
+    /**
+     * Waits until every entry appended before this call has been written or
+     * has failed. Returns false if that takes longer than the timeout.
+     */
+    public boolean awaitWritten(Duration timeout) throws InterruptedException {
+        long target = appended.get();
+        long deadline = System.nanoTime() + timeout.toNanos();
+        while (processed.get() < target) {
+            if (System.nanoTime() > deadline) {
+                return false;
+            }
+            Thread.sleep(5);
+        }
+        return true;
+    }
+
+    private void writeLoop() {
+        List<Pending> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                collectBatch(batch);
+            } catch (InterruptedException e) {
+                // Nothing interrupts the writer in normal operation; if something does, write what is queued and stop
+                Thread.currentThread().interrupt();
+                running = false;
+                queue.drainTo(batch, batchSize - batch.size());
+            }
+            if (!batch.isEmpty()) {
+                write(batch);
+                processed.addAndGet(batch.size());
+                batch.clear();
+            }
+        }
+    }
+
+    // Blocks for the first entry, then gathers more until the batch is full or max-delay has passed
+    private void collectBatch(List<Pending> batch) throws InterruptedException {
+        Pending first = queue.poll(1, TimeUnit.SECONDS);
+        if (first == null) {
+            return;
+        }
+        batch.add(first);
+        long deadline = System.nanoTime() + maxDelay.toNanos();
+        while (batch.size() < batchSize) {
+            if (queue.drainTo(batch, batchSize - batch.size()) > 0) {
+                continue;
+            }
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                break;
+            }
+            Pending next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                break;
+            }
+            batch.add(next);
+        }
+    }
+
+    private void write(List<Pending> batch) {
+        long start = System.nanoTime();
+        try {
+            transactionTemplate.executeWithoutResult(status ->
+                    jdbcTemplate.execute((Connection connection) -> copy(connection, batch)));
+        } catch (RuntimeException e) {
+            // One bad row (e.g. an unknown product) fails the whole batch; retry row by row so only it is lost
+            log.warn("Stock movement batch of {} failed, retrying individually: {}", batch.size(), e.getMessage());
+            writeIndividually(batch);
+            return;
+        }
+        flushTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        batchSizes.record(batch.size());
+        batch.forEach(pending -> pending.written().complete(null));
+    }
+
+    private void writeIndividually(List<Pending> batch) {
+        for (Pending pending : batch) {
+            try {
+                jdbcTemplate.update(INSERT_SQL, ps -> bind(ps, pending.entry()));
+                pending.written().complete(null);
+            } catch (RuntimeException e) {
+                failedEntries.increment();
+                log.error("Failed to write stock movement {}", pending.entry(), e);
+                pending.written().completeExceptionally(e);
+            }
+        }
+    }
+
+    private static long copy(Connection connection, List<Pending> batch) throws SQLException {
+        try {
+            return connection.unwrap(PGConnection.class).getCopyAPI()
+                    .copyIn(COPY_SQL, new StringReader(toCsv(batch)));
+        } catch (IOException e) {
+            throw new SQLException("Failed to stream stock movements to COPY", e);
+        }
+    }
+
+    // COPY csv: an unquoted empty field is NULL, quoted fields double their quotes
+    private static String toCsv(List<Pending> batch) {
+        StringBuilder csv = new StringBuilder(batch.size() * 256);
+        for (Pending pending : batch) {
+            Entry entry = pending.entry();
+            String createdAt = entry.createdAt().toString();
+            appendField(csv, entry.movementId()).append(',');
+            appendField(csv, entry.productId()).append(',');
+            appendField(csv, entry.fromBlockId()).append(',');
+            appendField(csv, entry.toBlockId()).append(',');
+            csv.append(entry.quantity()).append(',');
+            appendField(csv, entry.movementType()).append(',');
+            appendField(csv, entry.referenceType()).append(',');
+            appendField(csv, entry.referenceId()).append(',');
+            appendField(csv, entry.notes()).append(',');
+            appendField(csv, entry.createdBy()).append(',');
+            csv.append(createdAt).append(',').append(createdAt).append(',');
+            appendField(csv, entry.warehouseId()).append(",f\n");
+        }
+        return csv.toString();
+    }
+
+    private static StringBuilder appendField(StringBuilder csv, String value) {
+        if (value != null) {
+            csv.append('"').append(value.replace("\"", "\"\"")).append('"');
+        }
+        return csv;
+    }
+
+    private static void bind(PreparedStatement ps, Entry entry) throws SQLException {
+        OffsetDateTime createdAt = entry.createdAt().atOffset(ZoneOffset.UTC);
+        ps.setString(1, entry.movementId());
+        ps.setString(2, entry.productId());
+        ps.setString(3, entry.fromBlockId());
+        ps.setString(4, entry.toBlockId());
+        ps.setInt(5, entry.quantity());
+        ps.setString(6, entry.movementType());
+        ps.setString(7, entry.referenceType());
+        ps.setString(8, entry.referenceId());
+        ps.setString(9, entry.notes());
+        ps.setString(10, entry.createdBy());
+        ps.setObject(11, createdAt);
+        ps.setObject(12, createdAt);
+        ps.setString(13, entry.warehouseId());
+    }
+}
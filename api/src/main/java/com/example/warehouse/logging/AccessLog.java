@@ -0,0 +1,127 @@
+package com.example.warehouse.logging;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Access log written off the request path. Request threads decide whether a
+ * request is logged at all (every 5xx and every request slower than
+ * {@code slow-threshold}, and {@code sample-rate} of the rest), then hand the
+ * entry to a bounded queue and return. One writer thread formats the entries
+ * as key=value lines and logs them, so request threads never contend for the
+ * appender. When the queue is full the entry is dropped and counted rather
+ * than slowing the request down.
+ */
+@Component
+public class AccessLog {
+
+    private static final Logger log = LoggerFactory.getLogger(AccessLog.class);
+
+    /** One request, as the writer thread will log it. */
+    public record Entry(String method, String uri, int status, long durationNanos, String correlationId) {
+    }
+
+    private final BlockingQueue<Entry> queue;
+    private final double sampleRate;
+    private final long slowThresholdNanos;
+    private final Counter dropped;
+
+    private volatile boolean running;
+    private Thread writer;
+
+    public AccessLog(MeterRegistry meterRegistry,
+            @Value("${app.access-log.queue-capacity:10000}") int queueCapacity,
+            @Value("${app.access-log.sample-rate:0.1}") double sampleRate,
+            @Value("${app.access-log.slow-threshold:500ms}") Duration slowThreshold) {
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.sampleRate = sampleRate;
+        this.slowThresholdNanos = slowThreshold.toNanos();
+        this.dropped = Counter.builder("access_log.dropped")
+                .description("Access log entries dropped because the queue was full")
+                .register(meterRegistry);
+        Gauge.builder("access_log.queue.depth", queue, BlockingQueue::size)
+                .description("Access log entries waiting to be written")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        writer = new Thread(this::writeLoop, "access-log");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    // Stops the writer once it has written what is queued
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        writer.join(TimeUnit.SECONDS.toMillis(5));
+    }
+
+    /** Whether a request with this outcome is logged; errors and slow requests always are. */
+    public boolean isSampled(int status, long durationNanos) {
+        return status >= 500 || durationNanos >= slowThresholdNanos
+                || ThreadLocalRandom.current().nextDouble() < sampleRate;
+    }
+
+    /** Queues an entry, or drops it if the queue is full. Never blocks. */
+    public void append(Entry entry) {
+        if (!queue.offer(entry)) {
+            dropped.increment();
+        }
+    }
+
+    public int queueDepth() {
+        return queue.size();
+    }
+
+    private void writeLoop() {
+        List<Entry> batch = new ArrayList<>(256);
+        StringBuilder line = new StringBuilder(160);
+        while (running || !queue.isEmpty()) {
+            try {
+                Entry first = queue.poll(1, TimeUnit.SECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, 255);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                running = false;
+                queue.drainTo(batch);
+            }
+            for (Entry entry : batch) {
+                line.setLength(0);
+                // The line holds request data, so it must not be parsed as a format string
+                log.info("{}", format(line, entry));
+            }
+            batch.clear();
+        }
+    }
+
+    static String format(StringBuilder line, Entry entry) {
+        line.append("method=").append(entry.method())
+                .append(" path=").append(entry.uri())
+                .append(" status=").append(entry.status())
+                .append(" ms=").append(TimeUnit.NANOSECONDS.toMillis(entry.durationNanos()))
+                .append(" corr=").append(entry.correlationId());
+        return line.toString();
+    }
+}
@@ -0,0 +1,130 @@
+package com.example.warehouse.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Request latency per route (the handler mapping pattern), HTTP method and
+ * status, as timers named {@value #ROUTE_TIMER} with p50, p95 and p99 over a
+ * sliding window of {@code app.request-metrics.window}; they are listed by
+ * the actuator metrics endpoint, the percentiles under
+ * {@value #ROUTE_TIMER}.percentile. A timer without tags,
+ * {@value #ALL_TIMER}, covers every request, and a per-second counter of
+ * requests and 5xx responses over the same window gives the error rate.
+ * <p>
+ * Each timer is created on its first request and then found through arrays
+ * indexed by method and status, so recording allocates nothing.
+ */
+@Component
+public class RequestLatencyMetrics {
+
+    public static final String ROUTE_TIMER = "http.route.latency";
+    public static final String ALL_TIMER = "http.latency";
+
+    private static final String[] METHODS = { "GET", "POST", "PUT", "PATCH", "DELETE", "OTHER" };
+    private static final int MIN_STATUS = 100;
+    private static final int MAX_STATUS = 599;
+
+    /** Latency percentiles and error rate over the window. */
+    public record Window(double p50Millis, double p95Millis, double p99Millis, long requests, long errors) {
+
+        public double errorRate() {
+            return requests == 0 ? 0.0 : (double) errors / requests;
+        }
+    }
+
+    private final MeterRegistry meterRegistry;
+    private final Duration window;
+    private final int bufferLength;
+    private final Timer all;
+    private final SlidingWindowCounter outcomes;
+    // Route -> method index -> status - MIN_STATUS -> timer
+    private final ConcurrentHashMap<String, AtomicReferenceArray<AtomicReferenceArray<Timer>>> routes =
+            new ConcurrentHashMap<>();
+
+    public RequestLatencyMetrics(MeterRegistry meterRegistry,
+            @Value("${app.request-metrics.window:1m}") Duration window,
+            @Value("${app.request-metrics.buffer-length:6}") int bufferLength) {
+        this.meterRegistry = meterRegistry;
+        this.window = window;
+        this.bufferLength = bufferLength;
+        this.all = timer(Timer.builder(ALL_TIMER).description("Latency of every request"));
+        this.outcomes = new SlidingWindowCounter((int) Math.max(1, window.toSeconds()));
+    }
+
+    public void record(String route, String method, int status, long nanos) {
+        all.record(nanos, TimeUnit.NANOSECONDS);
+        outcomes.record(status >= 500);
+        if (status < MIN_STATUS || status > MAX_STATUS) {
+            return;
+        }
+        AtomicReferenceArray<AtomicReferenceArray<Timer>> byMethod = routes.get(route);
+        if (byMethod == null) {
+            byMethod = routes.computeIfAbsent(route, r -> new AtomicReferenceArray<>(METHODS.length));
+        }
+        int methodIndex = methodIndex(method);
+        AtomicReferenceArray<Timer> byStatus = byMethod.get(methodIndex);
+        if (byStatus == null) {
+            byMethod.compareAndSet(methodIndex, null, new AtomicReferenceArray<>(MAX_STATUS - MIN_STATUS + 1));
+            byStatus = byMethod.get(methodIndex);
+        }
+        Timer timer = byStatus.get(status - MIN_STATUS);
+        if (timer == null) {
+            // The registry returns the same timer to a racing caller
+            timer = timer(Timer.builder(ROUTE_TIMER)
+                    .description("Request latency by route, method and status")
+                    .tag("route", route)
+                    .tag("method", METHODS[methodIndex])
+                    .tag("status", String.valueOf(status)));
+            byStatus.set(status - MIN_STATUS, timer);
+        }
+        timer.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public Window window() {
+        HistogramSnapshot snapshot = all.takeSnapshot();
+        double p50 = 0;
+        double p95 = 0;
+        double p99 = 0;
+        for (ValueAtPercentile percentile : snapshot.percentileValues()) {
+            double millis = percentile.value(TimeUnit.MILLISECONDS);
+            if (percentile.percentile() == 0.5) {
+                p50 = millis;
+            } else if (percentile.percentile() == 0.95) {
+                p95 = millis;
+            } else if (percentile.percentile() == 0.99) {
+                p99 = millis;
+            }
+        }
+        long[] counts = outcomes.counts();
+        return new Window(p50, p95, p99, counts[0], counts[1]);
+    }
+
+    private Timer timer(Timer.Builder builder) {
+        return builder
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .distributionStatisticExpiry(window)
+                .distributionStatisticBufferLength(bufferLength)
+                .register(meterRegistry);
+    }
+
+    private static int methodIndex(String method) {
+        return switch (method) {
+            case "GET" -> 0;
+            case "POST" -> 1;
+            case "PUT" -> 2;
+            case "PATCH" -> 3;
+            case "DELETE" -> 4;
+            default -> 5;
+        };
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.warehouse.metrics;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Counts requests and errors over the last {@code slots} slots, one second
+ * each unless given otherwise. Recording touches only preallocated atomic
+ * arrays. A slot is reset by the first caller to reach it in a new period;
+ * counts recorded concurrently with that reset may be lost, which is fine for
+ * a health signal.
+ */
+final class SlidingWindowCounter {
+
+    private final int slots;
+    private final long slotNanos;
+    private final AtomicLongArray slotPeriod;
+    private final AtomicLongArray totals;
+    private final AtomicLongArray errors;
+
+    SlidingWindowCounter(int seconds) {
+        this(seconds, Duration.ofSeconds(1));
+    }
+
+    SlidingWindowCounter(int slots, Duration slot) {
+        this.slots = slots;
+        this.slotNanos = slot.toNanos();
+        this.slotPeriod = new AtomicLongArray(slots);
+        this.totals = new AtomicLongArray(slots);
+        this.errors = new AtomicLongArray(slots);
+        for (int i = 0; i < slots; i++) {
+            slotPeriod.set(i, Long.MIN_VALUE);
+        }
+    }
+
+    void record(boolean error) {
+        long period = currentSlot();
+        int slot = (int) Math.floorMod(period, (long) slots);
+        long stamped = slotPeriod.get(slot);
+        if (stamped != period && slotPeriod.compareAndSet(slot, stamped, period)) {
+            totals.set(slot, 0);
+            errors.set(slot, 0);
+        }
+        totals.incrementAndGet(slot);
+        if (error) {
+            errors.incrementAndGet(slot);
+        }
+    }
+
+    /** Requests and errors recorded in the window, as {@code {total, errors}}. */
+    long[] counts() {
+        long oldest = currentSlot() - slots + 1;
+        long total = 0;
+        long failed = 0;
+        for (int slot = 0; slot < slots; slot++) {
+            if (slotPeriod.get(slot) >= oldest) {
+                total += totals.get(slot);
+                failed += errors.get(slot);
+            }
+        }
+        return new long[] { total, failed };
+    }
+
+    private long currentSlot() {
+        return System.nanoTime() / slotNanos;
+    }
+}
@@ -0,0 +1,287 @@
+package com.example.warehouse.metrics;
+
+import com.example.warehouse.config.WarehouseContext;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Statements slower than {@code threshold}, as seen by
+ * {@link StatementCountingDataSource}: the SQL, its bind parameters, the
+ * repository method (or first application method) that ran it and the
+ * warehouse. The last {@code capacity} are kept in a ring buffer.
+ * <p>
+ * With {@code explain.enabled}, a SELECT that has been slow {@code explain.after}
+ * times is re-run under {@code EXPLAIN (ANALYZE, BUFFERS)} for a sample
+ * ({@code explain.sample-rate}) of its later slow runs, at most once per
+ * {@code explain.interval}. EXPLAIN ANALYZE executes the query, so it runs on a
+ * background thread in a read-only transaction that is rolled back, with a
+ * statement timeout; when that thread is busy, the plan is skipped.
+ */
+@Component
+@ConditionalOnProperty(name = "app.slow-query.enabled", havingValue = "true")
+public class SlowQueryLog {
+
+    private static final Logger log = LoggerFactory.getLogger(SlowQueryLog.class);
+
+    private static final String APPLICATION_PACKAGE = "com.example.warehouse.";
+    private static final String REPOSITORY_PACKAGE = "com.example.warehouse.repository";
+    private static final int MAX_PARAMETER_LENGTH = 200;
+
+    private static final StackWalker STACK_WALKER = StackWalker.getInstance(StackWalker.Option.RETAIN_CLASS_REFERENCE);
+
+    /** One slow execution. */
+    public record SlowQuery(Instant at, double millis, String sql, List<String> parameters, String caller,
+            String warehouseId, int occurrences) {
+    }
+
+    /** A captured plan of a repeat offender, with the parameters it ran with. */
+    public record Plan(Instant at, String sql, List<String> parameters, String caller, String plan) {
+    }
+
+    /** A setter call on a PreparedStatement, replayed to bind the same value for EXPLAIN. */
+    record Binding(Method setter, Object[] args) {
+    }
+
+    private static final class Offender {
+        final AtomicInteger occurrences = new AtomicInteger();
+        final AtomicLong lastExplained = new AtomicLong(Long.MIN_VALUE);
+    }
+
+    private final long thresholdNanos;
+    private final AtomicReferenceArray<SlowQuery> ring;
+    private final AtomicLong written = new AtomicLong();
+    private final Cache<String, Offender> offenders;
+    private final Cache<String, Plan> plans;
+
+    private final boolean explainEnabled;
+    private final int explainAfter;
+    private final double explainSampleRate;
+    private final long explainIntervalNanos;
+    private final Duration explainTimeout;
+    private final ThreadPoolExecutor explainer;
+    private volatile DataSource target;
+
+    public SlowQueryLog(@Value("${app.slow-query.threshold:200ms}") Duration threshold,
+            @Value("${app.slow-query.capacity:200}") int capacity,
+            @Value("${app.slow-query.explain.enabled:false}") boolean explainEnabled,
+            @Value("${app.slow-query.explain.after:3}") int explainAfter,
+            @Value("${app.slow-query.explain.sample-rate:0.1}") double explainSampleRate,
+            @Value("${app.slow-query.explain.interval:10m}") Duration explainInterval,
+            @Value("${app.slow-query.explain.timeout:5s}") Duration explainTimeout) {
+        this.thresholdNanos = threshold.toNanos();
+        this.ring = new AtomicReferenceArray<>(capacity);
+        this.offenders = Caffeine.newBuilder().maximumSize(1_000).build();
+        this.plans = Caffeine.newBuilder().maximumSize(100).build();
+        this.explainEnabled = explainEnabled;
+        this.explainAfter = explainAfter;
+        this.explainSampleRate = explainSampleRate;
+        this.explainIntervalNanos = explainInterval.toNanos();
+        this.explainTimeout = explainTimeout;
+        this.explainer = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(4),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "slow-query-explain");
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.DiscardPolicy());
+    }
+
+    /** The DataSource EXPLAIN runs against: the one being wrapped, so plans are not themselves captured. */
+    void explainWith(DataSource dataSource) {
+        this.target = dataSource;
+    }
+
+    @PreDestroy
+    public void stop() {
+        explainer.shutdownNow();
+    }
+
+    long thresholdNanos() {
+        return thresholdNanos;
+    }
+
+    void record(String sql, long nanos, List<Binding> bindings) {
+        String key = sql != null ? sql : "";
+        Offender offender = offenders.get(key, k -> new Offender());
+        int occurrences = offender.occurrences.incrementAndGet();
+        List<String> parameters = describe(bindings);
+        String caller = caller();
+        String warehouseId = WarehouseContext.getWarehouseId();
+        ring.set((int) (written.getAndIncrement() % ring.length()), new SlowQuery(Instant.now(),
+                nanos / 1_000_000.0, sql, parameters, caller, warehouseId, occurrences));
+
+        if (shouldExplain(key, offender, occurrences)) {
+            List<Binding> snapshot = new ArrayList<>(bindings);
+            explainer.execute(() -> {
+                // The warehouse is no bind parameter but the connection's setting, so it is taken with it
+                WarehouseContext.setWarehouseId(warehouseId);
+                try {
+                    explain(key, snapshot, parameters, caller);
+                } finally {
+                    WarehouseContext.clear();
+                }
+            });
+        }
+    }
+
+    /** Slow queries, newest first. */
+    public List<SlowQuery> recent() {
+        long end = written.get();
+        List<SlowQuery> queries = new ArrayList<>();
+        for (long i = end - 1; i >= 0 && i >= end - ring.length(); i--) {
+            SlowQuery query = ring.get((int) (i % ring.length()));
+            if (query != null) {
+                queries.add(query);
+            }
+        }
+        return queries;
+    }
+
+    /** Captured plans, newest first. */
+    public List<Plan> plans() {
+        return plans.asMap().values().stream()
+                .sorted(Comparator.comparing(Plan::at).reversed())
+                .toList();
+    }
+
+    public double thresholdMillis() {
+        return thresholdNanos / 1_000_000.0;
+    }
+
+    public void clear() {
+        for (int i = 0; i < ring.length(); i++) {
+            ring.set(i, null);
+        }
+        offenders.invalidateAll();
+        plans.invalidateAll();
+    }
+
+    private boolean shouldExplain(String sql, Offender offender, int occurrences) {
+        if (!explainEnabled || target == null || occurrences < explainAfter || !isSelect(sql)
+                || ThreadLocalRandom.current().nextDouble() >= explainSampleRate) {
+            return false;
+        }
+        long now = System.nanoTime();
+        long last = offender.lastExplained.get();
+        return (last == Long.MIN_VALUE || now - last >= explainIntervalNanos)
+                && offender.lastExplained.compareAndSet(last, now);
+    }
+
+    private void explain(String sql, List<Binding> bindings, List<String> parameters, String caller) {
+        try (Connection connection = target.getConnection()) {
+            connection.setAutoCommit(false);
+            try {
+                connection.setReadOnly(true);
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("SET LOCAL statement_timeout = " + explainTimeout.toMillis());
+                }
+                StringBuilder plan = new StringBuilder();
+                try (PreparedStatement statement = connection.prepareStatement("EXPLAIN (ANALYZE, BUFFERS) " + sql)) {
+                    for (Binding binding : bindings) {
+                        if (binding != null) {
+                            binding.setter().invoke(statement, binding.args());
+                        }
+                    }
+                    try (ResultSet rows = statement.executeQuery()) {
+                        while (rows.next()) {
+                            plan.append(rows.getString(1)).append('\n');
+                        }
+                    }
+                }
+                plans.put(sql, new Plan(Instant.now(), sql, parameters, caller, plan.toString()));
+            } finally {
+                connection.rollback();
+                connection.setReadOnly(false);
+                connection.setAutoCommit(true);
+            }
+        } catch (SQLException | ReflectiveOperationException | RuntimeException e) {
+            log.warn("Could not explain slow query {}: {}", sql, e.getMessage());
+        }
+    }
+
+    private static boolean isSelect(String sql) {
+        String statement = sql.stripLeading();
+        return statement.regionMatches(true, 0, "select", 0, 6) || statement.regionMatches(true, 0, "with", 0, 4);
+    }
+
+    // The repository method behind the statement: Spring Data repositories are
+    // JDK proxies, so the frame's class is a proxy implementing the interface.
+    // Otherwise the first application frame outside this package.
+    static String caller() {
+        return STACK_WALKER.walk(frames -> {
+            String fallback = null;
+            for (StackWalker.StackFrame frame : (Iterable<StackWalker.StackFrame>) frames::iterator) {
+                Class<?> type = frame.getDeclaringClass();
+                if (Proxy.isProxyClass(type)) {
+                    for (Class<?> candidate : type.getInterfaces()) {
+                        if (candidate.getPackageName().equals(REPOSITORY_PACKAGE)) {
+                            return candidate.getSimpleName() + "." + frame.getMethodName();
+                        }
+                    }
+                    continue;
+                }
+                String name = type.getName();
+                if (!name.startsWith(APPLICATION_PACKAGE) || type.getPackageName().equals(SlowQueryLog.class.getPackageName())) {
+                    continue;
+                }
+                if (type.getPackageName().equals(REPOSITORY_PACKAGE)) {
+                    return type.getSimpleName() + "." + frame.getMethodName();
+                }
+                if (fallback == null) {
+                    fallback = type.getSimpleName() + "." + frame.getMethodName();
+                }
+            }
+            return fallback != null ? fallback : "unknown";
+        });
+    }
+
+    private static List<String> describe(List<Binding> bindings) {
+        List<String> parameters = new ArrayList<>(bindings.size());
+        for (Binding binding : bindings) {
+            parameters.add(describe(binding));
+        }
+        return parameters;
+    }
+
+    private static String describe(Binding binding) {
+        if (binding == null) {
+            return "?";
+        }
+        if (binding.setter().getName().equals("setNull") || binding.args()[1] == null) {
+            return "NULL";
+        }
+        Object value = binding.args()[1];
+        if (value instanceof byte[] bytes) {
+            return "<" + bytes.length + " bytes>";
+        }
+        String text = value instanceof String s ? "'" + s + "'" : String.valueOf(value);
+        return text.length() > MAX_PARAMETER_LENGTH ? text.substring(0, MAX_PARAMETER_LENGTH) + "..." : text;
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.warehouse.metrics;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * JDBC statements, database time and rows fetched by the current thread while
+ * a measurement is open, as counted by {@link StatementCountingDataSource}.
+ * SqlStatsFilter opens one per HTTP request; tests can open their own with
+ * {@link #start()}. Also counts executions per SQL string, so the same query
+ * run over and over (an N+1 pattern) can be reported.
+ */
+public final class SqlStats {
+
+    private static final ThreadLocal<SqlStats> CURRENT = new ThreadLocal<>();
+
+    private int statements;
+    private long nanos;
+    private long rows;
+    private final Map<String, Integer> executionsBySql = new HashMap<>();
+
+    private SqlStats() {
+    }
+
+    /** Starts counting on this thread, replacing any measurement already open. */
+    public static SqlStats start() {
+        SqlStats stats = new SqlStats();
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    /** The measurement open on this thread, or null. */
+    public static SqlStats current() {
+        return CURRENT.get();
+    }
+
+    public static void stop() {
+        CURRENT.remove();
+    }
+
+    void executed(String sql, long elapsedNanos) {
+        statements++;
+        nanos += elapsedNanos;
+        if (sql != null) {
+            executionsBySql.merge(sql, 1, Integer::sum);
+        }
+    }
+
+    void rowFetched() {
+        rows++;
+    }
+
+    public int statements() {
+        return statements;
+    }
+
+    public long nanos() {
+        return nanos;
+    }
+
+    public long rows() {
+        return rows;
+    }
+
+    /** The SQL executed most often, if any ran more than once. */
+    public Optional<Map.Entry<String, Integer>> mostRepeated() {
+        return executionsBySql.entrySet().stream()
+                .filter(entry -> entry.getValue() > 1)
+                .max(Map.Entry.comparingByValue());
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.warehouse.metrics;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+
+/**
+ * Wraps the application's DataSource (the bean named {@code dataSource}, which
+ * with a read replica is the routing proxy in front of both pools) in a
+ * {@link StatementCountingDataSource}, so each statement is counted once. The
+ * {@link SlowQueryLog}, when enabled, is attached to the same wrapper.
+ */
+@Component
+@ConditionalOnProperty(name = "app.sql-stats.enabled", havingValue = "true", matchIfMissing = true)
+public class SqlStatsDataSourcePostProcessor implements BeanPostProcessor {
+
+    private final ObjectProvider<SlowQueryLog> slowQueryLog;
+
+    public SqlStatsDataSourcePostProcessor(ObjectProvider<SlowQueryLog> slowQueryLog) {
+        this.slowQueryLog = slowQueryLog;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if ("dataSource".equals(beanName) && bean instanceof DataSource dataSource
+                && !(bean instanceof StatementCountingDataSource)) {
+            SlowQueryLog slowQueries = slowQueryLog.getIfAvailable();
+            if (slowQueries != null) {
+                slowQueries.explainWith(dataSource);
+            }
+            return new StatementCountingDataSource(dataSource, slowQueries);
+        }
+        return bean;
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.warehouse.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-route distributions of what each request did in the database:
+ * {@value #STATEMENTS} (statements per request), {@value #TIME} (database
+ * time per request) and {@value #ROWS} (rows fetched per request), with p50,
+ * p95 and p99 over the same sliding window as {@link RequestLatencyMetrics}.
+ */
+@Component
+public class SqlStatsMetrics {
+
+    public static final String STATEMENTS = "http.route.sql.statements";
+    public static final String TIME = "http.route.sql.time";
+    public static final String ROWS = "http.route.sql.rows";
+
+    private record RouteMeters(DistributionSummary statements, Timer time, DistributionSummary rows) {
+    }
+
+    private final MeterRegistry meterRegistry;
+    private final Duration window;
+    private final int bufferLength;
+    private final ConcurrentHashMap<String, RouteMeters> routes = new ConcurrentHashMap<>();
+
+    public SqlStatsMetrics(MeterRegistry meterRegistry,
+            @Value("${app.request-metrics.window:1m}") Duration window,
+            @Value("${app.request-metrics.buffer-length:6}") int bufferLength) {
+        this.meterRegistry = meterRegistry;
+        this.window = window;
+        this.bufferLength = bufferLength;
+    }
+
+    public void record(String route, SqlStats stats) {
+        RouteMeters meters = routes.computeIfAbsent(route, this::register);
+        meters.statements().record(stats.statements());
+        meters.time().record(stats.nanos(), TimeUnit.NANOSECONDS);
+        meters.rows().record(stats.rows());
+    }
+
+    private RouteMeters register(String route) {
+        return new RouteMeters(
+                DistributionSummary.builder(STATEMENTS)
+                        .description("SQL statements per request")
+                        .tag("route", route)
+                        .publishPercentiles(0.5, 0.95, 0.99)
+                        .distributionStatisticExpiry(window)
+                        .distributionStatisticBufferLength(bufferLength)
+                        .register(meterRegistry),
+                Timer.builder(TIME)
+                        .description("Time spent executing SQL per request")
+                        .tag("route", route)
+                        .publishPercentiles(0.5, 0.95, 0.99)
+                        .distributionStatisticExpiry(window)
+                        .distributionStatisticBufferLength(bufferLength)
+                        .register(meterRegistry),
+                DistributionSummary.builder(ROWS)
+                        .description("Rows fetched per request")
+                        .tag("route", route)
+                        .publishPercentiles(0.5, 0.95, 0.99)
+                        .distributionStatisticExpiry(window)
+                        .distributionStatisticBufferLength(bufferLength)
+                        .register(meterRegistry));
+    }
+}
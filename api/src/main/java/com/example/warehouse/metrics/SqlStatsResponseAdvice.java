@@ -0,0 +1,52 @@
+package com.example.warehouse.metrics;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.lang.NonNull;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * With {@code app.sql-stats.response-headers} on, adds the request's SQL
+ * counts so far to each response body's headers: {@value #STATEMENTS},
+ * {@value #TIME_MS} and {@value #ROWS}. Meant for development and load tests.
+ */
+@ControllerAdvice
+public class SqlStatsResponseAdvice implements ResponseBodyAdvice<Object> {
+
+    public static final String STATEMENTS = "X-SQL-Statements";
+    public static final String TIME_MS = "X-SQL-Time-Ms";
+    public static final String ROWS = "X-SQL-Rows";
+
+    private final boolean enabled;
+
+    public SqlStatsResponseAdvice(@Value("${app.sql-stats.response-headers:false}") boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    @Override
+    public boolean supports(@NonNull MethodParameter returnType,
+            @NonNull Class<? extends HttpMessageConverter<?>> converterType) {
+        return enabled;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, @NonNull MethodParameter returnType,
+            @NonNull MediaType selectedContentType,
+            @NonNull Class<? extends HttpMessageConverter<?>> selectedConverterType,
+            @NonNull ServerHttpRequest request, @NonNull ServerHttpResponse response) {
+        SqlStats stats = SqlStats.current();
+        if (stats != null) {
+            response.getHeaders().set(STATEMENTS, String.valueOf(stats.statements()));
+            response.getHeaders().set(TIME_MS, String.valueOf(TimeUnit.NANOSECONDS.toMillis(stats.nanos())));
+            response.getHeaders().set(ROWS, String.valueOf(stats.rows()));
+        }
+        return body;
+    }
+}
@@ -0,0 +1,198 @@
+package com.example.warehouse.metrics;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Counts statements, execution time and fetched rows into the calling
+ * thread's {@link SqlStats}. Connections, statements and result sets are
+ * wrapped in JDK proxies that delegate every call; without an open
+ * measurement the only extra work is the ThreadLocal lookup per execute.
+ * <p>
+ * Given a {@link SlowQueryLog}, every execute is also timed and statements
+ * over its threshold are reported with their bind parameters, which prepared
+ * statements then remember as they are set.
+ */
+public class StatementCountingDataSource extends DelegatingDataSource {
+
+    private final SlowQueryLog slowQueryLog;
+
+    public StatementCountingDataSource(DataSource targetDataSource) {
+        this(targetDataSource, null);
+    }
+
+    public StatementCountingDataSource(DataSource targetDataSource, SlowQueryLog slowQueryLog) {
+        super(targetDataSource);
+        this.slowQueryLog = slowQueryLog;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        Connection connection = super.getConnection();
+        return wrap(Connection.class, new ConnectionHandler(connection, slowQueryLog));
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        Connection connection = super.getConnection(username, password);
+        return wrap(Connection.class, new ConnectionHandler(connection, slowQueryLog));
+    }
+
+    private static <T> T wrap(Class<T> type, Delegating handler) {
+        return type.cast(Proxy.newProxyInstance(StatementCountingDataSource.class.getClassLoader(),
+                new Class<?>[] { type }, handler));
+    }
+
+    private abstract static class Delegating implements InvocationHandler {
+
+        final Object target;
+
+        Delegating(Object target) {
+            this.target = target;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                default:
+                    return handle(method, args);
+            }
+        }
+
+        abstract Object handle(Method method, Object[] args) throws Throwable;
+
+        Object call(Method method, Object[] args) throws Throwable {
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+
+    private static final class ConnectionHandler extends Delegating {
+
+        private final SlowQueryLog slowQueryLog;
+
+        ConnectionHandler(Connection target, SlowQueryLog slowQueryLog) {
+            super(target);
+            this.slowQueryLog = slowQueryLog;
+        }
+
+        @Override
+        Object handle(Method method, Object[] args) throws Throwable {
+            Object result = call(method, args);
+            String sql = args != null && args.length > 0 && args[0] instanceof String s ? s : null;
+            if (result instanceof CallableStatement statement) {
+                return wrap(CallableStatement.class, new StatementHandler(statement, sql, slowQueryLog));
+            }
+            if (result instanceof PreparedStatement statement) {
+                return wrap(PreparedStatement.class, new StatementHandler(statement, sql, slowQueryLog));
+            }
+            if (result instanceof Statement statement) {
+                return wrap(Statement.class, new StatementHandler(statement, null, slowQueryLog));
+            }
+            return result;
+        }
+    }
+
+    private static final class StatementHandler extends Delegating {
+
+        private final String preparedSql;
+        private final SlowQueryLog slowQueryLog;
+        // Parameter i is bound by bindings[i - 1]; only kept for the slow query log
+        private final List<SlowQueryLog.Binding> bindings;
+
+        StatementHandler(Statement target, String preparedSql, SlowQueryLog slowQueryLog) {
+            super(target);
+            this.preparedSql = preparedSql;
+            this.slowQueryLog = slowQueryLog;
+            this.bindings = slowQueryLog != null && preparedSql != null ? new ArrayList<>() : null;
+        }
+
+        @Override
+        Object handle(Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (!name.startsWith("execute")) {
+                if (bindings != null) {
+                    remember(method, args);
+                }
+                return wrapResults(call(method, args));
+            }
+            SqlStats stats = SqlStats.current();
+            if (stats == null && slowQueryLog == null) {
+                return wrapResults(call(method, args));
+            }
+            long start = System.nanoTime();
+            try {
+                return wrapResults(call(method, args));
+            } finally {
+                long elapsed = System.nanoTime() - start;
+                // Plain statements carry their SQL in the execute call
+                String sql = preparedSql != null ? preparedSql
+                        : args != null && args.length > 0 && args[0] instanceof String s ? s : null;
+                if (stats != null) {
+                    stats.executed(sql, elapsed);
+                }
+                if (slowQueryLog != null && elapsed >= slowQueryLog.thresholdNanos()) {
+                    slowQueryLog.record(sql, elapsed, bindings != null ? bindings : List.of());
+                }
+            }
+        }
+
+        // setString(1, ...), setNull(2, ...) and the like; clearParameters forgets them
+        private void remember(Method method, Object[] args) {
+            if (method.getName().equals("clearParameters")) {
+                bindings.clear();
+            } else if (method.getName().startsWith("set") && args != null && args.length >= 2
+                    && args[0] instanceof Integer index && index > 0) {
+                while (bindings.size() < index) {
+                    bindings.add(null);
+                }
+                bindings.set(index - 1, new SlowQueryLog.Binding(method, args));
+            }
+        }
+
+        private static Object wrapResults(Object result) {
+            return result instanceof ResultSet resultSet
+                    ? wrap(ResultSet.class, new ResultSetHandler(resultSet))
+                    : result;
+        }
+    }
+
+    private static final class ResultSetHandler extends Delegating {
+
+        ResultSetHandler(ResultSet target) {
+            super(target);
+        }
+
+        @Override
+        Object handle(Method method, Object[] args) throws Throwable {
+            Object result = call(method, args);
+            if ("next".equals(method.getName()) && Boolean.TRUE.equals(result)) {
+                SqlStats stats = SqlStats.current();
+                if (stats != null) {
+                    stats.rowFetched();
+                }
+            }
+            return result;
+        }
+    }
+}
@@ -0,0 +1,181 @@
+package com.example.warehouse.metrics;
+
+import com.example.warehouse.entity.ShipmentStatus;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Throughput of the warehouse floor, every meter tagged with the warehouse:
+ * <ul>
+ * <li>{@value #ORDERS_CREATE}: time to create an order, by outcome; its count
+ * is the order intake rate</li>
+ * <li>{@value #PICKS_COMPLETED}: pick tasks completed, by picker, and the
+ * gauge {@value #PICKS_PER_PICKER_HOUR}: tasks completed in the last hour per
+ * picker who completed one</li>
+ * <li>{@value #CONFLICTS}: writes rejected by optimistic locking, by entity</li>
+ * <li>{@value #SIDE_EFFECT_FAILURES}: side effects that failed without failing
+ * their operation (the movements and shipment of a dispatch), by step</li>
+ * <li>{@value #SHIPMENT_TRANSITIONS}: shipment status changes, by from and to
+ * status ({@code NONE} for a new shipment)</li>
+ * <li>{@value #STOCK_MOVEMENTS}: stock movements recorded, by type</li>
+ * <li>{@value #CAPACITY_REJECTIONS}: stock refused because the block was full</li>
+ * </ul>
+ * Meters are registered on first use and looked up from maps afterwards, so
+ * recording is a map lookup and an atomic increment.
+ */
+@Component
+public class WarehouseMetrics {
+
+    public static final String ORDERS_CREATE = "warehouse.orders.create";
+    public static final String PICKS_COMPLETED = "warehouse.pick_tasks.completed";
+    public static final String PICKS_PER_PICKER_HOUR = "warehouse.pick_tasks.per_picker_hour";
+    public static final String CONFLICTS = "warehouse.optimistic_lock.conflicts";
+    public static final String SIDE_EFFECT_FAILURES = "warehouse.side_effect.failures";
+    public static final String SHIPMENT_TRANSITIONS = "warehouse.shipment.transitions";
+    public static final String STOCK_MOVEMENTS = "warehouse.stock_movements";
+    public static final String CAPACITY_REJECTIONS = "warehouse.inventory.capacity_rejections";
+
+    private static final String NONE = "none";
+    private static final ShipmentStatus[] STATUSES = ShipmentStatus.values();
+
+    private record Picker(Counter completed, SlidingWindowCounter lastHour) {
+    }
+
+    // Meters of one warehouse
+    private final class Meters {
+        final String warehouse;
+        final Timer created;
+        final Timer failed;
+        final Counter capacityRejections;
+        final ConcurrentHashMap<String, Picker> pickers = new ConcurrentHashMap<>();
+        final ConcurrentHashMap<String, Counter> conflicts = new ConcurrentHashMap<>();
+        final ConcurrentHashMap<String, Counter> sideEffectFailures = new ConcurrentHashMap<>();
+        final ConcurrentHashMap<String, Counter> movements = new ConcurrentHashMap<>();
+        // Indexed by (from ordinal + 1) * statuses + to ordinal; from -1 is a new shipment
+        final AtomicReferenceArray<Counter> transitions =
+                new AtomicReferenceArray<>((STATUSES.length + 1) * STATUSES.length);
+
+        Meters(String warehouse) {
+            this.warehouse = warehouse;
+            this.created = orderTimer(warehouse, "success");
+            this.failed = orderTimer(warehouse, "failure");
+            this.capacityRejections = Counter.builder(CAPACITY_REJECTIONS)
+                    .description("Stock refused because the block was full")
+                    .tag("warehouse", warehouse)
+                    .register(meterRegistry);
+            Gauge.builder(PICKS_PER_PICKER_HOUR, this, Meters::picksPerPickerHour)
+                    .description("Pick tasks completed in the last hour per picker who completed one")
+                    .tag("warehouse", warehouse)
+                    .register(meterRegistry);
+        }
+
+        double picksPerPickerHour() {
+            long picks = 0;
+            int active = 0;
+            for (Picker picker : pickers.values()) {
+                long completed = picker.lastHour().counts()[0];
+                if (completed > 0) {
+                    picks += completed;
+                    active++;
+                }
+            }
+            return active == 0 ? 0 : (double) picks / active;
+        }
+    }
+
+    private final MeterRegistry meterRegistry;
+    private final ConcurrentHashMap<String, Meters> warehouses = new ConcurrentHashMap<>();
+
+    public WarehouseMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    public void orderCreation(String warehouseId, long nanos, boolean created) {
+        Meters meters = meters(warehouseId);
+        (created ? meters.created : meters.failed).record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void pickTaskCompleted(String warehouseId, String picker) {
+        Meters meters = meters(warehouseId);
+        Picker meter = meters.pickers.computeIfAbsent(picker != null ? picker : NONE, p -> new Picker(
+                Counter.builder(PICKS_COMPLETED)
+                        .description("Pick tasks completed")
+                        .tag("warehouse", meters.warehouse)
+                        .tag("picker", p)
+                        .register(meterRegistry),
+                new SlidingWindowCounter(60, Duration.ofMinutes(1))));
+        meter.completed().increment();
+        meter.lastHour().record(false);
+    }
+
+    public void conflict(String warehouseId, String entity) {
+        Meters meters = meters(warehouseId);
+        meters.conflicts.computeIfAbsent(entity, e -> Counter.builder(CONFLICTS)
+                .description("Writes rejected by optimistic locking")
+                .tag("warehouse", meters.warehouse)
+                .tag("entity", e)
+                .register(meterRegistry))
+                .increment();
+    }
+
+    public void sideEffectFailed(String warehouseId, String step) {
+        Meters meters = meters(warehouseId);
+        meters.sideEffectFailures.computeIfAbsent(step, s -> Counter.builder(SIDE_EFFECT_FAILURES)
+                .description("Side effects that failed without failing their operation")
+                .tag("warehouse", meters.warehouse)
+                .tag("step", s)
+                .register(meterRegistry))
+                .increment();
+    }
+
+    public void shipmentTransition(String warehouseId, ShipmentStatus from, ShipmentStatus to) {
+        Meters meters = meters(warehouseId);
+        int index = (from != null ? from.ordinal() + 1 : 0) * STATUSES.length + to.ordinal();
+        Counter counter = meters.transitions.get(index);
+        if (counter == null) {
+            // Registering twice returns the same counter, so a race here is harmless
+            counter = Counter.builder(SHIPMENT_TRANSITIONS)
+                    .description("Shipment status changes")
+                    .tag("warehouse", meters.warehouse)
+                    .tag("from", from != null ? from.name() : "NONE")
+                    .tag("to", to.name())
+                    .register(meterRegistry);
+            meters.transitions.set(index, counter);
+        }
+        counter.increment();
+    }
+
+    public void stockMovement(String warehouseId, String type) {
+        Meters meters = meters(warehouseId);
+        meters.movements.computeIfAbsent(type, t -> Counter.builder(STOCK_MOVEMENTS)
+                .description("Stock movements recorded")
+                .tag("warehouse", meters.warehouse)
+                .tag("type", t)
+                .register(meterRegistry))
+                .increment();
+    }
+
+    public void capacityRejected(String warehouseId) {
+        meters(warehouseId).capacityRejections.increment();
+    }
+
+    private Meters meters(String warehouseId) {
+        return warehouses.computeIfAbsent(warehouseId != null ? warehouseId : NONE, Meters::new);
+    }
+
+    private Timer orderTimer(String warehouse, String outcome) {
+        return Timer.builder(ORDERS_CREATE)
+                .description("Time to create an order")
+                .tag("warehouse", warehouse)
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.warehouse.ratelimit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token buckets shared by every node, one row of {@code rate_limit_bucket} per
+ * bucket (see V10 migration). {@code rate_limit_acquire} applies the same
+ * algorithm as {@link TokenBucket} under the row lock, on the database clock so
+ * that all nodes agree on the time. Costs one round trip per checked request.
+ */
+@Component
+@ConditionalOnProperty(name = "app.rate-limit.store", havingValue = "postgres")
+public class PostgresRateLimitStore {
+
+    private static final Logger log = LoggerFactory.getLogger(PostgresRateLimitStore.class);
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public PostgresRateLimitStore(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Takes a token from the shared bucket. Returns 0 if one was available,
+     * otherwise how many nanoseconds until the next one is.
+     */
+    public long acquire(String key, long intervalNanos, long toleranceNanos) {
+        Long waitMicros = jdbcTemplate.queryForObject("SELECT rate_limit_acquire(?, ?, ?)", Long.class, key,
+                TimeUnit.NANOSECONDS.toMicros(intervalNanos), TimeUnit.NANOSECONDS.toMicros(toleranceNanos));
+        return waitMicros == null ? 0 : TimeUnit.MICROSECONDS.toNanos(waitMicros);
+    }
+
+    // A bucket whose refill time has passed is full, which is what a missing row means too
+    @Scheduled(fixedDelayString = "${app.rate-limit.postgres.cleanup-interval:5m}")
+    public void deleteFullBuckets() {
+        try {
+            int deleted = jdbcTemplate.update("DELETE FROM rate_limit_bucket "
+                    + "WHERE full_at_us < (extract(epoch FROM clock_timestamp()) * 1000000)::BIGINT");
+            log.debug("Deleted {} full rate limit buckets", deleted);
+        } catch (DataAccessException e) {
+            log.error("Failed to delete full rate limit buckets", e);
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.warehouse.ratelimit;
+
+import com.example.warehouse.config.WarehouseContext;
+import com.example.warehouse.exception.RateLimitExceededException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.lang.NonNull;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Applies {@link RateLimiter} to requests whose handler mapping belongs to a
+ * configured route. Runs after WarehouseFilter, so the caller's warehouse is
+ * known; unauthenticated callers are keyed by remote address. Over the limit,
+ * the request fails with {@link RateLimitExceededException} (429 with
+ * Retry-After).
+ */
+@Component
+public class RateLimitInterceptor implements HandlerInterceptor {
+
+    private final RateLimiter rateLimiter;
+
+    public RateLimitInterceptor(RateLimiter rateLimiter) {
+        this.rateLimiter = rateLimiter;
+    }
+
+    @Override
+    public boolean preHandle(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+            @NonNull Object handler) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        if (pattern == null) {
+            return true;
+        }
+        RateLimitRule rule = rateLimiter.ruleFor(pattern.toString());
+        if (rule == null) {
+            return true;
+        }
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        String user = authentication != null && authentication.isAuthenticated()
+                ? authentication.getName()
+                : request.getRemoteAddr();
+        long wait = rateLimiter.acquire(rule, WarehouseContext.getWarehouseId(), user);
+        if (wait > 0) {
+            // Whole seconds, rounded up
+            long retryAfterSeconds = (wait + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1);
+            throw new RateLimitExceededException("Rate limit exceeded for " + rule.name + ", retry in "
+                    + retryAfterSeconds + "s", retryAfterSeconds);
+        }
+        return true;
+    }
+}
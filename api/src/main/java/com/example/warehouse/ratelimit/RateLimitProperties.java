@@ -0,0 +1,61 @@
+package com.example.warehouse.ratelimit;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * {@code app.rate-limit}: the rate-limited routes and where their buckets
+ * live. A request is checked against the first route with a path pattern that
+ * covers its handler mapping.
+ */
+@Getter
+@Setter
+@ConfigurationProperties("app.rate-limit")
+public class RateLimitProperties {
+
+    public enum Store {
+        /** Buckets in this process only; each node enforces the limits on its own. */
+        LOCAL,
+        /** Buckets shared by every node through the rate_limit_bucket table (see V10 migration). */
+        POSTGRES
+    }
+
+    public enum Scope {
+        /** One bucket per user within a warehouse. */
+        USER,
+        /** One bucket shared by every user of a warehouse. */
+        WAREHOUSE
+    }
+
+    private Store store = Store.LOCAL;
+
+    /** Buckets not used for this long are dropped (a dropped bucket comes back full). */
+    private Duration idleExpiry = Duration.ofMinutes(10);
+
+    private int maxBuckets = 100_000;
+
+    private Map<String, Route> routes = new LinkedHashMap<>();
+
+    @Getter
+    @Setter
+    public static class Route {
+
+        /** Ant-style patterns matched against the handler's mapping, e.g. /api/analytics/** */
+        private List<String> paths = new ArrayList<>();
+
+        private Scope scope = Scope.USER;
+
+        /** Requests allowed in a burst. */
+        private int capacity;
+
+        /** Sustained requests per second. */
+        private double refillPerSecond;
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.warehouse.ratelimit;
+
+import com.example.warehouse.ratelimit.RateLimitProperties.Scope;
+import io.micrometer.core.instrument.Counter;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One configured route, resolved for the hot path: the bucket parameters in
+ * nanoseconds and its pre-registered counters.
+ */
+final class RateLimitRule {
+
+    final String name;
+    final Scope scope;
+    final long intervalNanos;
+    final long toleranceNanos;
+    final Counter allowed;
+    final Counter limited;
+
+    RateLimitRule(String name, Scope scope, int capacity, double refillPerSecond, Counter allowed,
+            Counter limited) {
+        if (capacity < 1 || refillPerSecond <= 0) {
+            throw new IllegalArgumentException("Rate limit route " + name
+                    + " needs a capacity of at least 1 and a positive refill-per-second");
+        }
+        this.name = name;
+        this.scope = scope;
+        this.intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / refillPerSecond);
+        this.toleranceNanos = (capacity - 1) * intervalNanos;
+        this.allowed = allowed;
+        this.limited = limited;
+    }
+
+    TokenBucket newBucket(long now) {
+        return new TokenBucket(intervalNanos, toleranceNanos, now);
+    }
+}
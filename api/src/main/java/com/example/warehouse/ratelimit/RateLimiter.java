@@ -0,0 +1,124 @@
+package com.example.warehouse.ratelimit;
+
+import com.example.warehouse.ratelimit.RateLimitProperties.Scope;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Token buckets for the routes under {@code app.rate-limit.routes}, keyed by
+ * route, warehouse and (for {@link Scope#USER} routes) user. Buckets live in a
+ * bounded in-process cache and are checked without locks.
+ * <p>
+ * With {@code store: postgres} a request that passes its local bucket is also
+ * checked against the bucket shared by every node in Postgres, so the limits
+ * hold across the cluster. The local bucket stays in front as a cheap first
+ * rejection: a node never needs the database to refuse a client that is over
+ * the limit on its own. If the shared check fails, the request is let through.
+ */
+@Component
+public class RateLimiter {
+
+    private static final Logger log = LoggerFactory.getLogger(RateLimiter.class);
+    private static final AntPathMatcher PATH_MATCHER = new AntPathMatcher();
+    private static final String NONE = "-";
+
+    private record Route(RateLimitRule rule, List<String> paths) {
+    }
+
+    private final List<Route> routes = new ArrayList<>();
+    // Handler mapping pattern -> rule; resolved once per pattern
+    private final Map<String, Optional<RateLimitRule>> rulesByPattern = new ConcurrentHashMap<>();
+    private final Cache<String, TokenBucket> buckets;
+    private final PostgresRateLimitStore sharedStore;
+    private final Counter sharedStoreErrors;
+
+    public RateLimiter(RateLimitProperties properties, MeterRegistry meterRegistry,
+            Optional<PostgresRateLimitStore> sharedStore) {
+        properties.getRoutes().forEach((name, route) -> routes.add(new Route(
+                new RateLimitRule(name, route.getScope(), route.getCapacity(), route.getRefillPerSecond(),
+                        requests(meterRegistry, name, "allowed"), requests(meterRegistry, name, "limited")),
+                List.copyOf(route.getPaths()))));
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxBuckets())
+                .expireAfterAccess(properties.getIdleExpiry())
+                .build();
+        this.sharedStore = properties.getStore() == RateLimitProperties.Store.POSTGRES
+                ? sharedStore.orElseThrow(() -> new IllegalStateException("No shared rate limit store"))
+                : null;
+        this.sharedStoreErrors = Counter.builder("ratelimit.shared_store.errors")
+                .description("Shared bucket checks that failed and let the request through")
+                .register(meterRegistry);
+        Gauge.builder("ratelimit.buckets", buckets, Cache::estimatedSize)
+                .description("Token buckets held in memory")
+                .register(meterRegistry);
+    }
+
+    /**
+     * The rule for a handler mapping pattern such as
+     * {@code /api/stock-movements/block/{blockId}}, or null if it is not limited.
+     */
+    RateLimitRule ruleFor(String handlerPattern) {
+        return rulesByPattern.computeIfAbsent(handlerPattern, this::resolve).orElse(null);
+    }
+
+    /**
+     * Takes a token from the caller's bucket. Returns 0 if the request may
+     * proceed, otherwise how many nanoseconds until it may be retried.
+     */
+    long acquire(RateLimitRule rule, String warehouseId, String user) {
+        String key = rule.scope == Scope.USER
+                ? rule.name + '|' + orNone(warehouseId) + '|' + orNone(user)
+                : rule.name + '|' + orNone(warehouseId);
+        long now = System.nanoTime();
+        long wait = buckets.get(key, k -> rule.newBucket(now)).tryAcquire(now);
+        if (wait == 0 && sharedStore != null) {
+            wait = acquireShared(rule, key);
+        }
+        (wait == 0 ? rule.allowed : rule.limited).increment();
+        return wait;
+    }
+
+    private long acquireShared(RateLimitRule rule, String key) {
+        try {
+            return sharedStore.acquire(key, rule.intervalNanos, rule.toleranceNanos);
+        } catch (DataAccessException e) {
+            sharedStoreErrors.increment();
+            log.warn("Shared rate limit check failed for {}, allowing the request: {}", key, e.getMessage());
+            return 0;
+        }
+    }
+
+    private Optional<RateLimitRule> resolve(String handlerPattern) {
+        return routes.stream()
+                .filter(route -> route.paths().stream()
+                        .anyMatch(path -> PATH_MATCHER.match(path, handlerPattern)))
+                .map(Route::rule)
+                .findFirst();
+    }
+
+    private static String orNone(String value) {
+        return value != null ? value : NONE;
+    }
+
+    private static Counter requests(MeterRegistry meterRegistry, String route, String outcome) {
+        return Counter.builder("ratelimit.requests")
+                .description("Requests checked against a rate limit")
+                .tag("route", route)
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
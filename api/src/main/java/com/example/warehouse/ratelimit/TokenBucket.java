@@ -0,0 +1,43 @@
+package com.example.warehouse.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket, kept as a single timestamp (the generic cell rate
+ * algorithm): the time at which the bucket would be full again. Taking a
+ * token moves it forward by one refill interval; a request is allowed while
+ * that time is at most {@code capacity - 1} intervals ahead of now.
+ * Concurrent callers race on one compare-and-set and never block.
+ */
+final class TokenBucket {
+
+    private final long intervalNanos;
+    private final long toleranceNanos;
+    private final AtomicLong fullAt;
+
+    TokenBucket(long intervalNanos, long toleranceNanos, long now) {
+        this.intervalNanos = intervalNanos;
+        this.toleranceNanos = toleranceNanos;
+        this.fullAt = new AtomicLong(now);
+    }
+
+    /**
+     * Takes a token at {@code now} (a {@link System#nanoTime()} reading).
+     * Returns 0 if one was available, otherwise how many nanoseconds until
+     * the next one is.
+     */
+    long tryAcquire(long now) {
+        while (true) {
+            long current = fullAt.get();
+            // A bucket idle long enough is simply full; tokens do not accumulate beyond capacity
+            long base = current - now > 0 ? current : now;
+            long ahead = base - now;
+            if (ahead > toleranceNanos) {
+                return ahead - toleranceNanos;
+            }
+            if (fullAt.compareAndSet(current, base + intervalNanos)) {
+                return 0;
+            }
+        }
+    }
+}
@@ -3,6 +3,7 @@ package com.example.warehouse.repository;
 import com.example.warehouse.entity.Block;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
@@ -12,12 +13,52 @@ import java.util.Optional;
 @Repository
 public interface BlockRepository extends JpaRepository<Block, String>, JpaSpecificationExecutor<Block> {
 
-    @Query("SELECT b FROM Block b WHERE b.deleted = false AND b.room.roomId = :roomId AND b.warehouseId = :#{T(com.example.warehouse.config.WarehouseContext).getWarehouseId()}")
+    @Query("SELECT b FROM Block b WHERE b.deleted = false AND b.room.roomId = :roomId")
     List<Block> findByRoomRoomId(String roomId);
 
-    @Query("SELECT b FROM Block b WHERE b.deleted = false AND b.warehouseId = :#{T(com.example.warehouse.config.WarehouseContext).getWarehouseId()}")
+    @Query("SELECT b FROM Block b WHERE b.deleted = false")
     List<Block> findAll();
 
-    @Query("SELECT b FROM Block b WHERE b.deleted = false AND b.blockId = :id AND b.warehouseId = :#{T(com.example.warehouse.config.WarehouseContext).getWarehouseId()}")
+    @Query("SELECT b FROM Block b WHERE b.deleted = false AND b.blockId = :id")
     Optional<Block> findById(String id);
+
+    // For callers that read the block's room after the session is gone
+    @Query("SELECT b FROM Block b LEFT JOIN FETCH b.room WHERE b.deleted = false AND b.blockId = :id")
+    Optional<Block> findWithRoomById(String id);
+
+    // Occupancy counters. Both are single-row atomic updates, so concurrent
+    // inventory changes on one block serialize on the block row instead of
+    // racing on a read-then-write. Native so they stay one plain UPDATE on the
+    // block table despite the joined Recked/UnRecked subclasses.
+
+    // Adds to the block's occupancy only if the added volume still fits;
+    // returns 0 when it does not. Zero or negative volume always applies.
+    @Modifying
+    @Query(value = "UPDATE block SET occupied_units = occupied_units + :units, "
+            + "occupied_volume = occupied_volume + :volume "
+            + "WHERE block_id = :blockId "
+            + "AND (:volume <= 0 OR occupied_volume + :volume <= height * length * breath)", nativeQuery = true)
+    int occupyIfFits(String blockId, long units, double volume);
+
+    @Modifying
+    @Query(value = "UPDATE block SET occupied_units = occupied_units + :units, "
+            + "occupied_volume = occupied_volume + :volume "
+            + "WHERE block_id = :blockId", nativeQuery = true)
+    int adjustOccupancy(String blockId, long units, double volume);
+
+    // Moves the occupied volume of every block holding the product, in any
+    // warehouse, by its live quantity times the change in the product's unit
+    // volume. Deleted inventory rows are not counted in occupancy.
+    // Deliberately not scoped to the current warehouse, and native SQL gets
+    // no entity restriction anyway: products are shared by all warehouses, so
+    // resizing one changes the stored volume of its blocks everywhere, and
+    // scoping this would leave the other warehouses' counters wrong until
+    // the reconciliation job repaired them. It only adds a delta to counters
+    // and reads no other warehouse's data back to the caller.
+    @Modifying
+    @Query(value = "UPDATE block b SET occupied_volume = b.occupied_volume + i.quantity * :volumeChange "
+            + "FROM (SELECT block_id, SUM(quantity) AS quantity FROM inventory "
+            + "WHERE product_id = :productId AND deleted = false GROUP BY block_id) i "
+            + "WHERE b.block_id = i.block_id", nativeQuery = true)
+    int adjustVolumeForProduct(String productId, double volumeChange);
 }
@@ -0,0 +1,54 @@
+package com.example.warehouse.repository;
+
+import com.example.warehouse.entity.InventoryLedgerEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+
+@Repository
+public interface InventoryLedgerRepository extends JpaRepository<InventoryLedgerEntry, Long> {
+
+    interface StockLevel {
+        String getBlockId();
+
+        String getProductId();
+
+        Long getQuantity();
+    }
+
+    @Query("SELECT e FROM InventoryLedgerEntry e WHERE e.inventoryId = :inventoryId ORDER BY e.ledgerId")
+    List<InventoryLedgerEntry> findByInventoryId(String inventoryId);
+
+    // On-hand quantity per block and product at a point in time: each block's
+    // latest snapshot taken at or before it, plus that block's later events up
+    // to it. Native, so the warehouse is passed explicitly instead of coming
+    // from the entity restriction; blockId null means every block of the warehouse.
+    @Query(value = "WITH base AS ("
+            + "    SELECT b.block_id, s.snapshot_id, COALESCE(s.last_ledger_id, 0) AS last_ledger_id"
+            + "    FROM block b"
+            + "    LEFT JOIN LATERAL ("
+            + "        SELECT s.snapshot_id, s.last_ledger_id FROM inventory_snapshot s"
+            + "        WHERE s.block_id = b.block_id AND s.taken_at <= :asOf"
+            + "        ORDER BY s.taken_at DESC LIMIT 1"
+            + "    ) s ON true"
+            + "    WHERE b.warehouse_id = :warehouseId"
+            + "      AND (CAST(:blockId AS VARCHAR) IS NULL OR b.block_id = :blockId)"
+            + ") "
+            + "SELECT stock.block_id AS \"blockId\", stock.product_id AS \"productId\", "
+            + "       SUM(stock.quantity) AS \"quantity\" "
+            + "FROM ("
+            + "    SELECT base.block_id, sl.product_id, sl.quantity"
+            + "    FROM base JOIN inventory_snapshot_line sl ON sl.snapshot_id = base.snapshot_id"
+            + "    UNION ALL"
+            + "    SELECT base.block_id, l.product_id, l.quantity_delta"
+            + "    FROM base JOIN inventory_ledger l ON l.block_id = base.block_id"
+            + "        AND l.ledger_id > base.last_ledger_id AND l.recorded_at <= :asOf"
+            + ") stock "
+            + "GROUP BY stock.block_id, stock.product_id "
+            + "HAVING SUM(stock.quantity) <> 0 "
+            + "ORDER BY stock.block_id, stock.product_id", nativeQuery = true)
+    List<StockLevel> findStockAsOf(String warehouseId, String blockId, Instant asOf);
+}
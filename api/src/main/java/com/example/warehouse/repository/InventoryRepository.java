@@ -15,24 +15,24 @@ import java.util.Optional;
 public interface InventoryRepository extends JpaRepository<Inventory, String>,
         org.springframework.data.jpa.repository.JpaSpecificationExecutor<Inventory> {
 
-    @Query("SELECT i FROM Inventory i WHERE i.deleted = false AND i.block.blockId = :blockId AND i.warehouseId = :#{T(com.example.warehouse.config.WarehouseContext).getWarehouseId()}")
+    @Query("SELECT i FROM Inventory i WHERE i.deleted = false AND i.block.blockId = :blockId")
     List<Inventory> findByBlockBlockId(String blockId);
 
-    @Query("SELECT i FROM Inventory i WHERE i.deleted = false AND i.block.blockId = :blockId AND i.warehouseId = :#{T(com.example.warehouse.config.WarehouseContext).getWarehouseId()}")
+    @Query("SELECT i FROM Inventory i WHERE i.deleted = false AND i.block.blockId = :blockId")
     Page<Inventory> findByBlockBlockId(String blockId, Pageable pageable);
 
-    @Query("SELECT i FROM Inventory i WHERE i.deleted = false AND i.product.productId = :productId AND i.warehouseId = :#{T(com.example.warehouse.config.WarehouseContext).getWarehouseId()}")
+    @Query("SELECT i FROM Inventory i WHERE i.deleted = false AND i.product.productId = :productId")
     List<Inventory> findByProductProductId(String productId);
 
-    @Query("SELECT i FROM Inventory i WHERE i.deleted = false AND i.product.productId = :productId AND i.warehouseId = :#{T(com.example.warehouse.config.WarehouseContext).getWarehouseId()}")
+    @Query("SELECT i FROM Inventory i WHERE i.deleted = false AND i.product.productId = :productId")
     Page<Inventory> findByProductProductId(String productId, Pageable pageable);
 
-    @Query("SELECT i FROM Inventory i WHERE i.deleted = false AND i.product.productId = :productId AND i.block.blockId = :blockId AND i.warehouseId = :#{T(com.example.warehouse.config.WarehouseContext).getWarehouseId()}")
+    @Query("SELECT i FROM Inventory i WHERE i.deleted = false AND i.product.productId = :productId AND i.block.blockId = :blockId")
     Optional<Inventory> findByProductProductIdAndBlockBlockId(String productId, String blockId);
 
-    @Query("SELECT i FROM Inventory i WHERE i.deleted = false AND i.quantity <= i.minStockLevel AND i.warehouseId = :#{T(com.example.warehouse.config.WarehouseContext).getWarehouseId()}")
+    @Query("SELECT i FROM Inventory i WHERE i.deleted = false AND i.quantity <= i.minStockLevel")
     List<Inventory> findLowStockItems();
 
-    @Query("SELECT i FROM Inventory i WHERE i.deleted = false AND i.quantity <= i.minStockLevel AND i.warehouseId = :#{T(com.example.warehouse.config.WarehouseContext).getWarehouseId()}")
+    @Query("SELECT i FROM Inventory i WHERE i.deleted = false AND i.quantity <= i.minStockLevel")
     Page<Inventory> findLowStockItems(Pageable pageable);
 }
@@ -16,28 +16,28 @@ import java.util.Optional;
 @Repository
 public interface OrderRepository extends JpaRepository<Order, String>, JpaSpecificationExecutor<Order> {
 
-    @Query("SELECT o FROM Order o WHERE o.deleted = false AND o.orderNumber = :orderNumber AND o.warehouseId = :#{T(com.example.warehouse.config.WarehouseContext).getWarehouseId()}")
+    @Query("SELECT o FROM Order o WHERE o.deleted = false AND o.orderNumber = :orderNumber")
     Optional<Order> findByOrderNumber(String orderNumber);
 
-    @Query("SELECT o FROM Order o WHERE o.deleted = false AND o.status = :status AND o.warehouseId = :#{T(com.example.warehouse.config.WarehouseContext).getWarehouseId()} ORDER BY o.createdAt DESC")
+    @Query("SELECT o FROM Order o WHERE o.deleted = false AND o.status = :status ORDER BY o.createdAt DESC")
     List<Order> findByStatusOrderByCreatedAtDesc(OrderStatus status);
 
-    @Query("SELECT o FROM Order o WHERE o.deleted = false AND o.status = :status AND o.warehouseId = :#{T(com.example.warehouse.config.WarehouseContext).getWarehouseId()} ORDER BY o.createdAt DESC")
+    @Query("SELECT o FROM Order o WHERE o.deleted = false AND o.status = :status ORDER BY o.createdAt DESC")
     Page<Order> findByStatusOrderByCreatedAtDesc(OrderStatus status, Pageable pageable);
 
-    @Query("SELECT o FROM Order o WHERE o.deleted = false AND o.warehouseId = :#{T(com.example.warehouse.config.WarehouseContext).getWarehouseId()} ORDER BY o.createdAt DESC")
+    @Query("SELECT o FROM Order o WHERE o.deleted = false ORDER BY o.createdAt DESC")
     List<Order> findAllByOrderByCreatedAtDesc();
 
-    @Query("SELECT o FROM Order o WHERE o.deleted = false AND o.warehouseId = :#{T(com.example.warehouse.config.WarehouseContext).getWarehouseId()} ORDER BY o.createdAt DESC")
+    @Query("SELECT o FROM Order o WHERE o.deleted = false ORDER BY o.createdAt DESC")
     Page<Order> findAllByOrderByCreatedAtDesc(Pageable pageable);
 
-    @Query("SELECT o FROM Order o WHERE o.deleted = false AND LOWER(o.customerName) LIKE LOWER(CONCAT('%', :customerName, '%')) AND o.warehouseId = :#{T(com.example.warehouse.config.WarehouseContext).getWarehouseId()} ORDER BY o.createdAt DESC")
+    @Query("SELECT o FROM Order o WHERE o.deleted = false AND LOWER(o.customerName) LIKE LOWER(CONCAT('%', :customerName, '%')) ORDER BY o.createdAt DESC")
     List<Order> findByCustomerNameContainingIgnoreCaseOrderByCreatedAtDesc(String customerName);
 
-    @Query("SELECT COUNT(o) FROM Order o WHERE o.deleted = false AND o.status NOT IN :statuses AND o.warehouseId = :#{T(com.example.warehouse.config.WarehouseContext).getWarehouseId()}")
+    @Query("SELECT COUNT(o) FROM Order o WHERE o.deleted = false AND o.status NOT IN :statuses")
     long countByStatusNotIn(List<OrderStatus> statuses);
 
     // Analytics: Find stuck orders (older than 24h and not COMPLETED/CANCELLED)
-    @Query("SELECT o FROM Order o WHERE o.deleted = false AND o.status NOT IN ('DELIVERED', 'CANCELLED', 'RETURNED') AND o.createdAt < ?1 AND o.warehouseId = :#{T(com.example.warehouse.config.WarehouseContext).getWarehouseId()}")
+    @Query("SELECT o FROM Order o WHERE o.deleted = false AND o.status NOT IN ('DELIVERED', 'CANCELLED', 'RETURNED') AND o.createdAt < ?1")
     List<Order> findStuckOrders(java.time.Instant olderThan);
 }
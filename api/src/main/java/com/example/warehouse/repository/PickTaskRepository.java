@@ -16,37 +16,37 @@ import java.util.List;
 @Repository
 public interface PickTaskRepository extends JpaRepository<PickTask, String>, JpaSpecificationExecutor<PickTask> {
 
-    @Query("SELECT p FROM PickTask p WHERE p.deleted = false AND p.order.orderId = :orderId AND p.warehouseId = :#{T(com.example.warehouse.config.WarehouseContext).getWarehouseId()} ORDER BY p.createdAt ASC")
+    @Query("SELECT p FROM PickTask p WHERE p.deleted = false AND p.order.orderId = :orderId ORDER BY p.createdAt ASC")
     List<PickTask> findByOrderOrderIdOrderByCreatedAtAsc(String orderId);
 
-    @Query("SELECT p FROM PickTask p WHERE p.deleted = false AND p.order.orderId = :orderId AND p.warehouseId = :#{T(com.example.warehouse.config.WarehouseContext).getWarehouseId()} ORDER BY p.createdAt ASC")
+    @Query("SELECT p FROM PickTask p WHERE p.deleted = false AND p.order.orderId = :orderId ORDER BY p.createdAt ASC")
     Page<PickTask> findByOrderOrderIdOrderByCreatedAtAsc(String orderId, Pageable pageable);
 
-    @Query("SELECT p FROM PickTask p WHERE p.deleted = false AND p.assignedTo = :assignedTo AND p.status = :status AND p.warehouseId = :#{T(com.example.warehouse.config.WarehouseContext).getWarehouseId()} ORDER BY p.createdAt ASC")
+    @Query("SELECT p FROM PickTask p WHERE p.deleted = false AND p.assignedTo = :assignedTo AND p.status = :status ORDER BY p.createdAt ASC")
     List<PickTask> findByAssignedToAndStatusOrderByCreatedAtAsc(String assignedTo, PickTaskStatus status);
 
-    @Query("SELECT p FROM PickTask p WHERE p.deleted = false AND p.assignedTo = :assignedTo AND p.warehouseId = :#{T(com.example.warehouse.config.WarehouseContext).getWarehouseId()} ORDER BY p.createdAt DESC")
+    @Query("SELECT p FROM PickTask p WHERE p.deleted = false AND p.assignedTo = :assignedTo ORDER BY p.createdAt DESC")
     List<PickTask> findByAssignedToOrderByCreatedAtDesc(String assignedTo);
 
-    @Query("SELECT p FROM PickTask p WHERE p.deleted = false AND p.assignedTo = :assignedTo AND p.warehouseId = :#{T(com.example.warehouse.config.WarehouseContext).getWarehouseId()} ORDER BY p.createdAt DESC")
+    @Query("SELECT p FROM PickTask p WHERE p.deleted = false AND p.assignedTo = :assignedTo ORDER BY p.createdAt DESC")
     Page<PickTask> findByAssignedToOrderByCreatedAtDesc(String assignedTo, Pageable pageable);
 
-    @Query("SELECT p FROM PickTask p WHERE p.deleted = false AND p.status = :status AND p.warehouseId = :#{T(com.example.warehouse.config.WarehouseContext).getWarehouseId()} ORDER BY p.createdAt ASC")
+    @Query("SELECT p FROM PickTask p WHERE p.deleted = false AND p.status = :status ORDER BY p.createdAt ASC")
     List<PickTask> findByStatusOrderByCreatedAtAsc(PickTaskStatus status);
 
-    @Query("SELECT p FROM PickTask p WHERE p.deleted = false AND p.product.productId = :productId AND p.warehouseId = :#{T(com.example.warehouse.config.WarehouseContext).getWarehouseId()} ORDER BY p.createdAt DESC")
+    @Query("SELECT p FROM PickTask p WHERE p.deleted = false AND p.product.productId = :productId ORDER BY p.createdAt DESC")
     List<PickTask> findByProductProductIdOrderByCreatedAtDesc(String productId);
 
-    @Query("SELECT p FROM PickTask p WHERE p.deleted = false AND p.block.blockId = :blockId AND p.warehouseId = :#{T(com.example.warehouse.config.WarehouseContext).getWarehouseId()} ORDER BY p.createdAt DESC")
+    @Query("SELECT p FROM PickTask p WHERE p.deleted = false AND p.block.blockId = :blockId ORDER BY p.createdAt DESC")
     List<PickTask> findByBlockBlockIdOrderByCreatedAtDesc(String blockId);
 
-    @Query("SELECT COUNT(p) FROM PickTask p WHERE p.deleted = false AND p.assignedTo = :assignedTo AND p.status IN :statuses AND p.warehouseId = :#{T(com.example.warehouse.config.WarehouseContext).getWarehouseId()}")
+    @Query("SELECT COUNT(p) FROM PickTask p WHERE p.deleted = false AND p.assignedTo = :assignedTo AND p.status IN :statuses")
     long countByAssignedToAndStatusIn(String assignedTo, List<PickTaskStatus> statuses);
 
-    @Query("SELECT COUNT(p) FROM PickTask p WHERE p.deleted = false AND p.assignedTo = :assignedTo AND p.status = :status AND p.completedAt BETWEEN :start AND :end AND p.warehouseId = :#{T(com.example.warehouse.config.WarehouseContext).getWarehouseId()}")
+    @Query("SELECT COUNT(p) FROM PickTask p WHERE p.deleted = false AND p.assignedTo = :assignedTo AND p.status = :status AND p.completedAt BETWEEN :start AND :end")
     long countByAssignedToAndStatusAndCompletedAtBetween(String assignedTo, PickTaskStatus status, Instant start,
             Instant end);
 
-    @Query("SELECT COUNT(p) FROM PickTask p WHERE p.deleted = false AND p.block.blockId = :blockId AND p.status IN :statuses AND p.warehouseId = :#{T(com.example.warehouse.config.WarehouseContext).getWarehouseId()}")
+    @Query("SELECT COUNT(p) FROM PickTask p WHERE p.deleted = false AND p.block.blockId = :blockId AND p.status IN :statuses")
     long countByBlockBlockIdAndStatusIn(String blockId, List<PickTaskStatus> statuses);
 }
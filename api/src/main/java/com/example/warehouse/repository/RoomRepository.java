@@ -13,9 +13,9 @@ import java.util.Optional;
 public interface RoomRepository
         extends JpaRepository<Room, String>, org.springframework.data.jpa.repository.JpaSpecificationExecutor<Room> {
 
-    @Query("SELECT r FROM Room r WHERE r.deleted = false AND r.warehouse.warehouseId = :#{T(com.example.warehouse.config.WarehouseContext).getWarehouseId()}")
+    @Query("SELECT r FROM Room r WHERE r.deleted = false")
     List<Room> findAll();
 
-    @Query("SELECT r FROM Room r WHERE r.deleted = false AND r.roomId = :id AND r.warehouse.warehouseId = :#{T(com.example.warehouse.config.WarehouseContext).getWarehouseId()}")
+    @Query("SELECT r FROM Room r WHERE r.deleted = false AND r.roomId = :id")
     Optional<Room> findById(String id);
 }
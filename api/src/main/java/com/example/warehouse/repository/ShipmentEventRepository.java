@@ -11,9 +11,9 @@ import java.util.List;
 @Repository
 public interface ShipmentEventRepository extends JpaRepository<ShipmentEvent, String>, JpaSpecificationExecutor<ShipmentEvent> {
 
-    @Query("SELECT se FROM ShipmentEvent se WHERE se.deleted = false AND se.shipment.shipmentId = :shipmentId AND se.shipment.warehouseId = :#{T(com.example.warehouse.config.WarehouseContext).getWarehouseId()} ORDER BY se.createdAt ASC")
+    @Query("SELECT se FROM ShipmentEvent se WHERE se.deleted = false AND se.shipment.shipmentId = :shipmentId ORDER BY se.createdAt ASC")
     List<ShipmentEvent> findByShipmentShipmentIdOrderByCreatedAtAsc(String shipmentId);
 
-    @Query("SELECT se FROM ShipmentEvent se WHERE se.deleted = false AND se.shipment.warehouseId = :#{T(com.example.warehouse.config.WarehouseContext).getWarehouseId()} ORDER BY se.createdAt DESC")
+    @Query("SELECT se FROM ShipmentEvent se WHERE se.deleted = false ORDER BY se.createdAt DESC")
     List<ShipmentEvent> findTop100ByOrderByCreatedAtDesc();
 }
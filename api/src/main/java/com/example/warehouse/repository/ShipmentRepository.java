@@ -16,49 +16,49 @@ import java.util.Optional;
 @Repository
 public interface ShipmentRepository extends JpaRepository<Shipment, String>, JpaSpecificationExecutor<Shipment> {
 
-    @Query("SELECT s FROM Shipment s WHERE s.deleted = false AND s.shipmentCode = :shipmentCode AND s.warehouseId = :#{T(com.example.warehouse.config.WarehouseContext).getWarehouseId()}")
+    @Query("SELECT s FROM Shipment s WHERE s.deleted = false AND s.shipmentCode = :shipmentCode")
     Optional<Shipment> findByShipmentCode(String shipmentCode);
 
-    @Query("SELECT s FROM Shipment s WHERE s.deleted = false AND s.order.orderId = :orderId AND s.warehouseId = :#{T(com.example.warehouse.config.WarehouseContext).getWarehouseId()} ORDER BY s.createdAt DESC")
+    @Query("SELECT s FROM Shipment s WHERE s.deleted = false AND s.order.orderId = :orderId ORDER BY s.createdAt DESC")
     List<Shipment> findByOrderOrderIdOrderByCreatedAtDesc(String orderId);
 
-    @Query("SELECT s FROM Shipment s WHERE s.deleted = false AND s.order.orderId = :orderId AND s.warehouseId = :#{T(com.example.warehouse.config.WarehouseContext).getWarehouseId()} ORDER BY s.createdAt DESC")
+    @Query("SELECT s FROM Shipment s WHERE s.deleted = false AND s.order.orderId = :orderId ORDER BY s.createdAt DESC")
     Page<Shipment> findByOrderOrderIdOrderByCreatedAtDesc(String orderId, Pageable pageable);
 
-    @Query("SELECT s FROM Shipment s WHERE s.deleted = false AND s.status = :status AND s.warehouseId = :#{T(com.example.warehouse.config.WarehouseContext).getWarehouseId()} ORDER BY s.createdAt DESC")
+    @Query("SELECT s FROM Shipment s WHERE s.deleted = false AND s.status = :status ORDER BY s.createdAt DESC")
     List<Shipment> findByStatusOrderByCreatedAtDesc(ShipmentStatus status);
 
-    @Query("SELECT s FROM Shipment s WHERE s.deleted = false AND s.status = :status AND s.warehouseId = :#{T(com.example.warehouse.config.WarehouseContext).getWarehouseId()} ORDER BY s.createdAt DESC")
+    @Query("SELECT s FROM Shipment s WHERE s.deleted = false AND s.status = :status ORDER BY s.createdAt DESC")
     Page<Shipment> findByStatusOrderByCreatedAtDesc(ShipmentStatus status, Pageable pageable);
 
-    @Query("SELECT s FROM Shipment s WHERE s.deleted = false AND s.shipper.shipperId = :shipperId AND s.warehouseId = :#{T(com.example.warehouse.config.WarehouseContext).getWarehouseId()} ORDER BY s.createdAt DESC")
+    @Query("SELECT s FROM Shipment s WHERE s.deleted = false AND s.shipper.shipperId = :shipperId ORDER BY s.createdAt DESC")
     List<Shipment> findByShipperShipperIdOrderByCreatedAtDesc(String shipperId);
 
-    // This method already filtered by warehouseId, but we can enforce context or
-    // keep it explicit if used by internal batch processes
+    // The warehouse restriction still applies, so this only returns rows for the
+    // current warehouse
     List<Shipment> findByWarehouseIdOrderByCreatedAtDesc(String warehouseId);
 
-    @Query("SELECT s FROM Shipment s WHERE s.deleted = false AND s.status IN ('IN_TRANSIT', 'DISPATCHED') AND s.warehouseId = :#{T(com.example.warehouse.config.WarehouseContext).getWarehouseId()} ORDER BY s.dispatchedAt DESC")
+    @Query("SELECT s FROM Shipment s WHERE s.deleted = false AND s.status IN ('IN_TRANSIT', 'DISPATCHED') ORDER BY s.dispatchedAt DESC")
     List<Shipment> findActiveShipments();
 
-    @Query("SELECT s FROM Shipment s WHERE s.deleted = false AND s.status IN ('IN_TRANSIT', 'DISPATCHED') AND s.warehouseId = :#{T(com.example.warehouse.config.WarehouseContext).getWarehouseId()}")
+    @Query("SELECT s FROM Shipment s WHERE s.deleted = false AND s.status IN ('IN_TRANSIT', 'DISPATCHED')")
     Page<Shipment> findActiveShipments(Pageable pageable);
 
-    @Query("SELECT s FROM Shipment s WHERE s.deleted = false AND s.warehouseId = :#{T(com.example.warehouse.config.WarehouseContext).getWarehouseId()} ORDER BY s.createdAt DESC")
+    @Query("SELECT s FROM Shipment s WHERE s.deleted = false ORDER BY s.createdAt DESC")
     List<Shipment> findAllByOrderByCreatedAtDesc();
 
-    @Query("SELECT s FROM Shipment s WHERE s.deleted = false AND s.warehouseId = :#{T(com.example.warehouse.config.WarehouseContext).getWarehouseId()} ORDER BY s.createdAt DESC")
+    @Query("SELECT s FROM Shipment s WHERE s.deleted = false ORDER BY s.createdAt DESC")
     Page<Shipment> findAllByOrderByCreatedAtDesc(Pageable pageable);
 
-    @Query("SELECT COUNT(s) FROM Shipment s WHERE s.deleted = false AND s.status = :status AND s.warehouseId = :#{T(com.example.warehouse.config.WarehouseContext).getWarehouseId()}")
+    @Query("SELECT COUNT(s) FROM Shipment s WHERE s.deleted = false AND s.status = :status")
     long countByStatus(ShipmentStatus status);
 
-    @Query("SELECT COUNT(s) FROM Shipment s WHERE s.deleted = false AND s.status IN :statuses AND s.warehouseId = :#{T(com.example.warehouse.config.WarehouseContext).getWarehouseId()}")
+    @Query("SELECT COUNT(s) FROM Shipment s WHERE s.deleted = false AND s.status IN :statuses")
     long countByStatusIn(List<ShipmentStatus> statuses);
 
-    @Query("SELECT COUNT(s) FROM Shipment s WHERE s.deleted = false AND s.status = :status AND s.deliveredAt BETWEEN :start AND :end AND s.warehouseId = :#{T(com.example.warehouse.config.WarehouseContext).getWarehouseId()}")
+    @Query("SELECT COUNT(s) FROM Shipment s WHERE s.deleted = false AND s.status = :status AND s.deliveredAt BETWEEN :start AND :end")
     long countByStatusAndDeliveredAtBetween(ShipmentStatus status, Instant start, Instant end);
 
-    @Query("SELECT COUNT(s) FROM Shipment s WHERE s.deleted = false AND s.status = 'DELIVERED' AND s.deliveredAt >= ?1 AND s.warehouseId = :#{T(com.example.warehouse.config.WarehouseContext).getWarehouseId()}")
+    @Query("SELECT COUNT(s) FROM Shipment s WHERE s.deleted = false AND s.status = 'DELIVERED' AND s.deliveredAt >= ?1")
     long countDeliveredSince(Instant since);
 }
@@ -4,6 +4,8 @@ import com.example.warehouse.enums.UserRole;
 import com.example.warehouse.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -21,4 +23,10 @@ public interface UserRepository extends JpaRepository<User, String>, JpaSpecific
     default Optional<User> searchUserByIdentifier(String identifier) {
         return findByEmailOrUsername(identifier, identifier);
     }
+
+    // Native so it stays one UPDATE on the users table despite the joined Admin/Staff subclasses
+    @Modifying
+    @Query(value = "UPDATE users SET password = :password, last_modified_at = now() WHERE user_id = :userId",
+            nativeQuery = true)
+    int updatePassword(String userId, String password);
 }
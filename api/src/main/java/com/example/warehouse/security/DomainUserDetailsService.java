@@ -1,34 +1,54 @@
 package com.example.warehouse.security;
 
-import com.example.warehouse.entity.User;
+import com.example.warehouse.cache.UserAccountCache;
+import com.example.warehouse.cache.UserAccountCache.UserAccount;
 import com.example.warehouse.repository.UserRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 @Service
-public class DomainUserDetailsService implements UserDetailsService {
+public class DomainUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
 
     private static final Logger log = LoggerFactory.getLogger(DomainUserDetailsService.class);
+    private final UserAccountCache userAccountCache;
     private final UserRepository userRepository;
 
-    public DomainUserDetailsService(UserRepository userRepository) {
+    public DomainUserDetailsService(UserAccountCache userAccountCache, UserRepository userRepository) {
+        this.userAccountCache = userAccountCache;
         this.userRepository = userRepository;
     }
 
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
         log.debug("Authenticating user identifier {}", username);
-        User user = userRepository.searchUserByIdentifier(username)
+        // A new UserDetails per call: authentication erases the password on the instance it is given
+        return userAccountCache.find(username)
+                .map(WarehouseUserDetails::new)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found: " + username));
+    }
 
-        return org.springframework.security.core.userdetails.User.builder()
-                .username(user.getEmail())
-                .password(user.getPassword())
-                .authorities(user.getUserRole().name())
-                .build();
+    /**
+     * Called by Spring Security after a successful login whose stored hash is
+     * weaker than the encoder's current BCrypt strength, with the password
+     * re-hashed at that strength.
+     */
+    @Override
+    @Transactional
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        UserAccount account = user instanceof WarehouseUserDetails details
+                ? details.getAccount()
+                : userAccountCache.find(user.getUsername())
+                        .orElseThrow(() -> new UsernameNotFoundException("User not found: " + user.getUsername()));
+        userRepository.updatePassword(account.userId(), newPassword);
+        userAccountCache.evict(account.username(), account.email());
+        log.info("Upgraded password hash of user {}", account.userId());
+        return new WarehouseUserDetails(new UserAccount(account.userId(), account.username(), account.email(),
+                newPassword, account.role(), account.warehouseId()));
     }
 }
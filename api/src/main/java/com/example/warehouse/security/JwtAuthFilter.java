@@ -42,12 +42,15 @@ public class JwtAuthFilter extends OncePerRequestFilter {
         final String jwt = authHeader.substring(7);
 
         try {
-            final String username = jwtService.extractUsername(jwt);
+            // Signature and expiry are checked once, and not again while the token stays cached
+            final JwtService.VerifiedToken token = jwtService.verify(jwt);
 
-            if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+            if (token.subject() != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+                // Served from UserAccountCache, so the role and warehouse are current even if they
+                // changed after the token was issued
+                UserDetails userDetails = userDetailsService.loadUserByUsername(token.subject());
 
-                if (jwtService.isTokenValid(jwt, userDetails)) {
+                if (isIssuedTo(token, userDetails)) {
                     UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
                             userDetails, null, userDetails.getAuthorities());
                     authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
@@ -62,4 +65,14 @@ public class JwtAuthFilter extends OncePerRequestFilter {
 
         filterChain.doFilter(request, response);
     }
+
+    // The user id claim tells a token apart from one issued to an earlier account with the same email
+    private static boolean isIssuedTo(JwtService.VerifiedToken token, UserDetails userDetails) {
+        if (!token.subject().equals(userDetails.getUsername())) {
+            return false;
+        }
+        return token.userId() == null
+                || !(userDetails instanceof WarehouseUserDetails details)
+                || token.userId().equals(details.getAccount().userId());
+    }
 }
@@ -0,0 +1,138 @@
+package com.example.warehouse.security;
+
+import com.example.warehouse.exception.LoginOverloadedException;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs password verification (a deliberately slow BCrypt hash) on a small
+ * dedicated pool, so a burst of logins cannot take over the request threads
+ * and CPU that other traffic needs. The request thread is released while a
+ * login waits or runs.
+ * <p>
+ * Logins beyond {@code threads} wait in a queue of {@code queue-capacity};
+ * when that is full, or a login has already waited longer than
+ * {@code max-queue-wait} by the time a thread picks it up, it fails at once
+ * with {@link LoginOverloadedException} (503) instead of spending a hash on a
+ * client that is likely to have given up.
+ * <p>
+ * Each login is wrapped by {@code taskDecorator}, which carries the request's
+ * trace context onto the login thread.
+ */
+@Component
+public class LoginExecutor {
+
+    private final AuthenticationManager authenticationManager;
+    private final ThreadPoolExecutor executor;
+    private final TaskDecorator taskDecorator;
+    private final Duration maxQueueWait;
+
+    private final Timer succeeded;
+    private final Timer failed;
+    private final Timer rejected;
+    private final Timer queueWait;
+
+    public LoginExecutor(AuthenticationManager authenticationManager,
+            MeterRegistry meterRegistry,
+            TaskDecorator taskDecorator,
+            @Value("${app.login.threads:0}") int threads,
+            @Value("${app.login.queue-capacity:64}") int queueCapacity,
+            @Value("${app.login.max-queue-wait:2s}") Duration maxQueueWait) {
+        this.authenticationManager = authenticationManager;
+        this.taskDecorator = taskDecorator;
+        this.maxQueueWait = maxQueueWait;
+        // Default: half the cores, so logins can never take all of them
+        int poolSize = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "login-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+
+        this.succeeded = loginTimer(meterRegistry, "success");
+        this.failed = loginTimer(meterRegistry, "failure");
+        this.rejected = loginTimer(meterRegistry, "rejected");
+        this.queueWait = Timer.builder("auth.login.queue.wait")
+                .description("Time a login waited for a login thread")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        Gauge.builder("auth.login.queue.depth", executor, pool -> pool.getQueue().size())
+                .description("Logins waiting for a login thread")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Authenticates on the login pool. The future fails with the
+     * {@link AuthenticationException} for bad credentials, or with
+     * {@link LoginOverloadedException} when the login was shed.
+     */
+    public CompletableFuture<Authentication> authenticate(String identifier, String password) {
+        long submitted = System.nanoTime();
+        CompletableFuture<Authentication> result = new CompletableFuture<>();
+        try {
+            executor.execute(taskDecorator.decorate(() -> run(identifier, password, submitted, result)));
+        } catch (RejectedExecutionException e) {
+            rejected.record(System.nanoTime() - submitted, TimeUnit.NANOSECONDS);
+            result.completeExceptionally(new LoginOverloadedException("Too many logins in progress, retry shortly"));
+        }
+        return result;
+    }
+
+    private void run(String identifier, String password, long submitted,
+            CompletableFuture<Authentication> result) {
+        long waited = System.nanoTime() - submitted;
+        queueWait.record(waited, TimeUnit.NANOSECONDS);
+        if (waited > maxQueueWait.toNanos()) {
+            rejected.record(waited, TimeUnit.NANOSECONDS);
+            result.completeExceptionally(new LoginOverloadedException("Too many logins in progress, retry shortly"));
+            return;
+        }
+        try {
+            Authentication authentication = authenticationManager.authenticate(
+                    new UsernamePasswordAuthenticationToken(identifier, password));
+            succeeded.record(System.nanoTime() - submitted, TimeUnit.NANOSECONDS);
+            result.complete(authentication);
+        } catch (RuntimeException e) {
+            failed.record(System.nanoTime() - submitted, TimeUnit.NANOSECONDS);
+            result.completeExceptionally(e);
+        }
+    }
+
+    public int queueDepth() {
+        return executor.getQueue().size();
+    }
+
+    @PreDestroy
+    public void stop() {
+        executor.shutdown();
+    }
+
+    private static Timer loginTimer(MeterRegistry meterRegistry, String outcome) {
+        return Timer.builder("auth.login")
+                .description("Login latency from request to result, queueing included")
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+}
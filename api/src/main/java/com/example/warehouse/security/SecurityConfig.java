@@ -39,6 +39,14 @@ public class SecurityConfig {
     @Value("${app.cors.allowed-origins:http://localhost:3000,http://localhost:3001}")
     private String allowedOriginsRaw;
 
+    /**
+     * BCrypt cost factor for new hashes. Raising it re-hashes each user's
+     * password at the new cost on their next successful login (see
+     * DomainUserDetailsService#updatePassword).
+     */
+    @Value("${app.security.bcrypt-strength:10}")
+    private int bcryptStrength;
+
     private final JwtAuthFilter jwtAuthFilter;
 
     public SecurityConfig(JwtAuthFilter jwtAuthFilter) {
@@ -47,7 +55,7 @@ public class SecurityConfig {
 
     @Bean
     public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+        return new BCryptPasswordEncoder(bcryptStrength);
     }
 
     @Bean
@@ -94,7 +102,7 @@ public class SecurityConfig {
                                 "/api/v3/api-docs/**")
                         .permitAll()
                         // Admin-only actuator
-                        .requestMatchers("/api/actuator/**").hasAuthority("ADMIN")
+                        .requestMatchers("/api/actuator/**", "/actuator/**").hasAuthority("ADMIN")
                         // Everything else requires a valid JWT
                         .anyRequest().authenticated())
                 // JWT filter runs before the standard username/password filter
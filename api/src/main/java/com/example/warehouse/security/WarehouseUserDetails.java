@@ -0,0 +1,26 @@
+package com.example.warehouse.security;
+
+import com.example.warehouse.cache.UserAccountCache.UserAccount;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+
+import java.util.List;
+
+/**
+ * Authenticated principal that keeps the account it was built from, so later
+ * filters (see {@code WarehouseFilter}) can read the user's warehouse without
+ * another lookup.
+ */
+public class WarehouseUserDetails extends User {
+
+    private final transient UserAccount account;
+
+    public WarehouseUserDetails(UserAccount account) {
+        super(account.email(), account.password(), List.of(new SimpleGrantedAuthority(account.role().name())));
+        this.account = account;
+    }
+
+    public UserAccount getAccount() {
+        return account;
+    }
+}
@@ -0,0 +1,22 @@
+package com.example.warehouse.service.contract;
+
+import com.example.warehouse.dto.response.InventoryLedgerResponse;
+import com.example.warehouse.dto.response.StockLevelResponse;
+import com.example.warehouse.entity.Inventory;
+import com.example.warehouse.entity.InventoryLedgerReason;
+
+import java.time.Instant;
+import java.util.List;
+
+public interface InventoryLedgerService {
+
+    // Append a quantity change of an inventory row; the inventory already reflects the change.
+    // Must run in the transaction that changed the quantity, after its block occupancy update.
+    void record(Inventory inventory, int quantityDelta, InventoryLedgerReason reason, String reference);
+
+    // Quantity changes of one inventory row, oldest first
+    List<InventoryLedgerResponse> getLedger(String inventoryId);
+
+    // On-hand stock per block and product of the current warehouse at a point in time; blockId is optional
+    List<StockLevelResponse> getStockAsOf(String blockId, Instant asOf);
+}
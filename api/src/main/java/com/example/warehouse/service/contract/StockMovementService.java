@@ -7,9 +7,12 @@ import java.util.List;
 
 public interface StockMovementService {
 
-    // Record a stock movement
+    // Record a stock movement and wait until it is written
     StockMovementResponse recordMovement(StockMovementRequest request, String username);
 
+    // Write a stock movement in the caller's transaction, so it commits or rolls back with it
+    void writeMovement(StockMovementRequest request, String username);
+
     // Get movement by ID
     StockMovementResponse getMovementById(String movementId);
 
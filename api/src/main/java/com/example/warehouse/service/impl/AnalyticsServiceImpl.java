@@ -3,9 +3,11 @@ package com.example.warehouse.service.impl;
 import com.example.warehouse.dto.analytics.*;
 import com.example.warehouse.entity.*;
 import com.example.warehouse.enums.UserRole;
+import com.example.warehouse.jfr.AnalyticsSectionEvent;
 import com.example.warehouse.repository.*;
 import com.example.warehouse.service.contract.AnalyticsService;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Instant;
 import java.time.LocalDate;
@@ -43,26 +45,27 @@ public class AnalyticsServiceImpl implements AnalyticsService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<StockTurnoverResponse> getStockTurnover() {
+        AnalyticsSectionEvent section = AnalyticsSectionEvent.start("stockTurnover");
         // Use the custom JPQL query for top movers
-        return stockMovementRepository.findTopMovers().stream()
+        List<StockTurnoverResponse> result = stockMovementRepository.findTopMovers().stream()
                 .limit(10)
                 .collect(Collectors.toList());
+        section.finish(result.size());
+        return result;
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<BlockUtilizationResponse> getBlockUtilization() {
+        AnalyticsSectionEvent section = AnalyticsSectionEvent.start("blockUtilization");
         List<Block> blocks = blockRepository.findAll();
 
-        return blocks.stream().map(block -> {
-            // Utilization = (occupied volume / total capacity) * 100
-            List<Inventory> inventoryList = inventoryRepository.findByBlockBlockId(block.getBlockId());
-            double currentVolume = inventoryList.stream()
-                    .mapToDouble(inv -> inv.getQuantity() * inv.getProduct().getVolume())
-                    .sum();
-
-            double capacity = block.getTotalCapacity();
-            double occupancyPercentage = (capacity > 0) ? (currentVolume / capacity) * 100 : 0.0;
+        List<BlockUtilizationResponse> result = blocks.stream().map(block -> {
+            // Utilization = (occupied volume / total capacity) * 100, from the
+            // block's maintained occupancy counter
+            double occupancyPercentage = block.getUtilizationPercentage();
 
             String utilizationLevel = "LOW";
             if (occupancyPercentage > 85)
@@ -79,10 +82,14 @@ public class AnalyticsServiceImpl implements AnalyticsService {
                     .utilizationLevel(utilizationLevel)
                     .build();
         }).collect(Collectors.toList());
+        section.finish(result.size());
+        return result;
     }
 
     @Override
+    @Transactional(readOnly = true)
     public FulfillmentMetricsResponse getFulfillmentMetrics() {
+        AnalyticsSectionEvent section = AnalyticsSectionEvent.start("fulfillmentMetrics");
         List<Order> orders = orderRepository.findByStatusOrderByCreatedAtDesc(OrderStatus.DISPATCHED);
 
         long totalPickSeconds = 0;
@@ -112,16 +119,20 @@ public class AnalyticsServiceImpl implements AnalyticsService {
         int avgDispatch = count > 0 ? (int) (totalDispatchSeconds / 60 / count) : 0;
         int avgTotal = count > 0 ? (int) (totalFulfillmentSeconds / 60 / count) : 0;
 
-        return FulfillmentMetricsResponse.builder()
+        FulfillmentMetricsResponse result = FulfillmentMetricsResponse.builder()
                 .avgPickTimeMinutes(avgPick)
                 .avgPackTimeMinutes(avgPack)
                 .avgDispatchTimeMinutes(avgDispatch)
                 .avgTotalFulfillmentTimeMinutes(avgTotal)
                 .build();
+        section.finish(1);
+        return result;
     }
 
     @Override
+    @Transactional(readOnly = true)
     public ShipmentMetricsResponse getShipmentMetrics() {
+        AnalyticsSectionEvent section = AnalyticsSectionEvent.start("shipmentMetrics");
         long total = shipmentRepository.count();
         LocalDate today = LocalDate.now();
         Instant startOfDay = today.atStartOfDay(ZoneId.systemDefault()).toInstant();
@@ -138,15 +149,18 @@ public class AnalyticsServiceImpl implements AnalyticsService {
         long inTransit = shipmentRepository
                 .countByStatusIn(List.of(ShipmentStatus.DISPATCHED, ShipmentStatus.IN_TRANSIT));
 
-        return ShipmentMetricsResponse.builder()
+        ShipmentMetricsResponse result = ShipmentMetricsResponse.builder()
                 .totalShipments(total)
                 .deliveredToday(deliveredToday)
                 .shipmentsInTransit(inTransit)
                 .failedShipments(failed)
                 .build();
+        section.finish(1);
+        return result;
     }
 
     @Override
+    @Transactional(readOnly = true)
     public DashboardSummaryResponse getDashboardSummary() {
         return DashboardSummaryResponse.builder()
                 .shipmentMetrics(getShipmentMetrics())
@@ -164,7 +178,8 @@ public class AnalyticsServiceImpl implements AnalyticsService {
     }
 
     private List<InventoryAgingResponse> getAgingInventory() {
-        return inventoryRepository.findAll().stream()
+        AnalyticsSectionEvent section = AnalyticsSectionEvent.start("agingInventory");
+        List<InventoryAgingResponse> result = inventoryRepository.findAll().stream()
                 .map(inv -> {
                     long days = ChronoUnit.DAYS.between(inv.getCreatedAt(), Instant.now());
                     return InventoryAgingResponse.builder()
@@ -178,14 +193,17 @@ public class AnalyticsServiceImpl implements AnalyticsService {
                 .sorted((a, b) -> Long.compare(b.getDaysInWarehouse(), a.getDaysInWarehouse()))
                 .limit(7)
                 .collect(Collectors.toList());
+        section.finish(result.size());
+        return result;
     }
 
     private List<ProcessAgingResponse> getStuckOrders() {
+        AnalyticsSectionEvent section = AnalyticsSectionEvent.start("stuckOrders");
         // Use the new repository method for optimization
         Instant threshold = Instant.now().minus(24, ChronoUnit.HOURS);
         List<Order> stuckOrders = orderRepository.findStuckOrders(threshold);
 
-        return stuckOrders.stream()
+        List<ProcessAgingResponse> result = stuckOrders.stream()
                 .map(order -> {
                     long hours = ChronoUnit.HOURS.between(order.getCreatedAt(), Instant.now());
                     return ProcessAgingResponse.builder()
@@ -197,11 +215,15 @@ public class AnalyticsServiceImpl implements AnalyticsService {
                 })
                 .limit(10)
                 .collect(Collectors.toList());
+        section.finish(result.size());
+        return result;
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<PickHeatmapResponse> getPickHeatmap() {
-        return blockRepository.findAll().stream()
+        AnalyticsSectionEvent section = AnalyticsSectionEvent.start("pickHeatmap");
+        List<PickHeatmapResponse> result = blockRepository.findAll().stream()
                 .map(block -> {
                     long activePicks = pickTaskRepository.countByBlockBlockIdAndStatusIn(
                             block.getBlockId(),
@@ -222,15 +244,19 @@ public class AnalyticsServiceImpl implements AnalyticsService {
                 })
                 .filter(r -> r.getActivePicksCount() > 0)
                 .collect(Collectors.toList());
+        section.finish(result.size());
+        return result;
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<PickerWorkloadResponse> getPickerWorkload() {
+        AnalyticsSectionEvent section = AnalyticsSectionEvent.start("pickerWorkload");
         LocalDate today = LocalDate.now();
         Instant startOfDay = today.atStartOfDay(ZoneId.systemDefault()).toInstant();
         Instant endOfDay = today.plusDays(1).atStartOfDay(ZoneId.systemDefault()).minusNanos(1).toInstant();
 
-        return userRepository.findByUserRole(UserRole.PICKER).stream()
+        List<PickerWorkloadResponse> result = userRepository.findByUserRole(UserRole.PICKER).stream()
                 .map(user -> {
                     long active = pickTaskRepository.countByAssignedToAndStatusIn(
                             user.getUsername(),
@@ -253,11 +279,15 @@ public class AnalyticsServiceImpl implements AnalyticsService {
                             .build();
                 })
                 .collect(Collectors.toList());
+        section.finish(result.size());
+        return result;
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<StockConfidenceResponse> getStockConfidence() {
-        return inventoryRepository.findAll().stream()
+        AnalyticsSectionEvent section = AnalyticsSectionEvent.start("stockConfidence");
+        List<StockConfidenceResponse> result = inventoryRepository.findAll().stream()
                 .map(inv -> {
                     long days = ChronoUnit.DAYS.between(inv.getLastModifiedAt(), Instant.now());
                     int score = 100;
@@ -287,11 +317,15 @@ public class AnalyticsServiceImpl implements AnalyticsService {
                 .sorted((a, b) -> Integer.compare(a.getConfidenceScore(), b.getConfidenceScore()))
                 .limit(5)
                 .collect(Collectors.toList());
+        section.finish(result.size());
+        return result;
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<ShipmentRiskResponse> getShipmentRisk() {
-        return shipmentRepository.findActiveShipments().stream()
+        AnalyticsSectionEvent section = AnalyticsSectionEvent.start("shipmentRisk");
+        List<ShipmentRiskResponse> result = shipmentRepository.findActiveShipments().stream()
                 .map(s -> {
                     long days = ChronoUnit.DAYS.between(s.getDispatchedAt(), Instant.now());
                     String risk = "LOW";
@@ -315,5 +349,7 @@ public class AnalyticsServiceImpl implements AnalyticsService {
                 })
                 .filter(Objects::nonNull)
                 .collect(Collectors.toList());
+        section.finish(result.size());
+        return result;
     }
 }
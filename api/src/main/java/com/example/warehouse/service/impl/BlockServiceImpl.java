@@ -1,5 +1,6 @@
 package com.example.warehouse.service.impl;
 
+import com.example.warehouse.cache.ReferenceDataCache;
 import com.example.warehouse.dto.mapper.BlockMapper;
 import com.example.warehouse.dto.request.BlockRequest;
 import com.example.warehouse.dto.response.BlockResponse;
@@ -11,7 +12,6 @@ import com.example.warehouse.exception.IllegalOperationException;
 import com.example.warehouse.exception.RoomNotFoundByIdException;
 import com.example.warehouse.exception.UnSupportedBlockTypeException;
 import com.example.warehouse.repository.BlockRepository;
-import com.example.warehouse.repository.RoomRepository;
 import com.example.warehouse.service.contract.BlockService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
@@ -21,18 +21,18 @@ import org.springframework.transaction.annotation.Transactional;
 @SuppressWarnings("null")
 public class BlockServiceImpl implements BlockService {
 
-    @Autowired
-    private RoomRepository roomRepository;
-
     @Autowired
     private BlockRepository blockRepository;
 
     @Autowired
     private BlockMapper blockMapper;
 
+    @Autowired
+    private ReferenceDataCache referenceDataCache;
+
     @Override
     public BlockResponse createBlock(BlockRequest request, String roomId) {
-        Room room = roomRepository.findById(roomId)
+        Room room = referenceDataCache.findRoom(roomId)
                 .orElseThrow(() -> new RoomNotFoundByIdException("Room is Not Exist!!"));
         Block block = switch (request.type()) {
             case RECKED -> blockMapper.toEntity(request, new Recked());
@@ -41,7 +41,6 @@ public class BlockServiceImpl implements BlockService {
         };
         block.setRoom(room);
         block.setWarehouseId(com.example.warehouse.config.WarehouseContext.getWarehouseId());
-        roomRepository.save(room);
         blockRepository.save(block);
         return blockMapper.toResponse(block);
     }
@@ -65,6 +64,7 @@ public class BlockServiceImpl implements BlockService {
                 .orElseThrow(() -> new IllegalOperationException("Block Not Found By Id"));
         Block updatedBlock = blockMapper.toEntity(request, existingBlock);
         blockRepository.save(updatedBlock);
+        referenceDataCache.evictBlock(blockId);
         return blockMapper.toResponse(updatedBlock);
     }
 
@@ -77,6 +77,7 @@ public class BlockServiceImpl implements BlockService {
         block.setDeleted(true);
         block.setDeletedAt(java.time.Instant.now());
         blockRepository.save(block);
+        referenceDataCache.evictBlock(blockId);
         return response;
     }
 
@@ -88,6 +89,7 @@ public class BlockServiceImpl implements BlockService {
         block.setDeleted(false);
         block.setDeletedAt(null);
         blockRepository.save(block);
+        referenceDataCache.evictBlock(blockId);
         return blockMapper.toResponse(block);
     }
 }
@@ -0,0 +1,77 @@
+package com.example.warehouse.service.impl;
+
+import com.example.warehouse.config.WarehouseContext;
+import com.example.warehouse.dto.response.InventoryLedgerResponse;
+import com.example.warehouse.dto.response.StockLevelResponse;
+import com.example.warehouse.entity.Inventory;
+import com.example.warehouse.entity.InventoryLedgerEntry;
+import com.example.warehouse.entity.InventoryLedgerReason;
+import com.example.warehouse.repository.InventoryLedgerRepository;
+import com.example.warehouse.service.contract.InventoryLedgerService;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Service
+@SuppressWarnings("null")
+public class InventoryLedgerServiceImpl implements InventoryLedgerService {
+
+    private final InventoryLedgerRepository inventoryLedgerRepository;
+
+    public InventoryLedgerServiceImpl(InventoryLedgerRepository inventoryLedgerRepository) {
+        this.inventoryLedgerRepository = inventoryLedgerRepository;
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(Inventory inventory, int quantityDelta, InventoryLedgerReason reason, String reference) {
+        if (quantityDelta == 0) {
+            return;
+        }
+        InventoryLedgerEntry entry = new InventoryLedgerEntry();
+        entry.setInventoryId(inventory.getInventoryId());
+        entry.setProductId(inventory.getProduct().getProductId());
+        entry.setBlockId(inventory.getBlock().getBlockId());
+        entry.setWarehouseId(inventory.getWarehouseId());
+        entry.setQuantityDelta(quantityDelta);
+        // A soft-deleted row no longer counts as stock
+        entry.setQuantityAfter(inventory.isDeleted() ? 0 : inventory.getQuantity());
+        entry.setReason(reason);
+        entry.setReference(reference);
+        // Identity id: inserted right away, while the caller still holds the block row lock
+        inventoryLedgerRepository.save(entry);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<InventoryLedgerResponse> getLedger(String inventoryId) {
+        return inventoryLedgerRepository.findByInventoryId(inventoryId).stream()
+                .map(this::mapToResponse)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<StockLevelResponse> getStockAsOf(String blockId, Instant asOf) {
+        return inventoryLedgerRepository.findStockAsOf(WarehouseContext.getWarehouseId(), blockId, asOf).stream()
+                .map(level -> new StockLevelResponse(level.getBlockId(), level.getProductId(), level.getQuantity()))
+                .collect(Collectors.toList());
+    }
+
+    private InventoryLedgerResponse mapToResponse(InventoryLedgerEntry entry) {
+        return new InventoryLedgerResponse(
+                entry.getLedgerId(),
+                entry.getInventoryId(),
+                entry.getProductId(),
+                entry.getBlockId(),
+                entry.getQuantityDelta(),
+                entry.getQuantityAfter(),
+                entry.getReason().name(),
+                entry.getReference(),
+                entry.getRecordedAt() != null ? entry.getRecordedAt().toEpochMilli() : null);
+    }
+}
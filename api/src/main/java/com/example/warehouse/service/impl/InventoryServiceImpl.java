@@ -1,19 +1,21 @@
 package com.example.warehouse.service.impl;
 
+import com.example.warehouse.cache.ReferenceDataCache;
 import com.example.warehouse.dto.request.InventoryRequest;
 import com.example.warehouse.dto.response.InventoryResponse;
 import com.example.warehouse.dto.response.ProductResponse;
 import com.example.warehouse.entity.Block;
 import com.example.warehouse.entity.Inventory;
+import com.example.warehouse.entity.InventoryLedgerReason;
 import com.example.warehouse.entity.Product;
 import com.example.warehouse.repository.BlockRepository;
 import com.example.warehouse.repository.InventoryRepository;
-import com.example.warehouse.repository.ProductRepository;
+import com.example.warehouse.service.contract.InventoryLedgerService;
 import com.example.warehouse.service.contract.InventoryService;
 import com.example.warehouse.exception.InsufficientCapacityException;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
+import com.example.warehouse.metrics.WarehouseMetrics;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.stream.Collectors;
@@ -22,26 +24,31 @@ import java.util.stream.Collectors;
 @SuppressWarnings("null")
 public class InventoryServiceImpl implements InventoryService {
 
-    private static final Logger log = LoggerFactory.getLogger(InventoryServiceImpl.class);
-
     private final InventoryRepository inventoryRepository;
-    private final ProductRepository productRepository;
+    private final ReferenceDataCache referenceDataCache;
     private final BlockRepository blockRepository;
     private final com.example.warehouse.service.contract.StockMovementService stockMovementService;
+    private final InventoryLedgerService inventoryLedgerService;
+    private final WarehouseMetrics warehouseMetrics;
 
     public InventoryServiceImpl(InventoryRepository inventoryRepository,
-            ProductRepository productRepository,
+            ReferenceDataCache referenceDataCache,
             BlockRepository blockRepository,
-            com.example.warehouse.service.contract.StockMovementService stockMovementService) {
+            com.example.warehouse.service.contract.StockMovementService stockMovementService,
+            InventoryLedgerService inventoryLedgerService,
+            WarehouseMetrics warehouseMetrics) {
         this.inventoryRepository = inventoryRepository;
-        this.productRepository = productRepository;
+        this.referenceDataCache = referenceDataCache;
         this.blockRepository = blockRepository;
         this.stockMovementService = stockMovementService;
+        this.inventoryLedgerService = inventoryLedgerService;
+        this.warehouseMetrics = warehouseMetrics;
     }
 
     @Override
+    @Transactional
     public InventoryResponse createInventory(InventoryRequest request) {
-        Product product = productRepository.findById(request.getProductId())
+        Product product = referenceDataCache.findProduct(request.getProductId())
                 .orElseThrow(() -> new RuntimeException("Product not found"));
 
         Block block = blockRepository.findById(request.getBlockId())
@@ -53,9 +60,7 @@ public class InventoryServiceImpl implements InventoryService {
                     throw new RuntimeException("Inventory already exists for this product in this block");
                 });
 
-        if (block.getAvailableCapacity() < request.getQuantity()) {
-            throw new InsufficientCapacityException("Insufficient capacity in block: " + block.getName());
-        }
+        occupy(block, product, request.getQuantity());
 
         Inventory inventory = new Inventory();
         inventory.setProduct(product);
@@ -68,16 +73,25 @@ public class InventoryServiceImpl implements InventoryService {
         inventory.setWarehouseId(com.example.warehouse.config.WarehouseContext.getWarehouseId());
 
         Inventory savedInventory = inventoryRepository.save(inventory);
+        inventoryLedgerService.record(savedInventory, request.getQuantity(), InventoryLedgerReason.CREATE, null);
         return mapToResponse(savedInventory);
     }
 
     @Override
+    @Transactional
     public InventoryResponse updateInventory(String inventoryId, InventoryRequest request) {
         Inventory inventory = inventoryRepository.findById(inventoryId)
                 .filter(i -> !i.isDeleted())
                 .orElseThrow(() -> new RuntimeException("Inventory not found"));
 
+        int quantityChange = request.getQuantity() - inventory.getQuantity();
+        // Same floor as adjustStock: reserved and damaged stock cannot be edited away
+        if (quantityChange < 0 && inventory.getAvailableQuantity() + quantityChange < 0) {
+            throw new RuntimeException("Cannot reduce stock below the reserved and damaged quantity");
+        }
+        adjustOccupancy(inventory, quantityChange);
         inventory.setQuantity(request.getQuantity());
+        inventoryLedgerService.record(inventory, quantityChange, InventoryLedgerReason.UPDATE, null);
         inventory.setMinStockLevel(request.getMinStockLevel());
         inventory.setMaxStockLevel(request.getMaxStockLevel());
 
@@ -86,6 +100,7 @@ public class InventoryServiceImpl implements InventoryService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public InventoryResponse getInventoryById(String inventoryId) {
         Inventory inventory = inventoryRepository.findById(inventoryId)
                 .filter(i -> !i.isDeleted())
@@ -94,6 +109,7 @@ public class InventoryServiceImpl implements InventoryService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<InventoryResponse> getInventoriesByBlock(String blockId) {
         return inventoryRepository.findByBlockBlockId(blockId).stream()
                 .map(this::mapToResponse)
@@ -101,6 +117,7 @@ public class InventoryServiceImpl implements InventoryService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<InventoryResponse> getInventoriesByProduct(String productId) {
         return inventoryRepository.findByProductProductId(productId).stream()
                 .map(this::mapToResponse)
@@ -108,6 +125,7 @@ public class InventoryServiceImpl implements InventoryService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<InventoryResponse> getAllInventories() {
         return inventoryRepository.findAll(
                 new com.example.warehouse.repository.specification.SpecificationBuilder<Inventory>().build())
@@ -115,6 +133,7 @@ public class InventoryServiceImpl implements InventoryService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<InventoryResponse> getLowStockItems() {
         return inventoryRepository.findLowStockItems().stream()
                 .map(this::mapToResponse)
@@ -122,27 +141,45 @@ public class InventoryServiceImpl implements InventoryService {
     }
 
     @Override
+    @Transactional
     public void deleteInventory(String inventoryId) {
         Inventory inventory = inventoryRepository.findById(inventoryId)
                 .orElseThrow(() -> new RuntimeException("Inventory not found"));
+        boolean wasDeleted = inventory.isDeleted();
+        if (!wasDeleted) {
+            adjustOccupancy(inventory, -inventory.getQuantity());
+        }
         inventory.setDeleted(true);
         inventory.setDeletedAt(java.time.Instant.now());
+        if (!wasDeleted) {
+            inventoryLedgerService.record(inventory, -inventory.getQuantity(), InventoryLedgerReason.DELETE, null);
+        }
         inventoryRepository.save(inventory);
     }
 
     @Override
+    @Transactional
     public InventoryResponse restoreInventory(String inventoryId) {
         Inventory inventory = inventoryRepository.findById(inventoryId)
                 .orElseThrow(() -> new RuntimeException("Inventory not found"));
+        boolean wasDeleted = inventory.isDeleted();
+        if (wasDeleted) {
+            adjustOccupancy(inventory, inventory.getQuantity());
+        }
         inventory.setDeleted(false);
         inventory.setDeletedAt(null);
+        if (wasDeleted) {
+            inventoryLedgerService.record(inventory, inventory.getQuantity(), InventoryLedgerReason.RESTORE, null);
+        }
         Inventory savedInventory = inventoryRepository.save(inventory);
         return mapToResponse(savedInventory);
     }
 
     @Override
+    @Transactional
     public InventoryResponse adjustStock(String inventoryId, Integer quantityChange) {
         Inventory inventory = inventoryRepository.findById(inventoryId)
+                .filter(i -> !i.isDeleted())
                 .orElseThrow(() -> new RuntimeException("Inventory not found"));
 
         int quantityChangeVal = quantityChange != null ? quantityChange : 0;
@@ -152,12 +189,19 @@ public class InventoryServiceImpl implements InventoryService {
             throw new RuntimeException("Cannot reduce stock below zero");
         }
 
-        if (quantityChangeVal > 0 && inventory.getBlock().getAvailableCapacity() < quantityChangeVal) {
-            throw new InsufficientCapacityException(
-                    "Insufficient capacity in block: " + inventory.getBlock().getName());
+        // Stock promised to open pick tasks, or written off as damaged, cannot be adjusted away
+        if (quantityChangeVal < 0 && inventory.getAvailableQuantity() + quantityChangeVal < 0) {
+            throw new RuntimeException("Cannot reduce stock below the reserved and damaged quantity");
+        }
+
+        if (quantityChangeVal > 0) {
+            occupy(inventory.getBlock(), inventory.getProduct(), quantityChangeVal);
+        } else {
+            adjustOccupancy(inventory, quantityChangeVal);
         }
 
         inventory.setQuantity(newQuantity);
+        inventoryLedgerService.record(inventory, quantityChangeVal, InventoryLedgerReason.ADJUST, null);
         Inventory updatedInventory = inventoryRepository.save(inventory);
 
         // Record stock movement for audit trail
@@ -171,16 +215,26 @@ public class InventoryServiceImpl implements InventoryService {
                 ? "Stock increased by " + quantityChange
                 : "Stock decreased by " + Math.abs(quantityChange));
 
-        try {
-            stockMovementService.recordMovement(movementRequest, "SYSTEM");
-        } catch (Exception e) {
-            // Log but don't fail the stock adjustment
-            log.error("Failed to record movement for inventory {}", inventoryId, e);
-        }
+        stockMovementService.writeMovement(movementRequest, "SYSTEM");
 
         return mapToResponse(updatedInventory);
     }
 
+    // Capacity check and counter update in one statement on the block row
+    private void occupy(Block block, Product product, int quantity) {
+        if (blockRepository.occupyIfFits(block.getBlockId(), quantity, quantity * product.getVolume()) == 0) {
+            warehouseMetrics.capacityRejected(block.getWarehouseId());
+            throw new InsufficientCapacityException("Insufficient capacity in block: " + block.getName());
+        }
+    }
+
+    private void adjustOccupancy(Inventory inventory, int quantityChange) {
+        if (quantityChange != 0) {
+            blockRepository.adjustOccupancy(inventory.getBlock().getBlockId(), quantityChange,
+                    quantityChange * inventory.getProduct().getVolume());
+        }
+    }
+
     private InventoryResponse mapToResponse(Inventory inventory) {
         InventoryResponse response = new InventoryResponse();
         response.setInventoryId(inventory.getInventoryId());
@@ -1,5 +1,6 @@
 package com.example.warehouse.service.impl;
 
+import com.example.warehouse.cache.ReferenceDataCache;
 import com.example.warehouse.dto.request.OrderItemRequest;
 import com.example.warehouse.dto.request.OrderRequest;
 import com.example.warehouse.dto.request.PickTaskAssignmentRequest;
@@ -8,10 +9,17 @@ import com.example.warehouse.dto.response.OrderResponse;
 import com.example.warehouse.dto.response.PickTaskResponse;
 import com.example.warehouse.dto.response.ProductResponse;
 import com.example.warehouse.entity.*;
+import com.example.warehouse.jfr.DispatchSideEffectEvent;
+import com.example.warehouse.jfr.OrderAllocationEvent;
+import com.example.warehouse.jfr.PickTaskTransitionEvent;
+import com.example.warehouse.jfr.ReservationUpdateEvent;
+import com.example.warehouse.metrics.WarehouseMetrics;
 import com.example.warehouse.repository.*;
+import com.example.warehouse.service.contract.InventoryLedgerService;
 import com.example.warehouse.service.contract.OrderService;
 import com.example.warehouse.service.contract.StockMovementService;
 import com.example.warehouse.service.contract.ShipmentService;
+import com.example.warehouse.util.TransactionCallbacks;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
@@ -30,95 +38,130 @@ public class OrderServiceImpl implements OrderService {
 
     private final OrderRepository orderRepository;
     private final PickTaskRepository pickTaskRepository;
-    private final ProductRepository productRepository;
+    private final ReferenceDataCache referenceDataCache;
     private final InventoryRepository inventoryRepository;
+    private final BlockRepository blockRepository;
     private final StockMovementService stockMovementService;
     private final ShipmentService shipmentService;
+    private final InventoryLedgerService inventoryLedgerService;
+    private final WarehouseMetrics warehouseMetrics;
 
     public OrderServiceImpl(OrderRepository orderRepository,
             PickTaskRepository pickTaskRepository,
-            ProductRepository productRepository,
+            ReferenceDataCache referenceDataCache,
             InventoryRepository inventoryRepository,
+            BlockRepository blockRepository,
             StockMovementService stockMovementService,
-            ShipmentService shipmentService) {
+            ShipmentService shipmentService,
+            InventoryLedgerService inventoryLedgerService,
+            WarehouseMetrics warehouseMetrics) {
         this.orderRepository = orderRepository;
         this.pickTaskRepository = pickTaskRepository;
-        this.productRepository = productRepository;
+        this.referenceDataCache = referenceDataCache;
         this.inventoryRepository = inventoryRepository;
+        this.blockRepository = blockRepository;
         this.stockMovementService = stockMovementService;
         this.shipmentService = shipmentService;
+        this.inventoryLedgerService = inventoryLedgerService;
+        this.warehouseMetrics = warehouseMetrics;
     }
 
     @Override
     @Transactional
     public OrderResponse createOrder(OrderRequest request) {
-        // Create order
-        Order order = new Order();
-        order.setOrderNumber(request.getOrderNumber());
-        order.setCustomerName(request.getCustomerName());
-        order.setCustomerEmail(request.getCustomerEmail());
-        order.setShippingAddress(request.getShippingAddress());
-        order.setNotes(request.getNotes());
-        order.setStatus(OrderStatus.PENDING);
-        order.setWarehouseId(com.example.warehouse.config.WarehouseContext.getWarehouseId());
-
-        int totalItems = request.getItems().stream()
-                .mapToInt(OrderItemRequest::getQuantity)
-                .sum();
-        order.setTotalItems(totalItems);
-
-        Order savedOrder = orderRepository.save(order);
+        long start = System.nanoTime();
+        String warehouseId = com.example.warehouse.config.WarehouseContext.getWarehouseId();
+        OrderResponse response;
+        try {
+            response = placeOrder(request);
+        } catch (RuntimeException e) {
+            warehouseMetrics.orderCreation(warehouseId, System.nanoTime() - start, false);
+            throw e;
+        }
+        // Only created once it commits; a failure at commit (e.g. a version conflict on flush) counts as failed
+        TransactionCallbacks.onCompletion(
+                committed -> warehouseMetrics.orderCreation(warehouseId, System.nanoTime() - start, committed));
+        return response;
+    }
 
-        // Create pick tasks for each item
+    private OrderResponse placeOrder(OrderRequest request) {
+        String warehouseId = com.example.warehouse.config.WarehouseContext.getWarehouseId();
+        OrderAllocationEvent allocation = OrderAllocationEvent.start(warehouseId, request.getOrderNumber(),
+                request.getItems().size());
+        String orderId = null;
         List<PickTask> pickTasks = new ArrayList<>();
-        for (OrderItemRequest item : request.getItems()) {
-            Product product = productRepository.findById(item.getProductId())
-                    .orElseThrow(() -> new RuntimeException("Product not found: " + item.getProductId()));
-
-            // Find inventory with sufficient stock
-            List<Inventory> inventories = inventoryRepository.findByProductProductId(item.getProductId());
-            int remainingQty = item.getQuantity();
-
-            for (Inventory inventory : inventories) {
-                if (remainingQty <= 0)
-                    break;
-
-                int availableQty = inventory.getAvailableQuantity();
-                if (availableQty <= 0)
-                    continue;
-
-                int qtyToPick = Math.min(remainingQty, availableQty);
-
-                // Create pick task
-                PickTask task = new PickTask();
-                task.setOrder(savedOrder);
-                task.setProduct(product);
-                task.setBlock(inventory.getBlock());
-                task.setQuantity(qtyToPick);
-                task.setStatus(PickTaskStatus.ASSIGNED);
-                task.setWarehouseId(com.example.warehouse.config.WarehouseContext.getWarehouseId());
-
-                pickTasks.add(task);
-                remainingQty -= qtyToPick;
-
-                // Reserve stock
-                int currentReserved = inventory.getReservedQuantity() != null ? inventory.getReservedQuantity() : 0;
-                inventory.setReservedQuantity(currentReserved + qtyToPick);
-                inventoryRepository.save(inventory);
+        boolean allocated = false;
+        try {
+            // Create order
+            Order order = new Order();
+            order.setOrderNumber(request.getOrderNumber());
+            order.setCustomerName(request.getCustomerName());
+            order.setCustomerEmail(request.getCustomerEmail());
+            order.setShippingAddress(request.getShippingAddress());
+            order.setNotes(request.getNotes());
+            order.setStatus(OrderStatus.PENDING);
+            order.setWarehouseId(warehouseId);
+
+            int totalItems = request.getItems().stream()
+                    .mapToInt(OrderItemRequest::getQuantity)
+                    .sum();
+            order.setTotalItems(totalItems);
+
+            Order savedOrder = orderRepository.save(order);
+            orderId = savedOrder.getOrderId();
+
+            // Create pick tasks for each item
+            for (OrderItemRequest item : request.getItems()) {
+                Product product = referenceDataCache.findProduct(item.getProductId())
+                        .orElseThrow(() -> new RuntimeException("Product not found: " + item.getProductId()));
+
+                // Find inventory with sufficient stock
+                List<Inventory> inventories = inventoryRepository.findByProductProductId(item.getProductId());
+                allocation.inventoryRead(inventories.size());
+                int remainingQty = item.getQuantity();
+
+                for (Inventory inventory : inventories) {
+                    if (remainingQty <= 0)
+                        break;
+
+                    int availableQty = inventory.getAvailableQuantity();
+                    if (availableQty <= 0)
+                        continue;
+
+                    int qtyToPick = Math.min(remainingQty, availableQty);
+
+                    // Create pick task
+                    PickTask task = new PickTask();
+                    task.setOrder(savedOrder);
+                    task.setProduct(product);
+                    task.setBlock(inventory.getBlock());
+                    task.setQuantity(qtyToPick);
+                    task.setStatus(PickTaskStatus.ASSIGNED);
+                    task.setWarehouseId(warehouseId);
+
+                    pickTasks.add(task);
+                    remainingQty -= qtyToPick;
+
+                    // Reserve stock
+                    updateReservation(inventory, "ALLOCATE", qtyToPick, 0);
+                }
+
+                if (remainingQty > 0) {
+                    throw new RuntimeException("Insufficient stock for product: " + product.getName());
+                }
             }
 
-            if (remainingQty > 0) {
-                throw new RuntimeException("Insufficient stock for product: " + product.getName());
-            }
+            pickTaskRepository.saveAll(pickTasks);
+            savedOrder.setPickTasks(pickTasks);
+            allocated = true;
+            return mapToOrderResponse(savedOrder);
+        } finally {
+            allocation.finish(orderId, pickTasks.size(), allocated);
         }
-
-        pickTaskRepository.saveAll(pickTasks);
-        savedOrder.setPickTasks(pickTasks);
-
-        return mapToOrderResponse(savedOrder);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public OrderResponse getOrderById(String orderId) {
         Order order = orderRepository.findById(orderId)
                 .orElseThrow(() -> new RuntimeException("Order not found"));
@@ -126,6 +169,7 @@ public class OrderServiceImpl implements OrderService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public OrderResponse getOrderByNumber(String orderNumber) {
         Order order = orderRepository.findByOrderNumber(orderNumber)
                 .orElseThrow(() -> new RuntimeException("Order not found"));
@@ -133,6 +177,7 @@ public class OrderServiceImpl implements OrderService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<OrderResponse> getAllOrders() {
         return orderRepository.findAllByOrderByCreatedAtDesc().stream()
                 .map(this::mapToOrderResponse)
@@ -140,6 +185,7 @@ public class OrderServiceImpl implements OrderService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<OrderResponse> getOrdersByStatus(String status) {
         OrderStatus orderStatus = OrderStatus.valueOf(status);
         return orderRepository.findByStatusOrderByCreatedAtDesc(orderStatus).stream()
@@ -236,26 +282,36 @@ public class OrderServiceImpl implements OrderService {
         order.setDispatchedAt(Instant.now());
         Order updatedOrder = orderRepository.save(order);
 
-        // Record outbound movements
-        List<PickTask> tasks = pickTaskRepository.findByOrderOrderIdOrderByCreatedAtAsc(orderId);
-        for (PickTask task : tasks) {
-            StockMovementRequest movementRequest = new StockMovementRequest();
-            movementRequest.setProductId(task.getProduct().getProductId());
-            movementRequest.setFromBlockId(task.getBlock().getBlockId());
-            movementRequest.setQuantity(task.getQuantity());
-            movementRequest.setMovementType("OUTBOUND");
-            movementRequest.setReferenceType("SO");
-            movementRequest.setReferenceId(order.getOrderNumber());
-            movementRequest.setNotes("Dispatched for order " + order.getOrderNumber());
-
-            try {
-                stockMovementService.recordMovement(movementRequest, "SYSTEM");
-            } catch (Exception e) {
-                log.error("Failed to record outbound movement for order {}", order.getOrderNumber(), e);
+        // Record outbound movements; part of the dispatch, so a failure fails it
+        DispatchSideEffectEvent movements = DispatchSideEffectEvent.start(order.getWarehouseId(), orderId,
+                "dispatch_movement");
+        int movementRows = 0;
+        RuntimeException movementError = null;
+        try {
+            for (PickTask task : pickTaskRepository.findByOrderOrderIdOrderByCreatedAtAsc(orderId)) {
+                StockMovementRequest movementRequest = new StockMovementRequest();
+                movementRequest.setProductId(task.getProduct().getProductId());
+                movementRequest.setFromBlockId(task.getBlock().getBlockId());
+                movementRequest.setQuantity(task.getQuantity());
+                movementRequest.setMovementType("OUTBOUND");
+                movementRequest.setReferenceType("SO");
+                movementRequest.setReferenceId(order.getOrderNumber());
+                movementRequest.setNotes("Dispatched for order " + order.getOrderNumber());
+
+                stockMovementService.writeMovement(movementRequest, "SYSTEM");
+                movementRows++;
             }
+        } catch (RuntimeException e) {
+            movementError = e;
+            throw e;
+        } finally {
+            movements.finish(movementRows, movementError);
         }
 
         // AUTO-CREATE SHIPMENT
+        DispatchSideEffectEvent shipmentCreation = DispatchSideEffectEvent.start(order.getWarehouseId(), orderId,
+                "dispatch_shipment");
+        Exception shipmentError = null;
         try {
             com.example.warehouse.dto.request.CreateShipmentRequest shipmentRequest = new com.example.warehouse.dto.request.CreateShipmentRequest();
             shipmentRequest.setOrderId(orderId);
@@ -272,7 +328,11 @@ public class OrderServiceImpl implements OrderService {
                     "Auto-dispatched with Order");
         } catch (Exception e) {
             log.error("Failed to auto-create shipment for order {}", order.getOrderNumber(), e);
+            warehouseMetrics.sideEffectFailed(order.getWarehouseId(), "dispatch_shipment");
+            shipmentError = e;
             // Don't fail the order dispatch if shipment creation fails, but log it critical
+        } finally {
+            shipmentCreation.finish(shipmentError == null ? 1 : 0, shipmentError);
         }
 
         return mapToOrderResponse(updatedOrder);
@@ -291,20 +351,23 @@ public class OrderServiceImpl implements OrderService {
         // Release reserved stock
         List<PickTask> tasks = pickTaskRepository.findByOrderOrderIdOrderByCreatedAtAsc(orderId);
         for (PickTask task : tasks) {
-            if (task.getStatus() != PickTaskStatus.COMPLETED) {
-                inventoryRepository
-                        .findByProductProductIdAndBlockBlockId(
-                                task.getProduct().getProductId(),
-                                task.getBlock().getBlockId())
-                        .ifPresent(inventory -> {
-                            int currentReserved = inventory.getReservedQuantity() != null
-                                    ? inventory.getReservedQuantity()
-                                    : 0;
-                            inventory.setReservedQuantity(Math.max(0, currentReserved - task.getQuantity()));
-                            inventoryRepository.save(inventory);
-                        });
+            PickTaskTransitionEvent transition = PickTaskTransitionEvent.start(task.getTaskId(),
+                    task.getStatus().name(), PickTaskStatus.CANCELLED.name());
+            boolean succeeded = false;
+            try {
+                transition.task(task.getWarehouseId(), orderId, task.getAssignedTo(), task.getQuantity());
+                if (task.getStatus() != PickTaskStatus.COMPLETED) {
+                    inventoryRepository
+                            .findByProductProductIdAndBlockBlockId(
+                                    task.getProduct().getProductId(),
+                                    task.getBlock().getBlockId())
+                            .ifPresent(inventory -> updateReservation(inventory, "CANCEL", -task.getQuantity(), 0));
+                }
+                task.setStatus(PickTaskStatus.CANCELLED);
+                succeeded = true;
+            } finally {
+                transition.finish(succeeded);
             }
-            task.setStatus(PickTaskStatus.CANCELLED);
         }
         pickTaskRepository.saveAll(tasks);
 
@@ -337,6 +400,7 @@ public class OrderServiceImpl implements OrderService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public PickTaskResponse getPickTaskById(String taskId) {
         PickTask task = pickTaskRepository.findById(taskId)
                 .orElseThrow(() -> new RuntimeException("Pick task not found"));
@@ -344,6 +408,7 @@ public class OrderServiceImpl implements OrderService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<PickTaskResponse> getPickTasksByOrder(String orderId) {
         return pickTaskRepository.findByOrderOrderIdOrderByCreatedAtAsc(orderId).stream()
                 .map(this::mapToPickTaskResponse)
@@ -351,6 +416,7 @@ public class OrderServiceImpl implements OrderService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<PickTaskResponse> getPickTasksByPicker(String username) {
         return pickTaskRepository.findByAssignedToOrderByCreatedAtDesc(username).stream()
                 .map(this::mapToPickTaskResponse)
@@ -360,76 +426,109 @@ public class OrderServiceImpl implements OrderService {
     @Override
     @Transactional
     public PickTaskResponse startPickTask(String taskId) {
-        PickTask task = pickTaskRepository.findById(taskId)
-                .orElseThrow(() -> new RuntimeException("Pick task not found"));
+        PickTaskTransitionEvent transition = PickTaskTransitionEvent.start(taskId, PickTaskStatus.ASSIGNED.name(),
+                PickTaskStatus.IN_PROGRESS.name());
+        boolean succeeded = false;
+        try {
+            PickTask task = pickTaskRepository.findById(taskId)
+                    .orElseThrow(() -> new RuntimeException("Pick task not found"));
+            transition.task(task.getWarehouseId(), task.getOrder().getOrderId(), task.getAssignedTo(),
+                    task.getQuantity());
 
-        if (task.getStatus() != PickTaskStatus.ASSIGNED) {
-            throw new RuntimeException("Task is not in ASSIGNED status");
-        }
+            if (task.getStatus() != PickTaskStatus.ASSIGNED) {
+                throw new RuntimeException("Task is not in ASSIGNED status");
+            }
 
-        task.setStatus(PickTaskStatus.IN_PROGRESS);
-        PickTask updatedTask = pickTaskRepository.save(task);
+            task.setStatus(PickTaskStatus.IN_PROGRESS);
+            PickTask updatedTask = pickTaskRepository.save(task);
 
-        // Record PICK movement
-        StockMovementRequest movementRequest = new StockMovementRequest();
-        movementRequest.setProductId(task.getProduct().getProductId());
-        movementRequest.setFromBlockId(task.getBlock().getBlockId());
-        movementRequest.setQuantity(task.getQuantity());
-        movementRequest.setMovementType("PICK");
-        movementRequest.setReferenceType("SO");
-        movementRequest.setReferenceId(task.getOrder().getOrderNumber());
-        movementRequest.setNotes("Picking for order " + task.getOrder().getOrderNumber());
+            // Record PICK movement
+            StockMovementRequest movementRequest = new StockMovementRequest();
+            movementRequest.setProductId(task.getProduct().getProductId());
+            movementRequest.setFromBlockId(task.getBlock().getBlockId());
+            movementRequest.setQuantity(task.getQuantity());
+            movementRequest.setMovementType("PICK");
+            movementRequest.setReferenceType("SO");
+            movementRequest.setReferenceId(task.getOrder().getOrderNumber());
+            movementRequest.setNotes("Picking for order " + task.getOrder().getOrderNumber());
 
-        try {
-            stockMovementService.recordMovement(movementRequest, task.getAssignedTo());
-        } catch (Exception e) {
-            log.error("Failed to record pick movement for task {}", taskId, e);
-        }
+            stockMovementService.writeMovement(movementRequest, task.getAssignedTo());
 
-        return mapToPickTaskResponse(updatedTask);
+            succeeded = true;
+            return mapToPickTaskResponse(updatedTask);
+        } finally {
+            transition.finish(succeeded);
+        }
     }
 
     @Override
     @Transactional
     public PickTaskResponse completePickTask(String taskId) {
-        PickTask task = pickTaskRepository.findById(taskId)
-                .orElseThrow(() -> new RuntimeException("Pick task not found"));
+        PickTaskTransitionEvent transition = PickTaskTransitionEvent.start(taskId, PickTaskStatus.IN_PROGRESS.name(),
+                PickTaskStatus.COMPLETED.name());
+        boolean succeeded = false;
+        try {
+            PickTask task = pickTaskRepository.findById(taskId)
+                    .orElseThrow(() -> new RuntimeException("Pick task not found"));
+            transition.task(task.getWarehouseId(), task.getOrder().getOrderId(), task.getAssignedTo(),
+                    task.getQuantity());
 
-        if (task.getStatus() != PickTaskStatus.IN_PROGRESS) {
-            throw new RuntimeException("Task is not IN_PROGRESS");
-        }
+            if (task.getStatus() != PickTaskStatus.IN_PROGRESS) {
+                throw new RuntimeException("Task is not IN_PROGRESS");
+            }
 
-        task.setStatus(PickTaskStatus.COMPLETED);
-        task.setCompletedAt(Instant.now());
-        PickTask updatedTask = pickTaskRepository.save(task);
-
-        // Reduce actual stock and reserved quantity
-        inventoryRepository
-                .findByProductProductIdAndBlockBlockId(
-                        task.getProduct().getProductId(),
-                        task.getBlock().getBlockId())
-                .ifPresent(inventory -> {
-                    // Reduce total quantity
-                    inventory.setQuantity(inventory.getQuantity() - task.getQuantity());
-
-                    // Reduce reserved quantity
-                    int currentReserved = inventory.getReservedQuantity() != null ? inventory.getReservedQuantity() : 0;
-                    inventory.setReservedQuantity(Math.max(0, currentReserved - task.getQuantity()));
-
-                    inventoryRepository.save(inventory);
-                });
-
-        // Check if all tasks for this order are completed
-        List<PickTask> allTasks = pickTaskRepository
-                .findByOrderOrderIdOrderByCreatedAtAsc(task.getOrder().getOrderId());
-        boolean allCompleted = allTasks.stream()
-                .allMatch(t -> t.getStatus() == PickTaskStatus.COMPLETED);
-
-        if (allCompleted) {
-            markOrderAsPicked(task.getOrder().getOrderId());
+            task.setStatus(PickTaskStatus.COMPLETED);
+            task.setCompletedAt(Instant.now());
+            PickTask updatedTask = pickTaskRepository.save(task);
+            String warehouseId = task.getWarehouseId();
+            String picker = task.getAssignedTo();
+            TransactionCallbacks.afterCommit(() -> warehouseMetrics.pickTaskCompleted(warehouseId, picker));
+
+            // Reduce actual stock and reserved quantity
+            inventoryRepository
+                    .findByProductProductIdAndBlockBlockId(
+                            task.getProduct().getProductId(),
+                            task.getBlock().getBlockId())
+                    .ifPresent(inventory -> {
+                        updateReservation(inventory, "PICK", -task.getQuantity(), -task.getQuantity());
+                        blockRepository.adjustOccupancy(task.getBlock().getBlockId(), -task.getQuantity(),
+                                -task.getQuantity() * task.getProduct().getVolume());
+                        inventoryLedgerService.record(inventory, -task.getQuantity(), InventoryLedgerReason.PICK,
+                                task.getTaskId());
+                    });
+
+            // Check if all tasks for this order are completed
+            List<PickTask> allTasks = pickTaskRepository
+                    .findByOrderOrderIdOrderByCreatedAtAsc(task.getOrder().getOrderId());
+            boolean allCompleted = allTasks.stream()
+                    .allMatch(t -> t.getStatus() == PickTaskStatus.COMPLETED);
+
+            if (allCompleted) {
+                markOrderAsPicked(task.getOrder().getOrderId());
+            }
+
+            succeeded = true;
+            return mapToPickTaskResponse(updatedTask);
+        } finally {
+            transition.finish(succeeded);
         }
+    }
 
-        return mapToPickTaskResponse(updatedTask);
+    // Changes a row's reserved quantity (never below zero) and, for a pick, its
+    // on-hand quantity, and saves it; timed as one ReservationUpdate event
+    private void updateReservation(Inventory inventory, String reason, int reservedChange, int quantityChange) {
+        ReservationUpdateEvent reservation = new ReservationUpdateEvent();
+        reservation.begin();
+        int currentReserved = inventory.getReservedQuantity() != null ? inventory.getReservedQuantity() : 0;
+        inventory.setQuantity(inventory.getQuantity() + quantityChange);
+        inventory.setReservedQuantity(Math.max(0, currentReserved + reservedChange));
+        try {
+            inventoryRepository.save(inventory);
+        } finally {
+            reservation.finish(inventory.getWarehouseId(), inventory.getInventoryId(), reason,
+                    inventory.getReservedQuantity() - currentReserved, inventory.getReservedQuantity(),
+                    inventory.getQuantity());
+        }
     }
 
     private OrderResponse mapToOrderResponse(Order order) {
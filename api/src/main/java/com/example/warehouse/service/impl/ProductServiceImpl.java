@@ -1,11 +1,16 @@
 package com.example.warehouse.service.impl;
 
+import com.example.warehouse.cache.ReferenceDataCache;
 import com.example.warehouse.dto.request.ProductRequest;
 import com.example.warehouse.dto.response.ProductResponse;
 import com.example.warehouse.entity.Product;
+import com.example.warehouse.exception.ResourceNotFoundException;
+import com.example.warehouse.repository.BlockRepository;
 import com.example.warehouse.repository.ProductRepository;
 import com.example.warehouse.service.contract.ProductService;
+import com.example.warehouse.util.ProductDimensions;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.stream.Collectors;
@@ -15,9 +20,14 @@ import java.util.stream.Collectors;
 public class ProductServiceImpl implements ProductService {
 
     private final ProductRepository productRepository;
+    private final ReferenceDataCache referenceDataCache;
+    private final BlockRepository blockRepository;
 
-    public ProductServiceImpl(ProductRepository productRepository) {
+    public ProductServiceImpl(ProductRepository productRepository, ReferenceDataCache referenceDataCache,
+            BlockRepository blockRepository) {
         this.productRepository = productRepository;
+        this.referenceDataCache = referenceDataCache;
+        this.blockRepository = blockRepository;
     }
 
     @Override
@@ -33,25 +43,32 @@ public class ProductServiceImpl implements ProductService {
         product.setCategory(request.getCategory());
         product.setUnitPrice(request.getUnitPrice());
         product.setWeight(request.getWeight());
-        product.setDimensions(request.getDimensions());
+        applyDimensions(product, request.getDimensions());
 
         Product savedProduct = productRepository.save(product);
         return mapToResponse(savedProduct);
     }
 
     @Override
+    @Transactional
     public ProductResponse updateProduct(String productId, ProductRequest request) {
         Product product = productRepository.findById(productId)
-                .orElseThrow(() -> new RuntimeException("Product not found with id: " + productId));
+                .orElseThrow(() -> new ResourceNotFoundException("Product not found with id: " + productId));
 
         product.setName(request.getName());
         product.setDescription(request.getDescription());
         product.setCategory(request.getCategory());
         product.setUnitPrice(request.getUnitPrice());
         product.setWeight(request.getWeight());
-        product.setDimensions(request.getDimensions());
+        double previousVolume = product.getVolume();
+        applyDimensions(product, request.getDimensions());
 
         Product updatedProduct = productRepository.save(product);
+        // Stored block occupancy is quantity times unit volume, so keep it in step
+        if (updatedProduct.getVolume() != previousVolume) {
+            blockRepository.adjustVolumeForProduct(productId, updatedProduct.getVolume() - previousVolume);
+        }
+        referenceDataCache.evictProduct(productId);
         return mapToResponse(updatedProduct);
     }
 
@@ -59,7 +76,7 @@ public class ProductServiceImpl implements ProductService {
     public ProductResponse getProductById(String productId) {
         Product product = productRepository.findById(productId)
                 .filter(p -> !p.isDeleted())
-                .orElseThrow(() -> new RuntimeException("Product not found with id: " + productId));
+                .orElseThrow(() -> new ResourceNotFoundException("Product not found with id: " + productId));
         return mapToResponse(product);
     }
 
@@ -67,7 +84,7 @@ public class ProductServiceImpl implements ProductService {
     public ProductResponse getProductBySku(String sku) {
         Product product = productRepository.findBySku(sku)
                 .filter(p -> !p.isDeleted())
-                .orElseThrow(() -> new RuntimeException("Product not found with SKU: " + sku));
+                .orElseThrow(() -> new ResourceNotFoundException("Product not found with SKU: " + sku));
         return mapToResponse(product);
     }
 
@@ -83,22 +100,33 @@ public class ProductServiceImpl implements ProductService {
     @Override
     public void deleteProduct(String productId) {
         Product product = productRepository.findById(productId)
-                .orElseThrow(() -> new RuntimeException("Product not found with id: " + productId));
+                .orElseThrow(() -> new ResourceNotFoundException("Product not found with id: " + productId));
         product.setDeleted(true);
         product.setDeletedAt(java.time.Instant.now());
         productRepository.save(product);
+        referenceDataCache.evictProduct(productId);
     }
 
     @Override
     public ProductResponse restoreProduct(String productId) {
         Product product = productRepository.findById(productId)
-                .orElseThrow(() -> new RuntimeException("Product not found with id: " + productId));
+                .orElseThrow(() -> new ResourceNotFoundException("Product not found with id: " + productId));
         product.setDeleted(false);
         product.setDeletedAt(null);
         Product savedProduct = productRepository.save(product);
+        referenceDataCache.evictProduct(productId);
         return mapToResponse(savedProduct);
     }
 
+    private void applyDimensions(Product product, String dimensions) {
+        product.setDimensions(dimensions);
+        ProductDimensions parsed = ProductDimensions.parse(dimensions).orElse(null);
+        product.setLength(parsed != null ? parsed.length() : null);
+        product.setWidth(parsed != null ? parsed.width() : null);
+        product.setHeight(parsed != null ? parsed.height() : null);
+        product.setVolume(parsed != null ? parsed.volume() : 0.0);
+    }
+
     private ProductResponse mapToResponse(Product product) {
         ProductResponse response = new ProductResponse();
         response.setProductId(product.getProductId());
@@ -1,5 +1,6 @@
 package com.example.warehouse.service.impl;
 
+import com.example.warehouse.cache.ReferenceDataCache;
 import com.example.warehouse.dto.mapper.RoomMapper;
 import com.example.warehouse.dto.request.RoomRequest;
 import com.example.warehouse.dto.response.RoomResponse;
@@ -8,7 +9,6 @@ import com.example.warehouse.entity.WareHouse;
 import com.example.warehouse.exception.IllegalOperationException;
 import com.example.warehouse.exception.WareHouseNotFindByIdException;
 import com.example.warehouse.repository.RoomRepository;
-import com.example.warehouse.repository.WareHouseRepository;
 import com.example.warehouse.service.contract.RoomService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
@@ -18,23 +18,22 @@ import org.springframework.transaction.annotation.Transactional;
 @SuppressWarnings("null")
 public class RoomServiceImpl implements RoomService {
 
-    @Autowired
-    private WareHouseRepository wareHouseRepository;
-
     @Autowired
     private RoomRepository roomRepository;
 
     @Autowired
     private RoomMapper roomMapper;
 
+    @Autowired
+    private ReferenceDataCache referenceDataCache;
+
     @Transactional
     @Override
     public RoomResponse createRoom(RoomRequest request, String warehouseId) {
-        WareHouse wareHouse = wareHouseRepository.findById(warehouseId)
+        WareHouse wareHouse = referenceDataCache.findWarehouse(warehouseId)
                 .orElseThrow(() -> new WareHouseNotFindByIdException("WareHouse Not Find!!"));
         Room room = roomMapper.toEntity(request, new Room());
         room.setWarehouse(wareHouse);
-        wareHouseRepository.save(wareHouse);
         roomRepository.save(room);
         return roomMapper.toResponse(room);
     }
@@ -58,6 +57,7 @@ public class RoomServiceImpl implements RoomService {
                 .orElseThrow(() -> new IllegalOperationException("Room Not Found By Id"));
         Room updatedRoom = roomMapper.toEntity(request, existingRoom);
         roomRepository.save(updatedRoom);
+        referenceDataCache.evictRoom(roomId);
         return roomMapper.toResponse(updatedRoom);
     }
 
@@ -70,6 +70,7 @@ public class RoomServiceImpl implements RoomService {
         room.setDeleted(true);
         room.setDeletedAt(java.time.Instant.now());
         roomRepository.save(room);
+        referenceDataCache.evictRoom(roomId);
         return response;
     }
 
@@ -81,6 +82,7 @@ public class RoomServiceImpl implements RoomService {
         room.setDeleted(false);
         room.setDeletedAt(null);
         roomRepository.save(room);
+        referenceDataCache.evictRoom(roomId);
         return roomMapper.toResponse(room);
     }
 }
@@ -1,11 +1,14 @@
 package com.example.warehouse.service.impl;
 
+import com.example.warehouse.cache.ReferenceDataCache;
 import com.example.warehouse.dto.request.CreateShipmentRequest;
 import com.example.warehouse.dto.request.ShipmentItemRequest;
 import com.example.warehouse.entity.*;
 import com.example.warehouse.exception.ResourceNotFoundException;
+import com.example.warehouse.metrics.WarehouseMetrics;
 import com.example.warehouse.repository.*;
 import com.example.warehouse.service.contract.ShipmentService;
+import com.example.warehouse.util.TransactionCallbacks;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -23,21 +26,24 @@ public class ShipmentServiceImpl implements ShipmentService {
     private final ShipmentEventRepository shipmentEventRepository;
 
     // Dependencies to resolve Product and Block entities for items
-    private final ProductRepository productRepository;
+    private final ReferenceDataCache referenceDataCache;
     private final BlockRepository blockRepository;
+    private final WarehouseMetrics warehouseMetrics;
 
     public ShipmentServiceImpl(ShipmentRepository shipmentRepository,
             OrderRepository orderRepository,
             ShipperRepository shipperRepository,
             ShipmentEventRepository shipmentEventRepository,
-            ProductRepository productRepository,
-            BlockRepository blockRepository) {
+            ReferenceDataCache referenceDataCache,
+            BlockRepository blockRepository,
+            WarehouseMetrics warehouseMetrics) {
         this.shipmentRepository = shipmentRepository;
         this.orderRepository = orderRepository;
         this.shipperRepository = shipperRepository;
         this.shipmentEventRepository = shipmentEventRepository;
-        this.productRepository = productRepository;
+        this.referenceDataCache = referenceDataCache;
         this.blockRepository = blockRepository;
+        this.warehouseMetrics = warehouseMetrics;
     }
 
     @Override
@@ -48,11 +54,11 @@ public class ShipmentServiceImpl implements ShipmentService {
 
         Shipper shipper = null;
         if (request.getShipperId() != null) {
-            shipper = shipperRepository.findById(request.getShipperId())
+            shipper = referenceDataCache.findShipper(request.getShipperId())
                     .orElseThrow(() -> new ResourceNotFoundException("Shipper not found: " + request.getShipperId()));
         } else {
             // Auto-assign the first active shipper if none selected
-            shipper = shipperRepository.findByActiveTrue().stream().findFirst()
+            shipper = referenceDataCache.findActiveShippers().stream().findFirst()
                     .orElseGet(() -> {
                         // Create a default shipper if none exist
                         Shipper newShipper = new Shipper();
@@ -62,6 +68,7 @@ public class ShipmentServiceImpl implements ShipmentService {
                         newShipper.setActive(true);
                         newShipper.setCreatedAt(Instant.now());
                         newShipper.setLastModifiedAt(Instant.now());
+                        referenceDataCache.evictActiveShippers();
                         return shipperRepository.save(newShipper);
                     });
         }
@@ -85,7 +92,7 @@ public class ShipmentServiceImpl implements ShipmentService {
         // Process items
         if (request.getItems() != null) {
             for (ShipmentItemRequest itemRequest : request.getItems()) {
-                Product product = productRepository.findById(itemRequest.getProductId())
+                Product product = referenceDataCache.findProduct(itemRequest.getProductId())
                         .orElseThrow(() -> new ResourceNotFoundException(
                                 "Product not found: " + itemRequest.getProductId()));
 
@@ -109,6 +116,10 @@ public class ShipmentServiceImpl implements ShipmentService {
 
         // Record initial event
         recordEvent(savedShipment, EventType.PICKED, "Shipment created", null, null);
+        String warehouseId = savedShipment.getWarehouseId();
+        // Counted only once it commits; a caller's transaction this joins may still roll back
+        TransactionCallbacks.afterCommit(
+                () -> warehouseMetrics.shipmentTransition(warehouseId, null, ShipmentStatus.CREATED));
 
         return savedShipment;
     }
@@ -149,7 +160,12 @@ public class ShipmentServiceImpl implements ShipmentService {
     @Transactional
     public Shipment updateShipmentStatus(String shipmentId, ShipmentStatus status, String location, String notes) {
         Shipment shipment = getShipmentById(shipmentId);
+        ShipmentStatus previous = shipment.getStatus();
         shipment.setStatus(status);
+        if (previous != status) {
+            String warehouseId = shipment.getWarehouseId();
+            TransactionCallbacks.afterCommit(() -> warehouseMetrics.shipmentTransition(warehouseId, previous, status));
+        }
 
         EventType eventType = mapStatusToEventType(status);
         if (eventType != null) {
@@ -169,7 +185,7 @@ public class ShipmentServiceImpl implements ShipmentService {
     @Transactional
     public Shipment assignShipper(String shipmentId, String shipperId) {
         Shipment shipment = getShipmentById(shipmentId);
-        Shipper shipper = shipperRepository.findById(shipperId)
+        Shipper shipper = referenceDataCache.findShipper(shipperId)
                 .orElseThrow(() -> new ResourceNotFoundException("Shipper not found: " + shipperId));
 
         shipment.setShipper(shipper);
@@ -1,5 +1,6 @@
 package com.example.warehouse.service.impl;
 
+import com.example.warehouse.cache.ReferenceDataCache;
 import com.example.warehouse.entity.Shipper;
 import com.example.warehouse.entity.ShipperType;
 import com.example.warehouse.exception.ResourceNotFoundException;
@@ -15,14 +16,18 @@ import java.util.List;
 public class ShipperServiceImpl implements ShipperService {
 
     private final ShipperRepository shipperRepository;
+    private final ReferenceDataCache referenceDataCache;
 
-    public ShipperServiceImpl(ShipperRepository shipperRepository) {
+    public ShipperServiceImpl(ShipperRepository shipperRepository, ReferenceDataCache referenceDataCache) {
         this.shipperRepository = shipperRepository;
+        this.referenceDataCache = referenceDataCache;
     }
 
     @Override
     public Shipper createShipper(Shipper shipper) {
-        return shipperRepository.save(shipper);
+        Shipper savedShipper = shipperRepository.save(shipper);
+        referenceDataCache.evictActiveShippers();
+        return savedShipper;
     }
 
     @Override
@@ -60,7 +65,9 @@ public class ShipperServiceImpl implements ShipperService {
         shipper.setContactDetails(shipperDetails.getContactDetails());
         shipper.setActive(shipperDetails.getActive());
 
-        return shipperRepository.save(shipper);
+        Shipper savedShipper = shipperRepository.save(shipper);
+        referenceDataCache.evictShipper(shipperId);
+        return savedShipper;
     }
 
     @Override
@@ -69,6 +76,7 @@ public class ShipperServiceImpl implements ShipperService {
         shipper.setDeleted(true);
         shipper.setDeletedAt(java.time.Instant.now());
         shipperRepository.save(shipper);
+        referenceDataCache.evictShipper(shipperId);
     }
 
     @Override
@@ -76,6 +84,8 @@ public class ShipperServiceImpl implements ShipperService {
         Shipper shipper = getShipperById(shipperId);
         shipper.setDeleted(false);
         shipper.setDeletedAt(null);
-        return shipperRepository.save(shipper);
+        Shipper savedShipper = shipperRepository.save(shipper);
+        referenceDataCache.evictShipper(shipperId);
+        return savedShipper;
     }
 }
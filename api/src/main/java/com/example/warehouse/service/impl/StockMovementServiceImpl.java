@@ -1,5 +1,6 @@
 package com.example.warehouse.service.impl;
 
+import com.example.warehouse.cache.ReferenceDataCache;
 import com.example.warehouse.dto.request.StockMovementRequest;
 import com.example.warehouse.dto.response.ProductResponse;
 import com.example.warehouse.dto.response.StockMovementResponse;
@@ -7,13 +8,17 @@ import com.example.warehouse.entity.Block;
 import com.example.warehouse.entity.MovementType;
 import com.example.warehouse.entity.Product;
 import com.example.warehouse.entity.StockMovement;
-import com.example.warehouse.repository.BlockRepository;
-import com.example.warehouse.repository.ProductRepository;
+import com.example.warehouse.entity.UuidV7Generator;
+import com.example.warehouse.journal.StockMovementJournal;
+import com.example.warehouse.metrics.WarehouseMetrics;
 import com.example.warehouse.repository.StockMovementRepository;
 import com.example.warehouse.service.contract.StockMovementService;
+import com.example.warehouse.util.TransactionCallbacks;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -22,53 +27,86 @@ import java.util.stream.Collectors;
 public class StockMovementServiceImpl implements StockMovementService {
 
     private final StockMovementRepository stockMovementRepository;
-    private final ProductRepository productRepository;
-    private final BlockRepository blockRepository;
+    private final ReferenceDataCache referenceDataCache;
+    private final StockMovementJournal stockMovementJournal;
+    private final WarehouseMetrics warehouseMetrics;
 
     public StockMovementServiceImpl(StockMovementRepository stockMovementRepository,
-            ProductRepository productRepository,
-            BlockRepository blockRepository) {
+            ReferenceDataCache referenceDataCache,
+            StockMovementJournal stockMovementJournal,
+            WarehouseMetrics warehouseMetrics) {
         this.stockMovementRepository = stockMovementRepository;
-        this.productRepository = productRepository;
-        this.blockRepository = blockRepository;
+        this.referenceDataCache = referenceDataCache;
+        this.stockMovementJournal = stockMovementJournal;
+        this.warehouseMetrics = warehouseMetrics;
     }
 
+    // Durable: returns once the journal has committed the movement in one of
+    // its batches. Runs without a transaction of its own, so no connection is
+    // held while it waits; the product and blocks are checked through the
+    // reference cache.
     @Override
-    @Transactional
     public StockMovementResponse recordMovement(StockMovementRequest request, String username) {
-        Product product = productRepository.findById(request.getProductId())
+        Product product = referenceDataCache.findProduct(request.getProductId())
                 .orElseThrow(() -> new RuntimeException("Product not found"));
 
         StockMovement movement = new StockMovement();
+        movement.setMovementId(UuidV7Generator.next().toString());
         movement.setProduct(product);
         movement.setQuantity(request.getQuantity());
         movement.setMovementType(MovementType.valueOf(request.getMovementType()));
         movement.setReferenceType(request.getReferenceType());
         movement.setReferenceId(request.getReferenceId());
         movement.setNotes(request.getNotes());
-        movement.setNotes(request.getNotes());
         movement.setCreatedBy(username);
+        movement.setCreatedAt(Instant.now());
         movement.setWarehouseId(com.example.warehouse.config.WarehouseContext.getWarehouseId());
 
         // Set from block if provided
         if (request.getFromBlockId() != null) {
-            Block fromBlock = blockRepository.findById(request.getFromBlockId())
+            Block fromBlock = referenceDataCache.findBlock(request.getFromBlockId())
                     .orElseThrow(() -> new RuntimeException("From block not found"));
             movement.setFromBlock(fromBlock);
         }
 
         // Set to block if provided
         if (request.getToBlockId() != null) {
-            Block toBlock = blockRepository.findById(request.getToBlockId())
+            Block toBlock = referenceDataCache.findBlock(request.getToBlockId())
                     .orElseThrow(() -> new RuntimeException("To block not found"));
             movement.setToBlock(toBlock);
         }
 
-        StockMovement savedMovement = stockMovementRepository.save(movement);
-        return mapToResponse(savedMovement);
+        StockMovementJournal.Entry entry = toEntry(request, movement.getMovementType(), username,
+                movement.getMovementId(), movement.getCreatedAt());
+        stockMovementJournal.appendAndAwait(entry);
+        warehouseMetrics.stockMovement(entry.warehouseId(), entry.movementType());
+        return mapToResponse(movement);
+    }
+
+    // Durable and atomic with the caller: one INSERT in its transaction, so a
+    // movement exists exactly when the stock change it records does. No lookups,
+    // the ids come from entities the caller already holds.
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void writeMovement(StockMovementRequest request, String username) {
+        MovementType type = MovementType.valueOf(request.getMovementType());
+        StockMovementJournal.Entry entry = toEntry(request, type, username, UuidV7Generator.next().toString(),
+                Instant.now());
+        stockMovementJournal.insert(entry);
+        TransactionCallbacks.afterCommit(() -> warehouseMetrics.stockMovement(entry.warehouseId(),
+                entry.movementType()));
+    }
+
+    private StockMovementJournal.Entry toEntry(StockMovementRequest request, MovementType type, String username,
+            String movementId, Instant createdAt) {
+        return new StockMovementJournal.Entry(movementId, request.getProductId(), request.getFromBlockId(),
+                request.getToBlockId(), request.getQuantity(), type.name(), request.getReferenceType(),
+                request.getReferenceId(), request.getNotes(), username, createdAt,
+                com.example.warehouse.config.WarehouseContext.getWarehouseId());
     }
 
     @Override
+    @Transactional(readOnly = true)
     public StockMovementResponse getMovementById(String movementId) {
         StockMovement movement = stockMovementRepository.findById(movementId)
                 .orElseThrow(() -> new RuntimeException("Movement not found"));
@@ -76,6 +114,7 @@ public class StockMovementServiceImpl implements StockMovementService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<StockMovementResponse> getMovementsByProduct(String productId) {
         return stockMovementRepository.findByProductProductIdOrderByCreatedAtDesc(productId).stream()
                 .map(this::mapToResponse)
@@ -83,6 +122,7 @@ public class StockMovementServiceImpl implements StockMovementService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<StockMovementResponse> getMovementsByBlock(String blockId) {
         return stockMovementRepository.findByBlockId(blockId).stream()
                 .map(this::mapToResponse)
@@ -90,6 +130,7 @@ public class StockMovementServiceImpl implements StockMovementService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<StockMovementResponse> getMovementsByType(String movementType) {
         MovementType type = MovementType.valueOf(movementType);
         return stockMovementRepository.findByMovementTypeOrderByCreatedAtDesc(type).stream()
@@ -98,6 +139,7 @@ public class StockMovementServiceImpl implements StockMovementService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<StockMovementResponse> getRecentMovements(int limit) {
         return stockMovementRepository.findRecentMovements().stream()
                 .limit(limit)
@@ -106,6 +148,7 @@ public class StockMovementServiceImpl implements StockMovementService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<StockMovementResponse> getMovementsByUser(String username) {
         return stockMovementRepository.findByCreatedByOrderByCreatedAtDesc(username).stream()
                 .map(this::mapToResponse)
@@ -113,6 +156,7 @@ public class StockMovementServiceImpl implements StockMovementService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<StockMovementResponse> getAllMovements() {
         return stockMovementRepository.findAll().stream()
                 .map(this::mapToResponse)
@@ -2,7 +2,9 @@ package com.example.warehouse.service.impl;
 
 import com.example.warehouse.dto.response.SystemHealthResponse;
 import com.example.warehouse.entity.OrderStatus;
+import com.example.warehouse.metrics.RequestLatencyMetrics;
 import com.example.warehouse.repository.OrderRepository;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
 import org.springframework.web.socket.messaging.SessionConnectedEvent;
@@ -15,11 +17,16 @@ public class SystemStatusService {
 
     private final AtomicInteger activeWebSocketSessions = new AtomicInteger(0);
     private final OrderRepository orderRepository;
-    private double lastMeasuredLatency = 0.0;
+    private final RequestLatencyMetrics requestLatencyMetrics;
     private long lastInventorySyncTime = System.currentTimeMillis();
 
-    public SystemStatusService(OrderRepository orderRepository) {
+    // Error rates are only judged once the window holds this many requests
+    @Value("${app.system-status.min-requests:20}")
+    private long minRequests;
+
+    public SystemStatusService(OrderRepository orderRepository, RequestLatencyMetrics requestLatencyMetrics) {
         this.orderRepository = orderRepository;
+        this.requestLatencyMetrics = requestLatencyMetrics;
     }
 
     @EventListener
@@ -32,17 +39,19 @@ public class SystemStatusService {
         activeWebSocketSessions.decrementAndGet();
     }
 
-    public void updateLatency(double latencyMs) {
-        this.lastMeasuredLatency = latencyMs;
-    }
-
     public void updateInventorySyncTime() {
         this.lastInventorySyncTime = System.currentTimeMillis();
     }
 
     public SystemHealthResponse getSystemHealth() {
         SystemHealthResponse response = new SystemHealthResponse();
-        response.setApiLatencyMs(lastMeasuredLatency);
+        RequestLatencyMetrics.Window window = requestLatencyMetrics.window();
+        double errorRate = window.requests() >= minRequests ? window.errorRate() : 0.0;
+        response.setApiLatencyMs(window.p95Millis());
+        response.setApiLatencyP50Ms(window.p50Millis());
+        response.setApiLatencyP99Ms(window.p99Millis());
+        response.setRequestsInWindow(window.requests());
+        response.setErrorRate(errorRate);
         response.setWebSocketSessions(activeWebSocketSessions.get());
         response.setLastInventorySyncTime(lastInventorySyncTime);
 
@@ -53,10 +62,10 @@ public class SystemStatusService {
                 java.util.List.of(OrderStatus.DISPATCHED, OrderStatus.CANCELLED));
         response.setStuckOrdersCount((int) stuckCount);
 
-        // Determine system status
-        if (lastMeasuredLatency > 500 || stuckCount > 50) {
+        // Determine system status from the windowed p95 and 5xx rate
+        if (window.p95Millis() > 500 || errorRate > 0.05 || stuckCount > 50) {
             response.setSystemStatus("CRITICAL");
-        } else if (lastMeasuredLatency > 200 || stuckCount > 20) {
+        } else if (window.p95Millis() > 200 || errorRate > 0.01 || stuckCount > 20) {
             response.setSystemStatus("STRESSED");
         } else {
             response.setSystemStatus("OPTIMAL");
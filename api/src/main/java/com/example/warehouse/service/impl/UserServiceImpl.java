@@ -1,5 +1,6 @@
 package com.example.warehouse.service.impl;
 
+import com.example.warehouse.cache.UserAccountCache;
 import com.example.warehouse.dto.mapper.UserMapper;
 import com.example.warehouse.dto.request.AdminUserUpdateRequest;
 import com.example.warehouse.dto.request.UserRegistrationRequest;
@@ -26,11 +27,14 @@ public class UserServiceImpl implements UserService {
     private final UserRepository userRepository;
     private final UserMapper userMapper;
     private final PasswordEncoder passwordEncoder;
+    private final UserAccountCache userAccountCache;
 
-    public UserServiceImpl(UserRepository userRepository, UserMapper userMapper, PasswordEncoder passwordEncoder) {
+    public UserServiceImpl(UserRepository userRepository, UserMapper userMapper, PasswordEncoder passwordEncoder,
+            UserAccountCache userAccountCache) {
         this.userRepository = userRepository;
         this.userMapper = userMapper;
         this.passwordEncoder = passwordEncoder;
+        this.userAccountCache = userAccountCache;
     }
 
     @Override
@@ -49,6 +53,8 @@ public class UserServiceImpl implements UserService {
         user.setPassword(encodedPassword);
 
         userRepository.save(user);
+        // The new identifiers may be cached as unknown
+        userAccountCache.evictUser(user);
         return userMapper.userToResponse(user);
     }
 
@@ -59,6 +65,8 @@ public class UserServiceImpl implements UserService {
                 .map(username -> userRepository.searchUserByIdentifier(username)
                         .orElseThrow(() -> new UserNotFoundByEmail("User not found by id")))
                 .orElseThrow(() -> new UserNotFoundByEmail("User is not Authorized"));
+        String oldUsername = exUser.getUsername();
+        String oldEmail = exUser.getEmail();
 
         User user = userMapper.requestToEntity(request, exUser);
 
@@ -69,6 +77,8 @@ public class UserServiceImpl implements UserService {
         }
 
         userRepository.save(user);
+        userAccountCache.evict(oldUsername, oldEmail);
+        userAccountCache.evictUser(user);
         return userMapper.userToResponse(user);
     }
 
@@ -76,6 +86,7 @@ public class UserServiceImpl implements UserService {
     public UserResponse adminUpdateUser(AdminUserUpdateRequest request) {
         User user = userRepository.findById(request.userId())
                 .orElseThrow(() -> new UserNotFoundByIdException("User not found by id"));
+        userAccountCache.evictUser(user);
 
         // Update basic fields
         user.setUsername(request.username());
@@ -113,11 +124,13 @@ public class UserServiceImpl implements UserService {
             // Delete old user and save new one
             userRepository.delete(user);
             userRepository.save(newUser);
+            userAccountCache.evictUser(newUser);
             return userMapper.userToResponse(newUser);
         }
 
         // If role didn't change, just update and save
         userRepository.save(user);
+        userAccountCache.evictUser(user);
         return userMapper.userToResponse(user);
     }
 
@@ -144,6 +157,7 @@ public class UserServiceImpl implements UserService {
         user.setDeleted(true);
         user.setDeletedAt(java.time.Instant.now());
         userRepository.save(user);
+        userAccountCache.evictUser(user);
         return userMapper.userToResponse(user);
     }
 
@@ -161,6 +175,7 @@ public class UserServiceImpl implements UserService {
         user.setDeleted(false);
         user.setDeletedAt(null);
         userRepository.save(user);
+        userAccountCache.evictUser(user);
         return userMapper.userToResponse(user);
     }
 }
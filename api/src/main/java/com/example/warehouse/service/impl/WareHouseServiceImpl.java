@@ -1,5 +1,7 @@
 package com.example.warehouse.service.impl;
 
+import com.example.warehouse.cache.ReferenceDataCache;
+import com.example.warehouse.cache.UserAccountCache;
 import com.example.warehouse.dto.mapper.WareHouseMapper;
 import com.example.warehouse.dto.request.WareHouseRequest;
 import com.example.warehouse.dto.response.WareHouseResponse;
@@ -23,12 +25,17 @@ public class WareHouseServiceImpl implements WareHouseService {
     private final WareHouseRepository wareHouseRepository;
     private final UserRepository userRepository;
     private final WareHouseMapper wareHouseMapper;
+    private final ReferenceDataCache referenceDataCache;
+    private final UserAccountCache userAccountCache;
 
     public WareHouseServiceImpl(WareHouseRepository wareHouseRepository, UserRepository userRepository,
-            WareHouseMapper wareHouseMapper) {
+            WareHouseMapper wareHouseMapper, ReferenceDataCache referenceDataCache,
+            UserAccountCache userAccountCache) {
         this.wareHouseRepository = wareHouseRepository;
         this.userRepository = userRepository;
         this.wareHouseMapper = wareHouseMapper;
+        this.referenceDataCache = referenceDataCache;
+        this.userAccountCache = userAccountCache;
     }
 
     @Override
@@ -42,6 +49,8 @@ public class WareHouseServiceImpl implements WareHouseService {
                 admin.setWarehouse(wareHouse);
                 wareHouseRepository.save(wareHouse);
                 userRepository.save(admin);
+                // The admin's requests are scoped to this warehouse from now on
+                userAccountCache.evictUser(admin);
                 return wareHouseMapper.toResponse(wareHouse);
             } else
                 throw new IllegalOperationException("Admin Already Has a Warehouse");
@@ -72,6 +81,7 @@ public class WareHouseServiceImpl implements WareHouseService {
                 .orElseThrow(() -> new IllegalOperationException("Warehouse Not Found By Id"));
         WareHouse updatedWareHouse = wareHouseMapper.toEntity(wareHouseRequest, existingWareHouse);
         wareHouseRepository.save(updatedWareHouse);
+        referenceDataCache.evictWarehouse(warehouseId);
         return wareHouseMapper.toResponse(updatedWareHouse);
     }
 
@@ -84,6 +94,7 @@ public class WareHouseServiceImpl implements WareHouseService {
         wareHouse.setDeleted(true);
         wareHouse.setDeletedAt(java.time.Instant.now());
         wareHouseRepository.save(wareHouse);
+        referenceDataCache.evictWarehouse(warehouseId);
         return response;
     }
 
@@ -95,6 +106,7 @@ public class WareHouseServiceImpl implements WareHouseService {
         wareHouse.setDeleted(false);
         wareHouse.setDeletedAt(null);
         wareHouseRepository.save(wareHouse);
+        referenceDataCache.evictWarehouse(warehouseId);
         return wareHouseMapper.toResponse(wareHouse);
     }
 }
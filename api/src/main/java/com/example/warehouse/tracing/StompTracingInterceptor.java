@@ -0,0 +1,70 @@
+package com.example.warehouse.tracing;
+
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.Tracer;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.stereotype.Component;
+
+/**
+ * A span around each STOMP broadcast handed to the broker channel, covering
+ * the broker's fan-out to the subscribed sessions. A broadcast sent from a
+ * request or job is a child of its span; one sent from elsewhere starts a
+ * trace. Subscriptions, heartbeats and other control frames are not traced.
+ * <p>
+ * Sending on the broker channel runs {@code preSend} and
+ * {@code afterSendCompletion} on the sender's thread, so the open span is
+ * kept in a thread local between the two.
+ */
+@Component
+public class StompTracingInterceptor implements ChannelInterceptor {
+
+    private record Open(Span span, Tracer.SpanInScope scope, Open previous) {
+    }
+
+    private static final ThreadLocal<Open> OPEN = new ThreadLocal<>();
+
+    private final ObjectProvider<Tracer> tracer;
+
+    public StompTracingInterceptor(ObjectProvider<Tracer> tracer) {
+        this.tracer = tracer;
+    }
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        Tracer tracer = this.tracer.getIfAvailable();
+        if (tracer == null || SimpMessageHeaderAccessor.getMessageType(message.getHeaders()) != SimpMessageType.MESSAGE) {
+            return message;
+        }
+        Span span = tracer.nextSpan().name("stomp broadcast").tag("layer", "stomp");
+        String destination = SimpMessageHeaderAccessor.getDestination(message.getHeaders());
+        if (destination != null) {
+            span.tag("messaging.destination", destination);
+        }
+        span.start();
+        OPEN.set(new Open(span, tracer.withSpan(span), OPEN.get()));
+        return message;
+    }
+
+    @Override
+    public void afterSendCompletion(Message<?> message, MessageChannel channel, boolean sent, Exception ex) {
+        Open open = OPEN.get();
+        if (open == null || SimpMessageHeaderAccessor.getMessageType(message.getHeaders()) != SimpMessageType.MESSAGE) {
+            return;
+        }
+        if (ex != null) {
+            open.span().error(ex);
+        }
+        open.scope().close();
+        open.span().end();
+        if (open.previous() != null) {
+            OPEN.set(open.previous());
+        } else {
+            OPEN.remove();
+        }
+    }
+}
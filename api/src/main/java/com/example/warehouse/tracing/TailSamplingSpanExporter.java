@@ -0,0 +1,99 @@
+package com.example.warehouse.tracing;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.opentelemetry.api.trace.SpanContext;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Decides per trace, once its local root span has ended, whether to pass it
+ * on to the real exporters: traces with an error span or a root slower than
+ * {@code slowThreshold} are always kept, a {@code keepRate} sample of the
+ * rest. Until then its spans wait here, for at most {@code maxWait} and
+ * {@code maxTraces} traces; a span ending after its root follows the decision
+ * made for its trace.
+ * <p>
+ * Only sees the spans head sampling recorded, so it is meant to run with
+ * {@code management.tracing.sampling.probability} at 1.0.
+ */
+public class TailSamplingSpanExporter implements SpanExporter {
+
+    private final SpanExporter delegate;
+    private final long slowThresholdNanos;
+    private final double keepRate;
+    private final Cache<String, List<SpanData>> pending;
+    private final Cache<String, Boolean> decided;
+
+    public TailSamplingSpanExporter(SpanExporter delegate, Duration slowThreshold, double keepRate,
+            int maxTraces, Duration maxWait) {
+        this.delegate = delegate;
+        this.slowThresholdNanos = slowThreshold.toNanos();
+        this.keepRate = keepRate;
+        this.pending = Caffeine.newBuilder().maximumSize(maxTraces).expireAfterWrite(maxWait).build();
+        this.decided = Caffeine.newBuilder().maximumSize(maxTraces).expireAfterWrite(maxWait).build();
+    }
+
+    // Called by the batch span processor's worker, and by flushes
+    @Override
+    public synchronized CompletableResultCode export(Collection<SpanData> spans) {
+        List<SpanData> kept = new ArrayList<>();
+        for (SpanData span : spans) {
+            String traceId = span.getTraceId();
+            Boolean keep = decided.getIfPresent(traceId);
+            if (keep != null) {
+                if (keep) {
+                    kept.add(span);
+                }
+                continue;
+            }
+            List<SpanData> trace = pending.get(traceId, id -> new ArrayList<>());
+            trace.add(span);
+            if (isLocalRoot(span)) {
+                pending.invalidate(traceId);
+                keep = shouldKeep(span, trace);
+                decided.put(traceId, keep);
+                if (keep) {
+                    kept.addAll(trace);
+                }
+            }
+        }
+        return kept.isEmpty() ? CompletableResultCode.ofSuccess() : delegate.export(kept);
+    }
+
+    @Override
+    public CompletableResultCode flush() {
+        return delegate.flush();
+    }
+
+    @Override
+    public CompletableResultCode shutdown() {
+        pending.invalidateAll();
+        return delegate.shutdown();
+    }
+
+    private boolean shouldKeep(SpanData root, List<SpanData> trace) {
+        if (root.getEndEpochNanos() - root.getStartEpochNanos() >= slowThresholdNanos) {
+            return true;
+        }
+        for (SpanData span : trace) {
+            if (span.getStatus().getStatusCode() == StatusCode.ERROR) {
+                return true;
+            }
+        }
+        return ThreadLocalRandom.current().nextDouble() < keepRate;
+    }
+
+    private static boolean isLocalRoot(SpanData span) {
+        SpanContext parent = span.getParentSpanContext();
+        return !parent.isValid() || parent.isRemote();
+    }
+}
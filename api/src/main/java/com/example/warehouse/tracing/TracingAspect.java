@@ -0,0 +1,92 @@
+package com.example.warehouse.tracing;
+
+import com.example.warehouse.config.WarehouseContext;
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.Tracer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+
+import java.lang.reflect.Proxy;
+
+/**
+ * A span around every controller, service and repository method called
+ * within a trace, named after the class and method
+ * ({@code OrderServiceImpl.markOrderAsDispatched}). The HTTP request, STOMP
+ * message or scheduled job is the root; calls outside any trace, or in a
+ * trace that head sampling dropped, run without a span.
+ * <p>
+ * Ordered outside the transaction advice, so a service span includes its
+ * flush and commit: the time after its last repository child.
+ */
+@Aspect
+@Component
+@Order(0)
+public class TracingAspect {
+
+    private static final String APPLICATION_PACKAGE = "com.example.warehouse.";
+
+    // Simple class name, or for a Spring Data proxy the repository interface it implements
+    private static final ClassValue<String> LABELS = new ClassValue<>() {
+        @Override
+        protected String computeValue(Class<?> type) {
+            if (Proxy.isProxyClass(type)) {
+                for (Class<?> candidate : type.getInterfaces()) {
+                    if (candidate.getName().startsWith(APPLICATION_PACKAGE)) {
+                        return candidate.getSimpleName();
+                    }
+                }
+            }
+            return ClassUtils.getUserClass(type).getSimpleName();
+        }
+    };
+
+    private final ObjectProvider<Tracer> tracer;
+
+    public TracingAspect(ObjectProvider<Tracer> tracer) {
+        this.tracer = tracer;
+    }
+
+    @Around("within(@org.springframework.web.bind.annotation.RestController *)")
+    public Object controller(ProceedingJoinPoint joinPoint) throws Throwable {
+        return trace(joinPoint, "controller");
+    }
+
+    @Around("within(@org.springframework.stereotype.Service *)")
+    public Object service(ProceedingJoinPoint joinPoint) throws Throwable {
+        return trace(joinPoint, "service");
+    }
+
+    @Around("execution(* org.springframework.data.repository.Repository+.*(..))")
+    public Object repository(ProceedingJoinPoint joinPoint) throws Throwable {
+        return trace(joinPoint, "repository");
+    }
+
+    private Object trace(ProceedingJoinPoint joinPoint, String layer) throws Throwable {
+        Tracer tracer = this.tracer.getIfAvailable();
+        Span parent = tracer != null ? tracer.currentSpan() : null;
+        if (parent == null || !Boolean.TRUE.equals(parent.context().sampled())) {
+            return joinPoint.proceed();
+        }
+        Span span = tracer.nextSpan()
+                .name(LABELS.get(joinPoint.getTarget().getClass()) + "." + joinPoint.getSignature().getName())
+                .tag("layer", layer);
+        String warehouseId = WarehouseContext.getWarehouseId();
+        if (warehouseId != null) {
+            span.tag("warehouse.id", warehouseId);
+        }
+        span.start();
+        try (Tracer.SpanInScope scope = tracer.withSpan(span)) {
+            return joinPoint.proceed();
+        } catch (Throwable e) {
+            span.error(e);
+            throw e;
+        } finally {
+            span.end();
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.warehouse.tracing;
+
+import io.micrometer.tracing.Tracer;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.autoconfigure.tracing.SpanExporters;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Where spans go. Head sampling ({@code management.tracing.sampling.probability})
+ * and the OTLP exporter ({@code management.otlp.tracing.endpoint}) are Spring
+ * Boot's; every {@link SpanExporter} bean is an exporter, including the local
+ * {@link FileSpanExporter} when {@code app.tracing.file.enabled}. With
+ * {@code app.tracing.tail.enabled} all of them sit behind a
+ * {@link TailSamplingSpanExporter}.
+ */
+@Configuration
+public class TracingConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "app.tracing.file.enabled", havingValue = "true")
+    public FileSpanExporter fileSpanExporter(@Value("${app.tracing.file.path:traces/spans.jsonl}") Path path,
+            @Value("${app.tracing.file.max-size:100MB}") DataSize maxSize) {
+        return new FileSpanExporter(path, maxSize.toBytes());
+    }
+
+    @Bean
+    public SpanExporters spanExporters(ObjectProvider<SpanExporter> exporters,
+            @Value("${app.tracing.tail.enabled:false}") boolean tailEnabled,
+            @Value("${app.tracing.tail.slow-threshold:500ms}") Duration slowThreshold,
+            @Value("${app.tracing.tail.keep-rate:0.01}") double keepRate,
+            @Value("${app.tracing.tail.max-traces:10000}") int maxTraces,
+            @Value("${app.tracing.tail.max-wait:30s}") Duration maxWait) {
+        List<SpanExporter> all = exporters.orderedStream().toList();
+        if (!tailEnabled || all.isEmpty()) {
+            return SpanExporters.of(all);
+        }
+        return SpanExporters.of(new TailSamplingSpanExporter(SpanExporter.composite(all), slowThreshold, keepRate,
+                maxTraces, maxWait));
+    }
+
+    /**
+     * Runs tasks handed to an executor in the submitter's trace context. Spring
+     * Boot applies it to the application task executor; LoginExecutor uses it
+     * for its own pool.
+     */
+    @Bean
+    public TaskDecorator tracingTaskDecorator(ObjectProvider<Tracer> tracer) {
+        return runnable -> {
+            Tracer current = tracer.getIfAvailable();
+            return current != null && current.currentSpan() != null
+                    ? current.currentTraceContext().wrap(runnable)
+                    : runnable;
+        };
+    }
+}
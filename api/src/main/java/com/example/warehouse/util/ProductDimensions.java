@@ -0,0 +1,35 @@
+package com.example.warehouse.util;
+
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * A product's "LxWxH" dimensions in centimeters, parsed once when the product
+ * is written. The V8 migration backfills existing rows with the same pattern.
+ */
+public record ProductDimensions(double length, double width, double height) {
+
+    // e.g. "10x5x2", "10 x 5 x 2", "10x5x2 cm"
+    private static final Pattern FORMAT = Pattern.compile(
+            "\\s*(\\d+(?:\\.\\d+)?)\\s*[xX]\\s*(\\d+(?:\\.\\d+)?)\\s*[xX]\\s*(\\d+(?:\\.\\d+)?)\\s*(?:cm)?\\s*");
+
+    public static Optional<ProductDimensions> parse(String dimensions) {
+        if (dimensions == null) {
+            return Optional.empty();
+        }
+        Matcher matcher = FORMAT.matcher(dimensions);
+        if (!matcher.matches()) {
+            return Optional.empty();
+        }
+        return Optional.of(new ProductDimensions(
+                Double.parseDouble(matcher.group(1)),
+                Double.parseDouble(matcher.group(2)),
+                Double.parseDouble(matcher.group(3))));
+    }
+
+    // Volume in cubic meters
+    public double volume() {
+        return (length * width * height) / 1000000.0;
+    }
+}
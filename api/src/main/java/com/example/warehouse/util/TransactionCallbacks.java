@@ -0,0 +1,40 @@
+package com.example.warehouse.util;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.function.Consumer;
+
+/**
+ * Defers work, typically metrics, until the current transaction has finished,
+ * so that what is recorded matches what was actually committed.
+ */
+public final class TransactionCallbacks {
+
+    private TransactionCallbacks() {
+    }
+
+    // Runs the callback once the current transaction has finished, with whether
+    // it committed; outside a transaction there is nothing to roll back
+    public static void onCompletion(Consumer<Boolean> callback) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            callback.accept(true);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                callback.accept(status == STATUS_COMMITTED);
+            }
+        });
+    }
+
+    // Runs the action only if the current transaction commits
+    public static void afterCommit(Runnable action) {
+        onCompletion(committed -> {
+            if (committed) {
+                action.run();
+            }
+        });
+    }
+}
@@ -0,0 +1,49 @@
+-- Shared rate limit buckets
+-- Used when app.rate-limit.store is postgres, so that every node draws from
+-- the same token buckets (see PostgresRateLimitStore). A bucket is one
+-- timestamp, in microseconds since the epoch on the database clock: when the
+-- bucket will be full again. A missing row is a full bucket, so the table is
+-- UNLOGGED; losing it in a crash only refills the buckets.
+CREATE UNLOGGED TABLE IF NOT EXISTS rate_limit_bucket (
+    bucket_key VARCHAR(512) PRIMARY KEY,
+    full_at_us BIGINT NOT NULL
+);
+
+-- Takes a token. Returns 0 if one was available, otherwise the microseconds
+-- until the next one is. A request is allowed while the bucket's full time is
+-- at most burst_tolerance_us ahead of now; taking a token moves it forward by
+-- interval_us.
+CREATE OR REPLACE FUNCTION rate_limit_acquire(target_key VARCHAR, interval_us BIGINT, burst_tolerance_us BIGINT)
+RETURNS BIGINT AS $$
+DECLARE
+    now_us BIGINT := (extract(epoch FROM clock_timestamp()) * 1000000)::BIGINT;
+    full_at BIGINT;
+BEGIN
+    -- First request for the key: a full bucket, less this token
+    INSERT INTO rate_limit_bucket (bucket_key, full_at_us)
+    VALUES (target_key, now_us + interval_us)
+    ON CONFLICT (bucket_key) DO NOTHING;
+    IF FOUND THEN
+        RETURN 0;
+    END IF;
+
+    SELECT b.full_at_us INTO full_at
+    FROM rate_limit_bucket b
+    WHERE b.bucket_key = target_key
+    FOR UPDATE;
+    IF NOT FOUND THEN
+        -- Deleted as full by the cleanup in between
+        RETURN 0;
+    END IF;
+
+    -- Read the clock again: waiting for the row lock may have taken a while
+    now_us := (extract(epoch FROM clock_timestamp()) * 1000000)::BIGINT;
+    full_at := GREATEST(full_at, now_us);
+    IF full_at - now_us > burst_tolerance_us THEN
+        RETURN full_at - now_us - burst_tolerance_us;
+    END IF;
+
+    UPDATE rate_limit_bucket SET full_at_us = full_at + interval_us WHERE bucket_key = target_key;
+    RETURN 0;
+END;
+$$ LANGUAGE plpgsql;
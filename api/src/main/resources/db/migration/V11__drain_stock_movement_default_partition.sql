@@ -0,0 +1,50 @@
+-- Draining the stock_movement default partition
+-- Rows land in stock_movement_default when their month has no partition yet,
+-- e.g. after the maintenance job missed a month boundary. Postgres will not
+-- create a partition for a range the default partition already holds rows of,
+-- so the V5 function failed for that month on every later run. It now detaches
+-- the default partition, creates the month, moves the month's rows over and
+-- attaches the default partition again, all in the caller's transaction.
+CREATE OR REPLACE FUNCTION create_stock_movement_partitions(from_month DATE, months INTEGER)
+RETURNS INTEGER AS $$
+DECLARE
+    month_start DATE;
+    partition_name TEXT;
+    range_from TIMESTAMP WITH TIME ZONE;
+    range_to TIMESTAMP WITH TIME ZONE;
+    drain BOOLEAN;
+    created INTEGER := 0;
+BEGIN
+    FOR i IN 0 .. months - 1 LOOP
+        month_start := (date_trunc('month', from_month) + make_interval(months => i))::date;
+        partition_name := 'stock_movement_p' || to_char(month_start, 'YYYYMM');
+        IF to_regclass(partition_name) IS NULL THEN
+            range_from := month_start::timestamp AT TIME ZONE 'UTC';
+            range_to := (month_start + INTERVAL '1 month')::timestamp AT TIME ZONE 'UTC';
+            drain := to_regclass('stock_movement_default') IS NOT NULL AND EXISTS (
+                SELECT 1 FROM stock_movement_default WHERE created_at >= range_from AND created_at < range_to);
+
+            IF drain THEN
+                ALTER TABLE stock_movement DETACH PARTITION stock_movement_default;
+            END IF;
+            EXECUTE format('CREATE TABLE %I PARTITION OF stock_movement FOR VALUES FROM (%L) TO (%L)',
+                    partition_name, range_from, range_to);
+            IF drain THEN
+                INSERT INTO stock_movement (movement_id, product_id, from_block_id, to_block_id, quantity,
+                        movement_type, reference_type, reference_id, notes, created_by, created_at, warehouse_id,
+                        deleted, deleted_at, last_modified_at)
+                SELECT movement_id, product_id, from_block_id, to_block_id, quantity,
+                        movement_type, reference_type, reference_id, notes, created_by, created_at, warehouse_id,
+                        deleted, deleted_at, last_modified_at
+                FROM stock_movement_default
+                WHERE created_at >= range_from AND created_at < range_to;
+                DELETE FROM stock_movement_default WHERE created_at >= range_from AND created_at < range_to;
+                ALTER TABLE stock_movement ATTACH PARTITION stock_movement_default DEFAULT;
+                RAISE NOTICE 'Moved default partition rows into %', partition_name;
+            END IF;
+            created := created + 1;
+        END IF;
+    END LOOP;
+    RETURN created;
+END;
+$$ LANGUAGE plpgsql;
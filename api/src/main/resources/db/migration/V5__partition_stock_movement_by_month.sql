@@ -0,0 +1,125 @@
+-- Monthly range partitioning for stock_movement
+-- The table is append-only and every history/analytics query filters or sorts on
+-- created_at, so partitioning by month lets the planner prune to the months a
+-- date-range query touches and lets old months be detached instead of deleted.
+-- created_at is not updatable on the entity, so a row never changes partition.
+
+-- 1. Move the existing table out of the way (the primary key index name is global)
+ALTER TABLE stock_movement RENAME TO stock_movement_unpartitioned;
+ALTER TABLE stock_movement_unpartitioned RENAME CONSTRAINT stock_movement_pkey TO stock_movement_unpartitioned_pkey;
+
+-- 2. Partitioned parent; the partition key has to be part of the primary key
+CREATE TABLE stock_movement (
+    movement_id VARCHAR(255) NOT NULL,
+    product_id VARCHAR(255) NOT NULL,
+    from_block_id VARCHAR(255),
+    to_block_id VARCHAR(255),
+    quantity INTEGER NOT NULL,
+    movement_type VARCHAR(255) NOT NULL,
+    reference_type VARCHAR(255),
+    reference_id VARCHAR(255),
+    notes VARCHAR(255),
+    created_by VARCHAR(255),
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    warehouse_id VARCHAR(255),
+    deleted BOOLEAN DEFAULT FALSE,
+    deleted_at TIMESTAMP WITH TIME ZONE,
+    last_modified_at TIMESTAMP WITH TIME ZONE DEFAULT NOW(),
+    CONSTRAINT stock_movement_pkey PRIMARY KEY (movement_id, created_at),
+    CONSTRAINT stock_movement_type_check
+        CHECK (movement_type IN ('INBOUND', 'PUTAWAY', 'PICK', 'TRANSFER', 'ADJUSTMENT', 'OUTBOUND'))
+) PARTITION BY RANGE (created_at);
+
+-- 3. Partition maintenance, called by StockMovementPartitionJob
+-- Partitions are named stock_movement_pYYYYMM and cover one UTC calendar month.
+CREATE OR REPLACE FUNCTION create_stock_movement_partitions(from_month DATE, months INTEGER)
+RETURNS INTEGER AS $$
+DECLARE
+    month_start DATE;
+    created INTEGER := 0;
+BEGIN
+    FOR i IN 0 .. months - 1 LOOP
+        month_start := (date_trunc('month', from_month) + make_interval(months => i))::date;
+        IF to_regclass('stock_movement_p' || to_char(month_start, 'YYYYMM')) IS NULL THEN
+            EXECUTE format(
+                'CREATE TABLE %I PARTITION OF stock_movement FOR VALUES FROM (%L) TO (%L)',
+                'stock_movement_p' || to_char(month_start, 'YYYYMM'),
+                month_start::timestamp AT TIME ZONE 'UTC',
+                (month_start + INTERVAL '1 month')::timestamp AT TIME ZONE 'UTC');
+            created := created + 1;
+        END IF;
+    END LOOP;
+    RETURN created;
+END;
+$$ LANGUAGE plpgsql;
+
+-- Detaches every monthly partition that ended before before_month and moves it to
+-- the archive schema, where it stays queryable but is no longer scanned or indexed
+-- as part of stock_movement.
+CREATE SCHEMA IF NOT EXISTS archive;
+
+CREATE OR REPLACE FUNCTION archive_stock_movement_partitions(before_month DATE)
+RETURNS SETOF TEXT AS $$
+DECLARE
+    partition_name TEXT;
+BEGIN
+    FOR partition_name IN
+        SELECT c.relname
+        FROM pg_inherits i
+        JOIN pg_class c ON c.oid = i.inhrelid
+        WHERE i.inhparent = 'stock_movement'::regclass
+          AND c.relname ~ '^stock_movement_p[0-9]{6}$'
+          AND to_date(substring(c.relname FROM 17 FOR 6), 'YYYYMM') < date_trunc('month', before_month)
+        ORDER BY c.relname
+    LOOP
+        EXECUTE format('ALTER TABLE stock_movement DETACH PARTITION %I', partition_name);
+        EXECUTE format('ALTER TABLE %I SET SCHEMA archive', partition_name);
+        RETURN NEXT partition_name;
+    END LOOP;
+END;
+$$ LANGUAGE plpgsql;
+
+-- 4. Partitions for all existing rows plus the next three months; the default
+-- partition only catches rows if the maintenance job has fallen behind.
+DO $$
+DECLARE
+    first_month DATE;
+BEGIN
+    SELECT date_trunc('month', COALESCE(MIN(created_at AT TIME ZONE 'UTC'), CURRENT_DATE))::date
+    INTO first_month
+    FROM stock_movement_unpartitioned;
+
+    PERFORM create_stock_movement_partitions(first_month,
+            ((EXTRACT(YEAR FROM CURRENT_DATE) - EXTRACT(YEAR FROM first_month)) * 12
+             + EXTRACT(MONTH FROM CURRENT_DATE) - EXTRACT(MONTH FROM first_month))::int + 4);
+END
+$$;
+
+CREATE TABLE stock_movement_default PARTITION OF stock_movement DEFAULT;
+
+-- 5. Copy the data and drop the old table
+INSERT INTO stock_movement (movement_id, product_id, from_block_id, to_block_id, quantity, movement_type,
+        reference_type, reference_id, notes, created_by, created_at, warehouse_id, deleted, deleted_at,
+        last_modified_at)
+SELECT movement_id, product_id, from_block_id, to_block_id, quantity, movement_type,
+        reference_type, reference_id, notes, created_by, created_at, warehouse_id, deleted, deleted_at,
+        last_modified_at
+FROM stock_movement_unpartitioned;
+
+DROP TABLE stock_movement_unpartitioned;
+
+-- 6. Constraints and indexes, declared on the parent so every partition inherits them
+ALTER TABLE stock_movement ADD CONSTRAINT fk_stock_movement_product
+    FOREIGN KEY (product_id) REFERENCES product (product_id);
+ALTER TABLE stock_movement ADD CONSTRAINT fk_stock_movement_from_block
+    FOREIGN KEY (from_block_id) REFERENCES block (block_id);
+ALTER TABLE stock_movement ADD CONSTRAINT fk_stock_movement_to_block
+    FOREIGN KEY (to_block_id) REFERENCES block (block_id);
+ALTER TABLE stock_movement ADD CONSTRAINT fk_stock_movement_warehouse
+    FOREIGN KEY (warehouse_id) REFERENCES warehouse (warehouse_id);
+
+CREATE INDEX idx_stock_movement_created_at ON stock_movement (created_at);
+CREATE INDEX idx_stock_movement_product_id ON stock_movement (product_id);
+CREATE INDEX idx_stock_movement_from_block_id ON stock_movement (from_block_id);
+CREATE INDEX idx_stock_movement_to_block_id ON stock_movement (to_block_id);
+CREATE INDEX idx_stock_movement_warehouse_id ON stock_movement (warehouse_id);
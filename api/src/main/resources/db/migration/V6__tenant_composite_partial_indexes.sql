@@ -0,0 +1,81 @@
+-- Tenant-aware composite indexes
+-- Every repository @Query filters on deleted = false AND warehouse_id = ? plus one
+-- or two other columns, and most sort on created_at. Each index below leads with
+-- warehouse_id, follows with the query's other equality columns and ends with the
+-- sort column. Each one is partial on deleted = false so soft-deleted rows never
+-- enter it. The single-column warehouse_id indexes from V3 stay because the
+-- warehouse foreign-key checks need them.
+
+-- Inventory (InventoryRepository)
+CREATE INDEX IF NOT EXISTS idx_inventory_wh_block_active
+    ON inventory (warehouse_id, block_id) WHERE deleted = false;
+-- findByProductProductId and findByProductProductIdAndBlockBlockId
+CREATE INDEX IF NOT EXISTS idx_inventory_wh_product_block_active
+    ON inventory (warehouse_id, product_id, block_id) WHERE deleted = false;
+-- findLowStockItems: the predicate is part of the index, so it holds only low-stock rows
+CREATE INDEX IF NOT EXISTS idx_inventory_wh_low_stock
+    ON inventory (warehouse_id) WHERE deleted = false AND quantity <= min_stock_level;
+
+-- Orders (OrderRepository); findByOrderNumber is served by the order_number unique index
+CREATE INDEX IF NOT EXISTS idx_orders_wh_status_created_active
+    ON orders (warehouse_id, status, created_at DESC) WHERE deleted = false;
+-- findAllByOrderByCreatedAtDesc and findStuckOrders
+CREATE INDEX IF NOT EXISTS idx_orders_wh_created_active
+    ON orders (warehouse_id, created_at DESC) WHERE deleted = false;
+
+-- Pick tasks (PickTaskRepository)
+CREATE INDEX IF NOT EXISTS idx_pick_task_wh_order_created_active
+    ON pick_task (warehouse_id, order_id, created_at) WHERE deleted = false;
+-- findByAssignedTo*, countByAssignedToAndStatus*
+CREATE INDEX IF NOT EXISTS idx_pick_task_wh_assignee_status_created_active
+    ON pick_task (warehouse_id, assigned_to, status, created_at) WHERE deleted = false;
+CREATE INDEX IF NOT EXISTS idx_pick_task_wh_status_created_active
+    ON pick_task (warehouse_id, status, created_at) WHERE deleted = false;
+CREATE INDEX IF NOT EXISTS idx_pick_task_wh_product_created_active
+    ON pick_task (warehouse_id, product_id, created_at DESC) WHERE deleted = false;
+-- findByBlockBlockIdOrderByCreatedAtDesc and countByBlockBlockIdAndStatusIn
+CREATE INDEX IF NOT EXISTS idx_pick_task_wh_block_status_active
+    ON pick_task (warehouse_id, block_id, status) WHERE deleted = false;
+
+-- Shipments (ShipmentRepository); findByShipmentCode is served by the shipment_code unique index
+CREATE INDEX IF NOT EXISTS idx_shipment_wh_order_created_active
+    ON shipment (warehouse_id, order_id, created_at DESC) WHERE deleted = false;
+-- findByStatus*, countByStatus*, findActiveShipments
+CREATE INDEX IF NOT EXISTS idx_shipment_wh_status_created_active
+    ON shipment (warehouse_id, status, created_at DESC) WHERE deleted = false;
+-- countByStatusAndDeliveredAtBetween and countDeliveredSince
+CREATE INDEX IF NOT EXISTS idx_shipment_wh_status_delivered_active
+    ON shipment (warehouse_id, status, delivered_at) WHERE deleted = false;
+CREATE INDEX IF NOT EXISTS idx_shipment_wh_shipper_created_active
+    ON shipment (warehouse_id, shipper_id, created_at DESC) WHERE deleted = false;
+CREATE INDEX IF NOT EXISTS idx_shipment_wh_created_active
+    ON shipment (warehouse_id, created_at DESC) WHERE deleted = false;
+
+-- Stock movements (StockMovementRepository); created on the partitioned parent, so
+-- every monthly partition gets them too
+CREATE INDEX IF NOT EXISTS idx_stock_movement_wh_product_created_active
+    ON stock_movement (warehouse_id, product_id, created_at DESC) WHERE deleted = false;
+-- findByBlockId is an OR over both block columns; each branch gets its own index
+CREATE INDEX IF NOT EXISTS idx_stock_movement_wh_from_block_created_active
+    ON stock_movement (warehouse_id, from_block_id, created_at DESC) WHERE deleted = false;
+CREATE INDEX IF NOT EXISTS idx_stock_movement_wh_to_block_created_active
+    ON stock_movement (warehouse_id, to_block_id, created_at DESC) WHERE deleted = false;
+CREATE INDEX IF NOT EXISTS idx_stock_movement_wh_type_created_active
+    ON stock_movement (warehouse_id, movement_type, created_at DESC) WHERE deleted = false;
+-- findRecentMovements, findByCreatedAtBetween..., findTopMovers
+CREATE INDEX IF NOT EXISTS idx_stock_movement_wh_created_active
+    ON stock_movement (warehouse_id, created_at DESC) WHERE deleted = false;
+CREATE INDEX IF NOT EXISTS idx_stock_movement_wh_created_by_created_active
+    ON stock_movement (warehouse_id, created_by, created_at DESC) WHERE deleted = false;
+CREATE INDEX IF NOT EXISTS idx_stock_movement_wh_reference_active
+    ON stock_movement (warehouse_id, reference_type, reference_id) WHERE deleted = false;
+
+-- Single-column indexes from V4, superseded above: every query that used them also
+-- filters on warehouse_id and deleted
+DROP INDEX IF EXISTS idx_orders_status;
+DROP INDEX IF EXISTS idx_orders_created_at;
+DROP INDEX IF EXISTS idx_pick_task_status;
+DROP INDEX IF EXISTS idx_pick_task_created_at;
+DROP INDEX IF EXISTS idx_pick_task_assigned_to;
+DROP INDEX IF EXISTS idx_shipment_status;
+DROP INDEX IF EXISTS idx_shipment_created_at;
@@ -0,0 +1,76 @@
+-- Denormalized block occupancy
+-- Capacity checks and the utilization dashboard used to load every inventory row
+-- of a block. The application now keeps these two columns in step with each
+-- inventory change (see BlockRepository); reconcile_block_occupancy repairs drift,
+-- e.g. after a product's dimensions change.
+
+-- 1. Unit volume in cubic meters of a product's "LxWxH" (cm) dimensions, matching
+-- Product.getVolume(): anything that does not parse counts as zero.
+CREATE OR REPLACE FUNCTION product_unit_volume(dimensions TEXT)
+RETURNS DOUBLE PRECISION AS $$
+    SELECT CASE
+        WHEN dimensions ~ '^\s*[0-9]+(\.[0-9]+)?\s*x\s*[0-9]+(\.[0-9]+)?\s*x\s*[0-9]+(\.[0-9]+)?\s*$'
+        THEN (trim(split_part(dimensions, 'x', 1))::DOUBLE PRECISION
+              * trim(split_part(dimensions, 'x', 2))::DOUBLE PRECISION
+              * trim(split_part(dimensions, 'x', 3))::DOUBLE PRECISION) / 1000000.0
+        ELSE 0.0
+    END;
+$$ LANGUAGE sql IMMUTABLE;
+
+-- 2. Counter columns
+ALTER TABLE block ADD COLUMN IF NOT EXISTS occupied_units BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE block ADD COLUMN IF NOT EXISTS occupied_volume DOUBLE PRECISION NOT NULL DEFAULT 0;
+
+-- 3. Recomputes one block's counters from its active inventory rows and returns
+-- the recorded and actual values if they differed. The block row is locked first,
+-- so an inventory change in flight (which updates the same row) either commits
+-- before the recount or waits for it.
+CREATE OR REPLACE FUNCTION reconcile_block_occupancy(target_block_id VARCHAR)
+RETURNS TABLE (block_id VARCHAR, recorded_units BIGINT, actual_units BIGINT,
+               recorded_volume DOUBLE PRECISION, actual_volume DOUBLE PRECISION) AS $$
+DECLARE
+    units BIGINT;
+    volume DOUBLE PRECISION;
+BEGIN
+    SELECT b.occupied_units, b.occupied_volume
+    INTO recorded_units, recorded_volume
+    FROM block b
+    WHERE b.block_id = target_block_id
+    FOR UPDATE;
+    IF NOT FOUND THEN
+        RETURN;
+    END IF;
+
+    SELECT COALESCE(SUM(i.quantity), 0),
+           COALESCE(SUM(i.quantity * product_unit_volume(p.dimensions)), 0)
+    INTO units, volume
+    FROM inventory i
+    JOIN product p ON p.product_id = i.product_id
+    WHERE i.block_id = target_block_id
+      AND i.deleted = false;
+
+    -- Summation order differs from the application's, so allow rounding noise
+    IF units <> recorded_units OR abs(volume - recorded_volume) > 1e-6 THEN
+        UPDATE block SET occupied_units = units, occupied_volume = volume
+        WHERE block.block_id = target_block_id;
+        block_id := target_block_id;
+        actual_units := units;
+        actual_volume := volume;
+        RETURN NEXT;
+    END IF;
+END;
+$$ LANGUAGE plpgsql;
+
+-- 4. Backfill
+UPDATE block b
+SET occupied_units = a.units, occupied_volume = a.volume
+FROM (
+    SELECT i.block_id,
+           SUM(i.quantity) AS units,
+           SUM(i.quantity * product_unit_volume(p.dimensions)) AS volume
+    FROM inventory i
+    JOIN product p ON p.product_id = i.product_id
+    WHERE i.deleted = false
+    GROUP BY i.block_id
+) a
+WHERE b.block_id = a.block_id;
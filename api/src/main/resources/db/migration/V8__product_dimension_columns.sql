@@ -0,0 +1,75 @@
+-- Parsed product dimensions
+-- Volume used to be parsed from the "LxWxH" dimensions string on every call.
+-- ProductServiceImpl now stores the parsed values (see ProductDimensions) when a
+-- product is written, and everything that needs a volume reads the column.
+
+-- 1. Columns: length/width/height in cm, volume in cubic meters
+ALTER TABLE product ADD COLUMN IF NOT EXISTS length DOUBLE PRECISION;
+ALTER TABLE product ADD COLUMN IF NOT EXISTS width DOUBLE PRECISION;
+ALTER TABLE product ADD COLUMN IF NOT EXISTS height DOUBLE PRECISION;
+ALTER TABLE product ADD COLUMN IF NOT EXISTS volume DOUBLE PRECISION NOT NULL DEFAULT 0;
+
+-- 2. Backfill with the same pattern as ProductDimensions.parse
+UPDATE product p
+SET length = d.l, width = d.w, height = d.h, volume = (d.l * d.w * d.h) / 1000000.0
+FROM (
+    SELECT product_id,
+           m[1]::DOUBLE PRECISION AS l,
+           m[2]::DOUBLE PRECISION AS w,
+           m[3]::DOUBLE PRECISION AS h
+    FROM (
+        SELECT product_id,
+               regexp_match(dimensions,
+                   '^\s*([0-9]+(?:\.[0-9]+)?)\s*[xX]\s*([0-9]+(?:\.[0-9]+)?)\s*[xX]\s*([0-9]+(?:\.[0-9]+)?)\s*(?:cm)?\s*$') AS m
+        FROM product
+    ) parsed
+    WHERE m IS NOT NULL
+) d
+WHERE p.product_id = d.product_id;
+
+-- 3. Block occupancy (V7) now reads the volume column
+CREATE OR REPLACE FUNCTION reconcile_block_occupancy(target_block_id VARCHAR)
+RETURNS TABLE (block_id VARCHAR, recorded_units BIGINT, actual_units BIGINT,
+               recorded_volume DOUBLE PRECISION, actual_volume DOUBLE PRECISION) AS $$
+DECLARE
+    units BIGINT;
+    volume DOUBLE PRECISION;
+BEGIN
+    SELECT b.occupied_units, b.occupied_volume
+    INTO recorded_units, recorded_volume
+    FROM block b
+    WHERE b.block_id = target_block_id
+    FOR UPDATE;
+    IF NOT FOUND THEN
+        RETURN;
+    END IF;
+
+    SELECT COALESCE(SUM(i.quantity), 0),
+           COALESCE(SUM(i.quantity * p.volume), 0)
+    INTO units, volume
+    FROM inventory i
+    JOIN product p ON p.product_id = i.product_id
+    WHERE i.block_id = target_block_id
+      AND i.deleted = false;
+
+    -- Summation order differs from the application's, so allow rounding noise
+    IF units <> recorded_units OR abs(volume - recorded_volume) > 1e-6 THEN
+        UPDATE block SET occupied_units = units, occupied_volume = volume
+        WHERE block.block_id = target_block_id;
+        block_id := target_block_id;
+        actual_units := units;
+        actual_volume := volume;
+        RETURN NEXT;
+    END IF;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP FUNCTION IF EXISTS product_unit_volume(TEXT);
+
+-- 4. Dimensions such as "10x5x2 cm" parse now but did not under V7, so their
+-- blocks hold more volume than recorded: recount every block once
+DO $$
+BEGIN
+    PERFORM reconcile_block_occupancy(b.block_id) FROM block b;
+END;
+$$;
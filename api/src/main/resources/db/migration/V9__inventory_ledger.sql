@@ -0,0 +1,126 @@
+-- Inventory ledger
+-- Every change to an inventory row's quantity is appended to inventory_ledger
+-- as an immutable event (see InventoryLedgerService). Per-block snapshots of
+-- the running totals are taken periodically, so stock as of any point in time
+-- is the nearest earlier snapshot plus the few events recorded after it.
+--
+-- Ordering: the services write an event while holding the block row lock taken
+-- by the occupancy update (V7), and snapshot_block_inventory takes the same
+-- lock. Within one block, ledger_id order is therefore commit order, recorded_at
+-- never goes backwards, and a snapshot sees every event committed before it.
+
+-- 1. Events
+CREATE TABLE IF NOT EXISTS inventory_ledger (
+    ledger_id BIGINT GENERATED ALWAYS AS IDENTITY PRIMARY KEY,
+    recorded_at TIMESTAMPTZ NOT NULL DEFAULT clock_timestamp(),
+    inventory_id VARCHAR(255) NOT NULL,
+    product_id VARCHAR(255) NOT NULL,
+    block_id VARCHAR(255) NOT NULL,
+    warehouse_id VARCHAR(255),
+    quantity_delta INTEGER NOT NULL,
+    quantity_after INTEGER NOT NULL,
+    reason VARCHAR(32) NOT NULL,
+    reference VARCHAR(255)
+);
+
+CREATE INDEX IF NOT EXISTS idx_inventory_ledger_block_id ON inventory_ledger (block_id, ledger_id);
+CREATE INDEX IF NOT EXISTS idx_inventory_ledger_inventory_id ON inventory_ledger (inventory_id, ledger_id);
+
+CREATE OR REPLACE FUNCTION inventory_ledger_immutable()
+RETURNS TRIGGER AS $$
+BEGIN
+    RAISE EXCEPTION 'inventory_ledger is append-only';
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS inventory_ledger_immutable ON inventory_ledger;
+CREATE TRIGGER inventory_ledger_immutable
+    BEFORE UPDATE OR DELETE ON inventory_ledger
+    FOR EACH ROW EXECUTE FUNCTION inventory_ledger_immutable();
+
+-- 2. Snapshots: on-hand quantity per product of one block, covering every
+-- event of that block up to last_ledger_id. Zero quantities are not stored.
+CREATE TABLE IF NOT EXISTS inventory_snapshot (
+    snapshot_id BIGINT GENERATED ALWAYS AS IDENTITY PRIMARY KEY,
+    block_id VARCHAR(255) NOT NULL,
+    taken_at TIMESTAMPTZ NOT NULL,
+    last_ledger_id BIGINT NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_inventory_snapshot_block_taken_at ON inventory_snapshot (block_id, taken_at DESC);
+
+CREATE TABLE IF NOT EXISTS inventory_snapshot_line (
+    snapshot_id BIGINT NOT NULL REFERENCES inventory_snapshot (snapshot_id) ON DELETE CASCADE,
+    product_id VARCHAR(255) NOT NULL,
+    quantity BIGINT NOT NULL,
+    PRIMARY KEY (snapshot_id, product_id)
+);
+
+-- 3. Snapshots one block: the previous snapshot plus the events recorded since.
+-- Returns the new snapshot id, or NULL if nothing happened since the last one.
+CREATE OR REPLACE FUNCTION snapshot_block_inventory(target_block_id VARCHAR)
+RETURNS BIGINT AS $$
+DECLARE
+    previous_id BIGINT;
+    previous_last_ledger_id BIGINT;
+    latest_ledger_id BIGINT;
+    new_id BIGINT;
+BEGIN
+    PERFORM 1 FROM block b WHERE b.block_id = target_block_id FOR UPDATE;
+    IF NOT FOUND THEN
+        RETURN NULL;
+    END IF;
+
+    SELECT s.snapshot_id, s.last_ledger_id
+    INTO previous_id, previous_last_ledger_id
+    FROM inventory_snapshot s
+    WHERE s.block_id = target_block_id
+    ORDER BY s.taken_at DESC
+    LIMIT 1;
+
+    SELECT max(l.ledger_id) INTO latest_ledger_id
+    FROM inventory_ledger l
+    WHERE l.block_id = target_block_id
+      AND l.ledger_id > COALESCE(previous_last_ledger_id, 0);
+    IF latest_ledger_id IS NULL THEN
+        RETURN NULL;
+    END IF;
+
+    -- clock_timestamp(), not now(): taken after the lock, so later than every event it covers
+    INSERT INTO inventory_snapshot (block_id, taken_at, last_ledger_id)
+    VALUES (target_block_id, clock_timestamp(), latest_ledger_id)
+    RETURNING snapshot_id INTO new_id;
+
+    INSERT INTO inventory_snapshot_line (snapshot_id, product_id, quantity)
+    SELECT new_id, changes.product_id, SUM(changes.quantity)
+    FROM (
+        SELECT sl.product_id, sl.quantity
+        FROM inventory_snapshot_line sl
+        WHERE sl.snapshot_id = previous_id
+        UNION ALL
+        SELECT l.product_id, l.quantity_delta
+        FROM inventory_ledger l
+        WHERE l.block_id = target_block_id
+          AND l.ledger_id > COALESCE(previous_last_ledger_id, 0)
+          AND l.ledger_id <= latest_ledger_id
+    ) changes
+    GROUP BY changes.product_id
+    HAVING SUM(changes.quantity) <> 0;
+
+    RETURN new_id;
+END;
+$$ LANGUAGE plpgsql;
+
+-- 4. Opening balance of every active inventory row, so the ledger sums to the
+-- current stock. Stock as of a time before this migration is not known.
+INSERT INTO inventory_ledger (inventory_id, product_id, block_id, warehouse_id, quantity_delta, quantity_after, reason)
+SELECT i.inventory_id, i.product_id, i.block_id, i.warehouse_id, i.quantity, i.quantity, 'OPENING'
+FROM inventory i
+WHERE i.deleted = false
+  AND i.quantity <> 0;
+
+DO $$
+BEGIN
+    PERFORM snapshot_block_inventory(b.block_id) FROM block b;
+END;
+$$;
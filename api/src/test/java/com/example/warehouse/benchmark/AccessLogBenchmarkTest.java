@@ -0,0 +1,151 @@
+package com.example.warehouse.benchmark;
+
+import com.example.warehouse.config.RequestLoggingFilter;
+import com.example.warehouse.logging.AccessLog;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.Filter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Request logging cost with {@code THREADS} request threads: the filter as it
+ * was (one synchronous INFO line per request) versus the sampled, queued
+ * access log. Each is driven at a steady {@code TARGET_RATE} requests per
+ * second, reporting CPU time per request and the filter's p99, and then as
+ * fast as the threads can go. The chain behind the filter does nothing, so the
+ * numbers are logging overhead only. Run with {@code mvn test -Pbenchmarks}.
+ */
+@Tag("benchmark")
+class AccessLogBenchmarkTest {
+
+    private static final Logger log = LoggerFactory.getLogger(AccessLogBenchmarkTest.class);
+
+    private static final int THREADS = 8;
+    private static final int TARGET_RATE = 5_000;
+    private static final Duration PACED = Duration.ofSeconds(5);
+    private static final Duration FLAT_OUT = Duration.ofSeconds(3);
+
+    private record Result(long requests, double cpuMicrosPerRequest, double p99Micros) {
+    }
+
+    @Test
+    void compareSynchronousAndSampledAsyncLogging() throws Exception {
+        Filter legacy = new LegacyRequestLoggingFilter();
+        AccessLog accessLog = new AccessLog(new SimpleMeterRegistry(), 10_000, 0.1, Duration.ofMillis(500));
+        accessLog.start();
+        Filter sampled = new RequestLoggingFilter(accessLog);
+        try {
+            run(legacy, FLAT_OUT, 0);
+            run(sampled, FLAT_OUT, 0);
+
+            Result legacyPaced = run(legacy, PACED, TARGET_RATE);
+            Result sampledPaced = run(sampled, PACED, TARGET_RATE);
+            Result legacyMax = run(legacy, FLAT_OUT, 0);
+            Result sampledMax = run(sampled, FLAT_OUT, 0);
+
+            log.info("{} request threads; at {} requests/s, then unpaced", THREADS, TARGET_RATE);
+            report("synchronous INFO per request", legacyPaced, legacyMax);
+            report("sampled async access log    ", sampledPaced, sampledMax);
+
+            assertThat(sampledPaced.requests()).isPositive();
+        } finally {
+            accessLog.stop();
+        }
+    }
+
+    private static void report(String name, Result paced, Result max) {
+        log.info("{}  {} us CPU/request  p99 {} us  max {} requests/s", name,
+                String.format("%6.1f", paced.cpuMicrosPerRequest()), String.format("%7.1f", paced.p99Micros()),
+                String.format("%,9.0f", max.requests() / (double) FLAT_OUT.toSeconds()));
+    }
+
+    // Requests through the filter for the duration, at the given total rate (0 = unpaced)
+    private static Result run(Filter filter, Duration duration, int rate) throws Exception {
+        com.sun.management.OperatingSystemMXBean os =
+                (com.sun.management.OperatingSystemMXBean) ManagementFactory.getOperatingSystemMXBean();
+        FilterChain chain = (request, response) -> ((HttpServletResponse) response).setStatus(200);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        long cpuStart = os.getProcessCpuTime();
+        long end = System.nanoTime() + duration.toNanos();
+        long intervalNanos = rate == 0 ? 0 : TimeUnit.SECONDS.toNanos(1) * THREADS / rate;
+        try {
+            List<Future<long[]>> workers = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                workers.add(executor.submit(() -> {
+                    long[] latencies = new long[(int) Math.max(1_000, rate == 0 ? 5_000_000
+                            : duration.toSeconds() * rate / THREADS + 1_000)];
+                    int count = 0;
+                    long next = System.nanoTime();
+                    while (System.nanoTime() < end && count < latencies.length) {
+                        if (intervalNanos > 0) {
+                            next += intervalNanos;
+                            LockSupport.parkNanos(next - System.nanoTime());
+                        }
+                        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/inventory");
+                        MockHttpServletResponse response = new MockHttpServletResponse();
+                        long start = System.nanoTime();
+                        filter.doFilter(request, response, chain);
+                        latencies[count++] = System.nanoTime() - start;
+                    }
+                    return Arrays.copyOf(latencies, count);
+                }));
+            }
+            List<long[]> all = new ArrayList<>();
+            for (Future<long[]> worker : workers) {
+                all.add(worker.get());
+            }
+            long cpu = os.getProcessCpuTime() - cpuStart;
+            long[] latencies = all.stream().flatMapToLong(Arrays::stream).sorted().toArray();
+            return new Result(latencies.length, cpu / 1_000.0 / latencies.length,
+                    latencies[(int) Math.ceil(0.99 * latencies.length) - 1] / 1_000.0);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    // RequestLoggingFilter as it was
+    private static final class LegacyRequestLoggingFilter extends OncePerRequestFilter {
+
+        private static final Logger log = LoggerFactory.getLogger(RequestLoggingFilter.class);
+
+        @Override
+        protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                FilterChain filterChain) throws java.io.IOException, jakarta.servlet.ServletException {
+            String correlationId = UUID.randomUUID().toString();
+            MDC.put("correlationId", correlationId);
+            response.setHeader("X-Correlation-ID", correlationId);
+            long startNs = System.nanoTime();
+            try {
+                filterChain.doFilter(request, response);
+            } finally {
+                long elapsedMs = (System.nanoTime() - startNs) / 1_000_000L;
+                log.info("HTTP {} {} -> {} ({} ms)", request.getMethod(), request.getRequestURI(),
+                        response.getStatus(), elapsedMs);
+                MDC.remove("correlationId");
+            }
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package com.example.warehouse.benchmark;
+
+import com.example.warehouse.config.WarehouseContext;
+import com.example.warehouse.config.WarehouseFilter;
+import com.example.warehouse.entity.Staff;
+import com.example.warehouse.entity.User;
+import com.example.warehouse.repository.StaffRepository;
+import com.example.warehouse.repository.UserRepository;
+import com.example.warehouse.security.JwtAuthFilter;
+import com.example.warehouse.security.JwtService;
+import com.example.warehouse.support.AbstractIntegrationTest;
+import com.example.warehouse.support.BenchmarkRounds;
+import com.example.warehouse.support.SqlCapture;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static com.example.warehouse.support.BenchmarkRounds.elapsed;
+import static java.util.concurrent.TimeUnit.MICROSECONDS;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Per-request cost of authenticating a bearer token and resolving the caller's
+ * warehouse: the lookups as they were (the user loaded for the token, then
+ * loaded again plus its staff row for the warehouse), versus
+ * {@code JwtAuthFilter} and {@code WarehouseFilter} reading the cached account.
+ * Counts the SQL statements each request runs. Run with
+ * {@code mvn test -Pbenchmarks}.
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.example.warehouse.support.SqlCapture")
+class AuthenticationLookupBenchmarkTest extends AbstractIntegrationTest {
+
+    private static final Logger log = LoggerFactory.getLogger(AuthenticationLookupBenchmarkTest.class);
+
+    private static final String WAREHOUSE = "bench-auth-wh";
+    private static final String USER = "bench-auth-user";
+    private static final String EMAIL = "bench-auth@example.com";
+    private static final int WARMUP_ROUNDS = 1;
+    private static final int ROUNDS = 7;
+    private static final int REQUESTS_PER_ROUND = 2_000;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private JwtAuthFilter jwtAuthFilter;
+
+    @Autowired
+    private WarehouseFilter warehouseFilter;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private StaffRepository staffRepository;
+
+    private String token;
+
+    @BeforeEach
+    void seed() {
+        jdbcTemplate.update("INSERT INTO warehouse (warehouse_id, name, city, address, landmark) "
+                + "VALUES (?, 'Bench', 'City', 'Address', 'Landmark')", WAREHOUSE);
+        // user_role 3 = PICKER
+        jdbcTemplate.update("INSERT INTO users (user_id, username, email, password, user_role, created_at, "
+                + "last_modified_at, deleted) VALUES (?, 'bench-auth', ?, 'not-a-hash', 3, now(), now(), false)",
+                USER, EMAIL);
+        jdbcTemplate.update("INSERT INTO staff (user_id, warehouse_id) VALUES (?, ?)", USER, WAREHOUSE);
+        token = jwtService.generateToken(org.springframework.security.core.userdetails.User.withUsername(EMAIL)
+                .password("not-a-hash").authorities("PICKER").build());
+    }
+
+    @AfterEach
+    void cleanUp() {
+        SecurityContextHolder.clearContext();
+        jdbcTemplate.update("DELETE FROM staff WHERE user_id = ?", USER);
+        jdbcTemplate.update("DELETE FROM users WHERE user_id = ?", USER);
+        jdbcTemplate.update("DELETE FROM warehouse WHERE warehouse_id = ?", WAREHOUSE);
+    }
+
+    @Test
+    void compareRepositoryAndCachedLookups() {
+        AtomicReference<String> resolved = new AtomicReference<>();
+        FilterChain capture = (request, response) -> resolved.set(WarehouseContext.getWarehouseId());
+        BenchmarkRounds.Body legacy = () -> resolved.set(legacyLookup());
+        BenchmarkRounds.Body cached = () -> {
+            MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/inventory");
+            request.addHeader("Authorization", "Bearer " + token);
+            MockHttpServletResponse response = new MockHttpServletResponse();
+            jwtAuthFilter.doFilter(request, response,
+                    (req, res) -> warehouseFilter.doFilter(req, res, capture));
+        };
+
+        int[] statements = new int[2];
+        Map<String, Double> medians = new BenchmarkRounds()
+                .add("repository lookups", () -> {
+                    SqlCapture.clear();
+                    double micros = elapsed(MICROSECONDS, () -> {
+                        for (int i = 0; i < REQUESTS_PER_ROUND; i++) {
+                            legacy.run();
+                        }
+                    }) / REQUESTS_PER_ROUND;
+                    statements[0] = SqlCapture.statements().size();
+                    assertThat(resolved.get()).isEqualTo(WAREHOUSE);
+                    return micros;
+                })
+                .add("cached account", () -> {
+                    SqlCapture.clear();
+                    double micros = elapsed(MICROSECONDS, () -> {
+                        for (int i = 0; i < REQUESTS_PER_ROUND; i++) {
+                            cached.run();
+                            SecurityContextHolder.clearContext();
+                        }
+                    }) / REQUESTS_PER_ROUND;
+                    statements[1] = SqlCapture.statements().size();
+                    assertThat(resolved.get()).isEqualTo(WAREHOUSE);
+                    return micros;
+                })
+                .run(WARMUP_ROUNDS, ROUNDS);
+        int legacyStatements = statements[0];
+        int cachedStatements = statements[1];
+
+        log.info("median of {} rounds of {} requests", ROUNDS, REQUESTS_PER_ROUND);
+        log.info("repository lookups {} us/request, {} statements/request",
+                String.format("%8.1f", medians.get("repository lookups")),
+                (double) legacyStatements / REQUESTS_PER_ROUND);
+        log.info("cached account     {} us/request, {} statements/request",
+                String.format("%8.1f", medians.get("cached account")), (double) cachedStatements / REQUESTS_PER_ROUND);
+
+        assertThat(legacyStatements).isGreaterThanOrEqualTo(3 * REQUESTS_PER_ROUND);
+        assertThat(cachedStatements).isZero();
+    }
+
+    // DomainUserDetailsService, JwtAuthFilter and WarehouseFilter as they were
+    private String legacyLookup() {
+        String username = jwtService.extractUsername(token);
+        User user = userRepository.searchUserByIdentifier(username).orElseThrow();
+        UserDetails userDetails = org.springframework.security.core.userdetails.User.builder()
+                .username(user.getEmail())
+                .password(user.getPassword())
+                .authorities(user.getUserRole().name())
+                .build();
+        assertThat(jwtService.isTokenValid(token, userDetails)).isTrue();
+        User again = userRepository.searchUserByIdentifier(userDetails.getUsername()).orElseThrow();
+        return staffRepository.findById(again.getUserId())
+                .map(Staff::getWarehouse)
+                .map(warehouse -> warehouse.getWarehouseId())
+                .orElse(null);
+    }
+}
@@ -0,0 +1,93 @@
+package com.example.warehouse.benchmark;
+
+import com.example.warehouse.entity.UuidV7Generator;
+import com.example.warehouse.support.AbstractIntegrationTest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Insert throughput and primary-key index size for random (v4) vs time-ordered
+ * (v7) identifiers, stored as VARCHAR like today and as native uuid.
+ * Run with {@code mvn test -Pbenchmarks}.
+ */
+@Tag("benchmark")
+@SpringBootTest
+class IdentifierInsertBenchmarkTest extends AbstractIntegrationTest {
+
+    private static final Logger log = LoggerFactory.getLogger(IdentifierInsertBenchmarkTest.class);
+
+    private static final int ROWS = 200_000;
+    private static final int BATCH_SIZE = 500;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void dropScratchTables() {
+        jdbcTemplate.execute("DROP TABLE IF EXISTS bench_id_varchar_v4");
+        jdbcTemplate.execute("DROP TABLE IF EXISTS bench_id_varchar_v7");
+        jdbcTemplate.execute("DROP TABLE IF EXISTS bench_id_uuid_v7");
+    }
+
+    @Test
+    void compareRandomAndTimeOrderedIdentifiers() {
+        Result varcharV4 = run("bench_id_varchar_v4", "VARCHAR(255)", UUID::randomUUID, false);
+        Result varcharV7 = run("bench_id_varchar_v7", "VARCHAR(255)", UuidV7Generator::next, false);
+        Result uuidV7 = run("bench_id_uuid_v7", "UUID", UuidV7Generator::next, true);
+
+        log.info("{} rows, batch {}", ROWS, BATCH_SIZE);
+        log.info("{}", varcharV4);
+        log.info("{}", varcharV7);
+        log.info("{}", uuidV7);
+
+        // Appending to the right-most leaf keeps pages ~90% full, random keys split them to ~70%
+        assertThat(varcharV7.indexBytes()).isLessThan(varcharV4.indexBytes());
+        assertThat(uuidV7.indexBytes()).isLessThan(varcharV7.indexBytes());
+    }
+
+    private Result run(String table, String idType, Supplier<UUID> ids, boolean nativeUuid) {
+        jdbcTemplate.execute("CREATE TABLE " + table + " (id " + idType
+                + " PRIMARY KEY, payload VARCHAR(64) NOT NULL, created_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT NOW())");
+        String sql = "INSERT INTO " + table + " (id, payload) VALUES (" + (nativeUuid ? "?::uuid" : "?") + ", ?)";
+
+        long start = System.nanoTime();
+        List<Object[]> batch = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < ROWS; i++) {
+            batch.add(new Object[] { ids.get().toString(), "payload-" + i });
+            if (batch.size() == BATCH_SIZE) {
+                jdbcTemplate.batchUpdate(sql, batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            jdbcTemplate.batchUpdate(sql, batch);
+        }
+        long elapsedNs = System.nanoTime() - start;
+
+        Long rows = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + table, Long.class);
+        assertThat(rows).isEqualTo(ROWS);
+        Long indexBytes = jdbcTemplate.queryForObject(
+                "SELECT pg_relation_size(?::regclass)", Long.class, table + "_pkey");
+        return new Result(table, ROWS * 1_000_000_000.0 / elapsedNs, indexBytes);
+    }
+
+    private record Result(String table, double rowsPerSecond, long indexBytes) {
+        @Override
+        public String toString() {
+            return String.format("%-22s %,12.0f rows/s   pk index %,8d KiB", table, rowsPerSecond, indexBytes / 1024);
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.example.warehouse.benchmark;
+
+import com.example.warehouse.config.WarehouseContext;
+import com.example.warehouse.dto.response.StockLevelResponse;
+import com.example.warehouse.service.contract.InventoryLedgerService;
+import com.example.warehouse.support.AbstractIntegrationTest;
+import com.example.warehouse.support.BenchmarkRounds;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+import static com.example.warehouse.support.BenchmarkRounds.elapsed;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Stock of one block at a point in time with a year of ledger history behind
+ * it: summing every event up to that time, versus the as-of query that starts
+ * from the nearest earlier snapshot. Run with {@code mvn test -Pbenchmarks}.
+ */
+@Tag("benchmark")
+@SpringBootTest
+class InventoryAsOfBenchmarkTest extends AbstractIntegrationTest {
+
+    private static final Logger log = LoggerFactory.getLogger(InventoryAsOfBenchmarkTest.class);
+
+    private static final String WAREHOUSE = "bench-ledger-wh";
+    private static final String BLOCK = "bench-ledger-block";
+    private static final int HISTORY_EVENTS = 1_000_000;
+    private static final int RECENT_EVENTS = 2_000;
+    private static final int PRODUCTS = 50;
+    private static final int WARMUP_ROUNDS = 3;
+    private static final int ROUNDS = 9;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private InventoryLedgerService inventoryLedgerService;
+
+    @BeforeEach
+    void seed() {
+        jdbcTemplate.update("INSERT INTO warehouse (warehouse_id, name, city, address, landmark) "
+                + "VALUES (?, 'Bench', 'City', 'Address', 'Landmark')", WAREHOUSE);
+        jdbcTemplate.update("INSERT INTO block (block_id, name, height, length, breath, type, warehouse_id, deleted) "
+                + "VALUES (?, 'Bench', 10, 10, 10, 1, ?, false)", BLOCK, WAREHOUSE);
+        // A year of small receipts and picks, oldest first, then a snapshot and a few recent events
+        jdbcTemplate.update("INSERT INTO inventory_ledger (recorded_at, inventory_id, product_id, block_id, "
+                + "warehouse_id, quantity_delta, quantity_after, reason) "
+                + "SELECT clock_timestamp() - interval '365 days' + g * interval '30 seconds', "
+                + "'bench-inv-' || (g % ?), 'bench-prod-' || (g % ?), ?, ?, "
+                + "CASE WHEN g % 3 = 0 THEN -1 ELSE 2 END, 0, 'ADJUST' "
+                + "FROM generate_series(1, ?) g", PRODUCTS, PRODUCTS, BLOCK, WAREHOUSE, HISTORY_EVENTS);
+        jdbcTemplate.queryForObject("SELECT snapshot_block_inventory(?)", Long.class, BLOCK);
+        jdbcTemplate.update("INSERT INTO inventory_ledger (inventory_id, product_id, block_id, warehouse_id, "
+                + "quantity_delta, quantity_after, reason) "
+                + "SELECT 'bench-inv-' || (g % ?), 'bench-prod-' || (g % ?), ?, ?, 1, 0, 'ADJUST' "
+                + "FROM generate_series(1, ?) g", PRODUCTS, PRODUCTS, BLOCK, WAREHOUSE, RECENT_EVENTS);
+        jdbcTemplate.execute("ANALYZE inventory_ledger");
+        WarehouseContext.setWarehouseId(WAREHOUSE);
+    }
+
+    @AfterEach
+    void cleanUp() {
+        WarehouseContext.clear();
+        // The ledger rejects deletes; lift that for the synthetic history only
+        jdbcTemplate.execute("ALTER TABLE inventory_ledger DISABLE TRIGGER inventory_ledger_immutable");
+        try {
+            jdbcTemplate.update("DELETE FROM inventory_ledger WHERE block_id = ?", BLOCK);
+        } finally {
+            jdbcTemplate.execute("ALTER TABLE inventory_ledger ENABLE TRIGGER inventory_ledger_immutable");
+        }
+        jdbcTemplate.update("DELETE FROM inventory_snapshot WHERE block_id = ?", BLOCK);
+        jdbcTemplate.update("DELETE FROM block WHERE block_id = ?", BLOCK);
+        jdbcTemplate.update("DELETE FROM warehouse WHERE warehouse_id = ?", WAREHOUSE);
+    }
+
+    @Test
+    void compareFullReplayAndSnapshotReplay() {
+        Instant asOf = jdbcTemplate.queryForObject("SELECT clock_timestamp()", Timestamp.class).toInstant();
+        Supplier<Map<String, Long>> fullReplay = () -> {
+            Map<String, Long> stock = new HashMap<>();
+            jdbcTemplate.query("SELECT product_id, SUM(quantity_delta) AS quantity FROM inventory_ledger "
+                    + "WHERE block_id = ? AND recorded_at <= ? GROUP BY product_id HAVING SUM(quantity_delta) <> 0",
+                    rs -> {
+                        stock.put(rs.getString("product_id"), rs.getLong("quantity"));
+                    }, BLOCK, Timestamp.from(asOf));
+            return stock;
+        };
+        Supplier<Map<String, Long>> fromSnapshot = () -> {
+            Map<String, Long> stock = new HashMap<>();
+            List<StockLevelResponse> levels = inventoryLedgerService.getStockAsOf(BLOCK, asOf);
+            levels.forEach(level -> stock.put(level.getProductId(), level.getQuantity()));
+            return stock;
+        };
+        AtomicReference<Map<String, Long>> fullResult = new AtomicReference<>();
+        AtomicReference<Map<String, Long>> snapshotResult = new AtomicReference<>();
+        Map<String, Double> medians = new BenchmarkRounds()
+                .add("replay every event", () -> elapsed(MILLISECONDS, () -> fullResult.set(fullReplay.get())))
+                .add("replay from snapshot", () -> elapsed(MILLISECONDS, () -> snapshotResult.set(fromSnapshot.get())))
+                .run(WARMUP_ROUNDS, ROUNDS);
+
+        log.info("{} historical + {} recent ledger events on one block, median of {} rounds",
+                HISTORY_EVENTS, RECENT_EVENTS, ROUNDS);
+        BenchmarkRounds.log(log, medians, "%8.1f ms");
+
+        assertThat(snapshotResult.get()).hasSize(PRODUCTS).isEqualTo(fullResult.get());
+    }
+}
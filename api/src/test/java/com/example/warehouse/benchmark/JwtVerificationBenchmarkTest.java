@@ -0,0 +1,95 @@
+package com.example.warehouse.benchmark;
+
+import com.example.warehouse.cache.UserAccountCache.UserAccount;
+import com.example.warehouse.enums.UserRole;
+import com.example.warehouse.security.JwtService;
+import com.example.warehouse.security.WarehouseUserDetails;
+import com.example.warehouse.support.BenchmarkRounds;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Date;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+
+import static com.example.warehouse.support.BenchmarkRounds.elapsed;
+import static java.util.concurrent.TimeUnit.MICROSECONDS;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * CPU cost of checking one bearer token the way JwtAuthFilter used to (key
+ * rebuilt from the secret, token parsed three times) versus
+ * {@link JwtService#verify}, both for a token seen for the first time and for
+ * one already in the verified-token cache. In-memory only. Run with
+ * {@code mvn test -Pbenchmarks}.
+ */
+@Tag("benchmark")
+class JwtVerificationBenchmarkTest {
+
+    private static final Logger log = LoggerFactory.getLogger(JwtVerificationBenchmarkTest.class);
+
+    private static final String SECRET = "0123456789012345678901234567890123456789012345678901234567890123";
+    private static final int TOKENS = 2_000;
+    private static final int WARMUP_ROUNDS = 5;
+    private static final int ROUNDS = 9;
+    private static final int CALLS_PER_ROUND = 20_000;
+
+    @Test
+    void compareTripleParseAndVerifiedTokenCache() {
+        JwtService issuer = new JwtService(SECRET, 3_600_000, TOKENS, Duration.ofMinutes(5));
+        String[] tokens = new String[TOKENS];
+        for (int i = 0; i < TOKENS; i++) {
+            tokens[i] = issuer.generateToken(new WarehouseUserDetails(new UserAccount("u" + i, "user" + i,
+                    "user" + i + "@example.com", "hash", UserRole.PICKER, "wh-a")));
+        }
+
+        ToIntFunction<String> tripleParse = token -> {
+            String username = extractClaim(token, Claims::getSubject);
+            boolean valid = extractClaim(token, Claims::getSubject).equals(username)
+                    && !extractClaim(token, Claims::getExpiration).before(new Date());
+            return valid ? username.length() : 0;
+        };
+        ToIntFunction<String> cached = token -> issuer.verify(token).subject().length();
+        // Zero TTL, so every call misses the cache and parses once
+        JwtService uncached = new JwtService(SECRET, 3_600_000, TOKENS, Duration.ZERO);
+        ToIntFunction<String> parseOnce = token -> uncached.verify(token).subject().length();
+
+        long[] expected = new long[1];
+        Map<String, Double> medians = new BenchmarkRounds()
+                .add("key per call, three parses",
+                        () -> elapsed(MICROSECONDS, () -> expected[0] = run(tokens, tripleParse)) / CALLS_PER_ROUND)
+                .add("cached key, one parse", () -> elapsed(MICROSECONDS,
+                        () -> assertThat(run(tokens, parseOnce)).isEqualTo(expected[0])) / CALLS_PER_ROUND)
+                .add("verified-token cache hit", () -> elapsed(MICROSECONDS,
+                        () -> assertThat(run(tokens, cached)).isEqualTo(expected[0])) / CALLS_PER_ROUND)
+                .run(WARMUP_ROUNDS, ROUNDS);
+
+        log.info("{} distinct tokens, median of {} rounds of {} verifications", TOKENS, ROUNDS, CALLS_PER_ROUND);
+        BenchmarkRounds.log(log, medians, "%8.2f us/token");
+    }
+
+    private static long run(String[] tokens, ToIntFunction<String> verify) {
+        long checksum = 0;
+        for (int i = 0; i < CALLS_PER_ROUND; i++) {
+            checksum += verify.applyAsInt(tokens[i % tokens.length]);
+        }
+        return checksum;
+    }
+
+    // JwtService.extractClaim as it was: a new key and parser for every claim
+    private static <T> T extractClaim(String token, Function<Claims, T> resolver) {
+        return resolver.apply(Jwts.parser()
+                .verifyWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)))
+                .build()
+                .parseSignedClaims(token)
+                .getPayload());
+    }
+}
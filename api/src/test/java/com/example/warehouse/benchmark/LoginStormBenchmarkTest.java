@@ -0,0 +1,209 @@
+package com.example.warehouse.benchmark;
+
+import com.example.warehouse.security.JwtService;
+import com.example.warehouse.support.AbstractIntegrationTest;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Latency of a picker's task list while {@code STORM_THREADS} clients log in
+ * as fast as they can: with no logins, with the storm going through
+ * {@code POST /api/login} (BCrypt on the bounded login pool, excess shed with
+ * 503 and retried after Retry-After), and with the same storm hashing on its
+ * own threads, the way every request thread used to run BCrypt. Run with
+ * {@code mvn test -Pbenchmarks}.
+ */
+@Tag("benchmark")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = { "app.login.threads=1", "app.login.queue-capacity=4", "app.login.max-queue-wait=500ms" })
+class LoginStormBenchmarkTest extends AbstractIntegrationTest {
+
+    private static final Logger log = LoggerFactory.getLogger(LoginStormBenchmarkTest.class);
+
+    private static final String WAREHOUSE = "bench-login-wh";
+    private static final String USER = "bench-login-user";
+    private static final String USERNAME = "bench-login";
+    private static final String PASSWORD = "Password@123";
+    private static final int STORM_THREADS = 16;
+    private static final int WARMUP_REQUESTS = 200;
+    private static final int REQUESTS = 1_000;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private UserDetailsService userDetailsService;
+
+    @Autowired
+    private AuthenticationManager authenticationManager;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+    private String token;
+
+    @BeforeEach
+    void seed() {
+        jdbcTemplate.update("INSERT INTO warehouse (warehouse_id, name, city, address, landmark) "
+                + "VALUES (?, 'Bench', 'City', 'Address', 'Landmark')", WAREHOUSE);
+        // user_role 3 = PICKER
+        jdbcTemplate.update("INSERT INTO users (user_id, username, email, password, user_role, created_at, "
+                + "last_modified_at, deleted) VALUES (?, ?, 'bench-login@example.com', ?, 3, now(), now(), false)",
+                USER, USERNAME, passwordEncoder.encode(PASSWORD));
+        jdbcTemplate.update("INSERT INTO staff (user_id, warehouse_id) VALUES (?, ?)", USER, WAREHOUSE);
+        UserDetails picker = userDetailsService.loadUserByUsername(USERNAME);
+        token = jwtService.generateToken(picker);
+    }
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.update("DELETE FROM staff WHERE user_id = ?", USER);
+        jdbcTemplate.update("DELETE FROM users WHERE user_id = ?", USER);
+        jdbcTemplate.update("DELETE FROM warehouse WHERE warehouse_id = ?", WAREHOUSE);
+    }
+
+    @Test
+    void pickingLatencyHoldsDuringALoginStorm() throws Exception {
+        measurePicking(WARMUP_REQUESTS);
+        double[] idle = measurePicking(REQUESTS);
+
+        ConcurrentHashMap<Integer, AtomicLong> loginStatuses = new ConcurrentHashMap<>();
+        double[] pooled = duringStorm(() -> {
+            int status = login();
+            loginStatuses.computeIfAbsent(status, s -> new AtomicLong()).incrementAndGet();
+        });
+
+        AtomicLong inlineLogins = new AtomicLong();
+        double[] inline = duringStorm(() -> {
+            authenticationManager.authenticate(new UsernamePasswordAuthenticationToken(USERNAME, PASSWORD));
+            inlineLogins.incrementAndGet();
+        });
+
+        log.info("{} picking requests, {} login threads", REQUESTS, STORM_THREADS);
+        log.info("no logins                   p50 {} ms  p99 {} ms", format(idle, 0.50), format(idle, 0.99));
+        log.info("storm via login pool        p50 {} ms  p99 {} ms  logins by status {}",
+                format(pooled, 0.50), format(pooled, 0.99), loginStatuses);
+        log.info("storm hashing on own threads p50 {} ms  p99 {} ms  {} logins",
+                format(inline, 0.50), format(inline, 0.99), inlineLogins.get());
+        log.info("login pool: {} succeeded, {} shed, mean login {} ms",
+                meterRegistry.timer("auth.login", "outcome", "success").count(),
+                meterRegistry.timer("auth.login", "outcome", "rejected").count(),
+                String.format("%.1f", meterRegistry.timer("auth.login", "outcome", "success")
+                        .mean(TimeUnit.MILLISECONDS)));
+
+        assertThat(loginStatuses.keySet()).isSubsetOf(200, 503);
+        assertThat(loginStatuses.get(200)).isNotNull();
+    }
+
+    private interface Login {
+        void run() throws Exception;
+    }
+
+    // Picking latencies with STORM_THREADS clients running the login in a loop
+    private double[] duringStorm(Login login) throws Exception {
+        AtomicBoolean storming = new AtomicBoolean(true);
+        ExecutorService storm = Executors.newFixedThreadPool(STORM_THREADS);
+        try {
+            List<Future<?>> clients = new ArrayList<>();
+            for (int t = 0; t < STORM_THREADS; t++) {
+                clients.add(storm.submit(() -> {
+                    while (storming.get()) {
+                        login.run();
+                    }
+                    return null;
+                }));
+            }
+            Thread.sleep(500);
+            double[] latencies = measurePicking(REQUESTS);
+            storming.set(false);
+            for (Future<?> client : clients) {
+                client.get();
+            }
+            return latencies;
+        } finally {
+            storm.shutdown();
+        }
+    }
+
+    private double[] measurePicking(int requests) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(uri("/api/orders/pick-tasks/picker/" + USERNAME))
+                .header("Authorization", "Bearer " + token)
+                .GET()
+                .build();
+        double[] millis = new double[requests];
+        for (int i = 0; i < requests; i++) {
+            long start = System.nanoTime();
+            HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+            millis[i] = (System.nanoTime() - start) / 1_000_000.0;
+            assertThat(response.statusCode()).isEqualTo(200);
+        }
+        return millis;
+    }
+
+    // A well-behaved client: after a 503 it waits as long as Retry-After asks
+    private int login() throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(uri("/api/login"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(
+                        "{\"identifier\":\"" + USERNAME + "\",\"password\":\"" + PASSWORD + "\"}"))
+                .build();
+        HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+        if (response.statusCode() == 503) {
+            long retryAfter = response.headers().firstValueAsLong("Retry-After").orElse(1);
+            Thread.sleep(TimeUnit.SECONDS.toMillis(retryAfter));
+        }
+        return response.statusCode();
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+
+    private static String format(double[] values, double percentile) {
+        double[] sorted = values.clone();
+        Arrays.sort(sorted);
+        return String.format("%7.1f", sorted[(int) Math.ceil(percentile * sorted.length) - 1]);
+    }
+}
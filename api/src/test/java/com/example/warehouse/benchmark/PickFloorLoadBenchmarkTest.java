@@ -0,0 +1,154 @@
+package com.example.warehouse.benchmark;
+
+import com.example.warehouse.benchmark.load.LoadReport;
+import com.example.warehouse.benchmark.load.LoadSettings;
+import com.example.warehouse.benchmark.load.PickFloorSimulation;
+import com.example.warehouse.journal.StockMovementJournal;
+import com.example.warehouse.support.AbstractIntegrationTest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The pick floor simulation ({@link PickFloorSimulation}) against the app on
+ * a random port and Testcontainers Postgres: {@code PICKERS} pickers, two
+ * packers, a dispatcher and two dashboard viewers working a warehouse of
+ * {@code PRODUCTS} well-stocked SKUs for {@code DURATION}. The report is
+ * logged and written to {@code target/load-report.json}; pass
+ * {@code -Dload.baseline=<earlier report>} to compare with it. Run with
+ * {@code mvn test -Pbenchmarks}.
+ */
+@Tag("benchmark")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class PickFloorLoadBenchmarkTest extends AbstractIntegrationTest {
+
+    private static final Logger log = LoggerFactory.getLogger(PickFloorLoadBenchmarkTest.class);
+
+    private static final String WAREHOUSE = "bench-load-wh";
+    private static final String PASSWORD = "Password@123";
+    private static final int PICKERS = 6;
+    private static final int BLOCKS = 8;
+    private static final int PRODUCTS = 60;
+    private static final Duration WARMUP = Duration.ofSeconds(10);
+    private static final Duration DURATION = Duration.ofSeconds(45);
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private StockMovementJournal stockMovementJournal;
+
+    private final List<String> pickers = new ArrayList<>();
+
+    @BeforeEach
+    void seed() {
+        jdbcTemplate.update("INSERT INTO warehouse (warehouse_id, name, city, address, landmark) "
+                + "VALUES (?, 'Bench', 'City', 'Address', 'Landmark')", WAREHOUSE);
+        String hash = passwordEncoder.encode(PASSWORD);
+        // user_role 2 = WAREHOUSE_MANAGER, 4 = PACKER, 0 = STAFF, 3 = PICKER
+        user("bench-load-manager", 2, hash);
+        user("bench-load-packer", 4, hash);
+        user("bench-load-viewer", 0, hash);
+        for (int p = 1; p <= PICKERS; p++) {
+            pickers.add("bench-load-picker-" + p);
+            user("bench-load-picker-" + p, 3, hash);
+        }
+        jdbcTemplate.update("INSERT INTO block (block_id, name, height, length, breath, type, warehouse_id, deleted) "
+                + "SELECT 'bench-load-block-' || b, 'Bench ' || b, 10, 10, 10, 1, ?, false "
+                + "FROM generate_series(1, ?) b", WAREHOUSE, BLOCKS);
+        jdbcTemplate.update("INSERT INTO product (product_id, name, sku, category, unit_price, volume, created_at, "
+                + "last_modified_at) "
+                + "SELECT 'bench-load-prod-' || p, 'Bench ' || p, 'SKU-BENCH-LOAD-' || p, 'BENCH', 1.0, 0.001, "
+                + "now(), now() FROM generate_series(1, ?) p", PRODUCTS);
+        // Enough stock that no order of the run goes short
+        jdbcTemplate.update("INSERT INTO inventory (inventory_id, product_id, block_id, quantity, reserved_quantity, "
+                + "damaged_quantity, min_stock_level, max_stock_level, created_at, last_modified_at, warehouse_id, "
+                + "deleted, version) "
+                + "SELECT 'bench-load-inv-' || p, 'bench-load-prod-' || p, 'bench-load-block-' || (1 + p % ?), "
+                + "1000000, 0, 0, 10, 2000000, now(), now(), ?, false, 0 FROM generate_series(1, ?) p",
+                BLOCKS, WAREHOUSE, PRODUCTS);
+    }
+
+    @AfterEach
+    void cleanUp() throws InterruptedException {
+        // Pick and dispatch movements are written behind; let them land before removing what they point at
+        stockMovementJournal.awaitWritten(Duration.ofSeconds(30));
+        jdbcTemplate.update("DELETE FROM shipment_event WHERE shipment_id IN "
+                + "(SELECT shipment_id FROM shipment WHERE warehouse_id = ?)", WAREHOUSE);
+        jdbcTemplate.update("DELETE FROM shipment_item WHERE shipment_id IN "
+                + "(SELECT shipment_id FROM shipment WHERE warehouse_id = ?)", WAREHOUSE);
+        jdbcTemplate.update("DELETE FROM shipment WHERE warehouse_id = ?", WAREHOUSE);
+        jdbcTemplate.update("DELETE FROM pick_task WHERE warehouse_id = ?", WAREHOUSE);
+        jdbcTemplate.update("DELETE FROM orders WHERE warehouse_id = ?", WAREHOUSE);
+        jdbcTemplate.update("DELETE FROM stock_movement WHERE warehouse_id = ?", WAREHOUSE);
+        // The ledger rejects deletes; lift that for this run's rows only
+        jdbcTemplate.execute("ALTER TABLE inventory_ledger DISABLE TRIGGER inventory_ledger_immutable");
+        try {
+            jdbcTemplate.update("DELETE FROM inventory_ledger WHERE warehouse_id = ?", WAREHOUSE);
+        } finally {
+            jdbcTemplate.execute("ALTER TABLE inventory_ledger ENABLE TRIGGER inventory_ledger_immutable");
+        }
+        jdbcTemplate.update("DELETE FROM inventory_snapshot WHERE block_id LIKE 'bench-load-block-%'");
+        jdbcTemplate.update("DELETE FROM inventory WHERE warehouse_id = ?", WAREHOUSE);
+        jdbcTemplate.update("DELETE FROM product WHERE product_id LIKE 'bench-load-prod-%'");
+        jdbcTemplate.update("DELETE FROM block WHERE warehouse_id = ?", WAREHOUSE);
+        jdbcTemplate.update("DELETE FROM staff WHERE warehouse_id = ?", WAREHOUSE);
+        jdbcTemplate.update("DELETE FROM users WHERE username LIKE 'bench-load-%'");
+        jdbcTemplate.update("DELETE FROM warehouse WHERE warehouse_id = ?", WAREHOUSE);
+    }
+
+    @Test
+    void pickFloorKeepsOrdersFlowing() throws Exception {
+        LoadSettings settings = new LoadSettings(URI.create("http://localhost:" + port), WARMUP, DURATION, 42,
+                PASSWORD, "bench-load-manager", "bench-load-packer", "bench-load-viewer", pickers,
+                2, 2, 1, 2, 4, 0.5);
+
+        LoadReport report = new PickFloorSimulation(settings).run();
+
+        Path reportFile = Path.of(System.getProperty("load.report", "target/load-report.json"));
+        report.write(reportFile);
+        log.info("Pick floor report written to {}\n{}", reportFile, report.format());
+        String baseline = System.getProperty("load.baseline");
+        if (baseline != null && !baseline.isBlank()) {
+            log.info("Against {}: {}", baseline, report.regressionsAgainst(LoadReport.read(Path.of(baseline)),
+                    Double.parseDouble(System.getProperty("load.tolerance", "0.2"))));
+        }
+
+        // Conflicts are retried and dashboards may be rate limited; anything else is a bug under load
+        report.endpoints().forEach((endpoint, stats) -> assertThat(stats.errors()).as(endpoint).isZero());
+        assertThat(report.flow().getOrDefault("orders.created", 0L)).isPositive();
+        assertThat(report.flow().getOrDefault("tasks.completed", 0L)).isPositive();
+        assertThat(report.flow().getOrDefault("orders.dispatched", 0L)).isPositive();
+        assertThat(LoadReport.read(reportFile)).isEqualTo(report);
+    }
+
+    private void user(String username, int role, String passwordHash) {
+        String userId = username + "-id";
+        jdbcTemplate.update("INSERT INTO users (user_id, username, email, password, user_role, created_at, "
+                + "last_modified_at, deleted) VALUES (?, ?, ?, ?, ?, now(), now(), false)",
+                userId, username, username + "@example.com", passwordHash, role);
+        jdbcTemplate.update("INSERT INTO staff (user_id, warehouse_id) VALUES (?, ?)", userId, WAREHOUSE);
+    }
+}
@@ -0,0 +1,123 @@
+package com.example.warehouse.benchmark;
+
+import com.example.warehouse.entity.Block;
+import com.example.warehouse.entity.Inventory;
+import com.example.warehouse.entity.Product;
+import com.example.warehouse.support.BenchmarkRounds;
+import com.example.warehouse.util.ProductDimensions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.ToDoubleFunction;
+
+import static com.example.warehouse.support.BenchmarkRounds.elapsed;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+/**
+ * Per-block occupied volume over 1M inventory rows, the computation behind the
+ * utilization dashboard: once parsing each product's dimensions string per row
+ * (the old {@code Product.getVolume()}), once reading the stored volume column.
+ * In-memory only, so it isolates the volume lookup from the database. Run with
+ * {@code mvn test -Pbenchmarks}.
+ */
+@Tag("benchmark")
+class ProductVolumeBenchmarkTest {
+
+    private static final Logger log = LoggerFactory.getLogger(ProductVolumeBenchmarkTest.class);
+
+    private static final int ROWS = 1_000_000;
+    private static final int PRODUCTS = 5_000;
+    private static final int BLOCKS = 2_000;
+    private static final int WARMUP_ROUNDS = 3;
+    private static final int ROUNDS = 7;
+
+    private static List<Inventory> inventories;
+
+    @BeforeAll
+    static void buildRows() {
+        Random random = new Random(42);
+        Product[] products = new Product[PRODUCTS];
+        for (int p = 0; p < PRODUCTS; p++) {
+            Product product = new Product();
+            product.setProductId("prod-" + p);
+            product.setDimensions((10 + random.nextInt(90)) + "x" + (10 + random.nextInt(90)) + "x"
+                    + (1 + random.nextInt(50)));
+            product.setVolume(ProductDimensions.parse(product.getDimensions()).orElseThrow().volume());
+            products[p] = product;
+        }
+        Block[] blocks = new Block[BLOCKS];
+        for (int b = 0; b < BLOCKS; b++) {
+            blocks[b] = new Block();
+            blocks[b].setBlockId("block-" + b);
+        }
+        inventories = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            Inventory inventory = new Inventory();
+            inventory.setProduct(products[random.nextInt(PRODUCTS)]);
+            inventory.setBlock(blocks[random.nextInt(BLOCKS)]);
+            inventory.setQuantity(1 + random.nextInt(200));
+            inventories.add(inventory);
+        }
+    }
+
+    @Test
+    void compareParsedAndStoredVolume() {
+        ToDoubleFunction<Product> parsed = product -> parseVolume(product.getDimensions());
+        ToDoubleFunction<Product> stored = Product::getVolume;
+        AtomicReference<Map<String, Double>> parsedResult = new AtomicReference<>();
+        AtomicReference<Map<String, Double>> storedResult = new AtomicReference<>();
+        Map<String, Double> medians = new BenchmarkRounds()
+                .add("parse dimensions per row",
+                        () -> elapsed(MILLISECONDS, () -> parsedResult.set(occupiedVolumeByBlock(parsed))))
+                .add("stored volume column",
+                        () -> elapsed(MILLISECONDS, () -> storedResult.set(occupiedVolumeByBlock(stored))))
+                .run(WARMUP_ROUNDS, ROUNDS);
+
+        log.info("{} inventory rows over {} blocks, median of {} rounds", ROWS, BLOCKS, ROUNDS);
+        BenchmarkRounds.log(log, medians, "%8.1f ms");
+
+        assertThat(storedResult.get()).hasSize(BLOCKS);
+        for (Map.Entry<String, Double> block : storedResult.get().entrySet()) {
+            assertThat(block.getValue()).isCloseTo(parsedResult.get().get(block.getKey()), within(1e-6));
+        }
+    }
+
+    private static Map<String, Double> occupiedVolumeByBlock(ToDoubleFunction<Product> volume) {
+        Map<String, Double> occupied = new HashMap<>();
+        for (Inventory inventory : inventories) {
+            occupied.merge(inventory.getBlock().getBlockId(),
+                    inventory.getQuantity() * volume.applyAsDouble(inventory.getProduct()), Double::sum);
+        }
+        return occupied;
+    }
+
+    // Product.getVolume() as it was before the volume column
+    private static double parseVolume(String dimensions) {
+        if (dimensions == null || dimensions.isEmpty()) {
+            return 0.0;
+        }
+        try {
+            String[] parts = dimensions.split("x");
+            if (parts.length == 3) {
+                double l = Double.parseDouble(parts[0].trim());
+                double w = Double.parseDouble(parts[1].trim());
+                double h = Double.parseDouble(parts[2].trim());
+                return (l * w * h) / 1000000.0;
+            }
+        } catch (NumberFormatException e) {
+            // ignore invalid formats
+        }
+        return 0.0;
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.warehouse.benchmark;
+
+import com.example.warehouse.ratelimit.RateLimitInterceptor;
+import com.example.warehouse.ratelimit.RateLimitProperties;
+import com.example.warehouse.ratelimit.RateLimiter;
+import com.example.warehouse.support.BenchmarkRounds;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Per-request cost of {@link RateLimitInterceptor} on a limited route, callers
+ * spread over {@code CALLERS} buckets, and on a route without a limit. One
+ * thread, in-memory buckets; the interceptor is called directly, so servlet
+ * dispatch is not included. Run with {@code mvn test -Pbenchmarks}.
+ */
+@Tag("benchmark")
+class RateLimitOverheadBenchmarkTest {
+
+    private static final Logger log = LoggerFactory.getLogger(RateLimitOverheadBenchmarkTest.class);
+
+    private static final int CALLERS = 10_000;
+    private static final int WARMUP_ROUNDS = 5;
+    private static final int ROUNDS = 9;
+    private static final int REQUESTS_PER_ROUND = 1_000_000;
+
+    @Test
+    void measureInterceptorOverhead() {
+        RateLimitProperties.Route route = new RateLimitProperties.Route();
+        route.setPaths(List.of("/api/stock-movements/**"));
+        route.setCapacity(1_000_000);
+        route.setRefillPerSecond(1_000_000);
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.getRoutes().put("stock-movements", route);
+        RateLimitInterceptor interceptor = new RateLimitInterceptor(
+                new RateLimiter(properties, new SimpleMeterRegistry(), Optional.empty()));
+
+        MockHttpServletRequest limited = request("/api/stock-movements/recent");
+        MockHttpServletRequest unlimited = request("/api/orders/{orderId}");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        String[] callers = new String[CALLERS];
+        for (int i = 0; i < CALLERS; i++) {
+            callers[i] = "10.0." + (i / 256) + "." + (i % 256);
+        }
+
+        Map<String, Double> medians = new BenchmarkRounds()
+                .add("limited route", () -> run(interceptor, limited, response, callers))
+                .add("unlimited route", () -> run(interceptor, unlimited, response, callers))
+                .run(WARMUP_ROUNDS, ROUNDS);
+
+        log.info("{} callers, median of {} rounds of {} requests", CALLERS, ROUNDS, REQUESTS_PER_ROUND);
+        BenchmarkRounds.log(log, medians, "%6.1f ns/request");
+    }
+
+    private static double run(RateLimitInterceptor interceptor, MockHttpServletRequest request,
+            MockHttpServletResponse response, String[] callers) {
+        long start = System.nanoTime();
+        for (int i = 0; i < REQUESTS_PER_ROUND; i++) {
+            request.setRemoteAddr(callers[i % CALLERS]);
+            if (!interceptor.preHandle(request, response, interceptor)) {
+                throw new AssertionError("request was limited");
+            }
+        }
+        return (System.nanoTime() - start) / (double) REQUESTS_PER_ROUND;
+    }
+
+    private static MockHttpServletRequest request(String pattern) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", pattern);
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, pattern);
+        return request;
+    }
+}
@@ -0,0 +1,134 @@
+package com.example.warehouse.benchmark;
+
+import com.example.warehouse.config.WarehouseContext;
+import com.example.warehouse.entity.Inventory;
+import com.example.warehouse.repository.InventoryRepository;
+import com.example.warehouse.support.AbstractIntegrationTest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Heap and CPU spent loading a large list of entities in a read-write versus a
+ * read-only transaction. In a read-write transaction Hibernate keeps a snapshot
+ * of every loaded entity and dirty-checks all of them at commit; a read-only
+ * transaction keeps no snapshots and does not flush. Run with
+ * {@code mvn test -Pbenchmarks}.
+ */
+@Tag("benchmark")
+@SpringBootTest
+class ReadOnlyTransactionBenchmarkTest extends AbstractIntegrationTest {
+
+    private static final Logger log = LoggerFactory.getLogger(ReadOnlyTransactionBenchmarkTest.class);
+
+    private static final int ROWS = 50_000;
+    private static final int WARMUP_ROUNDS = 3;
+    private static final int ROUNDS = 7;
+
+    private final com.sun.management.ThreadMXBean threads =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private InventoryRepository inventoryRepository;
+
+    @BeforeEach
+    void seed() {
+        jdbcTemplate.update("INSERT INTO warehouse (warehouse_id, name, city, address, landmark) "
+                + "VALUES ('bench-ro-wh', 'Bench', 'City', 'Address', 'Landmark')");
+        jdbcTemplate.update("INSERT INTO product (product_id, name, sku, category, unit_price, created_at, last_modified_at) "
+                + "VALUES ('bench-ro-prod', 'Bench', 'SKU-BENCH-RO', 'BENCH', 1.0, now(), now())");
+        jdbcTemplate.update("INSERT INTO block (block_id, name, height, length, breath, type, warehouse_id, deleted) "
+                + "VALUES ('bench-ro-block', 'Bench', 10, 10, 10, 1, 'bench-ro-wh', false)");
+        jdbcTemplate.update("INSERT INTO inventory (inventory_id, product_id, block_id, quantity, reserved_quantity, "
+                + "damaged_quantity, min_stock_level, max_stock_level, created_at, last_modified_at, warehouse_id, "
+                + "deleted, version) "
+                + "SELECT 'bench-ro-inv-' || i, 'bench-ro-prod', 'bench-ro-block', 100, 0, 0, 10, 500, now(), now(), "
+                + "'bench-ro-wh', false, 0 FROM generate_series(1, ?) i", ROWS);
+        WarehouseContext.setWarehouseId("bench-ro-wh");
+    }
+
+    @AfterEach
+    void cleanUp() {
+        WarehouseContext.clear();
+        jdbcTemplate.update("DELETE FROM inventory WHERE warehouse_id = 'bench-ro-wh'");
+        jdbcTemplate.update("DELETE FROM block WHERE block_id = 'bench-ro-block'");
+        jdbcTemplate.update("DELETE FROM product WHERE product_id = 'bench-ro-prod'");
+        jdbcTemplate.update("DELETE FROM warehouse WHERE warehouse_id = 'bench-ro-wh'");
+    }
+
+    @Test
+    void compareReadWriteAndReadOnlyListReads() {
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            measure(false);
+            measure(true);
+        }
+        Sample[] readWrite = new Sample[ROUNDS];
+        Sample[] readOnly = new Sample[ROUNDS];
+        for (int round = 0; round < ROUNDS; round++) {
+            readWrite[round] = measure(false);
+            readOnly[round] = measure(true);
+        }
+
+        Sample readWriteMedian = Sample.median(readWrite);
+        Sample readOnlyMedian = Sample.median(readOnly);
+        log.info("{} inventory rows per read, median of {} rounds", ROWS, ROUNDS);
+        log.info("read-write {}", readWriteMedian);
+        log.info("read-only  {}", readOnlyMedian);
+
+        assertThat(readOnlyMedian.allocatedBytes()).isLessThan(readWriteMedian.allocatedBytes());
+    }
+
+    private Sample measure(boolean readOnly) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(readOnly);
+        long threadId = Thread.currentThread().getId();
+
+        long allocatedBefore = threads.getThreadAllocatedBytes(threadId);
+        long cpuBefore = threads.getCurrentThreadCpuTime();
+        // Commit is inside the measurement: that is where read-write pays for dirty checking
+        Integer rows = transaction.execute(status -> {
+            List<Inventory> inventories = inventoryRepository.findAll();
+            return inventories.size();
+        });
+        long cpuNs = threads.getCurrentThreadCpuTime() - cpuBefore;
+        long allocatedBytes = threads.getThreadAllocatedBytes(threadId) - allocatedBefore;
+
+        assertThat(rows).isEqualTo(ROWS);
+        return new Sample(allocatedBytes, cpuNs);
+    }
+
+    private record Sample(long allocatedBytes, long cpuNs) {
+
+        static Sample median(Sample[] samples) {
+            long[] allocated = Arrays.stream(samples).mapToLong(Sample::allocatedBytes).sorted().toArray();
+            long[] cpu = Arrays.stream(samples).mapToLong(Sample::cpuNs).sorted().toArray();
+            return new Sample(allocated[allocated.length / 2], cpu[cpu.length / 2]);
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%,8.1f MiB allocated   %,8.1f ms CPU",
+                    allocatedBytes / (1024.0 * 1024.0), cpuNs / 1_000_000.0);
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.warehouse.benchmark;
+
+import com.example.warehouse.config.LatencyInterceptor;
+import com.example.warehouse.metrics.RequestLatencyMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+
+import static com.example.warehouse.support.BenchmarkRounds.median;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Cost of timing one request with {@link LatencyInterceptor}: nanoseconds and
+ * heap bytes allocated per request, over requests spread across routes and
+ * statuses. The interceptor is called directly on one thread, so servlet
+ * dispatch is not included. Run with {@code mvn test -Pbenchmarks}.
+ */
+@Tag("benchmark")
+class RequestLatencyRecordingBenchmarkTest {
+
+    private static final Logger log = LoggerFactory.getLogger(RequestLatencyRecordingBenchmarkTest.class);
+
+    private static final int WARMUP_ROUNDS = 5;
+    private static final int ROUNDS = 9;
+    private static final int REQUESTS_PER_ROUND = 1_000_000;
+
+    @Test
+    void measureRecordingCost() {
+        LatencyInterceptor interceptor = new LatencyInterceptor(
+                new RequestLatencyMetrics(new SimpleMeterRegistry(), Duration.ofMinutes(1), 6));
+        String[] routes = { "/api/orders/{orderId}", "/api/inventory", "/api/orders/pick-tasks/picker/{username}",
+                "/api/stock-movements/recent" };
+        int[] statuses = { 200, 200, 200, 404, 500 };
+        MockHttpServletRequest[] requests = new MockHttpServletRequest[routes.length];
+        for (int i = 0; i < routes.length; i++) {
+            requests[i] = new MockHttpServletRequest("GET", routes[i]);
+            requests[i].setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, routes[i]);
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long thread = Thread.currentThread().getId();
+
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            run(interceptor, requests, response, statuses);
+        }
+        double[] nanos = new double[ROUNDS];
+        double[] bytes = new double[ROUNDS];
+        for (int round = 0; round < ROUNDS; round++) {
+            long allocated = threads.getThreadAllocatedBytes(thread);
+            long start = System.nanoTime();
+            run(interceptor, requests, response, statuses);
+            nanos[round] = (System.nanoTime() - start) / (double) REQUESTS_PER_ROUND;
+            bytes[round] = (threads.getThreadAllocatedBytes(thread) - allocated) / (double) REQUESTS_PER_ROUND;
+        }
+
+        log.info("{} routes x {} statuses, median of {} rounds of {} requests", routes.length, statuses.length,
+                ROUNDS, REQUESTS_PER_ROUND);
+        log.info("record one request {} ns, {} bytes allocated", String.format("%6.1f", median(nanos)),
+                String.format("%.3f", median(bytes)));
+
+        assertThat(median(bytes)).isLessThan(1.0);
+    }
+
+    private static void run(LatencyInterceptor interceptor, MockHttpServletRequest[] requests,
+            MockHttpServletResponse response, int[] statuses) {
+        for (int i = 0; i < REQUESTS_PER_ROUND; i++) {
+            MockHttpServletRequest request = requests[i % requests.length];
+            response.setStatus(statuses[i % statuses.length]);
+            interceptor.preHandle(request, response, interceptor);
+            interceptor.afterCompletion(request, response, interceptor, null);
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package com.example.warehouse.benchmark;
+
+import com.example.warehouse.entity.Block;
+import com.example.warehouse.entity.MovementType;
+import com.example.warehouse.entity.Product;
+import com.example.warehouse.entity.StockMovement;
+import com.example.warehouse.entity.UuidV7Generator;
+import com.example.warehouse.journal.StockMovementJournal;
+import com.example.warehouse.repository.StockMovementRepository;
+import com.example.warehouse.support.AbstractIntegrationTest;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Sustained stock movement write rate from concurrent callers: one
+ * transaction and one INSERT per movement through the repository (how
+ * {@code recordMovement} used to write), versus the write-behind journal,
+ * both fire-and-forget and with every caller waiting for its own commit.
+ * Run with {@code mvn test -Pbenchmarks}.
+ */
+@Tag("benchmark")
+@SpringBootTest
+class StockMovementJournalBenchmarkTest extends AbstractIntegrationTest {
+
+    private static final Logger log = LoggerFactory.getLogger(StockMovementJournalBenchmarkTest.class);
+
+    private static final int THREADS = 16;
+    private static final int REPOSITORY_MOVEMENTS = 10_000;
+    private static final int JOURNAL_MOVEMENTS = 200_000;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private StockMovementRepository stockMovementRepository;
+
+    @Autowired
+    private StockMovementJournal journal;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @BeforeEach
+    void seed() {
+        jdbcTemplate.update("INSERT INTO warehouse (warehouse_id, name, city, address, landmark) "
+                + "VALUES ('bench-journal-wh', 'Bench', 'City', 'Address', 'Landmark')");
+        jdbcTemplate.update("INSERT INTO product (product_id, name, sku, category, unit_price, created_at, last_modified_at) "
+                + "VALUES ('bench-journal-prod', 'Bench', 'SKU-BENCH-JOURNAL', 'BENCH', 1.0, now(), now())");
+        jdbcTemplate.update("INSERT INTO block (block_id, name, height, length, breath, type, warehouse_id, deleted) "
+                + "VALUES ('bench-journal-block', 'Bench', 10, 10, 10, 1, 'bench-journal-wh', false)");
+    }
+
+    @AfterEach
+    void cleanUp() throws InterruptedException {
+        journal.awaitWritten(Duration.ofSeconds(60));
+        jdbcTemplate.update("DELETE FROM stock_movement WHERE warehouse_id = 'bench-journal-wh'");
+        jdbcTemplate.update("DELETE FROM block WHERE block_id = 'bench-journal-block'");
+        jdbcTemplate.update("DELETE FROM product WHERE product_id = 'bench-journal-prod'");
+        jdbcTemplate.update("DELETE FROM warehouse WHERE warehouse_id = 'bench-journal-wh'");
+    }
+
+    @Test
+    void compareRowAtATimeAndJournalThroughput() throws Exception {
+        // Warm-up for both paths
+        run(1_000, this::saveThroughRepository);
+        run(10_000, i -> journal.append(entry()).join());
+
+        double repository = run(REPOSITORY_MOVEMENTS, this::saveThroughRepository);
+        double durable = run(JOURNAL_MOVEMENTS, i -> journal.append(entry()).join());
+        long bufferedStart = System.nanoTime();
+        double buffered = run(JOURNAL_MOVEMENTS, i -> journal.append(entry()));
+        assertThat(journal.awaitWritten(Duration.ofSeconds(60))).isTrue();
+        double bufferedWritten = JOURNAL_MOVEMENTS / ((System.nanoTime() - bufferedStart) / 1e9);
+
+        log.info("{} caller threads", THREADS);
+        log.info("repository, one tx per row   {} movements/s", String.format("%,10.0f", repository));
+        log.info("journal, callers wait       {} movements/s", String.format("%,10.0f", durable));
+        log.info("journal, fire-and-forget    {} movements/s accepted, {} movements/s written",
+                String.format("%,10.0f", buffered), String.format("%,10.0f", bufferedWritten));
+
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM stock_movement WHERE warehouse_id = 'bench-journal-wh'", Long.class))
+                .isEqualTo(1_000L + 10_000 + REPOSITORY_MOVEMENTS + 2L * JOURNAL_MOVEMENTS);
+    }
+
+    private interface Call {
+        void run(int i);
+    }
+
+    // Movements per second with THREADS callers sharing the given number of calls
+    private double run(int movements, Call call) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            long start = System.nanoTime();
+            List<Future<?>> workers = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                int thread = t;
+                workers.add(executor.submit(() -> {
+                    for (int i = thread; i < movements; i += THREADS) {
+                        call.run(i);
+                    }
+                }));
+            }
+            for (Future<?> worker : workers) {
+                worker.get();
+            }
+            return movements / ((System.nanoTime() - start) / 1e9);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private void saveThroughRepository(int i) {
+        transactionTemplate.executeWithoutResult(status -> {
+            StockMovement movement = new StockMovement();
+            movement.setProduct(entityManager.getReference(Product.class, "bench-journal-prod"));
+            movement.setToBlock(entityManager.getReference(Block.class, "bench-journal-block"));
+            movement.setQuantity(1);
+            movement.setMovementType(MovementType.ADJUSTMENT);
+            movement.setReferenceType("BENCH");
+            movement.setCreatedBy("bench");
+            movement.setWarehouseId("bench-journal-wh");
+            stockMovementRepository.save(movement);
+        });
+    }
+
+    private StockMovementJournal.Entry entry() {
+        return new StockMovementJournal.Entry(UuidV7Generator.next().toString(), "bench-journal-prod", null,
+                "bench-journal-block", 1, "ADJUSTMENT", "BENCH", null, null, "bench", Instant.now(),
+                "bench-journal-wh");
+    }
+}
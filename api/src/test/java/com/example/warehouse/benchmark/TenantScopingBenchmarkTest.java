@@ -0,0 +1,216 @@
+package com.example.warehouse.benchmark;
+
+import com.example.warehouse.config.WarehouseContext;
+import com.example.warehouse.entity.Inventory;
+import com.example.warehouse.repository.InventoryRepository;
+import com.example.warehouse.support.AbstractIntegrationTest;
+import com.example.warehouse.support.BenchmarkRounds;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.support.JpaRepositoryFactory;
+import org.springframework.data.repository.Repository;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Per-call cost of a tenant-scoped repository query, scoped the old way (a
+ * SpEL {@code WarehouseContext} parameter in the {@code @Query}) and the new
+ * way (the entity's {@link WarehouseContext#SQL_RESTRICTION}, read from the
+ * connection's warehouse setting). The entity restriction cannot be switched
+ * off, so the SpEL query runs with both and the difference is what the SpEL
+ * parameter adds per call. Also checks that inherited methods such as
+ * {@code count()} are scoped, and what applying the setting costs per
+ * transaction when concurrent callers serve one warehouse or interleave
+ * several. Run with {@code mvn test -Pbenchmarks}.
+ */
+@Tag("benchmark")
+@SpringBootTest
+class TenantScopingBenchmarkTest extends AbstractIntegrationTest {
+
+    private static final Logger log = LoggerFactory.getLogger(TenantScopingBenchmarkTest.class);
+
+    private static final int WAREHOUSES = 4;
+    private static final int ROWS_PER_WAREHOUSE = 50;
+    private static final int WARMUP_CALLS = 5_000;
+    private static final int ROUNDS = 7;
+    private static final int CALLS_PER_ROUND = 3_000;
+    private static final int THREADS = 8;
+    private static final int TRANSACTIONS_PER_ROUND = 8_000;
+
+    /** The query as it was written before warehouse-owned entities carried their own restriction. */
+    interface SpelScopedInventoryRepository extends Repository<Inventory, String> {
+
+        @Query("SELECT i FROM Inventory i WHERE i.deleted = false AND i.block.blockId = :blockId AND i.warehouseId = :#{T(com.example.warehouse.config.WarehouseContext).getWarehouseId()}")
+        List<Inventory> findByBlockBlockId(String blockId);
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private InventoryRepository inventoryRepository;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private SpelScopedInventoryRepository spelRepository;
+
+    @BeforeEach
+    void seed() {
+        spelRepository = new JpaRepositoryFactory(entityManager).getRepository(SpelScopedInventoryRepository.class);
+
+        jdbcTemplate.update("INSERT INTO product (product_id, name, sku, category, unit_price, created_at, last_modified_at) "
+                + "VALUES ('bench-prod', 'Bench', 'SKU-BENCH-TENANT', 'BENCH', 1.0, now(), now())");
+        for (int w = 1; w <= WAREHOUSES; w++) {
+            jdbcTemplate.update("INSERT INTO warehouse (warehouse_id, name, city, address, landmark) "
+                    + "VALUES (?, 'Bench', 'City', 'Address', 'Landmark')", "bench-wh-" + w);
+            jdbcTemplate.update("INSERT INTO block (block_id, name, height, length, breath, type, warehouse_id, deleted) "
+                    + "VALUES (?, 'Bench', 10, 10, 10, 1, ?, false)", "bench-block-" + w, "bench-wh-" + w);
+            jdbcTemplate.update("INSERT INTO inventory (inventory_id, product_id, block_id, quantity, reserved_quantity, "
+                    + "damaged_quantity, min_stock_level, max_stock_level, created_at, last_modified_at, warehouse_id, "
+                    + "deleted, version) "
+                    + "SELECT 'bench-inv-' || ? || '-' || i, 'bench-prod', ?, 100, 0, 0, 10, 500, now(), now(), ?, false, 0 "
+                    + "FROM generate_series(1, ?) i", w, "bench-block-" + w, "bench-wh-" + w, ROWS_PER_WAREHOUSE);
+        }
+        WarehouseContext.setWarehouseId("bench-wh-1");
+    }
+
+    @AfterEach
+    void cleanUp() {
+        WarehouseContext.clear();
+        jdbcTemplate.update("DELETE FROM inventory WHERE inventory_id LIKE 'bench-inv-%'");
+        jdbcTemplate.update("DELETE FROM block WHERE block_id LIKE 'bench-block-%'");
+        jdbcTemplate.update("DELETE FROM warehouse WHERE warehouse_id LIKE 'bench-wh-%'");
+        jdbcTemplate.update("DELETE FROM product WHERE product_id = 'bench-prod'");
+    }
+
+    @Test
+    void compareSpelParameterAndEntityRestriction() {
+        Supplier<List<Inventory>> spelCall = () -> spelRepository.findByBlockBlockId("bench-block-1");
+        Supplier<List<Inventory>> restrictedCall = () -> inventoryRepository.findByBlockBlockId("bench-block-1");
+        int[] rows = new int[1];
+        inTransaction(() -> repeat(spelCall, WARMUP_CALLS, rows));
+        inTransaction(() -> repeat(restrictedCall, WARMUP_CALLS, rows));
+
+        int[] spelRows = new int[1];
+        int[] restrictedRows = new int[1];
+        Map<String, Double> medians = new BenchmarkRounds()
+                .add("SpEL parameter", () -> measure(spelCall, spelRows))
+                .add("entity restriction", () -> measure(restrictedCall, restrictedRows))
+                .run(0, ROUNDS);
+        Result spel = new Result("SpEL parameter", medians.get("SpEL parameter"), spelRows[0]);
+        Result restricted = new Result("entity restriction", medians.get("entity restriction"), restrictedRows[0]);
+
+        log.info("median of {} rounds x {} calls, after {} warm-up", ROUNDS, CALLS_PER_ROUND, WARMUP_CALLS);
+        log.info("{}", spel);
+        log.info("{}", restricted);
+
+        assertThat(restricted.rows()).isEqualTo(spel.rows()).isEqualTo(ROWS_PER_WAREHOUSE);
+
+        Long allRows = jdbcTemplate.queryForObject("SELECT count(*) FROM inventory", Long.class);
+        long scopedCount = inTransaction(inventoryRepository::count);
+        assertThat(allRows).isGreaterThanOrEqualTo((long) WAREHOUSES * ROWS_PER_WAREHOUSE);
+        assertThat(scopedCount).isEqualTo(ROWS_PER_WAREHOUSE);
+    }
+
+    @Test
+    void compareOneAndInterleavedWarehousesPerTransaction() throws Exception {
+        Call oneWarehouse = (thread, i) -> "bench-wh-1";
+        // Each thread moves on to the next warehouse every transaction, so most checkouts change the setting
+        Call interleaved = (thread, i) -> "bench-wh-" + ((thread + i) % WAREHOUSES + 1);
+        int[] rows = {ROWS_PER_WAREHOUSE};
+        Map<String, Double> medians = new BenchmarkRounds()
+                .add("one warehouse", () -> transactions(oneWarehouse, rows))
+                .add(WAREHOUSES + " warehouses interleaved", () -> transactions(interleaved, rows))
+                .run(1, ROUNDS);
+
+        log.info("median of {} rounds x {} transactions on {} threads", ROUNDS, TRANSACTIONS_PER_ROUND, THREADS);
+        BenchmarkRounds.log(log, medians, "%8.1f us/transaction");
+
+        assertThat(rows[0]).isEqualTo(ROWS_PER_WAREHOUSE);
+    }
+
+    private interface Call {
+        String warehouse(int thread, int i);
+    }
+
+    // Wall time per transaction with THREADS callers, each scoped to the warehouse the call picks
+    private double transactions(Call call, int[] rows) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            long start = System.nanoTime();
+            List<Future<?>> workers = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                int thread = t;
+                workers.add(executor.submit(() -> {
+                    try {
+                        for (int i = 0; i < TRANSACTIONS_PER_ROUND / THREADS; i++) {
+                            String warehouseId = call.warehouse(thread, i);
+                            WarehouseContext.setWarehouseId(warehouseId);
+                            List<Inventory> scoped = inTransaction(() -> inventoryRepository.findByBlockBlockId(
+                                    "bench-block-" + warehouseId.substring("bench-wh-".length())));
+                            if (scoped.size() != ROWS_PER_WAREHOUSE) {
+                                rows[0] = scoped.size();
+                            }
+                        }
+                    } finally {
+                        WarehouseContext.clear();
+                    }
+                }));
+            }
+            for (Future<?> worker : workers) {
+                worker.get();
+            }
+            return (System.nanoTime() - start) / 1_000.0 / TRANSACTIONS_PER_ROUND;
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private double measure(Supplier<List<Inventory>> call, int[] rows) {
+        long start = System.nanoTime();
+        inTransaction(() -> repeat(call, CALLS_PER_ROUND, rows));
+        return (System.nanoTime() - start) / 1_000.0 / CALLS_PER_ROUND;
+    }
+
+    private Void repeat(Supplier<List<Inventory>> call, int times, int[] rows) {
+        for (int i = 0; i < times; i++) {
+            rows[0] = call.get().size();
+            entityManager.clear();
+        }
+        return null;
+    }
+
+    private <T> T inTransaction(Supplier<T> work) {
+        return transactionTemplate.execute(status -> work.get());
+    }
+
+    private record Result(String name, double microsPerCall, int rows) {
+        @Override
+        public String toString() {
+            return String.format("%-18s %8.1f us/call   %d rows", name, microsPerCall, rows);
+        }
+    }
+}
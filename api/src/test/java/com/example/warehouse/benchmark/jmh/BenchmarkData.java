@@ -0,0 +1,150 @@
+package com.example.warehouse.benchmark.jmh;
+
+import com.example.warehouse.entity.Block;
+import com.example.warehouse.entity.Inventory;
+import com.example.warehouse.entity.Order;
+import com.example.warehouse.entity.OrderStatus;
+import com.example.warehouse.entity.PickTask;
+import com.example.warehouse.entity.PickTaskStatus;
+import com.example.warehouse.entity.Product;
+import com.example.warehouse.entity.Room;
+import com.example.warehouse.util.ProductDimensions;
+
+import java.lang.reflect.Proxy;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Synthetic entities for the JMH benchmarks, sized like a mid-sized
+ * warehouse and generated from a fixed seed so every run sees the same data.
+ */
+final class BenchmarkData {
+
+    static final String WAREHOUSE = "bench-wh";
+    private static final String[] CATEGORIES = { "Electronics", "Apparel", "Grocery", "Hardware", "Toys", "Home" };
+    private static final Instant EPOCH = Instant.parse("2026-01-01T00:00:00Z");
+
+    private final Random random;
+
+    BenchmarkData(long seed) {
+        this.random = new Random(seed);
+    }
+
+    Product[] products(int count) {
+        Product[] products = new Product[count];
+        for (int i = 0; i < count; i++) {
+            Product product = new Product();
+            product.setProductId(uuid());
+            product.setName("Product " + i);
+            product.setSku("SKU-" + (100_000 + i));
+            product.setCategory(CATEGORIES[random.nextInt(CATEGORIES.length)]);
+            product.setUnitPrice(1 + random.nextInt(50_000) / 100.0);
+            product.setDimensions((10 + random.nextInt(90)) + "x" + (10 + random.nextInt(90)) + "x"
+                    + (1 + random.nextInt(50)));
+            product.setVolume(ProductDimensions.parse(product.getDimensions()).orElseThrow().volume());
+            product.setCreatedAt(timestamp());
+            products[i] = product;
+        }
+        return products;
+    }
+
+    Block[] blocks(int count) {
+        Room[] rooms = new Room[Math.max(1, count / 50)];
+        for (int i = 0; i < rooms.length; i++) {
+            rooms[i] = new Room();
+            rooms[i].setRoomId(uuid());
+            rooms[i].setName("Room " + (char) ('A' + i % 26) + (i / 26));
+        }
+        Block[] blocks = new Block[count];
+        for (int i = 0; i < count; i++) {
+            blocks[i] = new Block();
+            blocks[i].setBlockId(uuid());
+            blocks[i].setName("Block " + i);
+            blocks[i].setRoom(rooms[i % rooms.length]);
+            blocks[i].setWarehouseId(WAREHOUSE);
+        }
+        return blocks;
+    }
+
+    /** Stock of one product spread over {@code locations} blocks; about a quarter of them fully reserved. */
+    List<Inventory> inventory(Product product, Block[] blocks, int locations) {
+        List<Inventory> rows = new ArrayList<>(locations);
+        for (int i = 0; i < locations; i++) {
+            Inventory inventory = new Inventory();
+            inventory.setInventoryId(uuid());
+            inventory.setProduct(product);
+            inventory.setBlock(blocks[random.nextInt(blocks.length)]);
+            inventory.setWarehouseId(WAREHOUSE);
+            int quantity = 5 + random.nextInt(60);
+            inventory.setQuantity(quantity);
+            inventory.setReservedQuantity(random.nextInt(4) == 0 ? quantity : random.nextInt(quantity / 2));
+            inventory.setDamagedQuantity(0);
+            rows.add(inventory);
+        }
+        return rows;
+    }
+
+    Order order(int number, int tasks, Product[] products, Block[] blocks) {
+        Order order = new Order();
+        order.setOrderId(uuid());
+        order.setOrderNumber("SO-2026-" + (100_000 + number));
+        order.setCustomerName("Customer " + random.nextInt(5_000));
+        order.setCustomerEmail("buyer" + random.nextInt(5_000) + "@example.com");
+        order.setShippingAddress(random.nextInt(999) + " Industrial Ave, Austin, TX");
+        order.setStatus(OrderStatus.values()[random.nextInt(OrderStatus.values().length)]);
+        order.setWarehouseId(WAREHOUSE);
+        order.setCreatedAt(timestamp());
+        order.setLastModifiedAt(order.getCreatedAt());
+        List<PickTask> pickTasks = new ArrayList<>(tasks);
+        int totalItems = 0;
+        for (int i = 0; i < tasks; i++) {
+            PickTask task = new PickTask();
+            task.setTaskId(uuid());
+            task.setOrder(order);
+            task.setProduct(products[random.nextInt(products.length)]);
+            task.setBlock(blocks[random.nextInt(blocks.length)]);
+            task.setQuantity(1 + random.nextInt(12));
+            task.setAssignedTo("picker" + random.nextInt(40));
+            task.setStatus(PickTaskStatus.ASSIGNED);
+            task.setWarehouseId(WAREHOUSE);
+            task.setCreatedAt(order.getCreatedAt());
+            totalItems += task.getQuantity();
+            pickTasks.add(task);
+        }
+        order.setTotalItems(totalItems);
+        order.setPickTasks(pickTasks);
+        return order;
+    }
+
+    int nextInt(int bound) {
+        return random.nextInt(bound);
+    }
+
+    private Instant timestamp() {
+        return EPOCH.plusSeconds(random.nextInt(180 * 24 * 3600));
+    }
+
+    private String uuid() {
+        return new UUID(random.nextLong(), random.nextLong()).toString();
+    }
+
+    /**
+     * A repository whose listed methods are answered by the given functions;
+     * anything else throws. Cheaper and more predictable per call than a mock.
+     */
+    @SuppressWarnings("unchecked")
+    static <T> T repository(Class<T> type, Map<String, Function<Object[], Object>> methods) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] { type }, (proxy, method, args) -> {
+            Function<Object[], Object> answer = methods.get(method.getName());
+            if (answer == null) {
+                throw new UnsupportedOperationException(type.getSimpleName() + "." + method.getName());
+            }
+            return answer.apply(args);
+        });
+    }
+}
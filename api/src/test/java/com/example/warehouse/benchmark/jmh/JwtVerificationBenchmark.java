@@ -0,0 +1,70 @@
+package com.example.warehouse.benchmark.jmh;
+
+import com.example.warehouse.cache.UserAccountCache.UserAccount;
+import com.example.warehouse.enums.UserRole;
+import com.example.warehouse.security.JwtService;
+import com.example.warehouse.security.WarehouseUserDetails;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link JwtService#verify} over 2,000 distinct bearer tokens, cycling
+ * through them: once with the verified-token cache (every call a hit after
+ * the first round), once with a zero TTL so every call parses and checks the
+ * signature.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtVerificationBenchmark {
+
+    private static final String SECRET = "0123456789012345678901234567890123456789012345678901234567890123";
+    private static final int TOKENS = 2_000;
+
+    private JwtService cached;
+    private JwtService uncached;
+    private String[] tokens;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        cached = new JwtService(SECRET, 3_600_000, TOKENS, Duration.ofMinutes(5));
+        uncached = new JwtService(SECRET, 3_600_000, TOKENS, Duration.ZERO);
+        tokens = new String[TOKENS];
+        UserRole[] roles = UserRole.values();
+        for (int i = 0; i < TOKENS; i++) {
+            tokens[i] = cached.generateToken(new WarehouseUserDetails(new UserAccount("u" + i, "user" + i,
+                    "user" + i + "@example.com", "hash", roles[i % roles.length], "wh-" + i % 8)));
+        }
+    }
+
+    @Benchmark
+    public JwtService.VerifiedToken verifyCached() {
+        return cached.verify(nextToken());
+    }
+
+    @Benchmark
+    public JwtService.VerifiedToken verifyUncached() {
+        return uncached.verify(nextToken());
+    }
+
+    private String nextToken() {
+        String token = tokens[next];
+        next = next + 1 == TOKENS ? 0 : next + 1;
+        return token;
+    }
+}
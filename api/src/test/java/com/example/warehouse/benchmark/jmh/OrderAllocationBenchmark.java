@@ -0,0 +1,140 @@
+package com.example.warehouse.benchmark.jmh;
+
+import com.example.warehouse.cache.ReferenceDataCache;
+import com.example.warehouse.config.WarehouseContext;
+import com.example.warehouse.dto.request.OrderItemRequest;
+import com.example.warehouse.dto.request.OrderRequest;
+import com.example.warehouse.dto.response.OrderResponse;
+import com.example.warehouse.entity.Block;
+import com.example.warehouse.entity.Inventory;
+import com.example.warehouse.entity.Order;
+import com.example.warehouse.entity.Product;
+import com.example.warehouse.metrics.WarehouseMetrics;
+import com.example.warehouse.repository.InventoryRepository;
+import com.example.warehouse.repository.OrderRepository;
+import com.example.warehouse.repository.PickTaskRepository;
+import com.example.warehouse.repository.ProductRepository;
+import com.example.warehouse.service.impl.OrderServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link OrderServiceImpl#createOrder}: for each order line, walk the
+ * product's inventory rows reserving stock and creating pick tasks. The
+ * repositories answer from memory (each read returns the rows with their
+ * original reservations, as a fresh transaction would see them), so this is
+ * the allocation loop and mapping without the database.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OrderAllocationBenchmark {
+
+    private static final int PRODUCTS = 2_000;
+    private static final int BLOCKS = 1_500;
+
+    /** Order lines, each a different product. */
+    @Param({ "5", "50" })
+    public int lines;
+
+    /** Inventory rows (block locations) holding each product. */
+    @Param({ "4", "32" })
+    public int locations;
+
+    private OrderServiceImpl orderService;
+    private OrderRequest request;
+
+    @Setup
+    public void setUp() {
+        BenchmarkData data = new BenchmarkData(42);
+        Product[] products = data.products(PRODUCTS);
+        Block[] blocks = data.blocks(BLOCKS);
+        Map<String, Product> productsById = new HashMap<>();
+        Map<String, List<Inventory>> stock = new HashMap<>();
+        Map<String, int[]> reservations = new HashMap<>();
+        for (Product product : products) {
+            List<Inventory> rows = data.inventory(product, blocks, locations);
+            productsById.put(product.getProductId(), product);
+            stock.put(product.getProductId(), rows);
+            reservations.put(product.getProductId(), rows.stream().mapToInt(Inventory::getReservedQuantity).toArray());
+        }
+
+        OrderRepository orderRepository = BenchmarkData.repository(OrderRepository.class, Map.of(
+                "save", args -> {
+                    Order order = (Order) args[0];
+                    order.setOrderId("order-1");
+                    return order;
+                }));
+        PickTaskRepository pickTaskRepository = BenchmarkData.repository(PickTaskRepository.class, Map.of(
+                "saveAll", args -> args[0]));
+        InventoryRepository inventoryRepository = BenchmarkData.repository(InventoryRepository.class, Map.of(
+                "findByProductProductId", args -> {
+                    List<Inventory> rows = stock.get((String) args[0]);
+                    int[] reserved = reservations.get((String) args[0]);
+                    for (int i = 0; i < rows.size(); i++) {
+                        rows.get(i).setReservedQuantity(reserved[i]);
+                    }
+                    return rows;
+                },
+                "save", args -> args[0]));
+        ProductRepository productRepository = BenchmarkData.repository(ProductRepository.class, Map.of(
+                "findById", args -> Optional.ofNullable(productsById.get((String) args[0]))));
+        ReferenceDataCache referenceDataCache = new ReferenceDataCache(
+                new ConcurrentMapCacheManager(ReferenceDataCache.PRODUCTS, ReferenceDataCache.BLOCKS,
+                        ReferenceDataCache.ROOMS, ReferenceDataCache.WAREHOUSES,
+                        ReferenceDataCache.SHIPPERS, ReferenceDataCache.ACTIVE_SHIPPERS),
+                productRepository, null, null, null, null);
+        orderService = new OrderServiceImpl(orderRepository, pickTaskRepository, referenceDataCache,
+                inventoryRepository, null, null, null, null, new WarehouseMetrics(new SimpleMeterRegistry()));
+
+        request = new OrderRequest();
+        request.setOrderNumber("SO-2026-000001");
+        request.setCustomerName("Acme Retail");
+        request.setCustomerEmail("ops@acme-retail.com");
+        request.setShippingAddress("21 Industrial Ave, Austin, TX");
+        List<OrderItemRequest> items = new ArrayList<>();
+        for (int candidate = 0; items.size() < lines; candidate += PRODUCTS / lines / 2) {
+            Product product = products[candidate];
+            int available = stock.get(product.getProductId()).stream()
+                    .mapToInt(Inventory::getAvailableQuantity).sum();
+            if (available > 0) {
+                // Usually enough to need several locations, never more than there is
+                items.add(new OrderItemRequest(product.getProductId(), 1 + data.nextInt(Math.max(1, available / 2))));
+            }
+        }
+        request.setItems(items);
+        WarehouseContext.setWarehouseId(BenchmarkData.WAREHOUSE);
+    }
+
+    @TearDown
+    public void tearDown() {
+        WarehouseContext.clear();
+    }
+
+    @Benchmark
+    public OrderResponse createOrder() {
+        return orderService.createOrder(request);
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.warehouse.benchmark.jmh;
+
+import com.example.warehouse.dto.response.OrderResponse;
+import com.example.warehouse.dto.response.PickTaskResponse;
+import com.example.warehouse.entity.Block;
+import com.example.warehouse.entity.Order;
+import com.example.warehouse.entity.Product;
+import com.example.warehouse.metrics.WarehouseMetrics;
+import com.example.warehouse.repository.OrderRepository;
+import com.example.warehouse.repository.PickTaskRepository;
+import com.example.warehouse.service.impl.OrderServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The order and pick task response mappers of {@link OrderServiceImpl},
+ * reached through {@code getOrderById} ({@code mapToOrderResponse}, which maps
+ * every pick task too) and {@code getPickTasksByOrder}
+ * ({@code mapToPickTaskResponse} per task), with repositories answering from
+ * memory.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OrderMappingBenchmark {
+
+    /** Pick tasks on the order. */
+    @Param({ "1", "20", "200" })
+    public int tasks;
+
+    private OrderServiceImpl orderService;
+    private String orderId;
+
+    @Setup
+    public void setUp() {
+        BenchmarkData data = new BenchmarkData(42);
+        Product[] products = data.products(2_000);
+        Block[] blocks = data.blocks(1_500);
+        Order order = data.order(1, tasks, products, blocks);
+        orderId = order.getOrderId();
+
+        OrderRepository orderRepository = BenchmarkData.repository(OrderRepository.class, Map.of(
+                "findById", args -> Optional.of(order)));
+        PickTaskRepository pickTaskRepository = BenchmarkData.repository(PickTaskRepository.class, Map.of(
+                "findByOrderOrderIdOrderByCreatedAtAsc", args -> order.getPickTasks()));
+        orderService = new OrderServiceImpl(orderRepository, pickTaskRepository, null, null, null, null, null, null,
+                new WarehouseMetrics(new SimpleMeterRegistry()));
+    }
+
+    @Benchmark
+    public OrderResponse mapToOrderResponse() {
+        return orderService.getOrderById(orderId);
+    }
+
+    @Benchmark
+    public List<PickTaskResponse> mapToPickTaskResponses() {
+        return orderService.getPickTasksByOrder(orderId);
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.warehouse.benchmark.jmh;
+
+import com.example.warehouse.entity.Product;
+import com.example.warehouse.util.ProductDimensions;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link Product#getVolume()} (the stored column) against parsing the
+ * dimensions string it is derived from on write, per product, over a
+ * catalogue of 5,000 products.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProductVolumeBenchmark {
+
+    private static final int PRODUCTS = 5_000;
+
+    private Product[] products;
+
+    @Setup
+    public void setUp() {
+        products = new BenchmarkData(42).products(PRODUCTS);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PRODUCTS)
+    public double storedVolume() {
+        double total = 0;
+        for (Product product : products) {
+            total += product.getVolume();
+        }
+        return total;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PRODUCTS)
+    public double parsedVolume() {
+        double total = 0;
+        for (Product product : products) {
+            total += ProductDimensions.parse(product.getDimensions()).map(ProductDimensions::volume).orElse(0.0);
+        }
+        return total;
+    }
+}
@@ -0,0 +1,119 @@
+package com.example.warehouse.benchmark.jmh;
+
+import com.example.warehouse.dto.response.OrderResponse;
+import com.example.warehouse.dto.response.PickTaskResponse;
+import com.example.warehouse.dto.response.ProductResponse;
+import com.example.warehouse.dto.wrapper.PageResponse;
+import com.example.warehouse.dto.wrapper.ResponseStructure;
+import com.example.warehouse.entity.Block;
+import com.example.warehouse.entity.Order;
+import com.example.warehouse.entity.PickTask;
+import com.example.warehouse.entity.Product;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson serialization of {@link ResponseStructure} bodies as the
+ * controllers return them: a list of orders with five pick tasks each, and a
+ * page of 50 products. Uses an ObjectMapper configured the way Spring MVC
+ * builds its own.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ResponseSerializationBenchmark {
+
+    private static final ObjectMapper OBJECT_MAPPER = Jackson2ObjectMapperBuilder.json().build();
+
+    @State(Scope.Benchmark)
+    public static class OrderList {
+
+        /** Orders in the list response. */
+        @Param({ "1", "100", "1000" })
+        public int orders;
+
+        ResponseStructure<List<OrderResponse>> body;
+
+        @Setup
+        public void setUp() {
+            BenchmarkData data = new BenchmarkData(42);
+            Product[] products = data.products(2_000);
+            Block[] blocks = data.blocks(1_500);
+            List<OrderResponse> responses = new ArrayList<>(orders);
+            for (int i = 0; i < orders; i++) {
+                responses.add(toResponse(data.order(i, 5, products, blocks)));
+            }
+            body = new ResponseStructure<>(200, "Orders retrieved successfully", responses);
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class ProductPage {
+
+        ResponseStructure<PageResponse<ProductResponse>> body;
+
+        @Setup
+        public void setUp() {
+            Product[] products = new BenchmarkData(42).products(2_000);
+            List<ProductResponse> page = new ArrayList<>(50);
+            for (int i = 0; i < 50; i++) {
+                Product product = products[i];
+                page.add(new ProductResponse(product.getProductId(), product.getName(), "Synthetic product " + i,
+                        product.getSku(), product.getCategory(), product.getUnitPrice(), 0.5 + i % 20,
+                        product.getDimensions(), product.getCreatedAt().toEpochMilli(), null));
+            }
+            body = new ResponseStructure<>(200, "Products retrieved successfully",
+                    PageResponse.<ProductResponse>builder()
+                            .content(page).page(0).size(50)
+                            .totalElements(products.length).totalPages(products.length / 50)
+                            .build());
+        }
+    }
+
+    @Benchmark
+    public byte[] orderList(OrderList orderList) throws JsonProcessingException {
+        return OBJECT_MAPPER.writeValueAsBytes(orderList.body);
+    }
+
+    @Benchmark
+    public byte[] productPage(ProductPage productPage) throws JsonProcessingException {
+        return OBJECT_MAPPER.writeValueAsBytes(productPage.body);
+    }
+
+    private static OrderResponse toResponse(Order order) {
+        List<PickTaskResponse> tasks = new ArrayList<>();
+        for (PickTask task : order.getPickTasks()) {
+            ProductResponse product = new ProductResponse();
+            product.setProductId(task.getProduct().getProductId());
+            product.setName(task.getProduct().getName());
+            product.setSku(task.getProduct().getSku());
+            product.setCategory(task.getProduct().getCategory());
+            tasks.add(new PickTaskResponse(task.getTaskId(), order.getOrderId(), order.getOrderNumber(), product,
+                    task.getBlock().getBlockId(), task.getBlock().getRoom().getName() + " - Block",
+                    task.getQuantity(), task.getAssignedTo(), task.getStatus().name(), null,
+                    task.getCreatedAt().toEpochMilli(), task.getCreatedAt().toEpochMilli(), null));
+        }
+        return new OrderResponse(order.getOrderId(), order.getOrderNumber(), order.getCustomerName(),
+                order.getCustomerEmail(), order.getShippingAddress(), order.getStatus().name(),
+                order.getTotalItems(), null, tasks, order.getCreatedAt().toEpochMilli(),
+                order.getLastModifiedAt().toEpochMilli(), null, null, null);
+    }
+}
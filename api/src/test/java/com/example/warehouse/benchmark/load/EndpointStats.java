@@ -0,0 +1,49 @@
+package com.example.warehouse.benchmark.load;
+
+import java.util.Arrays;
+
+/**
+ * Latencies and outcomes of one endpoint (method and route template) over
+ * the measured part of a run. Every latency is kept and sorted once for the
+ * percentiles; a run of a few minutes stays within a few MB. Thread-safe.
+ */
+final class EndpointStats {
+
+    private long[] latencyNanos = new long[1024];
+    private int count;
+    private long errors;
+    private long conflicts;
+    private long rateLimited;
+
+    /**
+     * @param status HTTP status, or 0 if no response came back
+     */
+    synchronized void record(long nanos, int status) {
+        if (count == latencyNanos.length) {
+            latencyNanos = Arrays.copyOf(latencyNanos, count * 2);
+        }
+        latencyNanos[count++] = nanos;
+        if (status == 409) {
+            conflicts++;
+        } else if (status == 429) {
+            rateLimited++;
+        } else if (status < 200 || status >= 300) {
+            errors++;
+        }
+    }
+
+    synchronized LoadReport.Endpoint summarize(double seconds) {
+        long[] sorted = Arrays.copyOf(latencyNanos, count);
+        Arrays.sort(sorted);
+        return new LoadReport.Endpoint(count, count / seconds, errors, conflicts, rateLimited,
+                millis(sorted, 0.50), millis(sorted, 0.90), millis(sorted, 0.99), millis(sorted, 0.999),
+                count == 0 ? 0 : sorted[count - 1] / 1_000_000.0);
+    }
+
+    private static double millis(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        return sorted[(int) Math.ceil(percentile * sorted.length) - 1] / 1_000_000.0;
+    }
+}
@@ -0,0 +1,99 @@
+package com.example.warehouse.benchmark.load;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+/**
+ * Outcome of a pick floor run: per endpoint throughput, failures and latency
+ * percentiles (ms) over the measured seconds, and how many orders, tasks and
+ * dispatches the floor got through. Written as JSON with sorted keys so two
+ * reports diff line by line; {@link #regressionsAgainst} compares a run with
+ * a stored baseline.
+ */
+public record LoadReport(double seconds, SortedMap<String, Endpoint> endpoints, SortedMap<String, Long> flow) {
+
+    /** Endpoints with fewer requests than this in the baseline are too noisy to compare. */
+    static final long MIN_COMPARED_REQUESTS = 100;
+
+    private static final ObjectMapper JSON = new ObjectMapper()
+            .enable(SerializationFeature.INDENT_OUTPUT)
+            .enable(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS);
+
+    public record Endpoint(long requests, double throughput, long errors, long conflicts, long rateLimited,
+            double p50, double p90, double p99, double p999, double max) {
+
+        double errorRate() {
+            return requests == 0 ? 0 : (double) errors / requests;
+        }
+    }
+
+    public LoadReport {
+        endpoints = new TreeMap<>(endpoints);
+        flow = new TreeMap<>(flow);
+    }
+
+    public void write(Path file) throws IOException {
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        JSON.writeValue(file.toFile(), this);
+    }
+
+    public static LoadReport read(Path file) throws IOException {
+        return JSON.readValue(file.toFile(), LoadReport.class);
+    }
+
+    /**
+     * Endpoints that got slower (p99), slower to serve (throughput) or less
+     * reliable (error rate) than in {@code baseline} by more than
+     * {@code tolerance} (0.2 is 20%), one line each; empty if none did.
+     */
+    public List<String> regressionsAgainst(LoadReport baseline, double tolerance) {
+        List<String> regressions = new ArrayList<>();
+        for (Map.Entry<String, Endpoint> entry : baseline.endpoints().entrySet()) {
+            String name = entry.getKey();
+            Endpoint before = entry.getValue();
+            if (before.requests() < MIN_COMPARED_REQUESTS) {
+                continue;
+            }
+            Endpoint after = endpoints.get(name);
+            if (after == null || after.requests() == 0) {
+                regressions.add(name + ": no requests, baseline had " + before.requests());
+                continue;
+            }
+            if (after.p99() > before.p99() * (1 + tolerance)) {
+                regressions.add(String.format("%s: p99 %.1f ms, baseline %.1f ms", name, after.p99(), before.p99()));
+            }
+            if (after.throughput() < before.throughput() * (1 - tolerance)) {
+                regressions.add(String.format("%s: %.1f req/s, baseline %.1f req/s", name, after.throughput(),
+                        before.throughput()));
+            }
+            // Absolute slack: a handful of errors on a clean baseline is not a trend
+            if (after.errorRate() > before.errorRate() * (1 + tolerance) + 0.001) {
+                regressions.add(String.format("%s: %.2f%% errors, baseline %.2f%%", name, after.errorRate() * 100,
+                        before.errorRate() * 100));
+            }
+        }
+        return regressions;
+    }
+
+    /** A fixed-width table for the log. */
+    public String format() {
+        StringBuilder table = new StringBuilder(String.format("%-52s %8s %8s %6s %6s %6s %8s %8s %8s %8s%n",
+                "endpoint", "requests", "req/s", "errors", "409", "429", "p50 ms", "p90 ms", "p99 ms", "max ms"));
+        endpoints.forEach((name, e) -> table.append(String.format(
+                "%-52s %8d %8.1f %6d %6d %6d %8.1f %8.1f %8.1f %8.1f%n", name, e.requests(), e.throughput(),
+                e.errors(), e.conflicts(), e.rateLimited(), e.p50(), e.p90(), e.p99(), e.max())));
+        table.append(String.format("%.0f s measured, flow %s", seconds, flow));
+        return table.toString();
+    }
+}
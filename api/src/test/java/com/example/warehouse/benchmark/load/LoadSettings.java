@@ -0,0 +1,65 @@
+package com.example.warehouse.benchmark.load;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Who works the simulated pick floor and for how long. Every virtual user of
+ * a role logs in as that role's account, except pickers, who each need an
+ * account of their own since pick tasks are assigned by username. All
+ * accounts share one password and must belong to the same warehouse.
+ * <p>
+ * {@link #fromSystemProperties()} reads the {@code load.*} properties listed
+ * in {@link PickFloorLoadHarness}.
+ */
+public record LoadSettings(
+        URI baseUrl,
+        Duration warmup,
+        Duration duration,
+        long seed,
+        String password,
+        String manager,
+        String packer,
+        String viewer,
+        List<String> pickers,
+        int intakeUsers,
+        int packerUsers,
+        int dispatcherUsers,
+        int dashboardUsers,
+        int maxLinesPerOrder,
+        double thinkTimeScale) {
+
+    public LoadSettings {
+        if (pickers.isEmpty()) {
+            throw new IllegalArgumentException("At least one picker account is needed");
+        }
+        pickers = List.copyOf(pickers);
+    }
+
+    public static LoadSettings fromSystemProperties() {
+        return new LoadSettings(
+                URI.create(property("load.base-url", "http://localhost:8080")),
+                Duration.parse(property("load.warmup", "PT15S")),
+                Duration.parse(property("load.duration", "PT2M")),
+                Long.parseLong(property("load.seed", "42")),
+                property("load.password", "Password@123"),
+                property("load.manager", "load-manager"),
+                property("load.packer", "load-packer"),
+                property("load.viewer", "load-viewer"),
+                Arrays.stream(property("load.pickers", "load-picker-1,load-picker-2,load-picker-3,load-picker-4")
+                        .split(",")).map(String::trim).filter(name -> !name.isEmpty()).toList(),
+                Integer.parseInt(property("load.intake-users", "2")),
+                Integer.parseInt(property("load.packer-users", "2")),
+                Integer.parseInt(property("load.dispatcher-users", "1")),
+                Integer.parseInt(property("load.dashboard-users", "2")),
+                Integer.parseInt(property("load.max-lines-per-order", "4")),
+                Double.parseDouble(property("load.think-time-scale", "1.0")));
+    }
+
+    private static String property(String name, String defaultValue) {
+        String value = System.getProperty(name);
+        return value == null || value.isBlank() ? defaultValue : value;
+    }
+}
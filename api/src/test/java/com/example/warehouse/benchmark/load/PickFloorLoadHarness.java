@@ -0,0 +1,58 @@
+package com.example.warehouse.benchmark.load;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Runs {@link PickFloorSimulation} against an application that is already up,
+ * e.g. {@code mvn spring-boot:run} on the local profile, with the accounts
+ * of {@link LoadSettings} in one warehouse that has stock:
+ * <pre>
+ * mvn test-compile exec:java@load -Pbenchmarks -Dload.base-url=http://localhost:8080 \
+ *     -Dload.manager=... -Dload.packer=... -Dload.viewer=... -Dload.pickers=a,b,c -Dload.password=... \
+ *     [-Dload.duration=PT2M] [-Dload.warmup=PT15S] [-Dload.report=target/load-report.json] \
+ *     [-Dload.baseline=baseline.json] [-Dload.tolerance=0.2]
+ * </pre>
+ * Other knobs: {@code load.seed}, {@code load.intake-users},
+ * {@code load.packer-users}, {@code load.dispatcher-users},
+ * {@code load.dashboard-users}, {@code load.max-lines-per-order} and
+ * {@code load.think-time-scale} (below 1 works the floor harder).
+ * <p>
+ * The report goes to {@code load.report} as JSON. With {@code load.baseline}
+ * the run fails if any endpoint regressed beyond {@code load.tolerance}
+ * against that earlier report, so a script can keep a baseline per branch and
+ * check each build against it.
+ */
+public final class PickFloorLoadHarness {
+
+    private static final Logger log = LoggerFactory.getLogger(PickFloorLoadHarness.class);
+
+    private PickFloorLoadHarness() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadReport report = new PickFloorSimulation(LoadSettings.fromSystemProperties()).run();
+        Path reportFile = Path.of(System.getProperty("load.report", "target/load-report.json"));
+        report.write(reportFile);
+        log.info("Pick floor report written to {}\n{}", reportFile, report.format());
+
+        String baseline = System.getProperty("load.baseline");
+        if (baseline != null && !baseline.isBlank()) {
+            Path baselineFile = Path.of(baseline);
+            if (!Files.exists(baselineFile)) {
+                throw new IllegalStateException("Baseline report " + baselineFile + " does not exist");
+            }
+            double tolerance = Double.parseDouble(System.getProperty("load.tolerance", "0.2"));
+            List<String> regressions = report.regressionsAgainst(LoadReport.read(baselineFile), tolerance);
+            if (!regressions.isEmpty()) {
+                throw new IllegalStateException("Regressed against " + baselineFile + " beyond "
+                        + Math.round(tolerance * 100) + "%:\n  " + String.join("\n  ", regressions));
+            }
+            log.info("No endpoint regressed against {} beyond {}%", baselineFile, Math.round(tolerance * 100));
+        }
+    }
+}
@@ -0,0 +1,397 @@
+package com.example.warehouse.benchmark.load;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Virtual users working one warehouse through the REST API, each on its own
+ * thread, along the order states of {@code OrderServiceImpl}:
+ * <ul>
+ * <li>order intake (the ERP) creates orders of popular SKUs and releases each
+ * to a picker, round robin ({@code PENDING -> PICK_ASSIGNED})</li>
+ * <li>pickers poll their task list, start and complete each task; the last
+ * completed task marks the order {@code PICKED}</li>
+ * <li>packers take their share of the {@code PICKED} orders and mark them
+ * {@code PACKED}; their board is the manager's order list, as the packer role
+ * cannot list orders</li>
+ * <li>dispatchers take their share of the {@code PACKED} orders and mark them
+ * {@code DISPATCHED}, which also creates the shipment</li>
+ * <li>dashboard viewers cycle through the analytics and active shipment
+ * screens, backing off as long as Retry-After asks when rate limited</li>
+ * </ul>
+ * Users are closed-loop: each waits an exponentially distributed think time
+ * between actions, so a slower server also sees fewer requests. A 409 is
+ * retried on the user's next pass, as a person would press the button again.
+ * Requests started during the warm-up are not recorded.
+ */
+public class PickFloorSimulation {
+
+    private static final Logger log = LoggerFactory.getLogger(PickFloorSimulation.class);
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    // Mean think times, scaled by think-time-scale
+    private static final long INTAKE_PAUSE_MILLIS = 400;
+    private static final long PICK_WALK_MILLIS = 300;
+    private static final long PICKER_POLL_MILLIS = 500;
+    private static final long PACK_MILLIS = 200;
+    private static final long STATION_POLL_MILLIS = 1_000;
+    private static final long DASHBOARD_PAUSE_MILLIS = 2_000;
+
+    private static final String[] DASHBOARD_SCREENS = {
+            "/api/analytics/dashboard-summary",
+            "/api/analytics/fulfillment-metrics",
+            "/api/analytics/picker-workload",
+            "/api/analytics/shipment-metrics",
+            "/api/shipments/active?page=0&size=20" };
+
+    private final LoadSettings settings;
+    private final HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+    private final Map<String, EndpointStats> endpoints = new ConcurrentHashMap<>();
+    private final Map<String, AtomicLong> flow = new ConcurrentHashMap<>();
+    private final Map<String, String> tokens = new HashMap<>();
+    private final AtomicLong releasedOrders = new AtomicLong();
+    private final String runId = Long.toString(System.currentTimeMillis(), 36).toUpperCase();
+    private volatile long measuringSince = Long.MAX_VALUE;
+    private volatile boolean running = true;
+    private List<String> productIds;
+
+    public PickFloorSimulation(LoadSettings settings) {
+        this.settings = settings;
+    }
+
+    public LoadReport run() throws InterruptedException {
+        Set<String> accounts = new LinkedHashSet<>(List.of(settings.manager(), settings.packer(), settings.viewer()));
+        accounts.addAll(settings.pickers());
+        for (String username : accounts) {
+            tokens.put(username, login(username));
+        }
+        productIds = stockedProducts();
+        log.info("Pick floor run {} against {}: {} stocked products, {} intake, {} pickers, {} packers, "
+                + "{} dispatchers, {} dashboard users", runId, settings.baseUrl(), productIds.size(),
+                settings.intakeUsers(), settings.pickers().size(), settings.packerUsers(), settings.dispatcherUsers(),
+                settings.dashboardUsers());
+
+        List<Runnable> users = new ArrayList<>();
+        for (int i = 0; i < settings.intakeUsers(); i++) {
+            int user = i;
+            users.add(() -> orderIntake(user));
+        }
+        for (String picker : settings.pickers()) {
+            users.add(() -> picker(picker));
+        }
+        for (int i = 0; i < settings.packerUsers(); i++) {
+            int user = i;
+            users.add(() -> packer(user));
+        }
+        for (int i = 0; i < settings.dispatcherUsers(); i++) {
+            int user = i;
+            users.add(() -> dispatcher(user));
+        }
+        for (int i = 0; i < settings.dashboardUsers(); i++) {
+            int user = i;
+            users.add(() -> dashboard(user));
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(users.size());
+        long measuredNanos;
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (Runnable user : users) {
+                futures.add(executor.submit(user));
+            }
+            Thread.sleep(settings.warmup().toMillis());
+            long start = System.nanoTime();
+            measuringSince = start;
+            Thread.sleep(settings.duration().toMillis());
+            running = false;
+            measuredNanos = System.nanoTime() - start;
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Virtual user failed", e.getCause());
+        } finally {
+            running = false;
+            executor.shutdownNow();
+        }
+
+        double seconds = measuredNanos / 1e9;
+        Map<String, LoadReport.Endpoint> summaries = new HashMap<>();
+        endpoints.forEach((name, stats) -> summaries.put(name, stats.summarize(seconds)));
+        Map<String, Long> counts = new HashMap<>();
+        flow.forEach((name, count) -> counts.put(name, count.get()));
+        return new LoadReport(seconds, new TreeMap<>(summaries), new TreeMap<>(counts));
+    }
+
+    private void orderIntake(int user) {
+        SplittableRandom random = random("intake", user);
+        String token = tokens.get(settings.manager());
+        long sequence = 0;
+        while (running) {
+            String orderNumber = String.format("LT-%s-%d-%06d", runId, user, ++sequence);
+            Response created = createOrder(token, orderNumber, random);
+            if (created.status() == 201) {
+                count("orders.created");
+                String picker = settings.pickers().get(
+                        (int) (releasedOrders.getAndIncrement() % settings.pickers().size()));
+                Response assigned = send("POST /api/orders/assign-pickers", token, "POST",
+                        "/api/orders/assign-pickers",
+                        Map.of("orderId", created.data().path("orderId").asText(), "assignedTo", picker));
+                if (assigned.ok()) {
+                    count("orders.released");
+                }
+            }
+            pause(random, INTAKE_PAUSE_MILLIS);
+        }
+    }
+
+    private Response createOrder(String token, String orderNumber, SplittableRandom random) {
+        int lines = 1 + random.nextInt(Math.max(1, settings.maxLinesPerOrder()));
+        Set<String> products = new LinkedHashSet<>();
+        for (int i = 0; i < lines; i++) {
+            // Squaring a uniform draw favours the first products: a few SKUs take most lines
+            double u = random.nextDouble();
+            products.add(productIds.get((int) (u * u * productIds.size())));
+        }
+        List<Map<String, Object>> items = new ArrayList<>();
+        for (String productId : products) {
+            items.add(Map.of("productId", productId, "quantity", 1 + random.nextInt(3)));
+        }
+        Map<String, Object> order = Map.of(
+                "orderNumber", orderNumber,
+                "customerName", "Load Customer " + random.nextInt(1_000),
+                "customerEmail", "load" + random.nextInt(1_000) + "@example.com",
+                "shippingAddress", (1 + random.nextInt(300)) + " Test Street, Bengaluru",
+                "items", items);
+        Response response = send("POST /api/orders", token, "POST", "/api/orders", order);
+        // A conflict rolled the whole order back; the ERP sends it again
+        for (int retry = 0; retry < 3 && response.status() == 409; retry++) {
+            count("orders.create-retries");
+            response = send("POST /api/orders", token, "POST", "/api/orders", order);
+        }
+        return response;
+    }
+
+    private void picker(String username) {
+        SplittableRandom random = random(username, 0);
+        String token = tokens.get(username);
+        while (running) {
+            Response list = send("GET /api/orders/pick-tasks/picker/{username}", token, "GET",
+                    "/api/orders/pick-tasks/picker/" + username, null);
+            JsonNode next = null;
+            for (JsonNode task : list.data()) {
+                String status = task.path("status").asText();
+                if (status.equals("IN_PROGRESS")) {
+                    next = task;
+                    break;
+                }
+                if (next == null && status.equals("ASSIGNED")) {
+                    next = task;
+                }
+            }
+            if (next == null) {
+                pause(random, PICKER_POLL_MILLIS);
+                continue;
+            }
+            String taskId = next.path("taskId").asText();
+            if (next.path("status").asText().equals("ASSIGNED")) {
+                if (!send("PUT /api/orders/pick-tasks/{taskId}/start", token, "PUT",
+                        "/api/orders/pick-tasks/" + taskId + "/start", null).ok()) {
+                    pause(random, PICKER_POLL_MILLIS);
+                    continue;
+                }
+                count("tasks.started");
+                pause(random, PICK_WALK_MILLIS);
+            }
+            if (send("PUT /api/orders/pick-tasks/{taskId}/complete", token, "PUT",
+                    "/api/orders/pick-tasks/" + taskId + "/complete", null).ok()) {
+                count("tasks.completed");
+            }
+        }
+    }
+
+    private void packer(int user) {
+        SplittableRandom random = random("packer", user);
+        String board = tokens.get(settings.manager());
+        String token = tokens.get(settings.packer());
+        while (running) {
+            List<String> orders = ownShare(send("GET /api/orders/status/{status}", board, "GET",
+                    "/api/orders/status/PICKED", null), user, settings.packerUsers());
+            for (String orderId : orders) {
+                if (!running) {
+                    break;
+                }
+                pause(random, PACK_MILLIS);
+                if (send("PUT /api/orders/{orderId}/mark-packed", token, "PUT",
+                        "/api/orders/" + orderId + "/mark-packed", null).ok()) {
+                    count("orders.packed");
+                }
+            }
+            pause(random, STATION_POLL_MILLIS);
+        }
+    }
+
+    private void dispatcher(int user) {
+        SplittableRandom random = random("dispatcher", user);
+        String token = tokens.get(settings.manager());
+        while (running) {
+            List<String> orders = ownShare(send("GET /api/orders/status/{status}", token, "GET",
+                    "/api/orders/status/PACKED", null), user, settings.dispatcherUsers());
+            for (String orderId : orders) {
+                if (!running) {
+                    break;
+                }
+                if (send("PUT /api/orders/{orderId}/mark-dispatched", token, "PUT",
+                        "/api/orders/" + orderId + "/mark-dispatched", null).ok()) {
+                    count("orders.dispatched");
+                }
+            }
+            pause(random, STATION_POLL_MILLIS);
+        }
+    }
+
+    private void dashboard(int user) {
+        SplittableRandom random = random("dashboard", user);
+        String token = tokens.get(settings.viewer());
+        int screen = user;
+        while (running) {
+            String path = DASHBOARD_SCREENS[screen++ % DASHBOARD_SCREENS.length];
+            Response response = send("GET " + path.replaceFirst("\\?.*", ""), token, "GET", path, null);
+            if (response.status() == 429) {
+                sleep(TimeUnit.SECONDS.toMillis(Math.max(1, response.retryAfterSeconds())));
+            } else {
+                pause(random, DASHBOARD_PAUSE_MILLIS);
+            }
+        }
+    }
+
+    // The orders of a status list that fall to this user, so stations never race for one order
+    private static List<String> ownShare(Response list, int user, int users) {
+        List<String> orderIds = new ArrayList<>();
+        for (JsonNode order : list.data()) {
+            String orderId = order.path("orderId").asText();
+            if (Math.floorMod(orderId.hashCode(), users) == user) {
+                orderIds.add(orderId);
+            }
+        }
+        return orderIds;
+    }
+
+    private String login(String username) {
+        Response response = send("POST /api/login", null, "POST", "/api/login",
+                Map.of("identifier", username, "password", settings.password()));
+        if (!response.ok()) {
+            throw new IllegalStateException("Login of " + username + " failed with status " + response.status());
+        }
+        return response.data().path("token").asText();
+    }
+
+    private List<String> stockedProducts() {
+        Response response = send("GET /api/inventory", tokens.get(settings.manager()), "GET",
+                "/api/inventory?page=0&size=1000", null);
+        Set<String> products = new LinkedHashSet<>();
+        for (JsonNode inventory : response.data().path("content")) {
+            if (inventory.path("availableQuantity").asInt() > 0) {
+                products.add(inventory.path("product").path("productId").asText());
+            }
+        }
+        if (products.isEmpty()) {
+            throw new IllegalStateException("The manager's warehouse has no stocked products (status "
+                    + response.status() + ")");
+        }
+        return new ArrayList<>(products);
+    }
+
+    private Response send(String endpoint, String token, String method, String path, Object body) {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(settings.baseUrl() + path))
+                .timeout(Duration.ofSeconds(30))
+                .header("Accept", "application/json");
+        if (token != null) {
+            request.header("Authorization", "Bearer " + token);
+        }
+        long start = System.nanoTime();
+        try {
+            if (body != null) {
+                request.header("Content-Type", "application/json")
+                        .method(method, HttpRequest.BodyPublishers.ofString(JSON.writeValueAsString(body)));
+            } else {
+                request.method(method, HttpRequest.BodyPublishers.noBody());
+            }
+            HttpResponse<String> response = client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+            record(endpoint, start, response.statusCode());
+            JsonNode data = response.statusCode() < 300 ? JSON.readTree(response.body()).path("data")
+                    : JSON.missingNode();
+            return new Response(response.statusCode(), data,
+                    response.headers().firstValueAsLong("Retry-After").orElse(0));
+        } catch (IOException e) {
+            record(endpoint, start, 0);
+            log.debug("{} failed", endpoint, e);
+            return new Response(0, JSON.missingNode(), 0);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            running = false;
+            return new Response(0, JSON.missingNode(), 0);
+        }
+    }
+
+    private void record(String endpoint, long start, int status) {
+        if (start >= measuringSince) {
+            endpoints.computeIfAbsent(endpoint, name -> new EndpointStats()).record(System.nanoTime() - start, status);
+        }
+    }
+
+    private void count(String name) {
+        if (System.nanoTime() >= measuringSince) {
+            flow.computeIfAbsent(name, n -> new AtomicLong()).incrementAndGet();
+        }
+    }
+
+    private void pause(SplittableRandom random, long meanMillis) {
+        sleep((long) (-Math.log(1 - random.nextDouble()) * meanMillis * settings.thinkTimeScale()));
+    }
+
+    private void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            running = false;
+        }
+    }
+
+    private SplittableRandom random(String role, int user) {
+        return new SplittableRandom(settings.seed() * 31 + role.hashCode() * 17L + user);
+    }
+
+    private record Response(int status, JsonNode data, long retryAfterSeconds) {
+
+        boolean ok() {
+            return status >= 200 && status < 300;
+        }
+    }
+}
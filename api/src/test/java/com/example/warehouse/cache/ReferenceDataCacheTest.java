@@ -0,0 +1,89 @@
+package com.example.warehouse.cache;
+
+import com.example.warehouse.config.WarehouseContext;
+import com.example.warehouse.entity.Block;
+import com.example.warehouse.entity.Product;
+import com.example.warehouse.repository.BlockRepository;
+import com.example.warehouse.repository.ProductRepository;
+import com.example.warehouse.repository.RoomRepository;
+import com.example.warehouse.repository.ShipperRepository;
+import com.example.warehouse.repository.WareHouseRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ReferenceDataCacheTest {
+
+    @Mock
+    private ProductRepository productRepository;
+    @Mock
+    private BlockRepository blockRepository;
+    @Mock
+    private RoomRepository roomRepository;
+    @Mock
+    private WareHouseRepository wareHouseRepository;
+    @Mock
+    private ShipperRepository shipperRepository;
+
+    private ReferenceDataCache referenceDataCache;
+
+    @BeforeEach
+    void setUp() {
+        referenceDataCache = new ReferenceDataCache(
+                new ConcurrentMapCacheManager(ReferenceDataCache.PRODUCTS, ReferenceDataCache.BLOCKS,
+                        ReferenceDataCache.ROOMS, ReferenceDataCache.WAREHOUSES,
+                        ReferenceDataCache.SHIPPERS, ReferenceDataCache.ACTIVE_SHIPPERS),
+                productRepository,
+                blockRepository,
+                roomRepository,
+                wareHouseRepository,
+                shipperRepository);
+    }
+
+    @AfterEach
+    void tearDown() {
+        WarehouseContext.clear();
+    }
+
+    @Test
+    void findProduct_loadsOnceUntilEvicted() {
+        Product product = new Product();
+        product.setProductId("p1");
+        when(productRepository.findById("p1")).thenReturn(Optional.of(product));
+
+        assertThat(referenceDataCache.findProduct("p1")).containsSame(product);
+        assertThat(referenceDataCache.findProduct("p1")).containsSame(product);
+        verify(productRepository, times(1)).findById("p1");
+
+        referenceDataCache.evictProduct("p1");
+        referenceDataCache.findProduct("p1");
+        verify(productRepository, times(2)).findById("p1");
+    }
+
+    @Test
+    void findBlock_neverServesAnotherWarehousesEntry() {
+        Block block = new Block();
+        block.setBlockId("b1");
+
+        WarehouseContext.setWarehouseId("wh-a");
+        when(blockRepository.findWithRoomById("b1")).thenReturn(Optional.of(block));
+        assertThat(referenceDataCache.findBlock("b1")).containsSame(block);
+
+        // The repository query is scoped to the caller's warehouse, so it finds nothing here
+        WarehouseContext.setWarehouseId("wh-b");
+        when(blockRepository.findWithRoomById("b1")).thenReturn(Optional.empty());
+        assertThat(referenceDataCache.findBlock("b1")).isEmpty();
+    }
+}
@@ -0,0 +1,97 @@
+package com.example.warehouse.cache;
+
+import com.example.warehouse.cache.UserAccountCache.UserAccount;
+import com.example.warehouse.entity.Admin;
+import com.example.warehouse.entity.Staff;
+import com.example.warehouse.entity.WareHouse;
+import com.example.warehouse.enums.UserRole;
+import com.example.warehouse.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class UserAccountCacheTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    private UserAccountCache userAccountCache;
+
+    @BeforeEach
+    void setUp() {
+        userAccountCache = new UserAccountCache(new ConcurrentMapCacheManager(UserAccountCache.USER_ACCOUNTS),
+                userRepository);
+    }
+
+    @Test
+    void find_loadsOnceUntilEvicted() {
+        Staff staff = staff("u1", "picker", "picker@example.com", "wh-a");
+        when(userRepository.searchUserByIdentifier("picker@example.com"))
+                .thenReturn(Optional.of(staff));
+
+        assertThat(userAccountCache.find("picker@example.com")).map(UserAccount::warehouseId).contains("wh-a");
+        assertThat(userAccountCache.find("picker@example.com")).map(UserAccount::warehouseId).contains("wh-a");
+        verify(userRepository, times(1)).searchUserByIdentifier("picker@example.com");
+
+        // Reassigned to another warehouse
+        staff.setWarehouse(warehouse("wh-b"));
+        userAccountCache.evictUser(staff);
+        assertThat(userAccountCache.find("picker@example.com")).map(UserAccount::warehouseId).contains("wh-b");
+        verify(userRepository, times(2)).searchUserByIdentifier("picker@example.com");
+    }
+
+    @Test
+    void find_cachesUnknownIdentifiersUntilEvicted() {
+        when(userRepository.searchUserByIdentifier("new@example.com"))
+                .thenReturn(Optional.empty());
+
+        assertThat(userAccountCache.find("new@example.com")).isEmpty();
+        assertThat(userAccountCache.find("new@example.com")).isEmpty();
+        verify(userRepository, times(1)).searchUserByIdentifier("new@example.com");
+
+        Admin admin = new Admin();
+        admin.setUserId("u2");
+        admin.setUsername("new");
+        admin.setEmail("new@example.com");
+        admin.setPassword("hash");
+        admin.setUserRole(UserRole.ADMIN);
+        when(userRepository.searchUserByIdentifier("new@example.com"))
+                .thenReturn(Optional.of(admin));
+        userAccountCache.evictUser(admin);
+
+        assertThat(userAccountCache.find("new@example.com"))
+                .hasValueSatisfying(account -> {
+                    assertThat(account.role()).isEqualTo(UserRole.ADMIN);
+                    assertThat(account.warehouseId()).isNull();
+                    assertThat(account.toString()).doesNotContain("hash");
+                });
+    }
+
+    private static Staff staff(String userId, String username, String email, String warehouseId) {
+        Staff staff = new Staff();
+        staff.setUserId(userId);
+        staff.setUsername(username);
+        staff.setEmail(email);
+        staff.setPassword("hash");
+        staff.setUserRole(UserRole.PICKER);
+        staff.setWarehouse(warehouse(warehouseId));
+        return staff;
+    }
+
+    private static WareHouse warehouse(String warehouseId) {
+        WareHouse warehouse = new WareHouse();
+        warehouse.setWarehouseId(warehouseId);
+        return warehouse;
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.warehouse.config;
+
+import com.example.warehouse.logging.AccessLog;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockAsyncContext;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class RequestLoggingFilterTest {
+
+    @Mock
+    private AccessLog accessLog;
+
+    private RequestLoggingFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        filter = new RequestLoggingFilter(accessLog);
+        when(accessLog.isSampled(anyInt(), anyLong())).thenReturn(true);
+    }
+
+    @Test
+    void synchronousRequest_isLoggedWithItsStatus() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/inventory");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request, response, (req, res) -> response.setStatus(404));
+
+        assertThat(logged().status()).isEqualTo(404);
+    }
+
+    @Test
+    void asyncRequest_isLoggedOnCompletionWithTheFinalStatusAndDuration() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/login");
+        request.setAsyncSupported(true);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request, response, (req, res) -> req.startAsync());
+        verify(accessLog, never()).append(any());
+
+        Thread.sleep(20);
+        response.setStatus(401);
+        ((MockAsyncContext) request.getAsyncContext()).complete();
+
+        AccessLog.Entry entry = logged();
+        assertThat(entry.status()).isEqualTo(401);
+        assertThat(entry.durationNanos()).isGreaterThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(20));
+    }
+
+    private AccessLog.Entry logged() {
+        ArgumentCaptor<AccessLog.Entry> entry = ArgumentCaptor.forClass(AccessLog.Entry.class);
+        verify(accessLog).append(entry.capture());
+        return entry.getValue();
+    }
+}
@@ -1,8 +1,15 @@
 package com.example.warehouse.controller;
 
+import com.example.warehouse.cache.UserAccountCache;
 import com.example.warehouse.dto.response.PickTaskResponse;
 import com.example.warehouse.dto.response.WareHouseResponse;
+import com.example.warehouse.logging.AccessLog;
+import com.example.warehouse.metrics.RequestLatencyMetrics;
+import com.example.warehouse.metrics.SqlStatsMetrics;
+import com.example.warehouse.metrics.WarehouseMetrics;
+import com.example.warehouse.ratelimit.RateLimiter;
 import com.example.warehouse.repository.UserRepository;
+import com.example.warehouse.security.JwtService;
 import com.example.warehouse.security.SecurityConfig;
 import com.example.warehouse.service.impl.SystemStatusService;
 import com.example.warehouse.service.contract.OrderService;
@@ -17,12 +24,14 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.context.annotation.Import;
 import org.springframework.data.jpa.mapping.JpaMetamodelMappingContext;
+import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.security.test.context.support.WithMockUser;
 
 import java.util.List;
 
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -51,6 +60,30 @@ class ControllerAuthorizationTest {
     @MockBean
     private SystemStatusService systemStatusService;
 
+    @MockBean
+    private WarehouseMetrics warehouseMetrics;
+
+    @MockBean
+    private UserAccountCache userAccountCache;
+
+    @MockBean
+    private RateLimiter rateLimiter;
+
+    @MockBean
+    private RequestLatencyMetrics requestLatencyMetrics;
+
+    @MockBean
+    private SqlStatsMetrics sqlStatsMetrics;
+
+    @MockBean
+    private AccessLog accessLog;
+
+    @MockBean
+    private JwtService jwtService;
+
+    @MockBean
+    private UserDetailsService userDetailsService;
+
     @MockBean
     private JpaMetamodelMappingContext jpaMetamodelMappingContext;
 
@@ -64,42 +97,42 @@ class ControllerAuthorizationTest {
     @Test
     @WithMockUser(authorities = "STAFF")
     void staffShouldBeForbiddenOnAdminOnlyEndpoint() throws Exception {
-        mockMvc.perform(get("/warehouses"))
+        mockMvc.perform(delete("/api/warehouses/wh-1"))
                 .andExpect(status().isForbidden());
     }
 
     @Test
     @WithMockUser(authorities = "ADMIN")
     void adminShouldAccessAdminEndpoint() throws Exception {
-        mockMvc.perform(get("/warehouses"))
+        mockMvc.perform(get("/api/warehouses"))
                 .andExpect(status().isOk());
     }
 
     @Test
     @WithMockUser(authorities = "PICKER")
     void pickerShouldBeForbiddenOnOrdersListing() throws Exception {
-        mockMvc.perform(get("/orders"))
+        mockMvc.perform(get("/api/orders"))
                 .andExpect(status().isForbidden());
     }
 
     @Test
     @WithMockUser(authorities = "PICKER")
     void pickerShouldAccessPickTasksEndpoint() throws Exception {
-        mockMvc.perform(get("/orders/pick-tasks/picker/picker-1"))
+        mockMvc.perform(get("/api/orders/pick-tasks/picker/picker-1"))
                 .andExpect(status().isOk());
     }
 
     @Test
     @WithMockUser(authorities = "EXTERNAL_SHIPPER")
     void shipperShouldAccessShipmentEndpoints() throws Exception {
-        mockMvc.perform(get("/shipments/all"))
+        mockMvc.perform(get("/api/shipments/all"))
                 .andExpect(status().isOk());
     }
 
     @Test
     @WithMockUser(authorities = "EXTERNAL_SHIPPER")
     void shipperShouldBeForbiddenOnNonShipmentEndpoints() throws Exception {
-        mockMvc.perform(get("/vehicles"))
+        mockMvc.perform(get("/api/vehicles"))
                 .andExpect(status().isForbidden());
     }
 }
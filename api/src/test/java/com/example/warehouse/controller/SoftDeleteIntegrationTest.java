@@ -53,7 +53,7 @@ public class SoftDeleteIntegrationTest extends AbstractIntegrationTest {
                 }
                 """;
 
-        MvcResult createResult = mockMvc.perform(post("/products")
+        MvcResult createResult = mockMvc.perform(post("/api/products")
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(payload))
                 .andExpect(status().isCreated())
@@ -68,7 +68,7 @@ public class SoftDeleteIntegrationTest extends AbstractIntegrationTest {
         assertNull(product.getDeletedAt());
 
         // 3. Delete the product (Soft Delete)
-        mockMvc.perform(delete("/products/" + productId))
+        mockMvc.perform(delete("/api/products/" + productId))
                 .andExpect(status().isOk());
 
         // 4. Verify product is STILL in DB but marked as DELETED
@@ -77,16 +77,16 @@ public class SoftDeleteIntegrationTest extends AbstractIntegrationTest {
         assertNotNull(product.getDeletedAt());
 
         // 5. Verify product is NOT returned by standard list query
-        mockMvc.perform(get("/products"))
+        mockMvc.perform(get("/api/products"))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.data").isEmpty());
 
         // 6. Verify product is NOT returned by get by ID
-        mockMvc.perform(get("/products/" + productId))
+        mockMvc.perform(get("/api/products/" + productId))
                 .andExpect(status().isNotFound());
 
         // 7. Restore the product
-        mockMvc.perform(post("/products/" + productId + "/restore"))
+        mockMvc.perform(post("/api/products/" + productId + "/restore"))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.data.productId").value(productId));
 
@@ -96,7 +96,7 @@ public class SoftDeleteIntegrationTest extends AbstractIntegrationTest {
         assertNull(product.getDeletedAt());
 
         // 9. Verify product IS returned by standard list query again
-        mockMvc.perform(get("/products"))
+        mockMvc.perform(get("/api/products"))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.data[0].productId").value(productId));
     }
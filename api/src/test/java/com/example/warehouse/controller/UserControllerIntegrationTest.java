@@ -45,7 +45,7 @@ class UserControllerIntegrationTest extends AbstractIntegrationTest {
                 "9999999999",
                 null);
 
-        mockMvc.perform(post("/register")
+        mockMvc.perform(post("/api/register")
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(objectMapper.writeValueAsString(payload)))
                 .andExpect(status().isCreated())
@@ -0,0 +1,123 @@
+package com.example.warehouse.datagen;
+
+import com.example.warehouse.support.AbstractIntegrationTest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.time.LocalDate;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+class DataGeneratorIntegrationTest extends AbstractIntegrationTest {
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ConfigurableApplicationContext context;
+
+    private final DataGeneratorProperties properties = new DataGeneratorProperties();
+
+    // The container is shared with the other integration tests, some of which
+    // delete every product; take the generated warehouse out again
+    @AfterEach
+    void cleanUp() {
+        String warehouseId = new SyntheticWarehouseGenerator(properties, properties.getUntil()).warehouseId();
+        String tag = Long.toString(properties.getSeed(), 36).toUpperCase();
+        jdbcTemplate.update("DELETE FROM stock_movement WHERE warehouse_id = ?", warehouseId);
+        // The ledger rejects deletes; lift that for this warehouse's rows only
+        jdbcTemplate.execute("ALTER TABLE inventory_ledger DISABLE TRIGGER inventory_ledger_immutable");
+        try {
+            jdbcTemplate.update("DELETE FROM inventory_ledger WHERE warehouse_id = ?", warehouseId);
+        } finally {
+            jdbcTemplate.execute("ALTER TABLE inventory_ledger ENABLE TRIGGER inventory_ledger_immutable");
+        }
+        jdbcTemplate.update("DELETE FROM inventory WHERE warehouse_id = ?", warehouseId);
+        jdbcTemplate.update("DELETE FROM shipment_event WHERE shipment_id IN "
+                + "(SELECT shipment_id FROM shipment WHERE warehouse_id = ?)", warehouseId);
+        jdbcTemplate.update("DELETE FROM shipment_item WHERE shipment_id IN "
+                + "(SELECT shipment_id FROM shipment WHERE warehouse_id = ?)", warehouseId);
+        jdbcTemplate.update("DELETE FROM shipment WHERE warehouse_id = ?", warehouseId);
+        jdbcTemplate.update("DELETE FROM pick_task WHERE warehouse_id = ?", warehouseId);
+        jdbcTemplate.update("DELETE FROM orders WHERE warehouse_id = ?", warehouseId);
+        jdbcTemplate.update("DELETE FROM recked WHERE block_id IN "
+                + "(SELECT block_id FROM block WHERE warehouse_id = ?)", warehouseId);
+        jdbcTemplate.update("DELETE FROM un_recked WHERE block_id IN "
+                + "(SELECT block_id FROM block WHERE warehouse_id = ?)", warehouseId);
+        jdbcTemplate.update("DELETE FROM block WHERE warehouse_id = ?", warehouseId);
+        jdbcTemplate.update("DELETE FROM room WHERE warehouse_id = ?", warehouseId);
+        jdbcTemplate.update("DELETE FROM product WHERE sku LIKE ?", "SYN-" + tag + "-%");
+        jdbcTemplate.update("DELETE FROM shipper WHERE name = ? OR name LIKE ?", "Own Fleet " + tag,
+                "% " + tag + "-%");
+        jdbcTemplate.update("DELETE FROM warehouse WHERE warehouse_id = ?", warehouseId);
+    }
+
+    @Test
+    void generate_loadsAConsistentWarehouse() throws InterruptedException {
+        // A fresh seed per run: the container is shared with the other integration tests
+        properties.setSeed(System.nanoTime());
+        properties.setUntil(LocalDate.of(2026, 6, 1));
+        properties.setHistoryDays(90);
+        properties.setRooms(2);
+        properties.setBlocksPerRoom(10);
+        properties.setProducts(300);
+        properties.setInventoryRows(800);
+        properties.setOrders(3_000);
+        properties.setOrdersPerChunk(500);
+        properties.setStockMovements(20_000);
+        properties.setMovementsPerChunk(5_000);
+        properties.setThreads(3);
+        DataGeneratorRunner runner = new DataGeneratorRunner(dataSource, jdbcTemplate, properties, context);
+        String warehouseId = new SyntheticWarehouseGenerator(properties, properties.getUntil()).warehouseId();
+
+        Map<String, Long> rows = runner.generate();
+
+        assertThat(count("SELECT count(*) FROM orders WHERE warehouse_id = ?", warehouseId))
+                .isEqualTo(rows.get("orders")).isEqualTo(3_000);
+        assertThat(count("SELECT count(*) FROM pick_task WHERE warehouse_id = ?", warehouseId))
+                .isEqualTo(rows.get("pick_task")).isGreaterThan(3_000);
+        assertThat(count("SELECT count(*) FROM stock_movement WHERE warehouse_id = ?", warehouseId))
+                .isEqualTo(rows.get("stock_movement")).isEqualTo(20_000);
+        assertThat(count("SELECT count(*) FROM stock_movement_default WHERE warehouse_id = ?", warehouseId))
+                .isZero();
+        assertThat(count("SELECT count(*) FROM shipment_event e JOIN shipment s ON s.shipment_id = e.shipment_id "
+                + "WHERE s.warehouse_id = ?", warehouseId)).isEqualTo(rows.get("shipment_event"));
+
+        // Reservations match the open pick tasks and never exceed stock
+        assertThat(count("""
+                SELECT count(*) FROM inventory i
+                WHERE i.warehouse_id = ?
+                  AND (i.reserved_quantity > i.quantity
+                       OR i.reserved_quantity <> (
+                           SELECT COALESCE(SUM(t.quantity), 0)
+                           FROM pick_task t JOIN orders o ON o.order_id = t.order_id
+                           WHERE t.product_id = i.product_id AND t.block_id = i.block_id
+                             AND o.status IN ('PENDING', 'PICK_ASSIGNED') AND t.status <> 'COMPLETED'))""",
+                warehouseId)).isZero();
+        // The ledger sums to the stock and the occupancy counters to the inventory
+        assertThat(count("SELECT COALESCE(SUM(quantity_delta), 0) FROM inventory_ledger WHERE warehouse_id = ?",
+                warehouseId)).isEqualTo(count("SELECT SUM(quantity) FROM inventory WHERE warehouse_id = ?",
+                        warehouseId));
+        assertThat(count("SELECT SUM(occupied_units) FROM block WHERE warehouse_id = ?", warehouseId))
+                .isEqualTo(count("SELECT SUM(quantity) FROM inventory WHERE warehouse_id = ?", warehouseId));
+
+        assertThatThrownBy(runner::generate).isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("already loaded");
+    }
+
+    private long count(String sql, Object... args) {
+        Long value = jdbcTemplate.queryForObject(sql, Long.class, args);
+        return value != null ? value : 0;
+    }
+}
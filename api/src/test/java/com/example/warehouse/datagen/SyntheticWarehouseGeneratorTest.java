@@ -0,0 +1,120 @@
+package com.example.warehouse.datagen;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SyntheticWarehouseGeneratorTest {
+
+    private static final LocalDate UNTIL = LocalDate.of(2026, 6, 1);
+
+    @Test
+    void generate_isDeterministicForASeed() throws InterruptedException {
+        Map<String, String> first = generate(small(7, 1));
+        Map<String, String> second = generate(small(7, 1));
+        Map<String, String> otherSeed = generate(small(8, 1));
+
+        assertThat(first).isEqualTo(second);
+        assertThat(first.get("stock_movement_p202605")).isNotEqualTo(otherSeed.get("stock_movement_p202605"));
+    }
+
+    @Test
+    void generate_writesTheSameRowsOnAnyNumberOfThreads() throws InterruptedException {
+        Map<String, String> serial = generate(small(7, 1));
+        Map<String, String> parallel = generate(small(7, 4));
+
+        assertThat(parallel.keySet()).isEqualTo(serial.keySet());
+        serial.forEach((table, rows) -> assertThat(sortedLines(parallel.get(table)))
+                .as(table).isEqualTo(sortedLines(rows)));
+    }
+
+    @Test
+    void generate_reservesExactlyTheOpenPickTasks() throws InterruptedException {
+        Map<String, String> tables = generate(small(7, 1));
+
+        Map<String, String> openOrders = new LinkedHashMap<>();
+        for (String row : tables.get("orders").split("\n")) {
+            String[] columns = row.split("\t");
+            if (columns[5].equals("PENDING") || columns[5].equals("PICK_ASSIGNED")) {
+                openOrders.put(columns[0], columns[5]);
+            }
+        }
+        assertThat(openOrders).isNotEmpty();
+
+        Map<String, Integer> reservedByLocation = new LinkedHashMap<>();
+        for (String row : tables.get("pick_task").split("\n")) {
+            String[] columns = row.split("\t");
+            if (openOrders.containsKey(columns[1]) && !columns[6].equals("COMPLETED")) {
+                reservedByLocation.merge(columns[2] + "/" + columns[3], Integer.parseInt(columns[4]), Integer::sum);
+            }
+        }
+        long inventoryReserved = 0;
+        for (String row : tables.get("inventory").split("\n")) {
+            String[] columns = row.split("\t");
+            int quantity = Integer.parseInt(columns[3]);
+            int reserved = Integer.parseInt(columns[4]);
+            assertThat(reserved).isEqualTo(reservedByLocation.getOrDefault(columns[1] + "/" + columns[2], 0));
+            assertThat(reserved).isLessThanOrEqualTo(quantity);
+            inventoryReserved += reserved;
+        }
+        assertThat(inventoryReserved).isPositive();
+    }
+
+    @Test
+    void zipfSampler_favoursLowRanks() {
+        ZipfSampler sampler = new ZipfSampler(1_000, 1.0, new SplittableRandom(1));
+        SplittableRandom random = new SplittableRandom(2);
+        int[] hits = new int[1_000];
+        for (int i = 0; i < 100_000; i++) {
+            hits[sampler.next(random)]++;
+        }
+
+        // 1/H(1000) of the draws go to rank 0, about 13%; rank 100 gets ~0.13%
+        assertThat(hits[sampler.itemAt(0)]).isBetween(12_000, 15_000);
+        assertThat(hits[sampler.itemAt(0)]).isGreaterThan(hits[sampler.itemAt(1)]);
+        assertThat(hits[sampler.itemAt(100)]).isLessThan(400);
+    }
+
+    private static DataGeneratorProperties small(long seed, int threads) {
+        DataGeneratorProperties properties = new DataGeneratorProperties();
+        properties.setSeed(seed);
+        properties.setHistoryDays(30);
+        properties.setOpenHours(24 * 10);
+        properties.setRooms(2);
+        properties.setBlocksPerRoom(10);
+        properties.setProducts(200);
+        properties.setInventoryRows(500);
+        properties.setOrders(2_000);
+        properties.setOrdersPerChunk(300);
+        properties.setStockMovements(10_000);
+        properties.setMovementsPerChunk(1_500);
+        properties.setThreads(threads);
+        return properties;
+    }
+
+    private static Map<String, String> generate(DataGeneratorProperties properties) throws InterruptedException {
+        Map<String, ByteArrayOutputStream> tables = new LinkedHashMap<>();
+        new SyntheticWarehouseGenerator(properties, UNTIL).generate((table, columns, data, length) -> {
+            synchronized (tables) {
+                tables.computeIfAbsent(table, t -> new ByteArrayOutputStream()).write(data, 0, length);
+            }
+        });
+        Map<String, String> text = new LinkedHashMap<>();
+        tables.forEach((table, bytes) -> text.put(table, bytes.toString(StandardCharsets.UTF_8)));
+        return text;
+    }
+
+    private static String[] sortedLines(String rows) {
+        String[] lines = rows.split("\n");
+        Arrays.sort(lines);
+        return lines;
+    }
+}
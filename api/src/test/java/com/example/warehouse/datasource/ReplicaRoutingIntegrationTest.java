@@ -0,0 +1,83 @@
+package com.example.warehouse.datasource;
+
+import com.example.warehouse.support.AbstractIntegrationTest;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.PersistenceContext;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Points the replica pool at the same Postgres under a different
+ * {@code application_name}, so each query reports which pool served it.
+ */
+@SpringBootTest
+class ReplicaRoutingIntegrationTest extends AbstractIntegrationTest {
+
+    private static final String REPLICA_APPLICATION_NAME = "warehouse-replica";
+
+    @DynamicPropertySource
+    static void registerReplica(DynamicPropertyRegistry registry) {
+        registry.add("app.datasource.replica.url", () -> POSTGRES.getJdbcUrl()
+                + (POSTGRES.getJdbcUrl().contains("?") ? "&" : "?")
+                + "currentSchema=warehouse_test&ApplicationName=" + REPLICA_APPLICATION_NAME);
+    }
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private ReplicaLagMonitor lagMonitor;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @BeforeEach
+    void checkReplica() {
+        lagMonitor.checkLag();
+        assertThat(lagMonitor.isReplicaUsable()).isTrue();
+    }
+
+    @Test
+    void readOnlyTransactionsRunOnReplica() {
+        assertThat(applicationName(true)).isEqualTo(REPLICA_APPLICATION_NAME);
+        assertThat(applicationName(false)).isNotEqualTo(REPLICA_APPLICATION_NAME);
+    }
+
+    @Test
+    void eachTransactionIsRoutedWhenOneSessionSpansSeveral() {
+        // As open-in-view does: one EntityManager bound for the whole request
+        EntityManager requestEntityManager = entityManagerFactory.createEntityManager();
+        TransactionSynchronizationManager.bindResource(entityManagerFactory,
+                new EntityManagerHolder(requestEntityManager));
+        try {
+            assertThat(applicationName(true)).isEqualTo(REPLICA_APPLICATION_NAME);
+            assertThat(applicationName(false)).isNotEqualTo(REPLICA_APPLICATION_NAME);
+            assertThat(applicationName(true)).isEqualTo(REPLICA_APPLICATION_NAME);
+        } finally {
+            TransactionSynchronizationManager.unbindResource(entityManagerFactory);
+            requestEntityManager.close();
+        }
+    }
+
+    private String applicationName(boolean readOnly) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(readOnly);
+        return transaction.execute(status -> (String) entityManager
+                .createNativeQuery("SELECT current_setting('application_name')")
+                .getSingleResult());
+    }
+}
@@ -0,0 +1,116 @@
+package com.example.warehouse.datasource;
+
+import com.example.warehouse.config.WarehouseContext;
+import com.example.warehouse.repository.BlockRepository;
+import com.example.warehouse.repository.RoomRepository;
+import com.example.warehouse.repository.ShipmentEventRepository;
+import com.example.warehouse.support.AbstractIntegrationTest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * A pool of two connections, so consecutive transactions of different
+ * warehouses keep getting connections that last served the other one.
+ */
+@SpringBootTest(properties = "spring.datasource.hikari.maximum-pool-size=2")
+class WarehouseSessionDataSourceIntegrationTest extends AbstractIntegrationTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private BlockRepository blockRepository;
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @Autowired
+    private ShipmentEventRepository shipmentEventRepository;
+
+    @BeforeEach
+    void seed() {
+        jdbcTemplate.update("INSERT INTO shipper (shipper_id, name, type, service_level, active, created_at, "
+                + "last_modified_at) VALUES ('scoped-shipper', 'Scoped', 'INTERNAL', 'STANDARD', true, now(), now())");
+        for (int w = 1; w <= 2; w++) {
+            jdbcTemplate.update("INSERT INTO warehouse (warehouse_id, name, city, address, landmark) "
+                    + "VALUES (?, 'Scoped', 'City', 'Address', 'Landmark')", "scoped-wh-" + w);
+            jdbcTemplate.update("INSERT INTO room (room_id, name, warehouse_id) VALUES (?, 'Scoped', ?)",
+                    "scoped-room-" + w, "scoped-wh-" + w);
+            jdbcTemplate.update("INSERT INTO orders (order_id, order_number, customer_name, status, created_at, "
+                    + "last_modified_at, warehouse_id) VALUES (?, ?, 'Scoped', 'PENDING', now(), now(), ?)",
+                    "scoped-order-" + w, "SCOPED-" + w, "scoped-wh-" + w);
+            jdbcTemplate.update("INSERT INTO shipment (shipment_id, shipment_code, order_id, shipper_id, warehouse_id, "
+                    + "status, created_at, last_modified_at) VALUES (?, ?, ?, 'scoped-shipper', ?, 'CREATED', now(), "
+                    + "now())", "scoped-shipment-" + w, "SCOPED-" + w, "scoped-order-" + w, "scoped-wh-" + w);
+            jdbcTemplate.update("INSERT INTO shipment_event (event_id, shipment_id, event_type, created_at) "
+                    + "VALUES (?, ?, 'PICKED', now())", "scoped-event-" + w, "scoped-shipment-" + w);
+            for (int b = 1; b <= w; b++) {
+                jdbcTemplate.update("INSERT INTO block (block_id, name, height, length, breath, type, warehouse_id, "
+                        + "deleted) VALUES (?, 'Scoped', 10, 10, 10, 1, ?, false)",
+                        "scoped-block-" + w + "-" + b, "scoped-wh-" + w);
+            }
+        }
+    }
+
+    @AfterEach
+    void cleanUp() {
+        WarehouseContext.clear();
+        jdbcTemplate.update("DELETE FROM shipment_event WHERE event_id LIKE 'scoped-event-%'");
+        jdbcTemplate.update("DELETE FROM shipment WHERE shipment_id LIKE 'scoped-shipment-%'");
+        jdbcTemplate.update("DELETE FROM orders WHERE order_id LIKE 'scoped-order-%'");
+        jdbcTemplate.update("DELETE FROM shipper WHERE shipper_id = 'scoped-shipper'");
+        jdbcTemplate.update("DELETE FROM block WHERE block_id LIKE 'scoped-block-%'");
+        jdbcTemplate.update("DELETE FROM room WHERE room_id LIKE 'scoped-room-%'");
+        jdbcTemplate.update("DELETE FROM warehouse WHERE warehouse_id LIKE 'scoped-wh-%'");
+    }
+
+    @Test
+    void reusedConnectionsFollowTheCurrentWarehouse() {
+        for (int i = 0; i < 20; i++) {
+            int warehouse = i % 2 + 1;
+            WarehouseContext.setWarehouseId("scoped-wh-" + warehouse);
+            assertThat(countBlocks()).isEqualTo(warehouse);
+            assertThat(blockRepository.findById("scoped-block-" + (3 - warehouse) + "-1")).isEmpty();
+        }
+    }
+
+    @Test
+    void connectionsWithoutAWarehouseSeeNoRows() {
+        WarehouseContext.setWarehouseId("scoped-wh-2");
+        assertThat(countBlocks()).isEqualTo(2);
+
+        WarehouseContext.clear();
+        for (int i = 0; i < 4; i++) {
+            assertThat(countBlocks()).isZero();
+        }
+    }
+
+    @Test
+    void roomsAndShipmentEventsAreScopedThroughTheirWarehouse() {
+        WarehouseContext.setWarehouseId("scoped-wh-1");
+        transactionTemplate.executeWithoutResult(status -> {
+            assertThat(roomRepository.count()).isEqualTo(1);
+            assertThat(roomRepository.findAll()).extracting("roomId").containsExactly("scoped-room-1");
+            assertThat(roomRepository.findById("scoped-room-2")).isEmpty();
+
+            assertThat(shipmentEventRepository.count()).isEqualTo(1);
+            assertThat(shipmentEventRepository.findAll()).extracting("eventId").containsExactly("scoped-event-1");
+            assertThat(shipmentEventRepository.findByShipmentShipmentIdOrderByCreatedAtAsc("scoped-shipment-2"))
+                    .isEmpty();
+        });
+    }
+
+    private long countBlocks() {
+        return transactionTemplate.execute(status -> blockRepository.count());
+    }
+}
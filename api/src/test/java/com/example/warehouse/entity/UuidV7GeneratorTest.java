@@ -0,0 +1,43 @@
+package com.example.warehouse.entity;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UuidV7GeneratorTest {
+
+    @Test
+    void next_shouldProduceVersion7RfcVariantIds() {
+        UUID id = UuidV7Generator.next();
+
+        assertThat(id.version()).isEqualTo(7);
+        assertThat(id.variant()).isEqualTo(2);
+    }
+
+    @Test
+    void next_shouldEmbedCurrentEpochMillis() {
+        long before = System.currentTimeMillis();
+        UUID id = UuidV7Generator.next();
+        long after = System.currentTimeMillis();
+
+        long embeddedMillis = id.getMostSignificantBits() >>> 16;
+        // the counter may carry into the timestamp under bursts, so allow a little headroom
+        assertThat(embeddedMillis).isBetween(before, after + 1_000);
+    }
+
+    @Test
+    void next_shouldBeStrictlyIncreasingAsStrings() {
+        List<String> ids = new ArrayList<>();
+        for (int i = 0; i < 50_000; i++) {
+            ids.add(UuidV7Generator.next().toString());
+        }
+
+        for (int i = 1; i < ids.size(); i++) {
+            assertThat(ids.get(i)).isGreaterThan(ids.get(i - 1));
+        }
+    }
+}
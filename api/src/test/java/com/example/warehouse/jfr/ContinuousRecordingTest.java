@@ -0,0 +1,76 @@
+package com.example.warehouse.jfr;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ContinuousRecordingTest {
+
+    private final ContinuousRecording recording = new ContinuousRecording(
+            new ClassPathResource("jfr/warehouse.jfc"), Duration.ofMinutes(5), DataSize.ofMegabytes(50));
+
+    @BeforeEach
+    void start() throws Exception {
+        recording.start();
+    }
+
+    @AfterEach
+    void stop() {
+        recording.stop();
+    }
+
+    @Test
+    void dump_containsTheWarehouseEventsWithTheirFields() throws Exception {
+        OrderAllocationEvent allocation = OrderAllocationEvent.start("wh-1", "ORD-1", 2);
+        allocation.inventoryRead(2);
+        allocation.inventoryRead(3);
+        allocation.finish("order-1", 3, true);
+        DispatchSideEffectEvent.start("wh-1", "order-1", "dispatch_shipment")
+                .finish(0, new IllegalStateException("no shipper"));
+        PickTaskTransitionEvent transition = PickTaskTransitionEvent.start("task-1", "ASSIGNED", "IN_PROGRESS");
+        transition.finish(false);
+
+        Path file = recording.dump();
+        try {
+            List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+
+            RecordedEvent recorded = single(events, "com.example.warehouse.OrderAllocation");
+            assertThat(recorded.getString("warehouseId")).isEqualTo("wh-1");
+            assertThat(recorded.getString("orderNumber")).isEqualTo("ORD-1");
+            assertThat(recorded.getInt("inventoryRows")).isEqualTo(5);
+            assertThat(recorded.getInt("pickTasks")).isEqualTo(3);
+            assertThat(recorded.getBoolean("allocated")).isTrue();
+
+            RecordedEvent failure = single(events, "com.example.warehouse.DispatchSideEffect");
+            assertThat(failure.getBoolean("succeeded")).isFalse();
+            assertThat(failure.getString("error")).contains("no shipper");
+
+            // A task that failed to load still records what was attempted
+            RecordedEvent rejected = single(events, "com.example.warehouse.PickTaskTransition");
+            assertThat(rejected.getString("taskId")).isEqualTo("task-1");
+            assertThat(rejected.getString("toStatus")).isEqualTo("IN_PROGRESS");
+            assertThat(rejected.getBoolean("succeeded")).isFalse();
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    private static RecordedEvent single(List<RecordedEvent> events, String name) {
+        List<RecordedEvent> matching = events.stream()
+                .filter(event -> event.getEventType().getName().equals(name))
+                .toList();
+        assertThat(matching).hasSize(1);
+        return matching.get(0);
+    }
+}
@@ -0,0 +1,138 @@
+package com.example.warehouse.journal;
+
+import com.example.warehouse.config.WarehouseContext;
+import com.example.warehouse.dto.request.StockMovementRequest;
+import com.example.warehouse.dto.response.StockMovementResponse;
+import com.example.warehouse.service.contract.StockMovementService;
+import com.example.warehouse.support.AbstractIntegrationTest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.IllegalTransactionStateException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+class StockMovementJournalIntegrationTest extends AbstractIntegrationTest {
+
+    private static final String WAREHOUSE = "journal-wh";
+    private static final String PRODUCT = "journal-prod";
+    private static final String BLOCK = "journal-block";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private StockMovementService stockMovementService;
+
+    @Autowired
+    private StockMovementJournal journal;
+
+    @BeforeEach
+    void seed() {
+        jdbcTemplate.update("INSERT INTO warehouse (warehouse_id, name, city, address, landmark) "
+                + "VALUES (?, 'Journal', 'City', 'Address', 'Landmark')", WAREHOUSE);
+        jdbcTemplate.update("INSERT INTO product (product_id, name, sku, category, unit_price, created_at, last_modified_at) "
+                + "VALUES (?, 'Journal', 'SKU-JOURNAL', 'TEST', 1.0, now(), now())", PRODUCT);
+        jdbcTemplate.update("INSERT INTO block (block_id, name, height, length, breath, type, warehouse_id, deleted) "
+                + "VALUES (?, 'Journal', 10, 10, 10, 1, ?, false)", BLOCK, WAREHOUSE);
+        WarehouseContext.setWarehouseId(WAREHOUSE);
+    }
+
+    @AfterEach
+    void cleanUp() throws InterruptedException {
+        WarehouseContext.clear();
+        journal.awaitWritten(Duration.ofSeconds(10));
+        jdbcTemplate.update("DELETE FROM stock_movement WHERE warehouse_id = ?", WAREHOUSE);
+        jdbcTemplate.update("DELETE FROM block WHERE block_id = ?", BLOCK);
+        jdbcTemplate.update("DELETE FROM product WHERE product_id = ?", PRODUCT);
+        jdbcTemplate.update("DELETE FROM warehouse WHERE warehouse_id = ?", WAREHOUSE);
+    }
+
+    @Test
+    void recordMovement_isWrittenWhenItReturns() {
+        StockMovementResponse response = stockMovementService.recordMovement(request("INBOUND"), "tester");
+
+        assertThat(countMovements(response.getMovementId())).isEqualTo(1);
+        assertThat(response.getCreatedAt()).isNotNull();
+    }
+
+    @Test
+    void writeMovement_commitsAndRollsBackWithTheCaller() {
+        StockMovementRequest committed = request("PICK");
+        committed.setReferenceId("journal-committed");
+        StockMovementRequest rolledBack = request("PICK");
+        rolledBack.setReferenceId("journal-rolled-back");
+
+        transactionTemplate.executeWithoutResult(status -> {
+            stockMovementService.writeMovement(committed, "tester");
+            // Written on the caller's connection, so its own transaction already sees it
+            assertThat(countByReference("journal-committed")).isEqualTo(1);
+        });
+        transactionTemplate.executeWithoutResult(status -> {
+            stockMovementService.writeMovement(rolledBack, "tester");
+            status.setRollbackOnly();
+        });
+
+        assertThat(countByReference("journal-committed")).isEqualTo(1);
+        assertThat(countByReference("journal-rolled-back")).isZero();
+        assertThat(journal.queueDepth()).isZero();
+    }
+
+    @Test
+    void writeMovement_outsideATransaction_isRejected() {
+        assertThatThrownBy(() -> stockMovementService.writeMovement(request("PICK"), "tester"))
+                .isInstanceOf(IllegalTransactionStateException.class);
+    }
+
+    @Test
+    void badEntry_failsAloneAndDoesNotTakeItsBatchDown() {
+        CompletableFuture<Void> good = journal.append(entry(PRODUCT));
+        CompletableFuture<Void> bad = journal.append(entry("journal-missing-product"));
+        CompletableFuture<Void> alsoGood = journal.append(entry(PRODUCT));
+
+        CompletableFuture.allOf(good, alsoGood).join();
+        assertThat(bad).isCompletedExceptionally();
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM stock_movement WHERE warehouse_id = ?", Integer.class, WAREHOUSE))
+                .isEqualTo(2);
+    }
+
+    private StockMovementRequest request(String type) {
+        StockMovementRequest request = new StockMovementRequest();
+        request.setProductId(PRODUCT);
+        request.setToBlockId(BLOCK);
+        request.setQuantity(5);
+        request.setMovementType(type);
+        request.setReferenceType("TEST");
+        return request;
+    }
+
+    private StockMovementJournal.Entry entry(String productId) {
+        return new StockMovementJournal.Entry(UUID.randomUUID().toString(), productId, null, BLOCK, 1,
+                "ADJUSTMENT", "TEST", null, null, "tester", Instant.now(), WAREHOUSE);
+    }
+
+    private int countMovements(String movementId) {
+        return jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM stock_movement WHERE movement_id = ?", Integer.class, movementId);
+    }
+
+    private int countByReference(String referenceId) {
+        return jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM stock_movement WHERE reference_id = ?", Integer.class, referenceId);
+    }
+}
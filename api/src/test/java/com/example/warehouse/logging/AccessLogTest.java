@@ -0,0 +1,47 @@
+package com.example.warehouse.logging;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AccessLogTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void isSampled_keepsErrorsAndSlowRequestsWhateverTheRate() {
+        AccessLog accessLog = new AccessLog(meterRegistry, 10, 0.0, Duration.ofMillis(500));
+
+        assertThat(accessLog.isSampled(200, TimeUnit.MILLISECONDS.toNanos(10))).isFalse();
+        assertThat(accessLog.isSampled(404, TimeUnit.MILLISECONDS.toNanos(10))).isFalse();
+        assertThat(accessLog.isSampled(503, TimeUnit.MILLISECONDS.toNanos(10))).isTrue();
+        assertThat(accessLog.isSampled(200, TimeUnit.MILLISECONDS.toNanos(800))).isTrue();
+        assertThat(new AccessLog(meterRegistry, 10, 1.0, Duration.ofMillis(500))
+                .isSampled(200, TimeUnit.MILLISECONDS.toNanos(10))).isTrue();
+    }
+
+    @Test
+    void append_dropsEntriesWhenTheQueueIsFull() {
+        // Not started, so nothing drains the queue
+        AccessLog accessLog = new AccessLog(meterRegistry, 2, 1.0, Duration.ofMillis(500));
+
+        for (int i = 0; i < 5; i++) {
+            accessLog.append(new AccessLog.Entry("GET", "/api/inventory", 200, 1_000, "corr-" + i));
+        }
+
+        assertThat(accessLog.queueDepth()).isEqualTo(2);
+        assertThat(meterRegistry.counter("access_log.dropped").count()).isEqualTo(3);
+    }
+
+    @Test
+    void format_writesOneKeyValueLine() {
+        String line = AccessLog.format(new StringBuilder(),
+                new AccessLog.Entry("POST", "/api/orders", 201, TimeUnit.MILLISECONDS.toNanos(42), "abc"));
+
+        assertThat(line).isEqualTo("method=POST path=/api/orders status=201 ms=42 corr=abc");
+    }
+}
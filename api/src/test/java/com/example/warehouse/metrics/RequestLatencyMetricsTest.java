@@ -0,0 +1,52 @@
+package com.example.warehouse.metrics;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class RequestLatencyMetricsTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final RequestLatencyMetrics metrics = new RequestLatencyMetrics(meterRegistry, Duration.ofMinutes(1), 6);
+
+    @Test
+    void record_keepsOneTimerPerRouteMethodAndStatus() {
+        metrics.record("/api/orders/{orderId}", "GET", 200, millis(10));
+        metrics.record("/api/orders/{orderId}", "GET", 200, millis(20));
+        metrics.record("/api/orders/{orderId}", "GET", 404, millis(5));
+        metrics.record("/api/orders/{orderId}", "PUT", 200, millis(30));
+
+        Timer ok = meterRegistry.get(RequestLatencyMetrics.ROUTE_TIMER)
+                .tags("route", "/api/orders/{orderId}", "method", "GET", "status", "200").timer();
+        assertThat(ok.count()).isEqualTo(2);
+        assertThat(meterRegistry.get(RequestLatencyMetrics.ROUTE_TIMER).timers()).hasSize(3);
+        assertThat(meterRegistry.get(RequestLatencyMetrics.ALL_TIMER).timer().count()).isEqualTo(4);
+    }
+
+    @Test
+    void window_reportsPercentilesAndTheShareOfServerErrors() {
+        for (int i = 1; i <= 100; i++) {
+            metrics.record("/api/inventory", "GET", i <= 3 ? 503 : 200, millis(i));
+        }
+
+        RequestLatencyMetrics.Window window = metrics.window();
+
+        assertThat(window.requests()).isEqualTo(100);
+        assertThat(window.errors()).isEqualTo(3);
+        assertThat(window.errorRate()).isCloseTo(0.03, within(1e-9));
+        // Percentiles are approximations from a histogram
+        assertThat(window.p50Millis()).isCloseTo(50, within(5.0));
+        assertThat(window.p99Millis()).isCloseTo(99, within(10.0));
+        assertThat(window.p95Millis()).isBetween(window.p50Millis(), window.p99Millis());
+    }
+
+    private static long millis(int millis) {
+        return TimeUnit.MILLISECONDS.toNanos(millis);
+    }
+}
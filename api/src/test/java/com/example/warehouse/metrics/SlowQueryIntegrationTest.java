@@ -0,0 +1,107 @@
+package com.example.warehouse.metrics;
+
+import com.example.warehouse.config.WarehouseContext;
+import com.example.warehouse.repository.OrderRepository;
+import com.example.warehouse.support.AbstractIntegrationTest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "app.slow-query.enabled=true",
+        "app.slow-query.threshold=0ms",
+        "app.slow-query.explain.enabled=true",
+        "app.slow-query.explain.after=2",
+        "app.slow-query.explain.sample-rate=1",
+        "management.endpoints.web.exposure.include=slowqueries" })
+@AutoConfigureMockMvc
+class SlowQueryIntegrationTest extends AbstractIntegrationTest {
+
+    private static final String WAREHOUSE = "slow-query-wh";
+    private static final String CALLER = "OrderRepository.findByCustomerNameContainingIgnoreCaseOrderByCreatedAtDesc";
+
+    @Autowired
+    private SlowQueryLog slowQueryLog;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        slowQueryLog.clear();
+        WarehouseContext.setWarehouseId(WAREHOUSE);
+    }
+
+    @AfterEach
+    void cleanUp() {
+        WarehouseContext.clear();
+    }
+
+    @Test
+    void slowQuery_isCapturedWithParametersCallerAndPlan() throws InterruptedException {
+        orderRepository.findByCustomerNameContainingIgnoreCaseOrderByCreatedAtDesc("Acme");
+        orderRepository.findByCustomerNameContainingIgnoreCaseOrderByCreatedAtDesc("Acme");
+
+        List<SlowQueryLog.SlowQuery> captured = slowQueryLog.recent().stream()
+                .filter(query -> query.caller().equals(CALLER))
+                .toList();
+        assertThat(captured).hasSize(2);
+        assertThat(captured.get(0).occurrences()).isEqualTo(2);
+        assertThat(captured.get(0).warehouseId()).isEqualTo(WAREHOUSE);
+        assertThat(captured.get(0).parameters()).contains("'Acme'");
+
+        // The second run makes it a repeat offender; its plan is taken in the background
+        SlowQueryLog.Plan plan = awaitPlan(captured.get(0).sql());
+        assertThat(plan.caller()).isEqualTo(CALLER);
+        assertThat(plan.plan()).contains("actual time");
+    }
+
+    @Test
+    @WithMockUser(authorities = "ADMIN")
+    void endpoint_listsCapturedQueries() throws Exception {
+        orderRepository.findByCustomerNameContainingIgnoreCaseOrderByCreatedAtDesc("Acme");
+
+        mockMvc.perform(get("/actuator/slowqueries"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.thresholdMillis").value(0.0))
+                .andExpect(jsonPath("$.queries[?(@.caller == '" + CALLER + "')]").exists());
+    }
+
+    @Test
+    @WithMockUser(authorities = "STAFF")
+    void endpoint_isAdminOnly() throws Exception {
+        mockMvc.perform(get("/actuator/slowqueries"))
+                .andExpect(status().isForbidden());
+    }
+
+    private SlowQueryLog.Plan awaitPlan(String sql) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (System.nanoTime() < deadline) {
+            Optional<SlowQueryLog.Plan> plan = slowQueryLog.plans().stream()
+                    .filter(candidate -> candidate.sql().equals(sql))
+                    .findFirst();
+            if (plan.isPresent()) {
+                return plan.get();
+            }
+            Thread.sleep(20);
+        }
+        throw new AssertionError("No plan captured for " + sql);
+    }
+}
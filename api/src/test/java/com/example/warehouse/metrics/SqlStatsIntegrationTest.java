@@ -0,0 +1,109 @@
+package com.example.warehouse.metrics;
+
+import com.example.warehouse.config.WarehouseContext;
+import com.example.warehouse.repository.BlockRepository;
+import com.example.warehouse.service.contract.AnalyticsService;
+import com.example.warehouse.support.AbstractIntegrationTest;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static com.example.warehouse.support.StatementCountAssertions.assertStatementCountDoesNotGrow;
+import static com.example.warehouse.support.StatementCountAssertions.countStatements;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "app.sql-stats.response-headers=true")
+@AutoConfigureMockMvc
+class SqlStatsIntegrationTest extends AbstractIntegrationTest {
+
+    private static final String WAREHOUSE = "sql-stats-wh";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private AnalyticsService analyticsService;
+
+    @Autowired
+    private BlockRepository blockRepository;
+
+    @BeforeEach
+    void seed() {
+        jdbcTemplate.update("INSERT INTO warehouse (warehouse_id, name, city, address, landmark) "
+                + "VALUES (?, 'SQL stats', 'City', 'Address', 'Landmark')", WAREHOUSE);
+        WarehouseContext.setWarehouseId(WAREHOUSE);
+    }
+
+    @AfterEach
+    void cleanUp() {
+        WarehouseContext.clear();
+        jdbcTemplate.update("DELETE FROM block WHERE warehouse_id = ?", WAREHOUSE);
+        jdbcTemplate.update("DELETE FROM warehouse WHERE warehouse_id = ?", WAREHOUSE);
+    }
+
+    @Test
+    @WithMockUser(authorities = "ADMIN")
+    void request_reportsItsStatementsInHeadersAndRouteMetrics() throws Exception {
+        mockMvc.perform(get("/api/analytics/block-utilization"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("X-SQL-Statements"))
+                .andExpect(header().exists("X-SQL-Rows"));
+
+        assertThat(meterRegistry.get(SqlStatsMetrics.STATEMENTS)
+                .tag("route", "/api/analytics/block-utilization")
+                .summary().count()).isEqualTo(1);
+    }
+
+    @Test
+    void blockUtilization_runsTheSameStatementsForAnyNumberOfBlocks() {
+        assertStatementCountDoesNotGrow(blocks -> {
+            seedBlocks(blocks);
+            return analyticsService::getBlockUtilization;
+        }, 2, 20);
+    }
+
+    @Test
+    void aQueryPerRow_isReported() {
+        assertThatThrownBy(() -> assertStatementCountDoesNotGrow(blocks -> {
+            List<String> ids = seedBlocks(blocks);
+            return () -> ids.forEach(blockRepository::findById);
+        }, 2, 20))
+                .isInstanceOf(AssertionError.class)
+                .hasMessageContaining("grows with input size");
+    }
+
+    @Test
+    void countStatements_countsJdbcTemplateQueriesToo() {
+        assertThat(countStatements(() -> jdbcTemplate.queryForList("SELECT 1 UNION ALL SELECT 2"))).isEqualTo(1);
+    }
+
+    // Replaces the warehouse's blocks with the given number of new ones
+    private List<String> seedBlocks(int count) {
+        jdbcTemplate.update("DELETE FROM block WHERE warehouse_id = ?", WAREHOUSE);
+        for (int i = 0; i < count; i++) {
+            jdbcTemplate.update("INSERT INTO block (block_id, name, height, length, breath, type, warehouse_id, "
+                    + "deleted) VALUES (?, ?, 2, 2, 2, 1, ?, false)", "sql-stats-block-" + i, "Block " + i, WAREHOUSE);
+        }
+        return jdbcTemplate.queryForList("SELECT block_id FROM block WHERE warehouse_id = ?", String.class,
+                WAREHOUSE);
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.warehouse.metrics;
+
+import com.example.warehouse.entity.ShipmentStatus;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class WarehouseMetricsTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final WarehouseMetrics metrics = new WarehouseMetrics(meterRegistry);
+
+    @Test
+    void orderCreation_timesOrdersPerWarehouseAndOutcome() {
+        metrics.orderCreation("wh-1", TimeUnit.MILLISECONDS.toNanos(10), true);
+        metrics.orderCreation("wh-1", TimeUnit.MILLISECONDS.toNanos(30), true);
+        metrics.orderCreation("wh-1", TimeUnit.MILLISECONDS.toNanos(5), false);
+        metrics.orderCreation(null, TimeUnit.MILLISECONDS.toNanos(5), true);
+
+        assertThat(meterRegistry.get(WarehouseMetrics.ORDERS_CREATE)
+                .tags("warehouse", "wh-1", "outcome", "success").timer().count()).isEqualTo(2);
+        assertThat(meterRegistry.get(WarehouseMetrics.ORDERS_CREATE)
+                .tags("warehouse", "wh-1", "outcome", "failure").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get(WarehouseMetrics.ORDERS_CREATE)
+                .tags("warehouse", "none", "outcome", "success").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void pickTaskCompleted_countsPerPickerAndAveragesThePickersActiveThisHour() {
+        metrics.pickTaskCompleted("wh-1", "alice");
+        metrics.pickTaskCompleted("wh-1", "alice");
+        metrics.pickTaskCompleted("wh-1", "alice");
+        metrics.pickTaskCompleted("wh-1", "bob");
+        metrics.pickTaskCompleted("wh-2", "carol");
+
+        assertThat(meterRegistry.get(WarehouseMetrics.PICKS_COMPLETED)
+                .tags("warehouse", "wh-1", "picker", "alice").counter().count()).isEqualTo(3);
+        assertThat(meterRegistry.get(WarehouseMetrics.PICKS_PER_PICKER_HOUR)
+                .tags("warehouse", "wh-1").gauge().value()).isEqualTo(2.0);
+        assertThat(meterRegistry.get(WarehouseMetrics.PICKS_PER_PICKER_HOUR)
+                .tags("warehouse", "wh-2").gauge().value()).isEqualTo(1.0);
+    }
+
+    @Test
+    void shipmentTransition_countsEachFromAndToPair() {
+        metrics.shipmentTransition("wh-1", null, ShipmentStatus.CREATED);
+        metrics.shipmentTransition("wh-1", ShipmentStatus.CREATED, ShipmentStatus.DISPATCHED);
+        metrics.shipmentTransition("wh-1", ShipmentStatus.CREATED, ShipmentStatus.DISPATCHED);
+
+        assertThat(meterRegistry.get(WarehouseMetrics.SHIPMENT_TRANSITIONS)
+                .tags("warehouse", "wh-1", "from", "NONE", "to", "CREATED").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get(WarehouseMetrics.SHIPMENT_TRANSITIONS)
+                .tags("warehouse", "wh-1", "from", "CREATED", "to", "DISPATCHED").counter().count()).isEqualTo(2);
+        assertThat(meterRegistry.get(WarehouseMetrics.SHIPMENT_TRANSITIONS).counters()).hasSize(2);
+    }
+
+    @Test
+    void failuresAndConflicts_areTaggedWithWhatFailed() {
+        metrics.sideEffectFailed("wh-1", "dispatch_shipment");
+        metrics.conflict("wh-1", "Inventory");
+        metrics.conflict("wh-1", "Inventory");
+        metrics.stockMovement("wh-1", "OUTBOUND");
+        metrics.capacityRejected("wh-1");
+
+        assertThat(meterRegistry.get(WarehouseMetrics.SIDE_EFFECT_FAILURES)
+                .tags("warehouse", "wh-1", "step", "dispatch_shipment").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get(WarehouseMetrics.CONFLICTS)
+                .tags("warehouse", "wh-1", "entity", "Inventory").counter().count()).isEqualTo(2);
+        assertThat(meterRegistry.get(WarehouseMetrics.STOCK_MOVEMENTS)
+                .tags("warehouse", "wh-1", "type", "OUTBOUND").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get(WarehouseMetrics.CAPACITY_REJECTIONS)
+                .tags("warehouse", "wh-1").counter().count()).isEqualTo(1);
+    }
+}
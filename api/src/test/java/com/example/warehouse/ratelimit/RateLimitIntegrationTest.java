@@ -0,0 +1,83 @@
+package com.example.warehouse.ratelimit;
+
+import com.example.warehouse.ratelimit.RateLimitProperties.Scope;
+import com.example.warehouse.ratelimit.RateLimitProperties.Store;
+import com.example.warehouse.support.AbstractIntegrationTest;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "app.rate-limit.routes.stock-movements.capacity=2",
+        "app.rate-limit.routes.stock-movements.refill-per-second=0.1" })
+@AutoConfigureMockMvc
+class RateLimitIntegrationTest extends AbstractIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.update("DELETE FROM rate_limit_bucket");
+    }
+
+    @Test
+    @WithMockUser(username = "poller", authorities = "ADMIN")
+    void overTheLimit_answers429WithRetryAfter() throws Exception {
+        mockMvc.perform(get("/api/stock-movements/recent")).andExpect(status().isOk());
+        mockMvc.perform(get("/api/stock-movements/recent")).andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/stock-movements/recent"))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string("Retry-After", "10"));
+
+        // Other routes are unaffected
+        mockMvc.perform(get("/api/orders")).andExpect(status().isOk());
+    }
+
+    @Test
+    void postgresStore_sharesOneBucketBetweenNodes() {
+        PostgresRateLimitStore store = new PostgresRateLimitStore(jdbcTemplate);
+        RateLimiter nodeA = sharedLimiter(store);
+        RateLimiter nodeB = sharedLimiter(store);
+        RateLimitRule ruleA = nodeA.ruleFor("/api/analytics/dashboard-summary");
+        RateLimitRule ruleB = nodeB.ruleFor("/api/analytics/dashboard-summary");
+
+        // Capacity 3 per warehouse, across both nodes
+        assertThat(nodeA.acquire(ruleA, "wh-shared", "a")).isZero();
+        assertThat(nodeB.acquire(ruleB, "wh-shared", "b")).isZero();
+        assertThat(nodeA.acquire(ruleA, "wh-shared", "c")).isZero();
+        assertThat(nodeB.acquire(ruleB, "wh-shared", "d")).isPositive();
+        assertThat(nodeA.acquire(ruleA, "wh-shared", "e")).isPositive();
+        assertThat(nodeB.acquire(ruleB, "wh-other", "f")).isZero();
+    }
+
+    private static RateLimiter sharedLimiter(PostgresRateLimitStore store) {
+        RateLimitProperties.Route route = new RateLimitProperties.Route();
+        route.setPaths(List.of("/api/analytics/**"));
+        route.setScope(Scope.WAREHOUSE);
+        route.setCapacity(3);
+        route.setRefillPerSecond(1.0 / 60);
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.setStore(Store.POSTGRES);
+        properties.getRoutes().put("analytics", route);
+        return new RateLimiter(properties, new SimpleMeterRegistry(), Optional.of(store));
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.warehouse.ratelimit;
+
+import com.example.warehouse.ratelimit.RateLimitProperties.Scope;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RateLimiterTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    @Test
+    void tokenBucket_allowsABurstThenRefillsAtTheConfiguredRate() {
+        // Capacity 3, one token every 100 ms
+        TokenBucket bucket = new TokenBucket(SECOND / 10, 2 * SECOND / 10, 0);
+
+        assertThat(bucket.tryAcquire(0)).isZero();
+        assertThat(bucket.tryAcquire(0)).isZero();
+        assertThat(bucket.tryAcquire(0)).isZero();
+        assertThat(bucket.tryAcquire(0)).isEqualTo(SECOND / 10);
+        assertThat(bucket.tryAcquire(SECOND / 20)).isEqualTo(SECOND / 20);
+
+        assertThat(bucket.tryAcquire(SECOND / 10)).isZero();
+        assertThat(bucket.tryAcquire(SECOND / 10)).isPositive();
+
+        // Idle for a long time: back to a full burst, not more
+        long later = 60 * SECOND;
+        assertThat(bucket.tryAcquire(later)).isZero();
+        assertThat(bucket.tryAcquire(later)).isZero();
+        assertThat(bucket.tryAcquire(later)).isZero();
+        assertThat(bucket.tryAcquire(later)).isPositive();
+    }
+
+    @Test
+    void acquire_keysUserRoutesByUserAndWarehouseRoutesByWarehouse() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        RateLimiter rateLimiter = new RateLimiter(properties(), meterRegistry, Optional.empty());
+        RateLimitRule movements = rateLimiter.ruleFor("/api/stock-movements/block/{blockId}");
+        RateLimitRule analytics = rateLimiter.ruleFor("/api/analytics/dashboard-summary");
+
+        assertThat(rateLimiter.acquire(movements, "wh-a", "alice")).isZero();
+        assertThat(rateLimiter.acquire(movements, "wh-a", "alice")).isPositive();
+        assertThat(rateLimiter.acquire(movements, "wh-a", "bob")).isZero();
+        assertThat(rateLimiter.acquire(movements, "wh-b", "alice")).isZero();
+
+        assertThat(rateLimiter.acquire(analytics, "wh-a", "alice")).isZero();
+        assertThat(rateLimiter.acquire(analytics, "wh-a", "bob")).isPositive();
+        assertThat(rateLimiter.acquire(analytics, "wh-b", "bob")).isZero();
+
+        assertThat(meterRegistry.counter("ratelimit.requests", "route", "stock-movements", "outcome", "limited")
+                .count()).isEqualTo(1);
+        assertThat(meterRegistry.counter("ratelimit.requests", "route", "analytics", "outcome", "allowed")
+                .count()).isEqualTo(2);
+    }
+
+    @Test
+    void ruleFor_returnsNullForRoutesWithoutALimit() {
+        RateLimiter rateLimiter = new RateLimiter(properties(), new SimpleMeterRegistry(), Optional.empty());
+
+        assertThat(rateLimiter.ruleFor("/api/orders/{orderId}")).isNull();
+        assertThat(rateLimiter.ruleFor("/api/stock-movements").name).isEqualTo("stock-movements");
+    }
+
+    private static RateLimitProperties properties() {
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.getRoutes().put("stock-movements", route(Scope.USER, "/api/stock-movements/**"));
+        properties.getRoutes().put("analytics", route(Scope.WAREHOUSE, "/api/analytics/**"));
+        return properties;
+    }
+
+    // One request per minute, so nothing refills during the test
+    private static RateLimitProperties.Route route(Scope scope, String... paths) {
+        RateLimitProperties.Route route = new RateLimitProperties.Route();
+        route.setPaths(List.of(paths));
+        route.setScope(scope);
+        route.setCapacity(1);
+        route.setRefillPerSecond(1.0 / 60);
+        return route;
+    }
+}
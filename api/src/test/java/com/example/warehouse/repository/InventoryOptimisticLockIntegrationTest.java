@@ -1,5 +1,6 @@
 package com.example.warehouse.repository;
 
+import com.example.warehouse.config.WarehouseContext;
 import com.example.warehouse.entity.Block;
 import com.example.warehouse.entity.Inventory;
 import com.example.warehouse.entity.Order;
@@ -9,6 +10,7 @@ import com.example.warehouse.entity.WareHouse;
 import com.example.warehouse.entity.PickTask;
 import com.example.warehouse.enums.BlockType;
 import com.example.warehouse.support.AbstractIntegrationTest;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -52,6 +54,14 @@ class InventoryOptimisticLockIntegrationTest extends AbstractIntegrationTest {
         productRepository.deleteAll();
     }
 
+    @AfterEach
+    void clearWarehouse() {
+        // Inventory and blocks are only visible to sessions of their own warehouse
+        inventoryRepository.deleteAll();
+        blockRepository.deleteAll();
+        WarehouseContext.clear();
+    }
+
     @Test
     void staleInventoryUpdate_throwsOptimisticLockingFailure() {
         Inventory persisted = inventoryRepository.saveAndFlush(buildInventory());
@@ -75,6 +85,8 @@ class InventoryOptimisticLockIntegrationTest extends AbstractIntegrationTest {
         wareHouse.setAddress("100 Supply Chain Rd");
         wareHouse.setLandmark("Dock A");
         WareHouse savedWarehouse = wareHouseRepository.save(wareHouse);
+        // Inventory lookups are scoped to the current warehouse
+        WarehouseContext.setWarehouseId(savedWarehouse.getWarehouseId());
 
         Room room = new Room();
         room.setName("Room A");
@@ -84,6 +96,7 @@ class InventoryOptimisticLockIntegrationTest extends AbstractIntegrationTest {
         Block block = new Block();
         block.setName("Block A1");
         block.setRoom(savedRoom);
+        block.setWarehouseId(savedWarehouse.getWarehouseId());
         block.setHeight(20.0);
         block.setLength(20.0);
         block.setBreath(20.0);
@@ -100,6 +113,7 @@ class InventoryOptimisticLockIntegrationTest extends AbstractIntegrationTest {
         Inventory inventory = new Inventory();
         inventory.setProduct(savedProduct);
         inventory.setBlock(savedBlock);
+        inventory.setWarehouseId(savedWarehouse.getWarehouseId());
         inventory.setQuantity(120);
         inventory.setReservedQuantity(0);
         inventory.setDamagedQuantity(0);
@@ -0,0 +1,282 @@
+package com.example.warehouse.repository;
+
+import com.example.warehouse.config.WarehouseContext;
+import com.example.warehouse.entity.MovementType;
+import com.example.warehouse.entity.OrderStatus;
+import com.example.warehouse.entity.PickTaskStatus;
+import com.example.warehouse.entity.ShipmentStatus;
+import com.example.warehouse.support.AbstractIntegrationTest;
+import com.example.warehouse.support.SqlCapture;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs each hot repository query against a seeded multi-tenant dataset and
+ * fails if its plan sequentially scans the table it queries, or reads rows
+ * from an index only to discard them with a {@code deleted} /
+ * {@code warehouse_id} filter (the tenant and soft-delete predicates must be
+ * answered by the index itself). The SQL comes from Hibernate itself (via
+ * {@link SqlCapture}), and the plan is the generic one a prepared statement
+ * ends up with, so the test tracks the real query rather than a hand-copied
+ * version of it.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.example.warehouse.support.SqlCapture")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class RepositoryQueryPlanIntegrationTest extends AbstractIntegrationTest {
+
+    // Tables smaller than this may legitimately be seq scanned (e.g. empty future partitions)
+    private static final long LARGE_TABLE_ROWS = 1_000;
+
+    // The warehouse restriction as Postgres prints it. A bitmap OR keeps it as a
+    // filter even when every arm's index condition has it: a clause calling
+    // current_setting() is never proven implied by the index conditions
+    private static final String RESTRICTION = "((warehouse_id)::text = current_setting('app.warehouse_id'::text, true))";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Autowired
+    private DataSource dataSource;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private InventoryRepository inventoryRepository;
+    @Autowired
+    private OrderRepository orderRepository;
+    @Autowired
+    private PickTaskRepository pickTaskRepository;
+    @Autowired
+    private ShipmentRepository shipmentRepository;
+    @Autowired
+    private StockMovementRepository stockMovementRepository;
+
+    @BeforeAll
+    void seed() throws Exception {
+        try (Connection connection = dataSource.getConnection()) {
+            ScriptUtils.executeSqlScript(connection, new ClassPathResource("db/query-plan-seed.sql"));
+        }
+    }
+
+    @AfterAll
+    void removeSeed() throws Exception {
+        try (Connection connection = dataSource.getConnection()) {
+            ScriptUtils.executeSqlScript(connection, new ClassPathResource("db/query-plan-cleanup.sql"));
+        }
+    }
+
+    @BeforeEach
+    void setWarehouse() {
+        WarehouseContext.setWarehouseId("qp-wh-7");
+    }
+
+    @AfterEach
+    void clearWarehouse() {
+        WarehouseContext.clear();
+    }
+
+    Stream<Arguments> hotQueries() {
+        Instant now = Instant.now();
+        Instant dayAgo = now.minus(1, ChronoUnit.DAYS);
+        return Stream.of(
+                query("inventory", "InventoryRepository.findByBlockBlockId",
+                        () -> inventoryRepository.findByBlockBlockId("missing")),
+                query("inventory", "InventoryRepository.findByProductProductId",
+                        () -> inventoryRepository.findByProductProductId("missing")),
+                query("inventory", "InventoryRepository.findByProductProductIdAndBlockBlockId",
+                        () -> inventoryRepository.findByProductProductIdAndBlockBlockId("missing", "missing")),
+                query("inventory", "InventoryRepository.findLowStockItems",
+                        () -> inventoryRepository.findLowStockItems()),
+
+                uniqueLookup("orders", "OrderRepository.findByOrderNumber",
+                        () -> orderRepository.findByOrderNumber("missing")),
+                query("orders", "OrderRepository.findByStatusOrderByCreatedAtDesc",
+                        () -> orderRepository.findByStatusOrderByCreatedAtDesc(OrderStatus.PENDING)),
+                query("orders", "OrderRepository.findAllByOrderByCreatedAtDesc",
+                        () -> orderRepository.findAllByOrderByCreatedAtDesc()),
+                query("orders", "OrderRepository.countByStatusNotIn",
+                        () -> orderRepository.countByStatusNotIn(
+                                List.of(OrderStatus.DISPATCHED, OrderStatus.CANCELLED))),
+                query("orders", "OrderRepository.findStuckOrders",
+                        () -> orderRepository.findStuckOrders(dayAgo)),
+
+                query("pick_task", "PickTaskRepository.findByOrderOrderIdOrderByCreatedAtAsc",
+                        () -> pickTaskRepository.findByOrderOrderIdOrderByCreatedAtAsc("missing")),
+                query("pick_task", "PickTaskRepository.findByAssignedToAndStatusOrderByCreatedAtAsc",
+                        () -> pickTaskRepository.findByAssignedToAndStatusOrderByCreatedAtAsc("missing",
+                                PickTaskStatus.ASSIGNED)),
+                query("pick_task", "PickTaskRepository.findByAssignedToOrderByCreatedAtDesc",
+                        () -> pickTaskRepository.findByAssignedToOrderByCreatedAtDesc("missing")),
+                query("pick_task", "PickTaskRepository.findByStatusOrderByCreatedAtAsc",
+                        () -> pickTaskRepository.findByStatusOrderByCreatedAtAsc(PickTaskStatus.ASSIGNED)),
+                query("pick_task", "PickTaskRepository.findByProductProductIdOrderByCreatedAtDesc",
+                        () -> pickTaskRepository.findByProductProductIdOrderByCreatedAtDesc("missing")),
+                query("pick_task", "PickTaskRepository.findByBlockBlockIdOrderByCreatedAtDesc",
+                        () -> pickTaskRepository.findByBlockBlockIdOrderByCreatedAtDesc("missing")),
+                query("pick_task", "PickTaskRepository.countByAssignedToAndStatusIn",
+                        () -> pickTaskRepository.countByAssignedToAndStatusIn("missing",
+                                List.of(PickTaskStatus.ASSIGNED, PickTaskStatus.IN_PROGRESS))),
+                query("pick_task", "PickTaskRepository.countByAssignedToAndStatusAndCompletedAtBetween",
+                        () -> pickTaskRepository.countByAssignedToAndStatusAndCompletedAtBetween("missing",
+                                PickTaskStatus.COMPLETED, dayAgo, now)),
+                query("pick_task", "PickTaskRepository.countByBlockBlockIdAndStatusIn",
+                        () -> pickTaskRepository.countByBlockBlockIdAndStatusIn("missing",
+                                List.of(PickTaskStatus.ASSIGNED, PickTaskStatus.IN_PROGRESS))),
+
+                uniqueLookup("shipment", "ShipmentRepository.findByShipmentCode",
+                        () -> shipmentRepository.findByShipmentCode("missing")),
+                query("shipment", "ShipmentRepository.findByOrderOrderIdOrderByCreatedAtDesc",
+                        () -> shipmentRepository.findByOrderOrderIdOrderByCreatedAtDesc("missing")),
+                query("shipment", "ShipmentRepository.findByStatusOrderByCreatedAtDesc",
+                        () -> shipmentRepository.findByStatusOrderByCreatedAtDesc(ShipmentStatus.CREATED)),
+                query("shipment", "ShipmentRepository.findByShipperShipperIdOrderByCreatedAtDesc",
+                        () -> shipmentRepository.findByShipperShipperIdOrderByCreatedAtDesc("missing")),
+                query("shipment", "ShipmentRepository.findActiveShipments",
+                        () -> shipmentRepository.findActiveShipments()),
+                query("shipment", "ShipmentRepository.findAllByOrderByCreatedAtDesc",
+                        () -> shipmentRepository.findAllByOrderByCreatedAtDesc()),
+                query("shipment", "ShipmentRepository.countByStatusIn",
+                        () -> shipmentRepository.countByStatusIn(
+                                List.of(ShipmentStatus.FAILED, ShipmentStatus.RETURNED))),
+                query("shipment", "ShipmentRepository.countByStatusAndDeliveredAtBetween",
+                        () -> shipmentRepository.countByStatusAndDeliveredAtBetween(ShipmentStatus.DELIVERED,
+                                dayAgo, now)),
+                query("shipment", "ShipmentRepository.countDeliveredSince",
+                        () -> shipmentRepository.countDeliveredSince(dayAgo)),
+
+                query("stock_movement", "StockMovementRepository.findByProductProductIdOrderByCreatedAtDesc",
+                        () -> stockMovementRepository.findByProductProductIdOrderByCreatedAtDesc("missing")),
+                query("stock_movement", "StockMovementRepository.findByBlockId",
+                        () -> stockMovementRepository.findByBlockId("missing")),
+                query("stock_movement", "StockMovementRepository.findByMovementTypeOrderByCreatedAtDesc",
+                        () -> stockMovementRepository.findByMovementTypeOrderByCreatedAtDesc(MovementType.PICK)),
+                query("stock_movement", "StockMovementRepository.findRecentMovements",
+                        () -> stockMovementRepository.findRecentMovements()),
+                query("stock_movement", "StockMovementRepository.findByCreatedAtBetweenOrderByCreatedAtDesc",
+                        () -> stockMovementRepository.findByCreatedAtBetweenOrderByCreatedAtDesc(dayAgo, now)),
+                query("stock_movement", "StockMovementRepository.findByCreatedByOrderByCreatedAtDesc",
+                        () -> stockMovementRepository.findByCreatedByOrderByCreatedAtDesc("missing")),
+                query("stock_movement", "StockMovementRepository.findByReferenceTypeAndReferenceIdOrderByCreatedAtDesc",
+                        () -> stockMovementRepository.findByReferenceTypeAndReferenceIdOrderByCreatedAtDesc("SO",
+                                "missing")),
+                query("stock_movement", "StockMovementRepository.findTopMovers",
+                        () -> stockMovementRepository.findTopMovers()));
+    }
+
+    @ParameterizedTest(name = "{1}")
+    @MethodSource("hotQueries")
+    void hotQuery_isAnsweredByATenantIndex(String table, String name, boolean uniqueLookup, Runnable query)
+            throws Exception {
+        SqlCapture.clear();
+        query.run();
+        String sql = SqlCapture.statements().get(0);
+
+        JsonNode plan = explainGenericPlan(sql);
+        List<String> problems = new ArrayList<>();
+        collectProblems(plan.get(0).get("Plan"), table, !uniqueLookup, problems);
+
+        assertThat(problems)
+                .as("%s%nSQL: %s%nPlan: %s", name, sql, plan.toPrettyString())
+                .isEmpty();
+    }
+
+    // Plans the statement the way a prepared statement's generic plan would,
+    // independent of any particular parameter values
+    private JsonNode explainGenericPlan(String sql) throws Exception {
+        StringBuilder numbered = new StringBuilder();
+        int parameters = 0;
+        for (char c : sql.toCharArray()) {
+            if (c == '?') {
+                numbered.append('$').append(++parameters);
+            } else {
+                numbered.append(c);
+            }
+        }
+        String arguments = parameters == 0 ? "" : "(" + String.join(", ", Collections.nCopies(parameters, "NULL")) + ")";
+        String json = jdbcTemplate.execute((ConnectionCallback<String>) connection -> {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("SET plan_cache_mode = force_generic_plan");
+                statement.execute("PREPARE plan_check AS " + numbered);
+                try (ResultSet plan = statement.executeQuery("EXPLAIN (FORMAT JSON) EXECUTE plan_check" + arguments)) {
+                    plan.next();
+                    return plan.getString(1);
+                } finally {
+                    statement.execute("DEALLOCATE plan_check");
+                    statement.execute("RESET plan_cache_mode");
+                }
+            }
+        });
+        return objectMapper.readTree(json);
+    }
+
+    private void collectProblems(JsonNode node, String table, boolean tenantPredicatesInIndex,
+            List<String> problems) {
+        String relation = node.path("Relation Name").asText("");
+        if (relation.startsWith(table) && estimatedRows(relation) >= LARGE_TABLE_ROWS) {
+            String filter = node.path("Filter").asText("");
+            if ("Bitmap Heap Scan".equals(node.path("Node Type").asText()) && restrictedByEveryIndex(node)) {
+                filter = filter.replace(RESTRICTION, "");
+            }
+            if ("Seq Scan".equals(node.path("Node Type").asText())) {
+                problems.add("Seq Scan on " + relation);
+            } else if (tenantPredicatesInIndex && (filter.contains("deleted") || filter.contains("warehouse_id"))) {
+                problems.add(node.path("Node Type").asText() + " on " + relation + " filters " + filter);
+            }
+        }
+        for (JsonNode child : node.path("Plans")) {
+            collectProblems(child, table, tenantPredicatesInIndex, problems);
+        }
+    }
+
+    private static boolean restrictedByEveryIndex(JsonNode node) {
+        if ("Bitmap Index Scan".equals(node.path("Node Type").asText())) {
+            return node.path("Index Cond").asText("").contains(RESTRICTION);
+        }
+        boolean restricted = node.path("Plans").size() > 0;
+        for (JsonNode child : node.path("Plans")) {
+            restricted &= restrictedByEveryIndex(child);
+        }
+        return restricted;
+    }
+
+    private long estimatedRows(String relation) {
+        Long rows = jdbcTemplate.queryForObject(
+                "SELECT reltuples::bigint FROM pg_class WHERE oid = to_regclass(?)", Long.class, relation);
+        return rows != null ? rows : 0;
+    }
+
+    private static Arguments query(String table, String name, Runnable query) {
+        return Arguments.of(table, name, false, query);
+    }
+
+    // Served by a unique index, so a residual tenant/soft-delete filter is at most one row
+    private static Arguments uniqueLookup(String table, String name, Runnable query) {
+        return Arguments.of(table, name, true, query);
+    }
+}
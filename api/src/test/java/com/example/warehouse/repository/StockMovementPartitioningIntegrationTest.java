@@ -0,0 +1,110 @@
+package com.example.warehouse.repository;
+
+import com.example.warehouse.job.StockMovementPartitionJob;
+import com.example.warehouse.support.AbstractIntegrationTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class StockMovementPartitioningIntegrationTest extends AbstractIntegrationTest {
+
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("yyyyMM");
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private StockMovementPartitionJob partitionJob;
+
+    @Test
+    void upcomingMonthsArePartitionedAhead() {
+        LocalDate month = LocalDate.now(ZoneOffset.UTC).withDayOfMonth(1);
+
+        assertThat(partitions()).contains(
+                partitionName(month),
+                partitionName(month.plusMonths(1)),
+                partitionName(month.plusMonths(3)),
+                "stock_movement_default");
+    }
+
+    @Test
+    void createdAtRangeQuery_scansOnlyMatchingMonth() {
+        LocalDate month = LocalDate.now(ZoneOffset.UTC).withDayOfMonth(1);
+
+        // Same predicate as StockMovementRepository.findByCreatedAtBetweenOrderByCreatedAtDesc
+        String plan = String.join("\n", jdbcTemplate.queryForList(
+                "EXPLAIN SELECT * FROM stock_movement WHERE deleted = false"
+                        + " AND created_at BETWEEN ? AND ? AND warehouse_id = ? ORDER BY created_at DESC",
+                String.class,
+                month.atStartOfDay().atOffset(ZoneOffset.UTC),
+                month.plusDays(10).atStartOfDay().atOffset(ZoneOffset.UTC),
+                "wh-1"));
+
+        assertThat(plan).contains(partitionName(month));
+        assertThat(plan).doesNotContain(partitionName(month.plusMonths(1)));
+        assertThat(plan).doesNotContain("stock_movement_default");
+    }
+
+    @Test
+    void partitionsPastRetention_areMovedToArchiveSchema() {
+        LocalDate expired = LocalDate.now(ZoneOffset.UTC).withDayOfMonth(1).minusYears(5);
+        jdbcTemplate.queryForObject("SELECT create_stock_movement_partitions(?, 1)", Integer.class, expired);
+
+        List<String> archived = partitionJob.archiveExpiredPartitions();
+
+        assertThat(archived).contains(partitionName(expired));
+        assertThat(partitions()).doesNotContain(partitionName(expired));
+        assertThat(jdbcTemplate.queryForObject("SELECT to_regclass(?)::text", String.class,
+                "archive." + partitionName(expired))).isNotNull();
+    }
+
+    @Test
+    void rowsInDefaultPartition_areMovedWhenTheirMonthIsCreated() {
+        LocalDate missed = LocalDate.of(2001, 3, 1);
+        jdbcTemplate.update("INSERT INTO product (product_id, name, sku, category, unit_price, volume, created_at, "
+                + "last_modified_at) VALUES ('part-prod-1', 'Partitioned', 'SKU-PART-1', 'TEST', 1.0, 0, now(), now())");
+        try {
+            jdbcTemplate.update("INSERT INTO stock_movement (movement_id, product_id, quantity, movement_type, "
+                    + "created_at) VALUES ('part-move-1', 'part-prod-1', 5, 'INBOUND', ?)",
+                    missed.plusDays(14).atStartOfDay().atOffset(ZoneOffset.UTC));
+            assertThat(partitionJob.defaultPartitionRows()).isPositive();
+
+            Integer created = jdbcTemplate.queryForObject("SELECT create_stock_movement_partitions(?, 1)",
+                    Integer.class, missed);
+
+            assertThat(created).isEqualTo(1);
+            assertThat(partitions()).contains(partitionName(missed), "stock_movement_default");
+            assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM " + partitionName(missed)
+                    + " WHERE movement_id = 'part-move-1'", Integer.class)).isEqualTo(1);
+            assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM stock_movement_default"
+                    + " WHERE movement_id = 'part-move-1'", Integer.class)).isZero();
+            // A second run finds the month there and leaves it alone
+            assertThat(jdbcTemplate.queryForObject("SELECT create_stock_movement_partitions(?, 1)",
+                    Integer.class, missed)).isZero();
+        } finally {
+            jdbcTemplate.update("DELETE FROM stock_movement WHERE movement_id = 'part-move-1'");
+            jdbcTemplate.execute("DROP TABLE IF EXISTS " + partitionName(missed));
+            jdbcTemplate.update("DELETE FROM product WHERE product_id = 'part-prod-1'");
+        }
+    }
+
+    private List<String> partitions() {
+        return jdbcTemplate.queryForList(
+                "SELECT c.relname FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid"
+                        + " WHERE i.inhparent = 'stock_movement'::regclass",
+                String.class);
+    }
+
+    private static String partitionName(LocalDate month) {
+        return "stock_movement_p" + month.format(PARTITION_SUFFIX);
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.warehouse.security;
+
+import com.example.warehouse.cache.UserAccountCache.UserAccount;
+import com.example.warehouse.enums.UserRole;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class JwtServiceTest {
+
+    private static final String SECRET = "0123456789012345678901234567890123456789012345678901234567890123";
+
+    private final UserAccount account = new UserAccount("u1", "picker", "picker@example.com", "hash",
+            UserRole.PICKER, "wh-a");
+
+    @Test
+    void verify_returnsTheClaimsOfAnIssuedToken() {
+        JwtService jwtService = new JwtService(SECRET, 60_000, 100, Duration.ofMinutes(5));
+        String token = jwtService.generateToken(new WarehouseUserDetails(account));
+
+        JwtService.VerifiedToken verified = jwtService.verify(token);
+
+        assertThat(verified.subject()).isEqualTo("picker@example.com");
+        assertThat(verified.role()).isEqualTo("PICKER");
+        assertThat(verified.userId()).isEqualTo("u1");
+        assertThat(jwtService.verify(token)).isEqualTo(verified);
+    }
+
+    @Test
+    void verify_rejectsATokenSignedWithAnotherKey() {
+        JwtService issuer = new JwtService(SECRET.replace('0', 'x'), 60_000, 100, Duration.ofMinutes(5));
+        JwtService jwtService = new JwtService(SECRET, 60_000, 100, Duration.ofMinutes(5));
+        String forged = issuer.generateToken(new WarehouseUserDetails(account));
+
+        assertThatThrownBy(() -> jwtService.verify(forged)).isInstanceOf(JwtException.class);
+    }
+
+    @Test
+    void verify_rejectsACachedTokenOnceItExpires() throws InterruptedException {
+        JwtService jwtService = new JwtService(SECRET, 2_000, 100, Duration.ofMinutes(5));
+        String token = jwtService.generateToken(new WarehouseUserDetails(account));
+        jwtService.verify(token);
+
+        // Expiry is stored in whole seconds
+        Thread.sleep(2_100);
+
+        assertThatThrownBy(() -> jwtService.verify(token)).isInstanceOf(ExpiredJwtException.class);
+        assertThat(jwtService.isTokenValid(token, new WarehouseUserDetails(account))).isFalse();
+    }
+}
@@ -0,0 +1,101 @@
+package com.example.warehouse.security;
+
+import com.example.warehouse.exception.LoginOverloadedException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LoginExecutorTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final CountDownLatch release = new CountDownLatch(1);
+    private LoginExecutor loginExecutor;
+
+    // Holds every login until released, like a burst of slow hashes
+    private final AuthenticationManager blockingManager = authentication -> {
+        try {
+            release.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (!"secret".equals(authentication.getCredentials())) {
+            throw new BadCredentialsException("Bad credentials");
+        }
+        return UsernamePasswordAuthenticationToken.authenticated(authentication.getName(), null, List.of());
+    };
+
+    @AfterEach
+    void stop() {
+        release.countDown();
+        loginExecutor.stop();
+    }
+
+    @Test
+    void authenticate_completesWithTheManagersResult() {
+        loginExecutor = new LoginExecutor(blockingManager, meterRegistry, runnable -> runnable, 1, 4, Duration.ofSeconds(2));
+        release.countDown();
+
+        assertThat(loginExecutor.authenticate("picker", "secret").join().getName()).isEqualTo("picker");
+        assertThat(loginExecutor.authenticate("picker", "wrong"))
+                .failsWithin(Duration.ofSeconds(5))
+                .withThrowableOfType(Exception.class)
+                .withCauseInstanceOf(BadCredentialsException.class);
+        assertThat(meterRegistry.timer("auth.login", "outcome", "success").count()).isEqualTo(1);
+        assertThat(meterRegistry.timer("auth.login", "outcome", "failure").count()).isEqualTo(1);
+    }
+
+    @Test
+    void authenticate_shedsLoginsBeyondTheQueue() {
+        loginExecutor = new LoginExecutor(blockingManager, meterRegistry, runnable -> runnable, 1, 1, Duration.ofSeconds(2));
+
+        CompletableFuture<Authentication> running = loginExecutor.authenticate("a", "secret");
+        CompletableFuture<Authentication> queued = loginExecutor.authenticate("b", "secret");
+        awaitQueueDepth(1);
+        CompletableFuture<Authentication> shed = loginExecutor.authenticate("c", "secret");
+
+        assertThat(shed).isCompletedExceptionally();
+        assertThat(shed).failsWithin(Duration.ZERO)
+                .withThrowableOfType(Exception.class)
+                .withCauseInstanceOf(LoginOverloadedException.class);
+
+        release.countDown();
+        assertThat(running.join().getName()).isEqualTo("a");
+        assertThat(queued.join().getName()).isEqualTo("b");
+        assertThat(meterRegistry.timer("auth.login", "outcome", "rejected").count()).isEqualTo(1);
+    }
+
+    @Test
+    void authenticate_shedsLoginsThatWaitedTooLong() throws InterruptedException {
+        loginExecutor = new LoginExecutor(blockingManager, meterRegistry, runnable -> runnable, 1, 4, Duration.ofMillis(50));
+
+        CompletableFuture<Authentication> running = loginExecutor.authenticate("a", "secret");
+        CompletableFuture<Authentication> stale = loginExecutor.authenticate("b", "secret");
+        Thread.sleep(100);
+        release.countDown();
+
+        assertThat(running.join().getName()).isEqualTo("a");
+        assertThat(stale).failsWithin(Duration.ofSeconds(5))
+                .withThrowableOfType(Exception.class)
+                .withCauseInstanceOf(LoginOverloadedException.class);
+    }
+
+    private void awaitQueueDepth(int depth) {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (loginExecutor.queueDepth() != depth && System.nanoTime() < deadline) {
+            Thread.onSpinWait();
+        }
+        assertThat(loginExecutor.queueDepth()).isEqualTo(depth);
+    }
+}
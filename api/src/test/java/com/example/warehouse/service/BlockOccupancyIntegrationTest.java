@@ -0,0 +1,181 @@
+package com.example.warehouse.service;
+
+import com.example.warehouse.config.WarehouseContext;
+import com.example.warehouse.dto.request.InventoryRequest;
+import com.example.warehouse.dto.request.ProductRequest;
+import com.example.warehouse.dto.response.InventoryResponse;
+import com.example.warehouse.exception.InsufficientCapacityException;
+import com.example.warehouse.job.BlockOccupancyReconciliationJob;
+import com.example.warehouse.service.contract.InventoryService;
+import com.example.warehouse.service.contract.ProductService;
+import com.example.warehouse.support.AbstractIntegrationTest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+@SpringBootTest
+class BlockOccupancyIntegrationTest extends AbstractIntegrationTest {
+
+    private static final String WAREHOUSE = "occ-wh";
+    private static final String PRODUCT = "occ-prod";
+    private static final String BLOCK = "occ-block";
+    private static final String OTHER_WAREHOUSE = "occ-wh-2";
+    private static final String OTHER_BLOCK = "occ-block-2";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private InventoryService inventoryService;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private BlockOccupancyReconciliationJob reconciliationJob;
+
+    @BeforeEach
+    void seed() {
+        for (String warehouse : new String[] {WAREHOUSE, OTHER_WAREHOUSE}) {
+            jdbcTemplate.update("INSERT INTO warehouse (warehouse_id, name, city, address, landmark) "
+                    + "VALUES (?, 'Occupancy', 'City', 'Address', 'Landmark')", warehouse);
+        }
+        // 1 m3 per unit
+        jdbcTemplate.update("INSERT INTO product (product_id, name, sku, category, unit_price, dimensions, "
+                + "length, width, height, volume, created_at, last_modified_at) "
+                + "VALUES (?, 'Crate', 'SKU-OCC-CRATE', 'TEST', 1.0, '100x100x100', 100, 100, 100, 1.0, now(), now())", PRODUCT);
+        // 8 m3 of capacity
+        jdbcTemplate.update("INSERT INTO block (block_id, name, height, length, breath, type, warehouse_id, deleted) "
+                + "VALUES (?, 'Occupancy', 2, 2, 2, 1, ?, false)", BLOCK, WAREHOUSE);
+        jdbcTemplate.update("INSERT INTO block (block_id, name, height, length, breath, type, warehouse_id, deleted) "
+                + "VALUES (?, 'Occupancy', 2, 2, 2, 1, ?, false)", OTHER_BLOCK, OTHER_WAREHOUSE);
+        WarehouseContext.setWarehouseId(WAREHOUSE);
+    }
+
+    @AfterEach
+    void cleanUp() {
+        WarehouseContext.clear();
+        jdbcTemplate.update("DELETE FROM stock_movement WHERE to_block_id IN (?, ?)", BLOCK, OTHER_BLOCK);
+        jdbcTemplate.update("DELETE FROM inventory WHERE block_id IN (?, ?)", BLOCK, OTHER_BLOCK);
+        jdbcTemplate.update("DELETE FROM block WHERE block_id IN (?, ?)", BLOCK, OTHER_BLOCK);
+        jdbcTemplate.update("DELETE FROM product WHERE product_id = ?", PRODUCT);
+        jdbcTemplate.update("DELETE FROM warehouse WHERE warehouse_id IN (?, ?)", WAREHOUSE, OTHER_WAREHOUSE);
+    }
+
+    @Test
+    void inventoryChanges_keepBlockCountersInStep() {
+        InventoryResponse inventory = inventoryService.createInventory(request(5));
+        assertOccupancy(5, 5.0);
+
+        inventoryService.adjustStock(inventory.getInventoryId(), 2);
+        assertOccupancy(7, 7.0);
+
+        inventoryService.adjustStock(inventory.getInventoryId(), -3);
+        assertOccupancy(4, 4.0);
+
+        inventoryService.deleteInventory(inventory.getInventoryId());
+        assertOccupancy(0, 0.0);
+
+        inventoryService.restoreInventory(inventory.getInventoryId());
+        assertOccupancy(4, 4.0);
+    }
+
+    @Test
+    void adjustStock_beyondBlockVolume_isRejectedWithoutTouchingCounters() {
+        InventoryResponse inventory = inventoryService.createInventory(request(6));
+
+        assertThatThrownBy(() -> inventoryService.adjustStock(inventory.getInventoryId(), 3))
+                .isInstanceOf(InsufficientCapacityException.class);
+
+        assertOccupancy(6, 6.0);
+        assertThat(inventoryService.getInventoryById(inventory.getInventoryId()).getQuantity()).isEqualTo(6);
+    }
+
+    @Test
+    void reconcile_repairsDriftedCounters() {
+        inventoryService.createInventory(request(3));
+        jdbcTemplate.update("UPDATE block SET occupied_units = 40, occupied_volume = 0.5 WHERE block_id = ?", BLOCK);
+
+        assertThat(reconciliationJob.reconcile()).contains(BLOCK);
+        assertOccupancy(3, 3.0);
+
+        assertThat(reconciliationJob.reconcile()).doesNotContain(BLOCK);
+    }
+
+    @Test
+    void productDimensionChange_movesOccupiedVolumeOfItsBlocks() {
+        InventoryResponse inventory = inventoryService.createInventory(request(3));
+        assertOccupancy(3, 3.0);
+
+        ProductRequest resized = new ProductRequest();
+        resized.setName("Crate");
+        resized.setCategory("TEST");
+        resized.setUnitPrice(1.0);
+        resized.setDimensions("100x100x50");
+        productService.updateProduct(PRODUCT, resized);
+        assertOccupancy(3, 1.5);
+
+        // Deleted rows hold no volume, so they are not resized either
+        inventoryService.deleteInventory(inventory.getInventoryId());
+        resized.setDimensions("100x100x100");
+        productService.updateProduct(PRODUCT, resized);
+        assertOccupancy(0, 0.0);
+
+        assertThat(reconciliationJob.reconcile()).doesNotContain(BLOCK);
+    }
+
+    @Test
+    void productDimensionChange_movesOccupiedVolumeInEveryWarehouse() {
+        inventoryService.createInventory(request(3));
+        WarehouseContext.setWarehouseId(OTHER_WAREHOUSE);
+        inventoryService.createInventory(request(OTHER_BLOCK, 2));
+
+        // Resized from the first warehouse; the product is shared, so the
+        // other warehouse's block holds smaller crates too
+        WarehouseContext.setWarehouseId(WAREHOUSE);
+        ProductRequest resized = new ProductRequest();
+        resized.setName("Crate");
+        resized.setCategory("TEST");
+        resized.setUnitPrice(1.0);
+        resized.setDimensions("100x100x50");
+        productService.updateProduct(PRODUCT, resized);
+
+        assertOccupancy(BLOCK, 3, 1.5);
+        assertOccupancy(OTHER_BLOCK, 2, 1.0);
+        assertThat(reconciliationJob.reconcile()).doesNotContain(BLOCK, OTHER_BLOCK);
+    }
+
+    private InventoryRequest request(int quantity) {
+        return request(BLOCK, quantity);
+    }
+
+    private InventoryRequest request(String blockId, int quantity) {
+        InventoryRequest request = new InventoryRequest();
+        request.setProductId(PRODUCT);
+        request.setBlockId(blockId);
+        request.setQuantity(quantity);
+        request.setMinStockLevel(1);
+        request.setMaxStockLevel(100);
+        return request;
+    }
+
+    private void assertOccupancy(long units, double volume) {
+        assertOccupancy(BLOCK, units, volume);
+    }
+
+    private void assertOccupancy(String blockId, long units, double volume) {
+        Map<String, Object> block = jdbcTemplate.queryForMap(
+                "SELECT occupied_units, occupied_volume FROM block WHERE block_id = ?", blockId);
+        assertThat(((Number) block.get("occupied_units")).longValue()).isEqualTo(units);
+        assertThat(((Number) block.get("occupied_volume")).doubleValue()).isCloseTo(volume, within(1e-9));
+    }
+}
@@ -0,0 +1,401 @@
+package com.example.warehouse.service;
+
+import com.example.warehouse.config.WarehouseContext;
+import com.example.warehouse.dto.request.InventoryRequest;
+import com.example.warehouse.dto.request.OrderItemRequest;
+import com.example.warehouse.dto.request.OrderRequest;
+import com.example.warehouse.dto.request.PickTaskAssignmentRequest;
+import com.example.warehouse.dto.response.OrderResponse;
+import com.example.warehouse.dto.response.PickTaskResponse;
+import com.example.warehouse.service.contract.InventoryService;
+import com.example.warehouse.service.contract.OrderService;
+import com.example.warehouse.support.AbstractIntegrationTest;
+import jakarta.persistence.OptimisticLockException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.TransactionException;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Many threads creating orders, cancelling them, picking their tasks,
+ * adjusting stock and setting it through inventory updates on the same
+ * {@code SKUS} hot products at once, then checking that the inventory still
+ * adds up:
+ * <ul>
+ * <li>no row has more reserved than it holds, or negative availability</li>
+ * <li>reserved equals the open pick tasks at the location</li>
+ * <li>quantity equals the seeded stock plus every adjustment and update that
+ * committed, less every completed pick, and the ledger carries exactly that
+ * change</li>
+ * <li>every quantity set by an update is one a caller asked for</li>
+ * <li>stock movements match the committed adjustments and started picks</li>
+ * <li>the block occupancy counters equal the stock they hold</li>
+ * </ul>
+ * Version conflicts are retried up to {@code MAX_ATTEMPTS} times, as a client
+ * seeing a 409 would. Throughput, retries and the abort rate (the share of
+ * attempts that hit a conflict) are logged per operation. Scale it with
+ * {@code -Dstress.threads} and {@code -Dstress.operations-per-thread}.
+ */
+@SpringBootTest
+class InventoryConcurrencyStressIntegrationTest extends AbstractIntegrationTest {
+
+    private static final Logger log = LoggerFactory.getLogger(InventoryConcurrencyStressIntegrationTest.class);
+
+    private static final String WAREHOUSE = "stress-wh";
+    private static final int SKUS = 4;
+    private static final int BLOCKS = 2;
+    private static final int INITIAL_QUANTITY = 150;
+    private static final int MAX_ATTEMPTS = 10;
+    private static final int THREADS = Integer.getInteger("stress.threads", 12);
+    private static final int OPERATIONS_PER_THREAD = Integer.getInteger("stress.operations-per-thread", 150);
+
+    private enum Operation { CREATE_ORDER, CANCEL_ORDER, COMPLETE_PICK_TASK, ADJUST_STOCK, UPDATE_INVENTORY }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private InventoryService inventoryService;
+
+    private final Map<Operation, Tally> tallies = new ConcurrentHashMap<>();
+    private final ConcurrentLinkedDeque<String> openOrders = new ConcurrentLinkedDeque<>();
+    private final ConcurrentLinkedDeque<PickTaskResponse> assignedTasks = new ConcurrentLinkedDeque<>();
+    // Per "product/block": what committed, as seen by the callers
+    private final Map<String, AtomicLong> adjusted = new ConcurrentHashMap<>();
+    private final Map<String, AtomicLong> picksStarted = new ConcurrentHashMap<>();
+    private final Map<String, Set<Long>> updateTargets = new ConcurrentHashMap<>();
+
+    @BeforeEach
+    void seed() {
+        jdbcTemplate.update("INSERT INTO warehouse (warehouse_id, name, city, address, landmark) "
+                + "VALUES (?, 'Stress', 'City', 'Address', 'Landmark')", WAREHOUSE);
+        jdbcTemplate.update("INSERT INTO block (block_id, name, height, length, breath, type, warehouse_id, deleted) "
+                + "SELECT 'stress-block-' || b, 'Stress ' || b, 10, 10, 10, 1, ?, false "
+                + "FROM generate_series(1, ?) b", WAREHOUSE, BLOCKS);
+        jdbcTemplate.update("INSERT INTO product (product_id, name, sku, category, unit_price, volume, created_at, "
+                + "last_modified_at) "
+                + "SELECT 'stress-prod-' || p, 'Stress ' || p, 'SKU-STRESS-' || p, 'TEST', 1.0, 0.001, now(), now() "
+                + "FROM generate_series(1, ?) p", SKUS);
+        jdbcTemplate.update("INSERT INTO inventory (inventory_id, product_id, block_id, quantity, reserved_quantity, "
+                + "damaged_quantity, min_stock_level, max_stock_level, created_at, last_modified_at, warehouse_id, "
+                + "deleted, version) "
+                + "SELECT 'stress-inv-' || p || '-' || b, 'stress-prod-' || p, 'stress-block-' || b, ?, 0, 0, 1, "
+                + "1000, now(), now(), ?, false, 0 FROM generate_series(1, ?) p, generate_series(1, ?) b",
+                INITIAL_QUANTITY, WAREHOUSE, SKUS, BLOCKS);
+        jdbcTemplate.update("UPDATE block b SET occupied_units = s.units, occupied_volume = s.units * 0.001 "
+                + "FROM (SELECT block_id, SUM(quantity) AS units FROM inventory WHERE warehouse_id = ? "
+                + "GROUP BY block_id) s WHERE b.block_id = s.block_id", WAREHOUSE);
+        for (Operation operation : Operation.values()) {
+            tallies.put(operation, new Tally());
+        }
+    }
+
+    @AfterEach
+    void cleanUp() {
+        WarehouseContext.clear();
+        jdbcTemplate.update("DELETE FROM stock_movement WHERE warehouse_id = ?", WAREHOUSE);
+        // The ledger rejects deletes; lift that for this warehouse's rows only
+        jdbcTemplate.execute("ALTER TABLE inventory_ledger DISABLE TRIGGER inventory_ledger_immutable");
+        try {
+            jdbcTemplate.update("DELETE FROM inventory_ledger WHERE warehouse_id = ?", WAREHOUSE);
+        } finally {
+            jdbcTemplate.execute("ALTER TABLE inventory_ledger ENABLE TRIGGER inventory_ledger_immutable");
+        }
+        jdbcTemplate.update("DELETE FROM inventory_snapshot WHERE block_id LIKE 'stress-block-%'");
+        jdbcTemplate.update("DELETE FROM pick_task WHERE warehouse_id = ?", WAREHOUSE);
+        jdbcTemplate.update("DELETE FROM orders WHERE warehouse_id = ?", WAREHOUSE);
+        jdbcTemplate.update("DELETE FROM inventory WHERE warehouse_id = ?", WAREHOUSE);
+        jdbcTemplate.update("DELETE FROM block WHERE warehouse_id = ?", WAREHOUSE);
+        jdbcTemplate.update("DELETE FROM product WHERE product_id LIKE 'stress-prod-%'");
+        jdbcTemplate.update("DELETE FROM warehouse WHERE warehouse_id = ?", WAREHOUSE);
+    }
+
+    @Test
+    void concurrentOrdersPicksCancelsAndAdjustments_keepInventoryConsistent() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        long elapsedNanos;
+        try {
+            List<Future<?>> workers = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                int thread = t;
+                workers.add(executor.submit(() -> {
+                    WarehouseContext.setWarehouseId(WAREHOUSE);
+                    try {
+                        start.await();
+                        work(thread);
+                    } finally {
+                        WarehouseContext.clear();
+                    }
+                    return null;
+                }));
+            }
+            long started = System.nanoTime();
+            start.countDown();
+            for (Future<?> worker : workers) {
+                worker.get();
+            }
+            elapsedNanos = System.nanoTime() - started;
+        } finally {
+            executor.shutdownNow();
+        }
+
+        report(elapsedNanos / 1e9);
+        tallies.forEach((operation, tally) -> {
+            assertThat(tally.failed.get()).as(operation + " failures").isZero();
+            assertThat(tally.succeeded.get()).as(operation + " successes").isPositive();
+        });
+        assertInventoryAddsUp();
+    }
+
+    private void work(int thread) {
+        SplittableRandom random = new SplittableRandom(thread);
+        for (int i = 0; i < OPERATIONS_PER_THREAD; i++) {
+            double u = random.nextDouble();
+            if (u < 0.35) {
+                createOrder(thread, i, random);
+            } else if (u < 0.70) {
+                completePickTask();
+            } else if (u < 0.80) {
+                cancelOrder();
+            } else if (u < 0.92) {
+                adjustStock(random);
+            } else {
+                updateInventory(random);
+            }
+        }
+    }
+
+    private void createOrder(int thread, int sequence, SplittableRandom random) {
+        Set<String> products = new LinkedHashSet<>();
+        int lines = 1 + random.nextInt(2);
+        while (products.size() < lines) {
+            products.add("stress-prod-" + (1 + random.nextInt(SKUS)));
+        }
+        List<OrderItemRequest> items = new ArrayList<>();
+        for (String product : products) {
+            items.add(new OrderItemRequest(product, 1 + random.nextInt(3)));
+        }
+        OrderRequest request = new OrderRequest(String.format("STRESS-%02d-%05d", thread, sequence), "Stress",
+                "stress@example.com", "1 Stress Street", null, items);
+        // Retried separately so a conflict on assignment never places the order twice
+        OrderResponse order = attempt(Operation.CREATE_ORDER, () -> orderService.createOrder(request));
+        if (order == null) {
+            return;
+        }
+        openOrders.add(order.getOrderId());
+        if (attempt(Operation.CREATE_ORDER, () -> orderService.assignPickers(
+                new PickTaskAssignmentRequest(order.getOrderId(), "stress-picker"))) != null) {
+            assignedTasks.addAll(order.getPickTasks());
+        }
+    }
+
+    private void completePickTask() {
+        PickTaskResponse task = assignedTasks.pollFirst();
+        if (task == null) {
+            return;
+        }
+        if (attempt(Operation.COMPLETE_PICK_TASK, () -> orderService.startPickTask(task.getTaskId())) == null) {
+            return;
+        }
+        picksStarted.computeIfAbsent(location(task), l -> new AtomicLong()).addAndGet(task.getQuantity());
+        attempt(Operation.COMPLETE_PICK_TASK, () -> orderService.completePickTask(task.getTaskId()));
+    }
+
+    private void cancelOrder() {
+        // The newest order is the one most likely to have picks in flight
+        String orderId = openOrders.pollLast();
+        if (orderId != null) {
+            attempt(Operation.CANCEL_ORDER, () -> orderService.cancelOrder(orderId));
+        }
+    }
+
+    private void adjustStock(SplittableRandom random) {
+        int product = 1 + random.nextInt(SKUS);
+        int block = 1 + random.nextInt(BLOCKS);
+        int change = random.nextBoolean() ? 1 + random.nextInt(8) : -(1 + random.nextInt(6));
+        if (attempt(Operation.ADJUST_STOCK,
+                () -> inventoryService.adjustStock("stress-inv-" + product + "-" + block, change)) != null) {
+            adjusted.computeIfAbsent("stress-prod-" + product + "/stress-block-" + block, l -> new AtomicLong())
+                    .addAndGet(change);
+        }
+    }
+
+    // Sets an absolute quantity read a moment earlier, as an edit form would, so
+    // changes committed in between are overwritten; the reserved floor must hold
+    private void updateInventory(SplittableRandom random) {
+        int product = 1 + random.nextInt(SKUS);
+        int block = 1 + random.nextInt(BLOCKS);
+        String inventoryId = "stress-inv-" + product + "-" + block;
+        int change = random.nextBoolean() ? 1 + random.nextInt(8) : -(1 + random.nextInt(12));
+        int target = Math.max(1, inventoryService.getInventoryById(inventoryId).getQuantity() + change);
+        InventoryRequest request = new InventoryRequest();
+        request.setProductId("stress-prod-" + product);
+        request.setBlockId("stress-block-" + block);
+        request.setQuantity(target);
+        request.setMinStockLevel(1);
+        request.setMaxStockLevel(1000);
+        if (attempt(Operation.UPDATE_INVENTORY, () -> inventoryService.updateInventory(inventoryId, request)) != null) {
+            updateTargets.computeIfAbsent("stress-prod-" + product + "/stress-block-" + block,
+                    l -> ConcurrentHashMap.newKeySet()).add((long) target);
+        }
+    }
+
+    // Runs one call, retrying version conflicts and deadlocks; null unless it committed
+    private <T> T attempt(Operation operation, Supplier<T> call) {
+        Tally tally = tallies.get(operation);
+        for (int attempt = 1; attempt <= MAX_ATTEMPTS; attempt++) {
+            tally.attempts.incrementAndGet();
+            try {
+                T result = call.get();
+                tally.succeeded.incrementAndGet();
+                return result;
+            } catch (DataAccessException | TransactionException e) {
+                if (!isConflict(e)) {
+                    tally.failed.incrementAndGet();
+                    log.error("{} failed", operation, e);
+                    return null;
+                }
+                tally.conflicts.incrementAndGet();
+                if (attempt < MAX_ATTEMPTS) {
+                    tally.retries.incrementAndGet();
+                }
+            } catch (RuntimeException e) {
+                // The service said no: out of stock, task no longer in progress, stock below reserved
+                tally.rejected.incrementAndGet();
+                return null;
+            }
+        }
+        tally.aborted.incrementAndGet();
+        return null;
+    }
+
+    // Picks are counted by completed_at: cancelling an order also marks its
+    // completed tasks CANCELLED, but the stock they took stays taken
+    private void assertInventoryAddsUp() {
+        List<Map<String, Object>> rows = jdbcTemplate.queryForList("""
+                SELECT i.inventory_id, i.product_id, i.block_id, i.quantity, i.reserved_quantity, i.damaged_quantity,
+                       (SELECT COALESCE(SUM(t.quantity), 0) FROM pick_task t
+                        WHERE t.product_id = i.product_id AND t.block_id = i.block_id
+                          AND t.status IN ('ASSIGNED', 'IN_PROGRESS')) AS open_tasks,
+                       (SELECT COALESCE(SUM(t.quantity), 0) FROM pick_task t
+                        WHERE t.product_id = i.product_id AND t.block_id = i.block_id
+                          AND t.completed_at IS NOT NULL) AS picked,
+                       (SELECT COALESCE(SUM(l.quantity_delta), 0) FROM inventory_ledger l
+                        WHERE l.inventory_id = i.inventory_id) AS ledger_change,
+                       (SELECT COALESCE(SUM(l.quantity_delta), 0) FROM inventory_ledger l
+                        WHERE l.inventory_id = i.inventory_id AND l.reason = 'UPDATE') AS updated,
+                       (SELECT COALESCE(SUM(CASE WHEN m.movement_type = 'INBOUND' THEN m.quantity
+                                                 ELSE -m.quantity END), 0)
+                        FROM stock_movement m
+                        WHERE m.product_id = i.product_id AND m.to_block_id = i.block_id
+                          AND m.reference_type = 'ADJUSTMENT') AS adjustment_movements,
+                       (SELECT COALESCE(SUM(m.quantity), 0) FROM stock_movement m
+                        WHERE m.product_id = i.product_id AND m.from_block_id = i.block_id
+                          AND m.movement_type = 'PICK') AS pick_movements
+                FROM inventory i
+                WHERE i.warehouse_id = ?""", WAREHOUSE);
+        assertThat(rows).hasSize(SKUS * BLOCKS);
+
+        for (Map<String, Object> row : rows) {
+            String location = row.get("product_id") + "/" + row.get("block_id");
+            long quantity = number(row, "quantity");
+            long reserved = number(row, "reserved_quantity");
+            // An update's change depends on what it overwrote, so it comes from its ledger rows
+            long expectedChange = counter(adjusted, location) + number(row, "updated") - number(row, "picked");
+
+            assertThat(reserved).as(location + " reserved").isBetween(0L, quantity);
+            assertThat(quantity - reserved - number(row, "damaged_quantity")).as(location + " available")
+                    .isNotNegative();
+            assertThat(reserved).as(location + " reserved vs open tasks").isEqualTo(number(row, "open_tasks"));
+            assertThat(quantity).as(location + " quantity").isEqualTo(INITIAL_QUANTITY + expectedChange);
+            assertThat(number(row, "ledger_change")).as(location + " ledger").isEqualTo(expectedChange);
+            assertThat(number(row, "adjustment_movements")).as(location + " adjustment movements")
+                    .isEqualTo(counter(adjusted, location));
+            assertThat(number(row, "pick_movements")).as(location + " pick movements")
+                    .isEqualTo(counter(picksStarted, location));
+            assertThat(updateTargets.getOrDefault(location, Set.of())).as(location + " updated quantities")
+                    .containsAll(jdbcTemplate.queryForList("SELECT quantity_after FROM inventory_ledger "
+                            + "WHERE inventory_id = ? AND reason = 'UPDATE'", Long.class, row.get("inventory_id")));
+        }
+
+        assertThat(jdbcTemplate.queryForList("""
+                SELECT b.block_id FROM block b
+                WHERE b.warehouse_id = ?
+                  AND b.occupied_units <> (SELECT COALESCE(SUM(i.quantity), 0) FROM inventory i
+                                           WHERE i.block_id = b.block_id AND i.deleted = false)""",
+                String.class, WAREHOUSE)).as("blocks with drifted occupancy").isEmpty();
+    }
+
+    private void report(double seconds) {
+        long operations = tallies.values().stream().mapToLong(t -> t.attempts.get() - t.retries.get()).sum();
+        log.info("{} threads x {} operations on {} SKUs in {} s: {} ops/s", THREADS, OPERATIONS_PER_THREAD, SKUS,
+                String.format("%.1f", seconds), String.format("%.0f", operations / seconds));
+        tallies.forEach((operation, tally) -> log.info(
+                "{} {} ok/s  ok {}  rejected {}  retries {}  aborted {}  failed {}  abort rate {}%",
+                String.format("%-18s", operation), String.format("%6.1f", tally.succeeded.get() / seconds),
+                tally.succeeded.get(), tally.rejected.get(), tally.retries.get(), tally.aborted.get(),
+                tally.failed.get(), String.format("%.1f",
+                        100.0 * tally.conflicts.get() / Math.max(1, tally.attempts.get()))));
+    }
+
+    // Version conflicts and lock timeouts, including those only surfacing at commit
+    private static boolean isConflict(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConcurrencyFailureException || cause instanceof OptimisticLockException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String location(PickTaskResponse task) {
+        return task.getProduct().getProductId() + "/" + task.getBlockId();
+    }
+
+    private static long counter(Map<String, AtomicLong> counters, String location) {
+        AtomicLong counter = counters.get(location);
+        return counter != null ? counter.get() : 0;
+    }
+
+    private static long number(Map<String, Object> row, String column) {
+        return ((Number) row.get(column)).longValue();
+    }
+
+    private static final class Tally {
+        final AtomicLong attempts = new AtomicLong();
+        final AtomicLong succeeded = new AtomicLong();
+        final AtomicLong rejected = new AtomicLong();
+        final AtomicLong conflicts = new AtomicLong();
+        final AtomicLong retries = new AtomicLong();
+        final AtomicLong aborted = new AtomicLong();
+        final AtomicLong failed = new AtomicLong();
+    }
+}
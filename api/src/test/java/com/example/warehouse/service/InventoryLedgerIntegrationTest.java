@@ -0,0 +1,170 @@
+package com.example.warehouse.service;
+
+import com.example.warehouse.config.WarehouseContext;
+import com.example.warehouse.dto.request.InventoryRequest;
+import com.example.warehouse.dto.response.InventoryLedgerResponse;
+import com.example.warehouse.dto.response.InventoryResponse;
+import com.example.warehouse.dto.response.StockLevelResponse;
+import com.example.warehouse.job.InventorySnapshotJob;
+import com.example.warehouse.service.contract.InventoryLedgerService;
+import com.example.warehouse.service.contract.InventoryService;
+import com.example.warehouse.support.AbstractIntegrationTest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+@SpringBootTest
+class InventoryLedgerIntegrationTest extends AbstractIntegrationTest {
+
+    private static final String PRODUCT = "ledger-prod";
+
+    // The ledger is append-only, so every test gets its own warehouse and block
+    private String warehouse;
+    private String block;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private InventoryService inventoryService;
+
+    @Autowired
+    private InventoryLedgerService inventoryLedgerService;
+
+    @Autowired
+    private InventorySnapshotJob snapshotJob;
+
+    @BeforeEach
+    void seed() {
+        String suffix = UUID.randomUUID().toString();
+        warehouse = "ledger-wh-" + suffix;
+        block = "ledger-block-" + suffix;
+        jdbcTemplate.update("INSERT INTO warehouse (warehouse_id, name, city, address, landmark) "
+                + "VALUES (?, 'Ledger', 'City', 'Address', 'Landmark')", warehouse);
+        jdbcTemplate.update("INSERT INTO product (product_id, name, sku, category, unit_price, created_at, last_modified_at) "
+                + "VALUES (?, 'Widget', 'SKU-LEDGER-WIDGET', 'TEST', 1.0, now(), now())", PRODUCT);
+        jdbcTemplate.update("INSERT INTO block (block_id, name, height, length, breath, type, warehouse_id, deleted) "
+                + "VALUES (?, 'Ledger', 2, 2, 2, 1, ?, false)", block, warehouse);
+        WarehouseContext.setWarehouseId(warehouse);
+    }
+
+    @AfterEach
+    void cleanUp() {
+        WarehouseContext.clear();
+        jdbcTemplate.update("DELETE FROM stock_movement WHERE to_block_id = ?", block);
+        jdbcTemplate.update("DELETE FROM inventory WHERE block_id = ?", block);
+        jdbcTemplate.update("DELETE FROM inventory_snapshot WHERE block_id = ?", block);
+        jdbcTemplate.update("DELETE FROM block WHERE block_id = ?", block);
+        jdbcTemplate.update("DELETE FROM product WHERE product_id = ?", PRODUCT);
+        jdbcTemplate.update("DELETE FROM warehouse WHERE warehouse_id = ?", warehouse);
+    }
+
+    @Test
+    void everyQuantityChange_isAppendedToTheLedger() {
+        InventoryResponse inventory = inventoryService.createInventory(request(5));
+        String inventoryId = inventory.getInventoryId();
+        inventoryService.adjustStock(inventoryId, 2);
+        inventoryService.adjustStock(inventoryId, -3);
+        inventoryService.updateInventory(inventoryId, request(6));
+        inventoryService.deleteInventory(inventoryId);
+        inventoryService.restoreInventory(inventoryId);
+
+        List<InventoryLedgerResponse> ledger = inventoryLedgerService.getLedger(inventoryId);
+
+        assertThat(ledger)
+                .extracting(InventoryLedgerResponse::getReason, InventoryLedgerResponse::getQuantityDelta,
+                        InventoryLedgerResponse::getQuantityAfter)
+                .containsExactly(
+                        tuple("CREATE", 5, 5),
+                        tuple("ADJUST", 2, 7),
+                        tuple("ADJUST", -3, 4),
+                        tuple("UPDATE", 2, 6),
+                        tuple("DELETE", -6, 0),
+                        tuple("RESTORE", 6, 6));
+        assertThat(ledger).extracting(InventoryLedgerResponse::getRecordedAt).isSorted();
+
+        assertThatThrownBy(() -> jdbcTemplate.update("DELETE FROM inventory_ledger WHERE inventory_id = ?", inventoryId))
+                .hasMessageContaining("append-only");
+    }
+
+    @Test
+    void stockAsOf_replaysFromTheNearestSnapshot() {
+        Instant beforeCreate = databaseNow();
+        InventoryResponse inventory = inventoryService.createInventory(request(5));
+        Instant afterCreate = databaseNow();
+        snapshotJob.snapshot();
+
+        inventoryService.adjustStock(inventory.getInventoryId(), 3);
+        Instant afterIncrease = databaseNow();
+        snapshotJob.snapshot();
+
+        inventoryService.adjustStock(inventory.getInventoryId(), -6);
+        Instant afterDecrease = databaseNow();
+
+        snapshotJob.snapshot();
+        assertThat(snapshotCount()).isEqualTo(3);
+        // Nothing new on this block, so no further snapshot of it
+        snapshotJob.snapshot();
+        assertThat(snapshotCount()).isEqualTo(3);
+
+        assertThat(inventoryLedgerService.getStockAsOf(block, beforeCreate)).isEmpty();
+        assertThat(quantityAsOf(afterCreate)).isEqualTo(5);
+        assertThat(quantityAsOf(afterIncrease)).isEqualTo(8);
+        assertThat(quantityAsOf(afterDecrease)).isEqualTo(2);
+    }
+
+    @Test
+    void stockAsOfNow_matchesInventory() {
+        InventoryResponse inventory = inventoryService.createInventory(request(4));
+        snapshotJob.snapshot();
+        inventoryService.adjustStock(inventory.getInventoryId(), 3);
+
+        List<StockLevelResponse> stock = inventoryLedgerService.getStockAsOf(null, databaseNow());
+
+        assertThat(stock)
+                .extracting(StockLevelResponse::getBlockId, StockLevelResponse::getProductId,
+                        StockLevelResponse::getQuantity)
+                .containsExactly(tuple(block, PRODUCT, 7L));
+
+        WarehouseContext.setWarehouseId("some-other-warehouse");
+        assertThat(inventoryLedgerService.getStockAsOf(null, databaseNow())).isEmpty();
+    }
+
+    private long quantityAsOf(Instant asOf) {
+        List<StockLevelResponse> stock = inventoryLedgerService.getStockAsOf(block, asOf);
+        assertThat(stock).hasSize(1);
+        return stock.get(0).getQuantity();
+    }
+
+    private long snapshotCount() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM inventory_snapshot WHERE block_id = ?", Long.class,
+                block);
+    }
+
+    // Event timestamps come from the database clock
+    private Instant databaseNow() {
+        return jdbcTemplate.queryForObject("SELECT clock_timestamp()", Timestamp.class).toInstant();
+    }
+
+    private InventoryRequest request(int quantity) {
+        InventoryRequest request = new InventoryRequest();
+        request.setProductId(PRODUCT);
+        request.setBlockId(block);
+        request.setQuantity(quantity);
+        request.setMinStockLevel(1);
+        request.setMaxStockLevel(100);
+        return request;
+    }
+}
@@ -2,6 +2,7 @@ package com.example.warehouse.service;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -12,6 +13,7 @@ import org.springframework.boot.test.context.SpringBootTest;
 
 import com.example.warehouse.dto.request.ProductRequest;
 import com.example.warehouse.dto.response.ProductResponse;
+import com.example.warehouse.entity.Product;
 import com.example.warehouse.repository.ProductRepository;
 import com.example.warehouse.service.contract.ProductService;
 import com.example.warehouse.support.AbstractIntegrationTest;
@@ -48,4 +50,29 @@ class ProductServiceIntegrationTest extends AbstractIntegrationTest {
                 () -> productService.createProduct(request));
         assertTrue(duplicateSkuError.getMessage().contains("already exists"));
     }
+
+    @Test
+    void createAndUpdateProduct_storeParsedDimensions() {
+        ProductRequest request = new ProductRequest();
+        request.setName("Boxed Product");
+        request.setSku("SKU-SVC-DIM");
+        request.setCategory("SERVICE_TEST");
+        request.setUnitPrice(10.0);
+        request.setDimensions("50x40x30 cm");
+
+        ProductResponse created = productService.createProduct(request);
+
+        Product product = productRepository.findById(created.getProductId()).orElseThrow();
+        assertEquals(50.0, product.getLength());
+        assertEquals(40.0, product.getWidth());
+        assertEquals(30.0, product.getHeight());
+        assertEquals(0.06, product.getVolume(), 1e-12);
+
+        request.setDimensions("unknown");
+        productService.updateProduct(created.getProductId(), request);
+
+        product = productRepository.findById(created.getProductId()).orElseThrow();
+        assertNull(product.getLength());
+        assertEquals(0.0, product.getVolume());
+    }
 }
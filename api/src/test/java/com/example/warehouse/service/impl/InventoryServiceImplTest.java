@@ -0,0 +1,134 @@
+package com.example.warehouse.service.impl;
+
+import com.example.warehouse.cache.ReferenceDataCache;
+import com.example.warehouse.dto.request.InventoryRequest;
+import com.example.warehouse.entity.Block;
+import com.example.warehouse.entity.Inventory;
+import com.example.warehouse.entity.InventoryLedgerReason;
+import com.example.warehouse.entity.Product;
+import com.example.warehouse.metrics.WarehouseMetrics;
+import com.example.warehouse.repository.BlockRepository;
+import com.example.warehouse.repository.InventoryRepository;
+import com.example.warehouse.service.contract.InventoryLedgerService;
+import com.example.warehouse.service.contract.StockMovementService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class InventoryServiceImplTest {
+
+    @Mock
+    private InventoryRepository inventoryRepository;
+    @Mock
+    private ReferenceDataCache referenceDataCache;
+    @Mock
+    private BlockRepository blockRepository;
+    @Mock
+    private StockMovementService stockMovementService;
+    @Mock
+    private InventoryLedgerService inventoryLedgerService;
+    @Mock
+    private WarehouseMetrics warehouseMetrics;
+
+    private InventoryServiceImpl inventoryService;
+    private Inventory inventory;
+
+    @BeforeEach
+    void setUp() {
+        inventoryService = new InventoryServiceImpl(inventoryRepository, referenceDataCache, blockRepository,
+                stockMovementService, inventoryLedgerService, warehouseMetrics);
+
+        Product product = new Product();
+        product.setProductId("prod-1");
+        product.setVolume(0.5);
+        Block block = new Block();
+        block.setBlockId("block-1");
+
+        // 10 on hand, 6 reserved for open pick tasks and 2 damaged: 2 available
+        inventory = new Inventory();
+        inventory.setInventoryId("inv-1");
+        inventory.setProduct(product);
+        inventory.setBlock(block);
+        inventory.setQuantity(10);
+        inventory.setReservedQuantity(6);
+        inventory.setDamagedQuantity(2);
+        when(inventoryRepository.findById("inv-1")).thenReturn(Optional.of(inventory));
+    }
+
+    @Test
+    void adjustStock_belowReservedAndDamaged_isRejected() {
+        assertThatThrownBy(() -> inventoryService.adjustStock("inv-1", -3))
+                .hasMessage("Cannot reduce stock below the reserved and damaged quantity");
+
+        assertThat(inventory.getQuantity()).isEqualTo(10);
+        verify(inventoryRepository, never()).save(any());
+        verifyNoInteractions(blockRepository, inventoryLedgerService, stockMovementService);
+    }
+
+    @Test
+    void adjustStock_downToReservedAndDamaged_isApplied() {
+        when(inventoryRepository.save(inventory)).thenReturn(inventory);
+
+        assertThat(inventoryService.adjustStock("inv-1", -2).getAvailableQuantity()).isZero();
+
+        verify(blockRepository).adjustOccupancy("block-1", -2L, -1.0);
+        verify(inventoryLedgerService).record(inventory, -2, InventoryLedgerReason.ADJUST, null);
+    }
+
+    @Test
+    void updateInventory_belowReservedAndDamaged_isRejected() {
+        assertThatThrownBy(() -> inventoryService.updateInventory("inv-1", request(7)))
+                .hasMessage("Cannot reduce stock below the reserved and damaged quantity");
+
+        assertThat(inventory.getQuantity()).isEqualTo(10);
+        verify(inventoryRepository, never()).save(any());
+        verify(blockRepository, never()).adjustOccupancy(anyString(), anyLong(), anyDouble());
+        verifyNoInteractions(inventoryLedgerService);
+    }
+
+    @Test
+    void updateInventory_downToReservedAndDamaged_isApplied() {
+        when(inventoryRepository.save(inventory)).thenReturn(inventory);
+
+        assertThat(inventoryService.updateInventory("inv-1", request(8)).getAvailableQuantity()).isZero();
+
+        verify(blockRepository).adjustOccupancy("block-1", -2L, -1.0);
+        verify(inventoryLedgerService).record(inventory, -2, InventoryLedgerReason.UPDATE, null);
+    }
+
+    @Test
+    void updateInventory_raisingStock_ignoresTheFloor() {
+        inventory.setReservedQuantity(12);
+        when(inventoryRepository.save(inventory)).thenReturn(inventory);
+
+        assertThat(inventoryService.updateInventory("inv-1", request(11)).getQuantity()).isEqualTo(11);
+
+        verify(inventoryLedgerService).record(inventory, 1, InventoryLedgerReason.UPDATE, null);
+    }
+
+    private static InventoryRequest request(int quantity) {
+        InventoryRequest request = new InventoryRequest();
+        request.setProductId("prod-1");
+        request.setBlockId("block-1");
+        request.setQuantity(quantity);
+        request.setMinStockLevel(1);
+        request.setMaxStockLevel(100);
+        return request;
+    }
+}
@@ -0,0 +1,106 @@
+package com.example.warehouse.service.impl;
+
+import com.example.warehouse.cache.ReferenceDataCache;
+import com.example.warehouse.config.WarehouseContext;
+import com.example.warehouse.dto.request.StockMovementRequest;
+import com.example.warehouse.dto.response.StockMovementResponse;
+import com.example.warehouse.entity.Block;
+import com.example.warehouse.entity.Product;
+import com.example.warehouse.entity.Room;
+import com.example.warehouse.journal.StockMovementJournal;
+import com.example.warehouse.metrics.WarehouseMetrics;
+import com.example.warehouse.repository.StockMovementRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class StockMovementServiceImplTest {
+
+    @Mock
+    private StockMovementRepository stockMovementRepository;
+    @Mock
+    private ReferenceDataCache referenceDataCache;
+    @Mock
+    private StockMovementJournal journal;
+    @Mock
+    private WarehouseMetrics warehouseMetrics;
+
+    private StockMovementServiceImpl stockMovementService;
+
+    @BeforeEach
+    void setUp() {
+        stockMovementService = new StockMovementServiceImpl(stockMovementRepository, referenceDataCache, journal,
+                warehouseMetrics);
+        WarehouseContext.setWarehouseId("wh-1");
+        TransactionSynchronizationManager.initSynchronization();
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.clearSynchronization();
+        WarehouseContext.clear();
+    }
+
+    @Test
+    void writeMovement_insertsNowAndCountsOnlyAfterCommit() {
+        stockMovementService.writeMovement(request(), "picker");
+
+        verify(journal).insert(any());
+        verify(journal, never()).append(any());
+        verify(warehouseMetrics, never()).stockMovement(any(), any());
+
+        commit();
+        verify(warehouseMetrics).stockMovement("wh-1", "PICK");
+    }
+
+    @Test
+    void recordMovement_waitsForTheJournalAndCountsRightAway() {
+        Product product = new Product();
+        product.setProductId("prod-1");
+        Room room = new Room();
+        room.setName("Aisle 1");
+        Block block = new Block();
+        block.setBlockId("block-1");
+        block.setRoom(room);
+        when(referenceDataCache.findProduct("prod-1")).thenReturn(Optional.of(product));
+        when(referenceDataCache.findBlock("block-1")).thenReturn(Optional.of(block));
+
+        StockMovementResponse response = stockMovementService.recordMovement(request(), "clerk");
+
+        // Not deferred to a commit: the journal writes it in its own transaction
+        verify(journal).appendAndAwait(any());
+        verify(journal, never()).insert(any());
+        verify(warehouseMetrics).stockMovement("wh-1", "PICK");
+        assertThat(response.getFromBlockName()).isEqualTo("Aisle 1 - Block");
+    }
+
+    private void commit() {
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        synchronizations.forEach(s -> s.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+    }
+
+    private static StockMovementRequest request() {
+        StockMovementRequest request = new StockMovementRequest();
+        request.setProductId("prod-1");
+        request.setFromBlockId("block-1");
+        request.setQuantity(2);
+        request.setMovementType("PICK");
+        request.setReferenceType("SO");
+        return request;
+    }
+}
@@ -0,0 +1,107 @@
+package com.example.warehouse.support;
+
+import org.slf4j.Logger;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs the variants of a benchmark in alternating rounds, so JIT and cache
+ * drift hit each of them equally, and reduces every variant to the median of
+ * its rounds. Each variant returns one sample per call, in whatever unit it
+ * reports.
+ *
+ * <pre>{@code
+ * Map<String, Double> medians = new BenchmarkRounds()
+ *         .add("limited route", () -> run(limited))
+ *         .add("unlimited route", () -> run(unlimited))
+ *         .run(WARMUP_ROUNDS, ROUNDS);
+ * BenchmarkRounds.log(log, medians, "%6.1f ns/request");
+ * }</pre>
+ */
+public final class BenchmarkRounds {
+
+    private final Map<String, Round> variants = new LinkedHashMap<>();
+
+    public BenchmarkRounds add(String label, Round round) {
+        variants.put(label, round);
+        return this;
+    }
+
+    /**
+     * Runs every variant {@code warmupRounds} times unrecorded, then
+     * {@code rounds} times, and returns the median sample of each variant in
+     * the order they were added.
+     */
+    public Map<String, Double> run(int warmupRounds, int rounds) {
+        List<Round> measured = new ArrayList<>(variants.values());
+        for (int i = 0; i < warmupRounds; i++) {
+            for (Round round : measured) {
+                sample(round);
+            }
+        }
+        double[][] samples = new double[measured.size()][rounds];
+        for (int i = 0; i < rounds; i++) {
+            for (int v = 0; v < measured.size(); v++) {
+                samples[v][i] = sample(measured.get(v));
+            }
+        }
+        Map<String, Double> medians = new LinkedHashMap<>();
+        int v = 0;
+        for (String label : variants.keySet()) {
+            medians.put(label, median(samples[v++]));
+        }
+        return medians;
+    }
+
+    /** Logs one aligned line per variant, the median formatted with {@code format}. */
+    public static void log(Logger log, Map<String, Double> medians, String format) {
+        int width = medians.keySet().stream().mapToInt(String::length).max().orElse(0);
+        medians.forEach((label, median) -> log.info("{} {}", String.format("%-" + width + "s", label),
+                String.format(format, median)));
+    }
+
+    public static double median(double[] values) {
+        double[] sorted = values.clone();
+        Arrays.sort(sorted);
+        return sorted[sorted.length / 2];
+    }
+
+    /** Wall time of {@code body} in {@code unit}, as a fraction. */
+    public static double elapsed(TimeUnit unit, Body body) {
+        long start = System.nanoTime();
+        try {
+            body.run();
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+        return (System.nanoTime() - start) / (double) unit.toNanos(1);
+    }
+
+    private static double sample(Round round) {
+        try {
+            return round.sample();
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /** One round of a variant, returning its sample. */
+    @FunctionalInterface
+    public interface Round {
+        double sample() throws Exception;
+    }
+
+    @FunctionalInterface
+    public interface Body {
+        void run() throws Exception;
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.warehouse.support;
+
+import com.example.warehouse.metrics.SqlStats;
+
+import java.util.function.IntFunction;
+
+/**
+ * Fails a test whose SQL statement count grows with the size of its input, the
+ * signature of a query issued per row. The scenario is set up twice, at a small
+ * and a large size, and only the returned action is counted, on the test
+ * thread, through the application's counting DataSource.
+ *
+ * <pre>{@code
+ * assertStatementCountDoesNotGrow(blocks -> {
+ *     seedBlocks(blocks);
+ *     return () -> analyticsService.getBlockUtilization();
+ * }, 2, 20);
+ * }</pre>
+ */
+public final class StatementCountAssertions {
+
+    private StatementCountAssertions() {
+    }
+
+    public static void assertStatementCountDoesNotGrow(IntFunction<Runnable> scenario, int smallSize, int largeSize) {
+        int small = countStatements(scenario.apply(smallSize));
+        int large = countStatements(scenario.apply(largeSize));
+        if (large > small) {
+            throw new AssertionError("SQL statement count grows with input size: " + small + " statements for "
+                    + smallSize + ", " + large + " for " + largeSize);
+        }
+    }
+
+    public static int countStatements(Runnable action) {
+        SqlStats stats = SqlStats.start();
+        try {
+            action.run();
+            return stats.statements();
+        } finally {
+            SqlStats.stop();
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.example.warehouse.tracing;
+
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.context.Scope;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SimpleSpanProcessor;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TailSamplingSpanExporterTest {
+
+    private final List<SpanData> exported = new CopyOnWriteArrayList<>();
+    private final SdkTracerProvider tracerProvider = SdkTracerProvider.builder()
+            .addSpanProcessor(SimpleSpanProcessor.create(new TailSamplingSpanExporter(new Collecting(),
+                    Duration.ofMillis(500), 0, 100, Duration.ofMinutes(1))))
+            .build();
+    private final Tracer tracer = tracerProvider.get("test");
+
+    @AfterEach
+    void tearDown() {
+        tracerProvider.shutdown();
+    }
+
+    @Test
+    void fastTrace_isDropped() {
+        Span root = tracer.spanBuilder("root").setStartTimestamp(1_000, TimeUnit.MILLISECONDS).startSpan();
+        child(root, "child", false);
+        root.end(1_100, TimeUnit.MILLISECONDS);
+
+        assertThat(exported).isEmpty();
+    }
+
+    @Test
+    void slowTrace_isKeptWithItsChildren() {
+        Span root = tracer.spanBuilder("root").setStartTimestamp(1_000, TimeUnit.MILLISECONDS).startSpan();
+        child(root, "child", false);
+        root.end(1_600, TimeUnit.MILLISECONDS);
+
+        assertThat(exported).extracting(SpanData::getName).containsExactly("child", "root");
+    }
+
+    @Test
+    void traceWithAnErrorSpan_isKept() {
+        Span root = tracer.spanBuilder("root").setStartTimestamp(1_000, TimeUnit.MILLISECONDS).startSpan();
+        child(root, "failing", true);
+        root.end(1_010, TimeUnit.MILLISECONDS);
+
+        assertThat(exported).extracting(SpanData::getName).containsExactly("failing", "root");
+    }
+
+    @Test
+    void spanEndingAfterItsRoot_followsTheTracesDecision() {
+        Span slowRoot = tracer.spanBuilder("slow").setStartTimestamp(1_000, TimeUnit.MILLISECONDS).startSpan();
+        Span fastRoot = tracer.spanBuilder("fast").setStartTimestamp(1_000, TimeUnit.MILLISECONDS).startSpan();
+        Span slowLate = tracer.spanBuilder("slow-late").setParent(Context.root().with(slowRoot)).startSpan();
+        Span fastLate = tracer.spanBuilder("fast-late").setParent(Context.root().with(fastRoot)).startSpan();
+        slowRoot.end(1_600, TimeUnit.MILLISECONDS);
+        fastRoot.end(1_100, TimeUnit.MILLISECONDS);
+        slowLate.end();
+        fastLate.end();
+
+        assertThat(exported).extracting(SpanData::getName).containsExactly("slow", "slow-late");
+    }
+
+    private void child(Span parent, String name, boolean failed) {
+        try (Scope scope = parent.makeCurrent()) {
+            Span child = tracer.spanBuilder(name).startSpan();
+            if (failed) {
+                child.setStatus(StatusCode.ERROR);
+            }
+            child.end();
+        }
+    }
+
+    private final class Collecting implements SpanExporter {
+
+        @Override
+        public CompletableResultCode export(Collection<SpanData> spans) {
+            exported.addAll(spans);
+            return CompletableResultCode.ofSuccess();
+        }
+
+        @Override
+        public CompletableResultCode flush() {
+            return CompletableResultCode.ofSuccess();
+        }
+
+        @Override
+        public CompletableResultCode shutdown() {
+            return CompletableResultCode.ofSuccess();
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package com.example.warehouse.tracing;
+
+import com.example.warehouse.support.AbstractIntegrationTest;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.Tracer;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "management.tracing.sampling.probability=1.0",
+        "app.tracing.file.enabled=true" })
+@AutoConfigureMockMvc
+@AutoConfigureObservability(metrics = false)
+class TracingIntegrationTest extends AbstractIntegrationTest {
+
+    private static final Path SPANS = createTempFile();
+
+    @DynamicPropertySource
+    static void spanFile(DynamicPropertyRegistry registry) {
+        registry.add("app.tracing.file.path", SPANS::toString);
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private Tracer tracer;
+
+    @Autowired
+    private SdkTracerProvider tracerProvider;
+
+    @Autowired
+    private TaskDecorator taskDecorator;
+
+    @Autowired
+    private SimpMessagingTemplate messagingTemplate;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    @WithMockUser(authorities = "ADMIN")
+    void request_isTracedThroughControllerServiceAndRepository() throws Exception {
+        mockMvc.perform(get("/api/orders").header("X-Correlation-ID", "trace-it-1"))
+                .andExpect(status().isOk());
+
+        List<JsonNode> spans = exportedSpans();
+        JsonNode root = only(spans, "http get /api/orders");
+        JsonNode correlated = spans.stream()
+                .filter(span -> "trace-it-1".equals(span.path("attributes").path("correlationId").asText()))
+                .findFirst().orElseThrow();
+        JsonNode controller = only(spans, "OrderController.getAllOrders");
+        JsonNode service = only(spans, "OrderServiceImpl.getAllOrders");
+        JsonNode repository = only(spans, "OrderRepository.findAllByOrderByCreatedAtDesc");
+
+        assertThat(root.get("parentSpanId").isNull()).isTrue();
+        String traceId = root.get("traceId").asText();
+        assertThat(List.of(correlated, controller, service, repository))
+                .allSatisfy(span -> assertThat(span.get("traceId").asText()).isEqualTo(traceId));
+        assertThat(service.get("parentSpanId").asText()).isEqualTo(controller.get("spanId").asText());
+        assertThat(repository.get("parentSpanId").asText()).isEqualTo(service.get("spanId").asText());
+        assertThat(service.path("attributes").path("layer").asText()).isEqualTo("service");
+    }
+
+    @Test
+    void decoratedTask_runsInTheSubmittersTrace() throws Exception {
+        Span span = tracer.nextSpan().name("submitter").start();
+        CompletableFuture<String> seen = new CompletableFuture<>();
+        try (Tracer.SpanInScope scope = tracer.withSpan(span)) {
+            new Thread(taskDecorator.decorate(() -> seen.complete(tracer.currentSpan().context().traceId())))
+                    .start();
+        } finally {
+            span.end();
+        }
+
+        assertThat(seen.get(5, TimeUnit.SECONDS)).isEqualTo(span.context().traceId());
+    }
+
+    @Test
+    void broadcast_isAChildOfTheSendersSpan() throws Exception {
+        Span span = tracer.nextSpan().name("broadcaster").start();
+        try (Tracer.SpanInScope scope = tracer.withSpan(span)) {
+            messagingTemplate.convertAndSend("/topic/trace-it", "hello");
+        } finally {
+            span.end();
+        }
+
+        JsonNode broadcast = exportedSpans().stream()
+                .filter(candidate -> candidate.get("name").asText().equals("stomp broadcast"))
+                .filter(candidate -> candidate.get("parentSpanId").asText().equals(span.context().spanId()))
+                .findFirst().orElseThrow();
+        assertThat(broadcast.path("attributes").path("messaging.destination").asText()).isEqualTo("/topic/trace-it");
+    }
+
+    private List<JsonNode> exportedSpans() throws IOException {
+        tracerProvider.forceFlush().join(10, TimeUnit.SECONDS);
+        List<JsonNode> spans = new ArrayList<>();
+        for (String line : Files.readAllLines(SPANS)) {
+            spans.add(objectMapper.readTree(line));
+        }
+        return spans;
+    }
+
+    private static JsonNode only(List<JsonNode> spans, String name) {
+        List<JsonNode> named = spans.stream().filter(span -> span.get("name").asText().equals(name)).toList();
+        assertThat(named).as(name).hasSize(1);
+        return named.get(0);
+    }
+
+    private static Path createTempFile() {
+        try {
+            Path directory = Files.createTempDirectory("spans");
+            directory.toFile().deleteOnExit();
+            return directory.resolve("spans.jsonl");
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
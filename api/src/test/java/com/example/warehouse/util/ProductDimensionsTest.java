@@ -0,0 +1,29 @@
+package com.example.warehouse.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class ProductDimensionsTest {
+
+    @Test
+    void parse_acceptsSpacingCaseAndCmSuffix() {
+        assertThat(ProductDimensions.parse("10x5x2")).contains(new ProductDimensions(10, 5, 2));
+        assertThat(ProductDimensions.parse(" 10 X 5.5 x 2 cm ")).contains(new ProductDimensions(10, 5.5, 2));
+    }
+
+    @Test
+    void parse_rejectsAnythingElse() {
+        assertThat(ProductDimensions.parse(null)).isEmpty();
+        assertThat(ProductDimensions.parse("")).isEmpty();
+        assertThat(ProductDimensions.parse("10x5")).isEmpty();
+        assertThat(ProductDimensions.parse("10x5x2 in")).isEmpty();
+        assertThat(ProductDimensions.parse("-10x5x2")).isEmpty();
+    }
+
+    @Test
+    void volume_isInCubicMeters() {
+        assertThat(new ProductDimensions(100, 50, 20).volume()).isCloseTo(0.1, within(1e-12));
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.warehouse.util;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TransactionCallbacksTest {
+
+    private final List<String> recorded = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void afterCommit_withoutTransaction_runsRightAway() {
+        TransactionCallbacks.afterCommit(() -> recorded.add("now"));
+
+        assertThat(recorded).containsExactly("now");
+    }
+
+    @Test
+    void afterCommit_runsOnlyOnceTheTransactionCommits() {
+        TransactionSynchronizationManager.initSynchronization();
+        TransactionCallbacks.afterCommit(() -> recorded.add("committed"));
+        assertThat(recorded).isEmpty();
+
+        complete(TransactionSynchronization.STATUS_COMMITTED);
+        assertThat(recorded).containsExactly("committed");
+    }
+
+    @Test
+    void afterCommit_isSkippedOnRollback() {
+        TransactionSynchronizationManager.initSynchronization();
+        TransactionCallbacks.afterCommit(() -> recorded.add("rolled back"));
+
+        complete(TransactionSynchronization.STATUS_ROLLED_BACK);
+        assertThat(recorded).isEmpty();
+    }
+
+    @Test
+    void onCompletion_reportsTheOutcome() {
+        TransactionSynchronizationManager.initSynchronization();
+        TransactionCallbacks.onCompletion(committed -> recorded.add("committed=" + committed));
+
+        complete(TransactionSynchronization.STATUS_ROLLED_BACK);
+        assertThat(recorded).containsExactly("committed=false");
+    }
+
+    private static void complete(int status) {
+        TransactionSynchronizationManager.getSynchronizations().forEach(s -> s.afterCompletion(status));
+    }
+}
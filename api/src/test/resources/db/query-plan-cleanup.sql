@@ -0,0 +1,12 @@
+-- Removes the rows query-plan-seed.sql added, so later suites sharing the schema start clean.
+-- Every seeded id starts with qp-, so fixtures of other suites are never matched.
+
+DELETE FROM stock_movement WHERE movement_id LIKE 'qp-move-%';
+DELETE FROM shipment WHERE shipment_id LIKE 'qp-ship-%';
+DELETE FROM pick_task WHERE task_id LIKE 'qp-task-%';
+DELETE FROM orders WHERE order_id LIKE 'qp-order-%';
+DELETE FROM inventory WHERE inventory_id LIKE 'qp-inv-%';
+DELETE FROM shipper WHERE shipper_id LIKE 'qp-shipper-%';
+DELETE FROM block WHERE block_id LIKE 'qp-block-%';
+DELETE FROM product WHERE product_id LIKE 'qp-prod-%';
+DELETE FROM warehouse WHERE warehouse_id LIKE 'qp-wh-%';
@@ -0,0 +1,64 @@
+-- Multi-tenant dataset for RepositoryQueryPlanIntegrationTest: 200 warehouses, so a
+-- single-warehouse query touches ~0.5% of each table, as it would in production.
+-- One row in ten is soft-deleted, so an index that still holds deleted rows costs
+-- the planner something over the partial ones.
+
+INSERT INTO warehouse (warehouse_id, name, city, address, landmark)
+SELECT 'qp-wh-' || w, 'Warehouse ' || w, 'City', 'Address', 'Landmark'
+FROM generate_series(1, 200) w;
+
+INSERT INTO product (product_id, name, sku, category, unit_price, created_at, last_modified_at)
+SELECT 'qp-prod-' || p, 'Product ' || p, 'SKU-PLAN-' || p, 'CAT', 10.0, now(), now()
+FROM generate_series(1, 2000) p;
+
+INSERT INTO block (block_id, name, height, length, breath, type, warehouse_id, deleted)
+SELECT 'qp-block-' || b, 'Block ' || b, 10, 10, 10, 1, 'qp-wh-' || (b % 200 + 1), false
+FROM generate_series(1, 2000) b;
+
+INSERT INTO shipper (shipper_id, name, type, service_level, active, created_at, last_modified_at)
+SELECT 'qp-shipper-' || s, 'Shipper ' || s, 'THIRD_PARTY', 'STANDARD', true, now(), now()
+FROM generate_series(1, 10) s;
+
+INSERT INTO inventory (inventory_id, product_id, block_id, quantity, reserved_quantity, damaged_quantity,
+        min_stock_level, max_stock_level, created_at, last_modified_at, warehouse_id, deleted, version)
+SELECT 'qp-inv-' || i, 'qp-prod-' || (i % 2000 + 1), 'qp-block-' || (i % 2000 + 1),
+        CASE WHEN i % 50 = 0 THEN 1 ELSE 100 END, 0, 0, 10, 500, now(), now(),
+        'qp-wh-' || ((i % 2000 + 1) % 200 + 1), i % 10 = 0, 0
+FROM generate_series(1, 100000) i;
+
+INSERT INTO orders (order_id, order_number, customer_name, status, total_items, created_at, last_modified_at,
+        warehouse_id, deleted, version)
+SELECT 'qp-order-' || o, 'ORD-PLAN-' || o, 'Customer ' || o,
+        (ARRAY['PENDING', 'PICK_ASSIGNED', 'PICKED', 'PACKED', 'DISPATCHED', 'CANCELLED'])[o % 6 + 1],
+        1, now() - make_interval(mins => o), now(), 'qp-wh-' || (o % 200 + 1), o % 10 = 0, 0
+FROM generate_series(1, 100000) o;
+
+INSERT INTO pick_task (task_id, order_id, product_id, block_id, quantity, assigned_to, status, created_at,
+        last_modified_at, completed_at, warehouse_id, deleted, version)
+SELECT 'qp-task-' || t, 'qp-order-' || (t % 100000 + 1), 'qp-prod-' || (t % 2000 + 1), 'qp-block-' || (t % 2000 + 1), 1,
+        'qp-picker-' || (t % 1000), (ARRAY['ASSIGNED', 'IN_PROGRESS', 'COMPLETED', 'CANCELLED'])[t % 4 + 1],
+        now() - make_interval(mins => t), now(), now() - make_interval(mins => t),
+        'qp-wh-' || ((t % 100000 + 1) % 200 + 1), t % 10 = 0, 0
+FROM generate_series(1, 200000) t;
+
+INSERT INTO shipment (shipment_id, shipment_code, order_id, shipper_id, warehouse_id, status, created_at,
+        last_modified_at, dispatched_at, delivered_at, deleted)
+SELECT 'qp-ship-' || s, 'SHP-PLAN-' || s, 'qp-order-' || s, 'qp-shipper-' || (s % 10 + 1), 'qp-wh-' || (s % 200 + 1),
+        (ARRAY['CREATED', 'PICKED', 'PACKED', 'READY_TO_DISPATCH', 'DISPATCHED', 'IN_TRANSIT', 'DELIVERED',
+                'FAILED', 'RETURNED'])[s % 9 + 1],
+        now() - make_interval(mins => s), now(), now() - make_interval(mins => s), now() - make_interval(mins => s),
+        s % 10 = 0
+FROM generate_series(1, 100000) s;
+
+-- Spread movements over the last three months so several partitions hold data
+SELECT create_stock_movement_partitions((date_trunc('month', now()) - INTERVAL '3 months')::date, 3);
+
+INSERT INTO stock_movement (movement_id, product_id, from_block_id, to_block_id, quantity, movement_type,
+        reference_type, reference_id, created_by, created_at, warehouse_id, deleted, last_modified_at)
+SELECT 'qp-move-' || m, 'qp-prod-' || (m % 2000 + 1), 'qp-block-' || (m % 2000 + 1), 'qp-block-' || ((m + 200) % 2000 + 1), 1,
+        (ARRAY['INBOUND', 'PUTAWAY', 'PICK', 'TRANSFER', 'ADJUSTMENT', 'OUTBOUND'])[m % 6 + 1],
+        'SO', 'qp-order-' || (m % 100000 + 1), 'qp-picker-' || (m % 1000),
+        now() - make_interval(mins => m / 4), 'qp-wh-' || ((m % 2000 + 1) % 200 + 1), m % 10 = 0, now()
+FROM generate_series(1, 300000) m;
+
+ANALYZE;